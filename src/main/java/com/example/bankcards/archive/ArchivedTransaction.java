@@ -0,0 +1,20 @@
+package com.example.bankcards.archive;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Payment transaction row as stored in an archive segment
+ *
+ * @param id transaction id
+ * @param senderAccountId sender card account id
+ * @param recipientId recipient id as stored in payment_transactions
+ * @param comment optional comment
+ * @param amountCents amount in minor units
+ * @param type transaction type name
+ * @param status transaction status name
+ * @param createdAt creation time, truncated to microseconds like in Postgres
+ */
+public record ArchivedTransaction(UUID id, UUID senderAccountId, UUID recipientId, String comment,
+    long amountCents, String type, String status, Instant createdAt) {
+}
@@ -0,0 +1,56 @@
+package com.example.bankcards.archive;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Layout of a transaction archive segment file.
+ *
+ * <pre>
+ * header   magic int, version int
+ * blocks   deflate compressed column blocks, see {@link TransactionSegmentWriter}
+ * footer   block directory, account index, string dictionary
+ * trailer  footer offset long, magic int
+ * </pre>
+ *
+ * Rows are grouped by sender account, so the account index keeps one
+ * fixed-size entry per account with the range of blocks holding its rows.
+ */
+final class SegmentFormat {
+
+    static final int MAGIC = 0x42435347;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 8;
+
+    static final int TRAILER_BYTES = 12;
+
+    static final int BLOCK_ENTRY_BYTES = 20;
+
+    static final int ACCOUNT_ENTRY_BYTES = 40;
+
+    /**
+     * Order of uuid values in Postgres, which compares their bytes unsigned
+     */
+    static final Comparator<UUID> UUID_ORDER = (left, right) -> {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0
+            ? result
+            : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+
+    private SegmentFormat() {
+    }
+
+    static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    static Instant fromMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+}
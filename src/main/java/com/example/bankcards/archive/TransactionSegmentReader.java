@@ -0,0 +1,241 @@
+package com.example.bankcards.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads an archive segment written by {@link TransactionSegmentWriter}
+ * through a read-only memory mapping.
+ *
+ * The block directory and the dictionary are parsed once. The account index
+ * is binary searched in place in the mapping, and only the blocks of the
+ * requested account are inflated. All reads use absolute positions, so one
+ * reader can serve concurrent queries.
+ */
+public class TransactionSegmentReader implements Closeable {
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final long[] blockOffsets;
+
+    private final int[] compressedLengths;
+
+    private final int[] rawLengths;
+
+    private final int accountIndexOffset;
+
+    private final int accountCount;
+
+    private final String[] dictionary;
+
+    private final long rowCount;
+
+    private TransactionSegmentReader(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+
+        int size = buffer.capacity();
+        if (size < SegmentFormat.HEADER_BYTES + SegmentFormat.TRAILER_BYTES
+                || buffer.getInt(0) != SegmentFormat.MAGIC
+                || buffer.getInt(size - 4) != SegmentFormat.MAGIC) {
+            throw new IllegalStateException("not a transaction archive segment");
+        }
+        if (buffer.getInt(4) != SegmentFormat.VERSION) {
+            throw new IllegalStateException("unsupported segment version: " + buffer.getInt(4));
+        }
+
+        int position = Math.toIntExact(buffer.getLong(size - SegmentFormat.TRAILER_BYTES));
+        int blockCount = buffer.getInt(position);
+        position += 4;
+        this.blockOffsets = new long[blockCount];
+        this.compressedLengths = new int[blockCount];
+        this.rawLengths = new int[blockCount];
+        long rows = 0;
+        for (int i = 0; i < blockCount; i++) {
+            blockOffsets[i] = buffer.getLong(position);
+            compressedLengths[i] = buffer.getInt(position + 8);
+            rawLengths[i] = buffer.getInt(position + 12);
+            rows += buffer.getInt(position + 16);
+            position += SegmentFormat.BLOCK_ENTRY_BYTES;
+        }
+        this.rowCount = rows;
+
+        this.accountCount = buffer.getInt(position);
+        this.accountIndexOffset = position + 4;
+        position = accountIndexOffset + accountCount * SegmentFormat.ACCOUNT_ENTRY_BYTES;
+
+        this.dictionary = new String[buffer.getInt(position)];
+        position += 4;
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = buffer.getInt(position);
+            byte[] bytes = new byte[length];
+            buffer.get(position + 4, bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 4 + length;
+        }
+    }
+
+    /**
+     * Maps a segment file
+     *
+     * @param file segment file
+     * @return reader of the segment
+     * @throws IOException if the file cannot be mapped
+     */
+    public static TransactionSegmentReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("segment is larger than 2 GB: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new TransactionSegmentReader(channel, buffer);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Finds transactions sent from the account in the given time range
+     *
+     * @param accountId sender card account id
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @return matching rows in the order they are stored
+     */
+    public List<ArchivedTransaction> findSent(UUID accountId, Instant from, Instant to) {
+        int entry = findAccount(accountId);
+        if (entry < 0) {
+            return List.of();
+        }
+
+        long fromMicros = SegmentFormat.toMicros(from);
+        long toMicros = SegmentFormat.toMicros(to);
+        int entryOffset = accountIndexOffset + entry * SegmentFormat.ACCOUNT_ENTRY_BYTES;
+        if (buffer.getLong(entryOffset + 32) < fromMicros || buffer.getLong(entryOffset + 24) >= toMicros) {
+            return List.of();
+        }
+
+        List<ArchivedTransaction> result = new ArrayList<>();
+        int firstBlock = buffer.getInt(entryOffset + 16);
+        int lastBlock = buffer.getInt(entryOffset + 20);
+        for (int i = firstBlock; i <= lastBlock; i++) {
+            readBlock(i, accountId, fromMicros, toMicros, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int findAccount(UUID accountId) {
+        int low = 0;
+        int high = accountCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = accountIndexOffset + middle * SegmentFormat.ACCOUNT_ENTRY_BYTES;
+            UUID candidate = new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+            int comparison = SegmentFormat.UUID_ORDER.compare(candidate, accountId);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private void readBlock(int index, UUID accountId, long fromMicros, long toMicros,
+        List<ArchivedTransaction> result) {
+        ByteBuffer block = ByteBuffer.wrap(inflate(index));
+        int rows = block.getInt(0);
+        int senderMsb = 4;
+        int senderLsb = senderMsb + rows * 8;
+        int idMsb = senderLsb + rows * 8;
+        int idLsb = idMsb + rows * 8;
+        int recipientMsb = idLsb + rows * 8;
+        int recipientLsb = recipientMsb + rows * 8;
+        int amounts = recipientLsb + rows * 8;
+        int types = amounts + rows * 8;
+        int statuses = types + rows * 2;
+        int createdDeltas = statuses + rows * 2;
+        int commentLengths = createdDeltas + rows * 8;
+        int commentBytes = commentLengths + rows * 4;
+
+        long createdMicros = 0;
+        int commentOffset = commentBytes;
+        for (int row = 0; row < rows; row++) {
+            createdMicros += block.getLong(createdDeltas + row * 8);
+            int commentLength = block.getInt(commentLengths + row * 4);
+
+            boolean sameAccount = block.getLong(senderMsb + row * 8) == accountId.getMostSignificantBits()
+                && block.getLong(senderLsb + row * 8) == accountId.getLeastSignificantBits();
+            if (sameAccount && createdMicros >= fromMicros && createdMicros < toMicros) {
+                String comment = null;
+                if (commentLength >= 0) {
+                    byte[] bytes = new byte[commentLength];
+                    block.get(commentOffset, bytes);
+                    comment = new String(bytes, StandardCharsets.UTF_8);
+                }
+                result.add(new ArchivedTransaction(
+                    new UUID(block.getLong(idMsb + row * 8), block.getLong(idLsb + row * 8)),
+                    accountId,
+                    new UUID(block.getLong(recipientMsb + row * 8), block.getLong(recipientLsb + row * 8)),
+                    comment,
+                    block.getLong(amounts + row * 8),
+                    dictionary[block.getShort(types + row * 2)],
+                    dictionary[block.getShort(statuses + row * 2)],
+                    SegmentFormat.fromMicros(createdMicros)));
+            }
+
+            if (commentLength > 0) {
+                commentOffset += commentLength;
+            }
+        }
+    }
+
+    private byte[] inflate(int index) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(Math.toIntExact(blockOffsets[index]), compressedLengths[index]));
+            byte[] raw = new byte[rawLengths[index]];
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("truncated block");
+                }
+                length += inflated;
+            }
+            return raw;
+        } catch (DataFormatException exception) {
+            throw new IllegalStateException("corrupted segment block " + index, exception);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.example.bankcards.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+/**
+ * Writes an append-only archive segment of payment transactions.
+ *
+ * Rows have to arrive grouped by sender account in Postgres uuid order.
+ * They are buffered into blocks of a fixed number of rows, and every block
+ * is stored column by column and deflate compressed, so similar values of
+ * one column sit next to each other. Creation times are delta encoded and
+ * type and status names are replaced by indexes into a segment dictionary.
+ */
+public class TransactionSegmentWriter implements Closeable {
+
+    private final FileChannel channel;
+
+    private final int blockRows;
+
+    private final List<ArchivedTransaction> block;
+
+    private final List<BlockEntry> blocks = new ArrayList<>();
+
+    private final List<AccountEntry> accounts = new ArrayList<>();
+
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+    private final Deflater deflater = new Deflater();
+
+    private final byte[] deflateBuffer = new byte[64 * 1024];
+
+    private AccountEntry currentAccount;
+
+    private long position;
+
+    private long rowCount;
+
+    public TransactionSegmentWriter(Path file, int blockRows) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        this.blockRows = blockRows;
+        this.block = new ArrayList<>(blockRows);
+
+        ByteBuffer header = ByteBuffer.allocate(SegmentFormat.HEADER_BYTES)
+            .putInt(SegmentFormat.MAGIC)
+            .putInt(SegmentFormat.VERSION)
+            .flip();
+        write(header);
+    }
+
+    /**
+     * Appends a row to the segment
+     *
+     * @param transaction archived row
+     * @throws IOException if the block cannot be written
+     * @throws IllegalStateException if the row breaks the sender account order
+     */
+    public void append(ArchivedTransaction transaction) throws IOException {
+        UUID sender = transaction.senderAccountId();
+        if (currentAccount == null || !currentAccount.accountId.equals(sender)) {
+            if (currentAccount != null && SegmentFormat.UUID_ORDER.compare(sender, currentAccount.accountId) < 0) {
+                throw new IllegalStateException("archived rows must be ordered by sender account");
+            }
+            currentAccount = new AccountEntry(sender, blocks.size());
+            accounts.add(currentAccount);
+        }
+
+        long createdMicros = SegmentFormat.toMicros(transaction.createdAt());
+        currentAccount.lastBlock = blocks.size();
+        currentAccount.minCreatedMicros = Math.min(currentAccount.minCreatedMicros, createdMicros);
+        currentAccount.maxCreatedMicros = Math.max(currentAccount.maxCreatedMicros, createdMicros);
+
+        block.add(transaction);
+        rowCount++;
+        if (block.size() == blockRows) {
+            flushBlock();
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the last block and the footer and forces the file to disk
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!block.isEmpty()) {
+                flushBlock();
+            }
+            writeFooter();
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        int rows = block.size();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(rows * 96);
+        DataOutputStream out = new DataOutputStream(raw);
+
+        out.writeInt(rows);
+        for (ArchivedTransaction row : block) {
+            out.writeLong(row.senderAccountId().getMostSignificantBits());
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeLong(row.senderAccountId().getLeastSignificantBits());
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeLong(row.id().getMostSignificantBits());
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeLong(row.id().getLeastSignificantBits());
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeLong(row.recipientId().getMostSignificantBits());
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeLong(row.recipientId().getLeastSignificantBits());
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeLong(row.amountCents());
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeShort(dictionaryIndex(row.type()));
+        }
+        for (ArchivedTransaction row : block) {
+            out.writeShort(dictionaryIndex(row.status()));
+        }
+        long previousMicros = 0;
+        for (ArchivedTransaction row : block) {
+            long micros = SegmentFormat.toMicros(row.createdAt());
+            out.writeLong(micros - previousMicros);
+            previousMicros = micros;
+        }
+        List<byte[]> comments = new ArrayList<>(rows);
+        for (ArchivedTransaction row : block) {
+            byte[] comment = row.comment() == null ? null : row.comment().getBytes(StandardCharsets.UTF_8);
+            comments.add(comment);
+            out.writeInt(comment == null ? -1 : comment.length);
+        }
+        for (byte[] comment : comments) {
+            if (comment != null) {
+                out.write(comment);
+            }
+        }
+        out.flush();
+
+        byte[] compressed = deflate(raw.toByteArray());
+        blocks.add(new BlockEntry(position, compressed.length, raw.size(), rows));
+        write(ByteBuffer.wrap(compressed));
+        block.clear();
+    }
+
+    private byte[] deflate(byte[] input) {
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(input.length / 4 + 64);
+        while (!deflater.finished()) {
+            int length = deflater.deflate(deflateBuffer);
+            compressed.write(deflateBuffer, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void writeFooter() throws IOException {
+        long footerOffset = position;
+        ByteArrayOutputStream footer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(footer);
+
+        out.writeInt(blocks.size());
+        for (BlockEntry entry : blocks) {
+            out.writeLong(entry.offset());
+            out.writeInt(entry.compressedLength());
+            out.writeInt(entry.rawLength());
+            out.writeInt(entry.rows());
+        }
+
+        out.writeInt(accounts.size());
+        for (AccountEntry entry : accounts) {
+            out.writeLong(entry.accountId.getMostSignificantBits());
+            out.writeLong(entry.accountId.getLeastSignificantBits());
+            out.writeInt(entry.firstBlock);
+            out.writeInt(entry.lastBlock);
+            out.writeLong(entry.minCreatedMicros);
+            out.writeLong(entry.maxCreatedMicros);
+        }
+
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeLong(footerOffset);
+        out.writeInt(SegmentFormat.MAGIC);
+        out.flush();
+        write(ByteBuffer.wrap(footer.toByteArray()));
+    }
+
+    private int dictionaryIndex(String value) {
+        return dictionary.computeIfAbsent(value, ignored -> dictionary.size());
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private record BlockEntry(long offset, int compressedLength, int rawLength, int rows) {
+    }
+
+    private static final class AccountEntry {
+
+        private final UUID accountId;
+
+        private final int firstBlock;
+
+        private int lastBlock;
+
+        private long minCreatedMicros = Long.MAX_VALUE;
+
+        private long maxCreatedMicros = Long.MIN_VALUE;
+
+        private AccountEntry(UUID accountId, int firstBlock) {
+            this.accountId = accountId;
+            this.firstBlock = firstBlock;
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.example.bankcards.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the audit journal written by {@link AuditJournalWriter} and verifies its hash chain.
+ *
+ * Segments are mapped read-only in sequence order. Every record must carry
+ * the next sequence and the SHA-256 of its payload chained to the previous
+ * hash, and every segment must start where the previous one ended with the
+ * same hash in its header. Unused slots may only follow the last record of
+ * the newest segment. The chain proves that no record was changed, removed
+ * or inserted in place; rewriting the journal from some record on is only
+ * detected against a last hash kept elsewhere, such as the one logged at
+ * every rotation. The hash in the header of the oldest segment is trusted,
+ * so old segments can be moved away.
+ *
+ * Can be run as a tool: java -cp app.jar -Dloader.main=com.example.bankcards.audit.AuditJournalReader
+ * org.springframework.boot.loader.launch.PropertiesLauncher &lt;journal directory&gt;
+ */
+public final class AuditJournalReader {
+
+    private AuditJournalReader() {
+    }
+
+    /**
+     * Reads all records of a journal in order, stopping at the first broken link
+     *
+     * @param directory journal directory
+     * @param consumer receives every verified record
+     * @return outcome of the verification
+     * @throws IOException if a segment cannot be read
+     */
+    public static Verification verify(Path directory, Consumer<AuditRecord> consumer) throws IOException {
+        List<Long> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files
+                .map(file -> JournalFormat.firstSequence(file.getFileName().toString()))
+                .filter(first -> first > 0)
+                .sorted()
+                .toList();
+        }
+
+        MessageDigest digest = JournalFormat.sha256();
+        byte[] hash = null;
+        long expected = 0;
+        long records = 0;
+        boolean ended = false;
+        for (long first : segments) {
+            Path file = directory.resolve(JournalFormat.segmentName(first));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.capacity() < JournalFormat.HEADER_BYTES || buffer.getInt(0) != JournalFormat.MAGIC
+                        || buffer.getInt(4) != JournalFormat.VERSION || buffer.getLong(8) != first) {
+                    return Verification.failed(segments.size(), records, expected - 1, hash,
+                        "not an audit journal segment: " + file.getFileName());
+                }
+                byte[] previous = new byte[JournalFormat.HASH_BYTES];
+                buffer.get(16, previous);
+                if (hash == null) {
+                    hash = previous;
+                    expected = first;
+                } else if (ended || first != expected || !Arrays.equals(hash, previous)) {
+                    return Verification.failed(segments.size(), records, expected - 1, hash,
+                        "segment " + file.getFileName() + " does not continue the chain at sequence " + expected);
+                }
+
+                int capacity = (buffer.capacity() - JournalFormat.HEADER_BYTES) / JournalFormat.RECORD_BYTES;
+                for (int slot = 0; slot < capacity; slot++) {
+                    int offset = JournalFormat.HEADER_BYTES + slot * JournalFormat.RECORD_BYTES;
+                    long sequence = buffer.getLong(offset);
+                    if (sequence == 0) {
+                        ended = true;
+                        continue;
+                    }
+                    if (ended) {
+                        return Verification.failed(segments.size(), records, expected - 1, hash,
+                            "record " + sequence + " follows an unused slot in " + file.getFileName());
+                    }
+                    byte[] stored = new byte[JournalFormat.HASH_BYTES];
+                    buffer.get(offset + JournalFormat.PAYLOAD_BYTES, stored);
+                    if (sequence != expected || !Arrays.equals(JournalFormat.chain(digest, hash, buffer, offset), stored)) {
+                        return Verification.failed(segments.size(), records, expected - 1, hash,
+                            "hash chain broken at sequence " + expected + " in " + file.getFileName());
+                    }
+                    consumer.accept(JournalFormat.readPayload(buffer, offset));
+                    hash = stored;
+                    expected++;
+                    records++;
+                }
+            }
+        }
+        return new Verification(segments.size(), records, expected - 1, hash, null);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: AuditJournalReader <journal directory>");
+            System.exit(2);
+        }
+        Verification verification = verify(Path.of(args[0]), record -> { });
+        System.out.printf("segments %d, records %d, last sequence %d, last hash %s%n",
+            verification.segments(), verification.records(), verification.lastSequence(),
+            verification.lastHashHex());
+        if (!verification.valid()) {
+            System.out.println("INVALID: " + verification.failure());
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    /**
+     * Outcome of a journal verification
+     *
+     * @param segments number of segment files found
+     * @param records number of records verified
+     * @param lastSequence sequence of the last verified record
+     * @param lastHash hash of the last verified record, null for an empty journal
+     * @param failure reason the verification stopped, null if the whole journal is valid
+     */
+    public record Verification(int segments, long records, long lastSequence, byte[] lastHash, String failure) {
+
+        static Verification failed(int segments, long records, long lastSequence, byte[] lastHash,
+            String failure) {
+            return new Verification(segments, records, Math.max(lastSequence, 0), lastHash, failure);
+        }
+
+        public boolean valid() {
+            return failure == null;
+        }
+
+        public String lastHashHex() {
+            return lastHash == null ? "-" : HexFormat.of().formatHex(lastHash);
+        }
+
+    }
+
+}
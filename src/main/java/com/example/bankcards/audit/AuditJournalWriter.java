@@ -0,0 +1,293 @@
+package com.example.bankcards.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Appends hash chained records to memory-mapped segment files of the audit journal.
+ *
+ * Every segment is preallocated for a fixed number of records and mapped
+ * read-write, so an append is a few absolute puts into the mapping and a
+ * SHA-256 over the record and the previous hash. Appended records reach the
+ * page cache at once and survive a crash of the process. They are forced to
+ * disk by {@link #flush()}, which the writer calls itself every flush-records
+ * appends and the owner calls periodically, so one msync covers a group of
+ * records. A full segment is forced and the next one starts with the last
+ * hash in its header. On open, the newest segment is scanned to continue the
+ * chain, a torn last record left by a crash during an append is cleared. A
+ * lock file keeps a second writer out of the directory.
+ */
+public class AuditJournalWriter implements Closeable {
+
+    private static final String LOCK_FILE = "journal.lock";
+
+    private final Path directory;
+
+    private final int segmentRecords;
+
+    private final int flushRecords;
+
+    private final FileChannel lockChannel;
+
+    private final FileLock lock;
+
+    private final MessageDigest digest = JournalFormat.sha256();
+
+    private Segment segment;
+
+    private long nextSequence;
+
+    private byte[] lastHash;
+
+    private int unflushed;
+
+    private int rotations;
+
+    /**
+     * Opens the journal in a directory, continuing after its last record
+     *
+     * @param directory journal directory, created if missing
+     * @param segmentRecords number of records per segment file
+     * @param flushRecords number of appends after which the appending thread forces them to disk
+     * @throws IOException if the journal cannot be opened or another writer holds it
+     * @throws IllegalStateException if the newest segment is corrupted
+     */
+    public AuditJournalWriter(Path directory, int segmentRecords, int flushRecords) throws IOException {
+        if ((long) segmentRecords * JournalFormat.RECORD_BYTES + JournalFormat.HEADER_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("audit journal segment would be larger than 2 GB");
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.flushRecords = Math.max(flushRecords, 1);
+
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException exception) {
+            acquired = null;
+        }
+        this.lock = acquired;
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("audit journal is locked by another writer: " + directory);
+        }
+
+        try {
+            long newest = newestSegment();
+            if (newest < 0) {
+                this.nextSequence = 1;
+                this.lastHash = JournalFormat.GENESIS_HASH;
+                this.segment = create(1, JournalFormat.GENESIS_HASH);
+            } else {
+                this.segment = recover(newest);
+            }
+        } catch (IOException | RuntimeException exception) {
+            lock.release();
+            lockChannel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Appends a record for a committed transfer
+     *
+     * @return the stored record with its sequence
+     * @throws IOException if a new segment cannot be created
+     */
+    public AuditRecord append(UUID transactionId, UUID senderAccountId, UUID recipientId, long amountCents,
+        Instant createdAt, Instant recordedAt) throws IOException {
+        AuditRecord record;
+        boolean flushDue;
+        synchronized (this) {
+            if (segment.written == segmentRecords) {
+                rotate();
+            }
+            record = new AuditRecord(nextSequence, transactionId, senderAccountId, recipientId, amountCents,
+                JournalFormat.fromMicros(JournalFormat.toMicros(createdAt)),
+                JournalFormat.fromMicros(JournalFormat.toMicros(recordedAt)));
+            int offset = segment.offset(segment.written);
+            JournalFormat.writePayload(segment.buffer, offset, nextSequence, record);
+            lastHash = JournalFormat.chain(digest, lastHash, segment.buffer, offset);
+            segment.buffer.put(offset + JournalFormat.PAYLOAD_BYTES, lastHash);
+            segment.written++;
+            nextSequence++;
+            flushDue = ++unflushed >= flushRecords;
+        }
+        if (flushDue) {
+            flush();
+        }
+        return record;
+    }
+
+    /**
+     * Forces the records appended since the last flush to disk
+     */
+    public void flush() {
+        Segment target;
+        int from;
+        int to;
+        synchronized (this) {
+            if (unflushed == 0) {
+                return;
+            }
+            target = segment;
+            from = target.flushed;
+            to = target.offset(target.written);
+            target.flushed = to;
+            unflushed = 0;
+        }
+        if (to > from) {
+            target.buffer.force(from, to - from);
+        }
+    }
+
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * @return hash of the last record, to be kept outside the journal as an anchor
+     */
+    public synchronized byte[] lastHash() {
+        return lastHash.clone();
+    }
+
+    /**
+     * @return number of segments started by this writer after opening the journal
+     */
+    public synchronized int rotations() {
+        return rotations;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            segment.buffer.force();
+            segment.channel.close();
+        } finally {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    private void rotate() throws IOException {
+        segment.buffer.force();
+        segment.channel.close();
+        segment = create(nextSequence, lastHash);
+        unflushed = 0;
+        rotations++;
+    }
+
+    private Segment create(long firstSequence, byte[] previousHash) throws IOException {
+        Path file = directory.resolve(JournalFormat.segmentName(firstSequence));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+            JournalFormat.HEADER_BYTES + (long) segmentRecords * JournalFormat.RECORD_BYTES);
+        buffer.putInt(0, JournalFormat.MAGIC)
+            .putInt(4, JournalFormat.VERSION)
+            .putLong(8, firstSequence)
+            .put(16, previousHash);
+        buffer.force(0, JournalFormat.HEADER_BYTES);
+        Segment created = new Segment(channel, buffer);
+        created.flushed = JournalFormat.HEADER_BYTES;
+        return created;
+    }
+
+    private Segment recover(long firstSequence) throws IOException {
+        Path file = directory.resolve(JournalFormat.segmentName(firstSequence));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (buffer.getInt(0) != JournalFormat.MAGIC || buffer.getInt(4) != JournalFormat.VERSION
+                || buffer.getLong(8) != firstSequence) {
+            channel.close();
+            throw new IllegalStateException("not an audit journal segment: " + file);
+        }
+        Segment recovered = new Segment(channel, buffer);
+        int capacity = (buffer.capacity() - JournalFormat.HEADER_BYTES) / JournalFormat.RECORD_BYTES;
+        if (capacity != segmentRecords) {
+            channel.close();
+            throw new IllegalStateException("audit journal segment " + file + " holds " + capacity
+                + " records, configured segment size is " + segmentRecords);
+        }
+
+        byte[] hash = new byte[JournalFormat.HASH_BYTES];
+        buffer.get(16, hash);
+        long sequence = firstSequence;
+        while (recovered.written < capacity) {
+            int offset = recovered.offset(recovered.written);
+            long stored = buffer.getLong(offset);
+            if (stored == 0) {
+                break;
+            }
+            byte[] expected = JournalFormat.chain(digest, hash, buffer, offset);
+            byte[] actual = new byte[JournalFormat.HASH_BYTES];
+            buffer.get(offset + JournalFormat.PAYLOAD_BYTES, actual);
+            if (stored != sequence || !Arrays.equals(expected, actual)) {
+                boolean last = recovered.written + 1 == capacity
+                    || buffer.getLong(recovered.offset(recovered.written + 1)) == 0;
+                if (!last) {
+                    channel.close();
+                    throw new IllegalStateException("audit journal segment " + file
+                        + " is corrupted at sequence " + sequence);
+                }
+                buffer.put(offset, new byte[JournalFormat.RECORD_BYTES]);
+                buffer.force(offset, JournalFormat.RECORD_BYTES);
+                break;
+            }
+            hash = actual;
+            sequence++;
+            recovered.written++;
+        }
+        recovered.flushed = recovered.offset(recovered.written);
+        this.nextSequence = sequence;
+        this.lastHash = hash;
+        return recovered;
+    }
+
+    private long newestSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .mapToLong(file -> JournalFormat.firstSequence(file.getFileName().toString()))
+                .max()
+                .orElse(-1);
+        }
+    }
+
+    private static final class Segment {
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private int written;
+
+        private int flushed;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private int offset(int record) {
+            return JournalFormat.HEADER_BYTES + record * JournalFormat.RECORD_BYTES;
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.bankcards.audit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Committed transfer as stored in the audit journal
+ *
+ * @param sequence position in the journal, assigned on append
+ * @param transactionId payment transaction id
+ * @param senderAccountId sender card account id
+ * @param recipientId recipient id as stored in payment_transactions
+ * @param amountCents amount in minor units
+ * @param createdAt creation time of the transaction, truncated to microseconds
+ * @param recordedAt time the record was appended, truncated to microseconds
+ */
+public record AuditRecord(long sequence, UUID transactionId, UUID senderAccountId, UUID recipientId,
+    long amountCents, Instant createdAt, Instant recordedAt) {
+}
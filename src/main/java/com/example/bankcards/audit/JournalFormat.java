@@ -0,0 +1,113 @@
+package com.example.bankcards.audit;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Layout of a transfer audit journal segment file.
+ *
+ * <pre>
+ * header   magic int, version int, first sequence long, hash of the record before the segment
+ * records  fixed-size records until the preallocated end of the file
+ * </pre>
+ *
+ * <pre>
+ * record   sequence long, transaction id, sender account id, recipient id (two longs each),
+ *          amount in minor units long, created at micros long, recorded at micros long,
+ *          SHA-256 of the previous record hash and the preceding record bytes
+ * </pre>
+ *
+ * Sequences start at 1 and grow by one across segments, so a slot with
+ * sequence 0 is unused. The hash of the record before the first one is all
+ * zeros. Segment files are named after their first sequence.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x42434a4c;
+
+    static final int VERSION = 1;
+
+    static final int HASH_BYTES = 32;
+
+    static final int HEADER_BYTES = 16 + HASH_BYTES;
+
+    static final int PAYLOAD_BYTES = 8 + 16 * 3 + 8 * 3;
+
+    static final int RECORD_BYTES = PAYLOAD_BYTES + HASH_BYTES;
+
+    static final byte[] GENESIS_HASH = new byte[HASH_BYTES];
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d{20})\\.journal");
+
+    private JournalFormat() {
+    }
+
+    static String segmentName(long firstSequence) {
+        return String.format("audit-%020d.journal", firstSequence);
+    }
+
+    /**
+     * @return first sequence of the segment or -1 if the name is not a segment name
+     */
+    static long firstSequence(String fileName) {
+        Matcher matcher = SEGMENT_NAME.matcher(fileName);
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    static void writePayload(ByteBuffer buffer, int offset, long sequence, AuditRecord record) {
+        buffer.putLong(offset, sequence);
+        buffer.putLong(offset + 8, record.transactionId().getMostSignificantBits());
+        buffer.putLong(offset + 16, record.transactionId().getLeastSignificantBits());
+        buffer.putLong(offset + 24, record.senderAccountId().getMostSignificantBits());
+        buffer.putLong(offset + 32, record.senderAccountId().getLeastSignificantBits());
+        buffer.putLong(offset + 40, record.recipientId().getMostSignificantBits());
+        buffer.putLong(offset + 48, record.recipientId().getLeastSignificantBits());
+        buffer.putLong(offset + 56, record.amountCents());
+        buffer.putLong(offset + 64, toMicros(record.createdAt()));
+        buffer.putLong(offset + 72, toMicros(record.recordedAt()));
+    }
+
+    static AuditRecord readPayload(ByteBuffer buffer, int offset) {
+        return new AuditRecord(
+            buffer.getLong(offset),
+            new UUID(buffer.getLong(offset + 8), buffer.getLong(offset + 16)),
+            new UUID(buffer.getLong(offset + 24), buffer.getLong(offset + 32)),
+            new UUID(buffer.getLong(offset + 40), buffer.getLong(offset + 48)),
+            buffer.getLong(offset + 56),
+            fromMicros(buffer.getLong(offset + 64)),
+            fromMicros(buffer.getLong(offset + 72)));
+    }
+
+    /**
+     * Hashes the payload of the record at the offset chained to the previous hash
+     */
+    static byte[] chain(MessageDigest digest, byte[] previousHash, ByteBuffer buffer, int offset) {
+        digest.reset();
+        digest.update(previousHash);
+        digest.update(buffer.slice(offset, PAYLOAD_BYTES));
+        return digest.digest();
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    static Instant fromMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+}
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import com.example.bankcards.dto.response.ErrorResponse;
 import com.example.bankcards.exception.abstractClass.ConflictException;
 import com.example.bankcards.exception.abstractClass.NotFoundException;
+import com.example.bankcards.exception.abstractClass.TooManyRequestsException;
 import com.example.bankcards.exception.abstractClass.UnauthorizedException;
 import lombok.extern.slf4j.Slf4j;
 
@@ -88,4 +89,21 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
+    /**
+     * Handles TooManyRequestsException and returns a 429 error response.
+     * @param exception The caught TooManyRequestsException.
+     * @return ErrorResponse with details.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorResponse handleTooManyRequests(TooManyRequestsException exception) {
+        log.warn("Too many requests: {}", exception.getMessage());
+        return ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(exception.getMessage())
+                .build();
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.example.bankcards.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configuration class for Micrometer instrumentation
+ * Enables {@code @Timed} on Spring beans such as AES encryption and JWT parsing
+ */
+@Configuration
+@Slf4j
+public class MetricsConfiguration {
+
+    /**
+     * Provides the aspect that records {@code @Timed} annotated methods
+     *
+     * @param meterRegistry registry the timers are published to
+     * @return TimedAspect instance
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        log.info("Creating TimedAspect for @Timed instrumentation");
+        return new TimedAspect(meterRegistry);
+    }
+
+}
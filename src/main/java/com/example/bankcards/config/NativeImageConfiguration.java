@@ -0,0 +1,119 @@
+package com.example.bankcards.config;
+
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Configuration class registering GraalVM native image hints
+ * Covers what Spring AOT cannot infer: entities and DTOs, jjwt implementation
+ * classes loaded by name, Liquibase changelogs and JCA algorithm implementations
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfiguration.BankcardsRuntimeHints.class)
+public class NativeImageConfiguration {
+
+    static final String[] REFLECTIVE_PACKAGES = {
+        "com.example.bankcards.model.entity",
+        "com.example.bankcards.model.enums",
+        "com.example.bankcards.dto"
+    };
+
+    static final String[] JJWT_CLASSES = {
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParser",
+        "io.jsonwebtoken.impl.DefaultClaims",
+        "io.jsonwebtoken.impl.DefaultHeader",
+        "io.jsonwebtoken.impl.DefaultJwsHeader",
+        "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    static final String[] JCA_CLASSES = {
+        "com.sun.crypto.provider.AESCipher$General",
+        "com.sun.crypto.provider.GaloisCounterMode$AESGCM",
+        "com.sun.crypto.provider.HmacCore$HmacSHA256",
+        "com.sun.crypto.provider.HmacCore$HmacSHA384",
+        "com.sun.crypto.provider.HmacCore$HmacSHA512",
+        "sun.security.provider.SHA2$SHA256",
+        "sun.security.provider.DRBG",
+        "sun.security.provider.NativePRNG"
+    };
+
+    static final String[] RESOURCE_PATTERNS = {
+        "db/db.changelog-master.yaml",
+        "db/changelog/**/*.yaml",
+        "META-INF/services/io.jsonwebtoken.io.Serializer",
+        "META-INF/services/io.jsonwebtoken.io.Deserializer"
+    };
+
+    /**
+     * Registers reflection and resource hints used by the native image build
+     */
+    public static class BankcardsRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final MemberCategory[] ALL_MEMBERS = {
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_DECLARED_METHODS
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String className : applicationClasses(classLoader)) {
+                hints.reflection().registerType(TypeReference.of(className), ALL_MEMBERS);
+            }
+            for (String className : JJWT_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (String className : JCA_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+            for (String pattern : RESOURCE_PATTERNS) {
+                hints.resources().registerPattern(pattern);
+            }
+        }
+
+        /**
+         * Finds entities, enums and DTOs including nested and Lombok builder classes,
+         * scanning runs once during the AOT build
+         */
+        private Set<String> applicationClasses(ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return true;
+                }
+            };
+            scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+            scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+
+            Set<String> classNames = new TreeSet<>();
+            for (String basePackage : REFLECTIVE_PACKAGES) {
+                for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                    String className = candidate.getBeanClassName();
+                    if (className != null && ClassUtils.isPresent(className, classLoader)) {
+                        classNames.add(className);
+                    }
+                }
+            }
+            return classNames;
+        }
+
+    }
+
+}
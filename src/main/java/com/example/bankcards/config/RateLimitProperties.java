@@ -0,0 +1,54 @@
+package com.example.bankcards.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Request rate limits applied in the security filter chain
+ * Bound from the {@code bankcards.rate-limit} prefix
+ */
+@Data
+@ConfigurationProperties(prefix = "bankcards.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Enables the rate limiting filter
+     */
+    private boolean enabled;
+
+    /**
+     * Keys kept per limiter before full buckets are dropped
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Limit of authenticated requests per login
+     */
+    private Bucket user = new Bucket(20, 40);
+
+    /**
+     * Limit of requests to /api/auth/** per client address
+     */
+    private Bucket auth = new Bucket(1, 10);
+
+    /**
+     * Refill rate and capacity of a token bucket
+     */
+    @Data
+    public static class Bucket {
+
+        private double requestsPerSecond;
+
+        private int burst;
+
+        public Bucket() {
+        }
+
+        public Bucket(double requestsPerSecond, int burst) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+        }
+
+    }
+
+}
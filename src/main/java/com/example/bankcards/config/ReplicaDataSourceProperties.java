@@ -0,0 +1,62 @@
+package com.example.bankcards.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Settings of the read replicas used for read-only transactions
+ * Bound from the {@code bankcards.datasource.replica} prefix
+ */
+@Data
+@ConfigurationProperties(prefix = "bankcards.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Enables routing of read-only transactions to replicas
+     */
+    private boolean enabled;
+
+    /**
+     * Replication lag after which a replica stops receiving reads
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Timeout of the lag query sent to each replica
+     */
+    private Duration checkTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Delay between two lag checks in milliseconds
+     */
+    private long checkIntervalMs = 5000;
+
+    /**
+     * Number of check intervals after which a replica without a successful check stops receiving reads
+     */
+    private int maxMissedChecks = 3;
+
+    private List<Replica> instances = new ArrayList<>();
+
+    /**
+     * Connection settings of a single replica
+     */
+    @Data
+    public static class Replica {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+    }
+
+}
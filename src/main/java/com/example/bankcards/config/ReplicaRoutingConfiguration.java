@@ -0,0 +1,105 @@
+package com.example.bankcards.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import com.example.bankcards.datasource.ReplicaLagMonitor;
+import com.example.bankcards.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configuration class for read replica routing
+ * Replaces the auto-configured data source with a routing one that sends
+ * {@code @Transactional(readOnly = true)} work to replicas
+ * Active only when bankcards.datasource.replica.enabled is true
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "bankcards.datasource.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaRoutingConfiguration {
+
+    /**
+     * Provides the primary pool configured by spring.datasource
+     *
+     * @param dataSourceProperties standard data source properties
+     * @return Hikari pool of the primary database
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        log.info("Creating primary data source: {}", dataSourceProperties.getUrl());
+        return dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+    }
+
+    /**
+     * Provides the routing data source over primary and replicas
+     *
+     * @param primaryDataSource primary pool
+     * @param properties replica settings
+     * @return routing data source
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+        ReplicaDataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getInstances().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = properties.getInstances().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+            log.info("Creating replica data source {}: {}", name, replica.getUrl());
+
+            HikariDataSource replicaDataSource = new HikariDataSource();
+            replicaDataSource.setPoolName(name);
+            replicaDataSource.setJdbcUrl(replica.getUrl());
+            replicaDataSource.setUsername(replica.getUsername());
+            replicaDataSource.setPassword(replica.getPassword());
+            replicaDataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            replicaDataSource.setReadOnly(true);
+            replicaDataSource.setInitializationFailTimeout(-1);
+            replicas.put(name, replicaDataSource);
+        }
+        Duration availabilityTimeout = Duration.ofMillis(properties.getCheckIntervalMs())
+            .multipliedBy(Math.max(1, properties.getMaxMissedChecks()));
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, availabilityTimeout);
+    }
+
+    /**
+     * Provides the data source used by JPA, JDBC and Liquibase
+     * The lazy proxy defers taking a connection until the first statement,
+     * when the read-only flag of the transaction is already known
+     *
+     * @param replicaRoutingDataSource routing data source
+     * @return lazy connection proxy over the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Provides the monitor that excludes lagging replicas from routing
+     *
+     * @param replicaRoutingDataSource routing data source
+     * @param properties replica settings
+     * @return replica lag monitor
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+        ReplicaDataSourceProperties properties) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, properties);
+    }
+
+}
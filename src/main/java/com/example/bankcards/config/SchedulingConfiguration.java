@@ -0,0 +1,52 @@
+package com.example.bankcards.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Configuration class for background jobs
+ * Enables processing of {@code @Scheduled} methods
+ *
+ * Jobs running for minutes, like balance reconciliation and card number
+ * rekeying, use {@link #BATCH_JOB_SCHEDULER}, so the short periodic tasks
+ * on the default scheduler keep their rate while they run.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+    public static final String BATCH_JOB_SCHEDULER = "batchJobScheduler";
+
+    /**
+     * Default scheduler of {@code @Scheduled} methods, sized by spring.task.scheduling.pool.size.
+     * Declared because the second scheduler below disables the auto-configured one
+     *
+     * @param builder builder configured from spring.task.scheduling
+     * @return default task scheduler
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Scheduler of long running batch jobs
+     *
+     * @param poolSize number of batch jobs able to run at the same time
+     * @return batch job scheduler
+     */
+    @Bean(name = BATCH_JOB_SCHEDULER)
+    public ThreadPoolTaskScheduler batchJobScheduler(
+        @Value("${bankcards.scheduling.batch-pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("batch-job-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+
+}
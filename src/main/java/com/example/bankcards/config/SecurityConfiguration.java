@@ -12,6 +12,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import com.example.bankcards.filter.JwtFilter;
+import com.example.bankcards.filter.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,12 +30,15 @@ public class SecurityConfiguration {
 
     private final JwtFilter jwtFilter;
 
+    private final RateLimitFilter rateLimitFilter;
+
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
     /**
      * Configures the filter chain
-     * Disables CSRF, sets up permitAll for public endpoints,
-     * adds JWT filter, and handles authentication exceptions
+     * Disables CSRF, sets up permitAll for public endpoints and for async
+     * dispatches of already authorized streaming responses,
+     * adds rate limiting and JWT filters, and handles authentication exceptions
      *
      * @param httpSecurity instance to configure
      * @return Configured SecurityFilterChain
@@ -53,10 +58,13 @@ public class SecurityConfiguration {
                         "/swagger-ui/**",
                         "/api-docs/**",
                         "/actuator/health",
-                        "/actuator/info"
+                        "/actuator/info",
+                        "/actuator/prometheus"
                     ).permitAll()
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .anyRequest().authenticated())
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtFilter.class)
             .exceptionHandling(exceptionHandling -> exceptionHandling
                 .authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .build();
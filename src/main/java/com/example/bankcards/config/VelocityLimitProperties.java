@@ -0,0 +1,49 @@
+package com.example.bankcards.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Velocity limits of outgoing transfers per sender account and per user
+ * Bound from the {@code bankcards.transfer.velocity} prefix
+ */
+@Data
+@ConfigurationProperties(prefix = "bankcards.transfer.velocity")
+public class VelocityLimitProperties {
+
+    /**
+     * Enables the in-memory velocity checks of transfers
+     */
+    private boolean enabled;
+
+    /**
+     * Number of lock stripes the counted keys are spread over
+     */
+    private int stripes = 64;
+
+    /**
+     * Keys kept per stripe before the least recently used one is dropped
+     */
+    private int maxKeysPerStripe = 4096;
+
+    private Limits account = new Limits();
+
+    private Limits user = new Limits();
+
+    /**
+     * Limits of one scope, zero disables a limit
+     */
+    @Data
+    public static class Limits {
+
+        private long countPerMinute;
+
+        private double amountPerMinute;
+
+        private long countPerDay;
+
+        private double amountPerDay;
+
+    }
+
+}
@@ -3,30 +3,49 @@ package com.example.bankcards.controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import com.example.bankcards.controller.interfaces.AdminController;
+import com.example.bankcards.dto.request.BalanceAtRequest;
+import com.example.bankcards.dto.request.BalanceSlotsRequest;
+import com.example.bankcards.dto.request.BulkCardIssueRequest;
 import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.dto.request.ProcessNotificationsRequest;
+import com.example.bankcards.dto.response.BalanceAtResponse;
+import com.example.bankcards.dto.response.BalanceSlotsResponse;
+import com.example.bankcards.dto.response.BulkCardIssueResponse;
 import com.example.bankcards.dto.response.CardActiveStatusResponse;
 import com.example.bankcards.dto.response.CreateCardResponse;
+import com.example.bankcards.dto.response.DailyTransactionReportResponse;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.ProcessNotificationsResponse;
 import com.example.bankcards.dto.response.UserActiveResponse;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.service.AdminCardServiceImpl;
 import com.example.bankcards.service.AdminUserServiceImpl;
+import com.example.bankcards.service.BulkCardIssuanceService;
+import com.example.bankcards.service.NotificationProcessingService;
 import com.example.bankcards.service.NotificationServiceImpl;
+import com.example.bankcards.service.NotificationStreamService;
+import com.example.bankcards.service.TransactionReportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import java.time.LocalDate;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Implementation of AdminController
@@ -43,6 +62,14 @@ public class AdminControllerImpl implements AdminController {
 
     private final NotificationServiceImpl notificationService;
 
+    private final NotificationStreamService notificationStreamService;
+
+    private final BulkCardIssuanceService bulkCardIssuanceService;
+
+    private final NotificationProcessingService notificationProcessingService;
+
+    private final TransactionReportService transactionReportService;
+
     /**
      * Grants admin role to a user
      *
@@ -101,6 +128,60 @@ public class AdminControllerImpl implements AdminController {
         return response;
     }
 
+    /**
+     * Streams new notifications as server-sent events
+     *
+     * @param lastEventId Id of the last received notification, sent by clients on reconnect
+     * @return SseEmitter sending missed and new notifications
+     */
+    @Operation(
+            summary = "Stream notifications",
+            description = "Pushes new notifications as server-sent events, resumes after Last-Event-ID. Requires admin privileges",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Notification stream opened"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient privileges"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        log.info("Entering streamNotifications with lastEventId: {}", lastEventId);
+        SseEmitter emitter = notificationStreamService.subscribe(lastEventId);
+        log.info("Exiting streamNotifications");
+        return emitter;
+    }
+
+    /**
+     * Processes pending notifications of one type in bulk
+     *
+     * @param processNotificationsRequest Request containing notification type and optional selection
+     * @return ProcessNotificationsResponse with numbers of processed and skipped notifications
+     */
+    @Operation(
+            summary = "Process notifications in bulk",
+            description = "Issues or blocks cards for the selected or all pending notifications of a type and deactivates them. Requires admin privileges",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Notifications processed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient privileges"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/notifications/process")
+    public ProcessNotificationsResponse processNotifications(@RequestBody @Valid ProcessNotificationsRequest processNotificationsRequest) {
+        log.info("Entering processNotifications for event: {}", processNotificationsRequest.getEvent());
+        ProcessNotificationsResponse response = notificationProcessingService.process(processNotificationsRequest);
+        log.info("Exiting processNotifications with response: {}", response);
+        return response;
+    }
+
     /**
      * Creates a new card for a user
      *
@@ -129,6 +210,34 @@ public class AdminControllerImpl implements AdminController {
         return response;
     }
 
+    /**
+     * Issues many cards to a user at once
+     *
+     * @param bulkCardIssueRequest Request containing user ID and number of cards
+     * @return BulkCardIssueResponse with masked numbers and cards per second
+     */
+    @Operation(
+            summary = "Issue cards in bulk",
+            description = "Issues up to 10000 cards with numbers from the reserved range to the specified user. Requires admin privileges",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cards issued successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid number of cards"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient privileges"),
+                    @ApiResponse(responseCode = "404", description = "User not found"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/card/create/bulk")
+    public BulkCardIssueResponse issueCards(@RequestBody @Valid BulkCardIssueRequest bulkCardIssueRequest) {
+        log.info("Entering issueCards for userId: {}, count: {}", bulkCardIssueRequest.getUserId(), bulkCardIssueRequest.getCount());
+        BulkCardIssueResponse response = bulkCardIssuanceService.issueCards(bulkCardIssueRequest);
+        log.info("Exiting issueCards with {} cards at {} cards/sec", response.getIssued(), response.getCardsPerSecond());
+        return response;
+    }
+
     /**
      * Blocks a card
      *
@@ -185,6 +294,92 @@ public class AdminControllerImpl implements AdminController {
         return response;
     }
 
+    /**
+     * Changes the number of balance slots of a card account
+     *
+     * @param balanceSlotsRequest Request containing card number and number of slots
+     * @return BalanceSlotsResponse with slots configuration
+     */
+    @Operation(
+            summary = "Configure balance slots of a card",
+            description = "Spreads credits of a hot card account over several balance rows, 0 slots disables it. Requires admin privileges",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Balance slots configured successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid number of slots"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient privileges"),
+                    @ApiResponse(responseCode = "404", description = "Card not found"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/card/balance-slots")
+    public BalanceSlotsResponse configureBalanceSlots(@RequestBody @Valid BalanceSlotsRequest balanceSlotsRequest) {
+        log.info("Entering configureBalanceSlots with slots: {}", balanceSlotsRequest.getBalanceSlots());
+        BalanceSlotsResponse response = adminCardService.configureBalanceSlots(balanceSlotsRequest);
+        log.info("Exiting configureBalanceSlots with response: {}", response);
+        return response;
+    }
+
+    /**
+     * Returns the balance of a card at a point in time
+     *
+     * @param balanceAtRequest Request containing card number and point in time
+     * @return BalanceAtResponse with the historical balance
+     */
+    @Operation(
+            summary = "Get card balance at a point in time",
+            description = "Calculates the balance from the latest snapshot and the ledger entries after it. Requires admin privileges",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Balance calculated successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient privileges"),
+                    @ApiResponse(responseCode = "404", description = "Card not found"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/card/balance-at")
+    public BalanceAtResponse balanceAt(@RequestBody @Valid BalanceAtRequest balanceAtRequest) {
+        log.info("Entering balanceAt for time: {}", balanceAtRequest.getAt());
+        BalanceAtResponse response = adminCardService.balanceAt(balanceAtRequest);
+        log.info("Exiting balanceAt with response: {}", response);
+        return response;
+    }
+
+    /**
+     * Returns daily transaction volumes by type and status
+     *
+     * @param from First day of the report, UTC
+     * @param to Last day of the report, UTC, inclusive
+     * @return DailyTransactionReportResponse with volumes read from the rollups
+     */
+    @Operation(
+            summary = "Get daily transaction volumes",
+            description = "Returns number and amount of transactions per day, type and status from incrementally maintained rollups. Requires admin privileges",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Report returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid or too long date range"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - insufficient privileges"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/reports/transactions/daily")
+    public DailyTransactionReportResponse dailyTransactionReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Entering dailyTransactionReport from: {} to: {}", from, to);
+        DailyTransactionReportResponse response = transactionReportService.dailyReport(from, to);
+        log.info("Exiting dailyTransactionReport with {} rows", response.getVolumes().size());
+        return response;
+    }
+
     /**
      * Blocks a user
      *
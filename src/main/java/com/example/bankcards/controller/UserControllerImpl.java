@@ -1,17 +1,23 @@
 package com.example.bankcards.controller;
 
+import java.time.Instant;
+import java.util.UUID;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import com.example.bankcards.controller.interfaces.UserController;
 import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.dto.request.TransactionHistoryRequest;
 import com.example.bankcards.dto.request.TransferRequest;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.CardStatusResponse;
 import com.example.bankcards.dto.response.CreateTransactionResponse;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.TransactionHistoryResponse;
+import com.example.bankcards.dto.response.TransactionStatusResponse;
 import com.example.bankcards.service.CardServiceImpl;
-import com.example.bankcards.service.TransferServiceImpl;
+import com.example.bankcards.service.IdempotencyService;
+import com.example.bankcards.service.TransactionHistoryService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -26,7 +32,9 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
 /**
@@ -40,7 +48,9 @@ public class UserControllerImpl implements UserController {
 
     private final CardServiceImpl cardService;
 
-    private final TransferServiceImpl transferService;
+    private final IdempotencyService idempotencyService;
+
+    private final TransactionHistoryService transactionHistoryService;
 
     /**
      * Creates a card request for the authenticated user
@@ -102,28 +112,33 @@ public class UserControllerImpl implements UserController {
     /**
      * Performs a money transfer
      *
+     * @param idempotencyKey Optional client key, retries with the same key replay the first response
      * @param transferRequest Request containing transfer details
      * @return CreateTransactionResponse with transaction details
      * @throws IllegalAccessException If access is denied
      */
     @Operation(
             summary = "Perform money transfer",
-            description = "Transfers money between cards. Requires user privileges",
+            description = "Transfers money between cards. PAYMENT and WITHDRAWAL are accepted as PENDING "
+                    + "and settled asynchronously, follow them with GET /transactions/{transactionId}?createdAt=. Requires user privileges",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Transfer completed successfully"),
+                    @ApiResponse(responseCode = "200", description = "Transfer completed or accepted for settlement"),
                     @ApiResponse(responseCode = "400", description = "Invalid transfer data"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized access"),
                     @ApiResponse(responseCode = "403", description = "Forbidden - access denied"),
                     @ApiResponse(responseCode = "404", description = "Card not found"),
+                    @ApiResponse(responseCode = "409", description = "Idempotency key reused with a different request"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             }
     )
     @Override
     @PreAuthorize("hasRole('ADMIN') and hasRole('USER')")
     @PostMapping("/cards/transfer")
-    public CreateTransactionResponse transfer(@RequestBody @Valid TransferRequest transferRequest) throws IllegalAccessException {
-        log.info("Entering transfer with request: {}", transferRequest);
-        CreateTransactionResponse response = transferService.transfer(transferRequest);
+    public CreateTransactionResponse transfer(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid TransferRequest transferRequest) throws IllegalAccessException {
+        log.info("Entering transfer with key: {}, request: {}", idempotencyKey, transferRequest);
+        CreateTransactionResponse response = idempotencyService.transfer(idempotencyKey, transferRequest);
         log.info("Exiting transfer with response: {}", response);
         return response;
     }
@@ -185,4 +200,63 @@ public class UserControllerImpl implements UserController {
         return response;
     }
 
+    /**
+     * Shows outgoing transactions of a card in a time range
+     *
+     * @param transactionHistoryRequest Request containing card number, time range and limit
+     * @return TransactionHistoryResponse with transactions, newest first
+     */
+    @Operation(
+            summary = "Show transaction history",
+            description = "Retrieves outgoing transactions of the card, including archived ones",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid time range"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - access denied"),
+                    @ApiResponse(responseCode = "404", description = "Card not found"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN') and hasRole('USER')")
+    @GetMapping("/cards/history")
+    public TransactionHistoryResponse showHistory(
+            @RequestBody @Valid TransactionHistoryRequest transactionHistoryRequest) {
+        log.info("Entering showHistory with request: {}", transactionHistoryRequest);
+        TransactionHistoryResponse response = transactionHistoryService.findSentHistory(transactionHistoryRequest);
+        log.info("Exiting showHistory with response size: {}", response.getTransactions().size());
+        return response;
+    }
+
+    /**
+     * Shows the current status of a transaction sent by the user
+     *
+     * @param transactionId Id of the transaction returned by the transfer
+     * @param createdAt Creation time of the transaction returned by the transfer
+     * @return TransactionStatusResponse with the current status
+     */
+    @Operation(
+            summary = "Show transaction status",
+            description = "Retrieves the status of a transaction, PAYMENT and WITHDRAWAL are settled asynchronously. "
+                    + "createdAt is the creation time returned by the transfer",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - access denied"),
+                    @ApiResponse(responseCode = "404", description = "Transaction not found"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            }
+    )
+    @Override
+    @PreAuthorize("hasRole('ADMIN') and hasRole('USER')")
+    @GetMapping("/transactions/{transactionId}")
+    public TransactionStatusResponse showTransactionStatus(@PathVariable UUID transactionId,
+            @RequestParam Instant createdAt) {
+        log.info("Entering showTransactionStatus with id: {}, createdAt: {}", transactionId, createdAt);
+        TransactionStatusResponse response = transactionHistoryService.findStatus(transactionId, createdAt);
+        log.info("Exiting showTransactionStatus with status: {}", response.getStatus());
+        return response;
+    }
+
 }
@@ -1,19 +1,31 @@
 package com.example.bankcards.controller.interfaces;
 
+import com.example.bankcards.dto.response.BalanceAtResponse;
+import com.example.bankcards.dto.response.BalanceSlotsResponse;
+import com.example.bankcards.dto.response.BulkCardIssueResponse;
 import com.example.bankcards.dto.response.CardActiveStatusResponse;
 import com.example.bankcards.dto.response.CreateCardResponse;
+import com.example.bankcards.dto.response.DailyTransactionReportResponse;
 import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.ProcessNotificationsResponse;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.UserActiveResponse;
 import com.example.bankcards.dto.response.UserResponse;
+import com.example.bankcards.dto.request.BalanceAtRequest;
+import com.example.bankcards.dto.request.BalanceSlotsRequest;
+import com.example.bankcards.dto.request.BulkCardIssueRequest;
 import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.dto.request.ProcessNotificationsRequest;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import java.time.LocalDate;
 import java.util.UUID;
 
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Interface for admin-related operations
@@ -27,12 +39,24 @@ public interface AdminController {
             @RequestParam(defaultValue = "0") @Min(0) Integer page,
             @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer size);
 
+    SseEmitter streamNotifications(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId);
+
+    ProcessNotificationsResponse processNotifications(@RequestBody ProcessNotificationsRequest processNotificationsRequest);
+
     CreateCardResponse createCard(@PathVariable(name = "userId") UUID userId);
 
+    BulkCardIssueResponse issueCards(@RequestBody BulkCardIssueRequest bulkCardIssueRequest);
+
     CardActiveStatusResponse blockCard(@RequestBody CardNumberRequest cardNumberRequest);
 
     CardActiveStatusResponse unblockCard(@RequestBody CardNumberRequest cardNumberRequest);
 
+    BalanceSlotsResponse configureBalanceSlots(@RequestBody BalanceSlotsRequest balanceSlotsRequest);
+
+    BalanceAtResponse balanceAt(@RequestBody BalanceAtRequest balanceAtRequest);
+
+    DailyTransactionReportResponse dailyTransactionReport(@RequestParam LocalDate from, @RequestParam LocalDate to);
+
     UserActiveResponse blockUser(@PathVariable(name = "userId") UUID userId);
 
     UserActiveResponse unblockUser(@PathVariable(name = "userId") UUID userId);
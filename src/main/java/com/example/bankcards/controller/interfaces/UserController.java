@@ -1,17 +1,24 @@
 package com.example.bankcards.controller.interfaces;
 
+import java.time.Instant;
+import java.util.UUID;
 import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.dto.request.TransactionHistoryRequest;
 import com.example.bankcards.dto.request.TransferRequest;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.CardStatusResponse;
 import com.example.bankcards.dto.response.CreateTransactionResponse;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.dto.response.TransactionHistoryResponse;
+import com.example.bankcards.dto.response.TransactionStatusResponse;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 /**
@@ -26,10 +33,17 @@ public interface UserController {
             @RequestParam(defaultValue = "0") @Min(0) Integer page,
             @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer size);
 
-    CreateTransactionResponse transfer(@RequestBody TransferRequest transferRequest) throws IllegalAccessException;
+    CreateTransactionResponse transfer(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody TransferRequest transferRequest) throws IllegalAccessException;
 
     CardStatusResponse checkBalance(@RequestBody CardNumberRequest cardNumberRequest) throws IllegalAccessException;
 
     NotificationResponse blockCard(@RequestBody CardNumberRequest cardNumberRequest);
 
+    TransactionHistoryResponse showHistory(@RequestBody TransactionHistoryRequest transactionHistoryRequest);
+
+    TransactionStatusResponse showTransactionStatus(@PathVariable UUID transactionId,
+            @RequestParam Instant createdAt);
+
 }
\ No newline at end of file
@@ -2,8 +2,14 @@ package com.example.bankcards.crypto;
 
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
@@ -11,24 +17,42 @@ import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import com.example.bankcards.exception.encryprionExceprion.EncryptionException;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * AES encryption service for protecting sensitive card data
  * Uses AES-GCM algorithm for secure encryption and decryption
+ *
+ * Keys are versioned. Every ciphertext starts with the id of the key it was
+ * written with, followed by a colon. New values are always encrypted with the
+ * current key, values of previous keys stay readable until the rekey job has
+ * moved them to the current one. Ciphertexts without a prefix were written
+ * before versioning and are decrypted by trying every known key.
  */
 @Component
 @Slf4j
 public class AesEncryption {
 
+    @Value("${encryption.aes.key-id:v1}")
+    private String currentKeyId;
+
     @Value("${encryption.aes.secret-key}")
     private String encryptionKey;
 
+    /**
+     * Comma separated list of key-id:base64-key pairs of previous keys
+     */
+    @Value("${encryption.aes.previous-keys:}")
+    private String previousKeys;
+
     @Value("${encryption.aes.iv-length}")
     private Integer IV_LENGTH;
 
-    private SecretKey secretKey;
+    private VersionedKey currentKey;
+
+    private Map<String, VersionedKey> keys;
 
     private static final String ALGORITHM = "AES/GCM/NoPadding";
 
@@ -36,26 +60,112 @@ public class AesEncryption {
 
     private static final int TAG_LENGTH = 128;
 
+    private static final char KEY_ID_SEPARATOR = ':';
+
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_-]{1,16}");
+
     /**
-     * Encrypts a payment card number using AES-GCM
-     * Derives a unique initialization vector from the card number
-     * combined with the secret key, ensuring identical card numbers
-     * produce different ciphertexts when encrypted multiple times
+     * Encrypts a payment card number using AES-GCM with the current key
+     * Derives the initialization vector from the card number combined
+     * with the key, so the same number always gives the same ciphertext
+     * under one key and can be looked up by it
      *
      * @param cardNumber card number to encrypt
-     * @return Base64-encoded string containing IV and ciphertext
+     * @return key id, colon and Base64-encoded string containing IV and ciphertext
      */
+    @Timed(value = "bankcards.crypto.aes", extraTags = {"operation", "encrypt"},
+        description = "Duration of AES-GCM card number encryption")
     public String encrypt(String cardNumber) {
-        log.debug("Starting encryption");
+        return currentKey.id() + KEY_ID_SEPARATOR + encryptWith(currentKey, cardNumber);
+    }
+
+    /**
+     * Decrypts encrypted card number back to original
+     * Selects the key by the id prefix, extracts the IV from the
+     * beginning of the Base64-decoded data and uses it with the key
+     * to decrypt the remaining ciphertext
+     *
+     * @param hash encrypted card number with or without key id prefix
+     * @return card number
+     */
+    @Timed(value = "bankcards.crypto.aes", extraTags = {"operation", "decrypt"},
+        description = "Duration of AES-GCM card number decryption")
+    public String decrypt(String hash) {
+        int separator = hash.indexOf(KEY_ID_SEPARATOR);
+        if (separator >= 0) {
+            VersionedKey key = keys.get(hash.substring(0, separator));
+            if (key == null) {
+                log.error("Decryption failed, unknown key id");
+                throw new EncryptionException("Failed to decrypt card number");
+            }
+            return decryptWith(key, hash.substring(separator + 1));
+        }
+
+        log.trace("Ciphertext without key id, trying {} keys", keys.size());
+        for (VersionedKey key : keys.values()) {
+            try {
+                return decryptWith(key, hash);
+            } catch (EncryptionException exception) {
+                log.trace("Key {} does not match unversioned ciphertext", key.id());
+            }
+        }
+        throw new EncryptionException("Failed to decrypt card number");
+    }
+
+    /**
+     * Builds every value a card number may be stored as while keys rotate,
+     * the current key first
+     *
+     * @param cardNumber card number to look up
+     * @return ciphertexts under the current and previous keys, with and without key id
+     */
+    public List<String> lookupCandidates(String cardNumber) {
+        List<String> candidates = new ArrayList<>(keys.size() * 2);
+        for (VersionedKey key : keys.values()) {
+            String encrypted = encryptWith(key, cardNumber);
+            candidates.add(key.id() + KEY_ID_SEPARATOR + encrypted);
+            candidates.add(encrypted);
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks whether the value is already encrypted with the current key
+     *
+     * @param hash stored card number
+     * @return true if no rekey is needed
+     */
+    public boolean isCurrent(String hash) {
+        return hash.length() > currentKey.id().length()
+            && hash.startsWith(currentKey.id())
+            && hash.charAt(currentKey.id().length()) == KEY_ID_SEPARATOR;
+    }
+
+    /**
+     * Re-encrypts a stored card number with the current key
+     *
+     * @param hash stored card number under any known key
+     * @return card number encrypted with the current key
+     */
+    public String reencrypt(String hash) {
+        return encrypt(decrypt(hash));
+    }
+
+    public String getCurrentKeyId() {
+        return currentKey.id();
+    }
+
+    private String encryptWith(VersionedKey key, String cardNumber) {
+        log.debug("Starting encryption with key {}", key.id());
         try {
             log.trace("Deriving IV from card number");
-            byte[] iv = deriveIVFromCardNumber(cardNumber);
-            
+            byte[] iv = deriveIVFromCardNumber(cardNumber, key);
+
             log.trace("Initializing cipher with IV length: {}", iv.length);
             Cipher cipher = Cipher.getInstance(ALGORITHM);
             GCMParameterSpec gcmSpec = new GCMParameterSpec(TAG_LENGTH, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, gcmSpec);
-            
+            cipher.init(Cipher.ENCRYPT_MODE, key.secretKey(), gcmSpec);
+
             log.trace("Encrypting plaintext ({} bytes)...", cardNumber.getBytes("UTF-8").length);
             byte[] ciphertext = cipher.doFinal(cardNumber.getBytes("UTF-8"));
 
@@ -63,7 +173,7 @@ public class AesEncryption {
             byteBuffer.put(iv);
             byteBuffer.put(ciphertext);
 
-            log.info("Encryption has end");
+            log.debug("Encryption has end");
             return Base64.getEncoder().encodeToString(byteBuffer.array());
 
         } catch (Exception exception) {
@@ -72,82 +182,99 @@ public class AesEncryption {
         }
     }
 
-    /**
-     * Decrypts encrypted card number back to original
-     * Reverses the encryption process by extracting the IV from the
-     * beginning of the Base64-decoded data and using it with the secret key
-     * to decrypt the remaining ciphertext
-     * 
-     * @param hash Base64-encoded encrypted data containing IV and ciphertext
-     * @return card number
-     */
-    public String decrypt(String hash) {
-        log.debug("Starting decryption");
+    private String decryptWith(VersionedKey key, String hash) {
+        log.debug("Starting decryption with key {}", key.id());
         try {
             log.trace("Base64 decoding");
             byte[] decoded = Base64.getDecoder().decode(hash);
-            
+
             ByteBuffer byteBuffer = ByteBuffer.wrap(decoded);
             byte[] iv = new byte[IV_LENGTH];
             byteBuffer.get(iv);
-            
+
             byte[] ciphertext = new byte[byteBuffer.remaining()];
             byteBuffer.get(ciphertext);
-            
-            log.trace("Decrypting with IV length: {}, ciphertext length: {}", 
+
+            log.trace("Decrypting with IV length: {}, ciphertext length: {}",
                 iv.length, ciphertext.length);
             Cipher cipher = Cipher.getInstance(ALGORITHM);
             GCMParameterSpec gcmSpec = new GCMParameterSpec(TAG_LENGTH, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, gcmSpec);
-            
+            cipher.init(Cipher.DECRYPT_MODE, key.secretKey(), gcmSpec);
+
             byte[] plaintext = cipher.doFinal(ciphertext);
             log.debug("Decryption successful");
             return new String(plaintext, "UTF-8");
-            
+
         } catch (Exception exception) {
-            log.error("Decryption failed");
+            log.debug("Decryption failed with key {}", key.id());
             throw new EncryptionException("Failed to decrypt card number");
         }
     }
 
     /**
-     * Initializes the AES secret key after bean construction
+     * Initializes the current and previous AES keys after bean construction
      */
     @PostConstruct
     private void generateKey() {
         log.info("Initializing AES encryption with algorithm: {}", ALGORITHM);
         log.debug("Configured IV length: {} bytes", IV_LENGTH);
-        
+
         try {
-            byte[] decodedKey = Base64.getDecoder().decode(encryptionKey);
-            log.trace("Key decoded successfully, length: {} bytes", decodedKey.length);
-            
-            if (decodedKey.length != 32) {
-                log.error("Invalid AES key length: {} bytes (expected 32 bytes for AES-256)",
-                    decodedKey.length);
-                throw new IllegalArgumentException("AES-256 key must be 32 bytes");
+            Map<String, VersionedKey> loaded = new LinkedHashMap<>();
+            currentKey = decodeKey(currentKeyId, encryptionKey);
+            loaded.put(currentKey.id(), currentKey);
+
+            for (String entry : previousKeys.split(",")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                int separator = entry.indexOf(KEY_ID_SEPARATOR);
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Previous AES key must be given as key-id:base64-key");
+                }
+                VersionedKey previous = decodeKey(entry.substring(0, separator).trim(),
+                    entry.substring(separator + 1).trim());
+                if (loaded.putIfAbsent(previous.id(), previous) != null) {
+                    throw new IllegalArgumentException("Duplicate AES key id: " + previous.id());
+                }
             }
-            
-            secretKey = new SecretKeySpec(decodedKey, KEY_ALGORITHM);
-            log.info("AES encryption initialized successfully with {}-bit key",
-                decodedKey.length * 8);
-            
+
+            keys = Collections.unmodifiableMap(loaded);
+            log.info("AES encryption initialized with current key {} and {} previous keys",
+                currentKey.id(), keys.size() - 1);
+
         } catch (Exception exception) {
             log.error("Failed to initialize AES encryption", exception);
             throw new IllegalStateException("AES encryption initialization failed", exception);
         }
     }
 
+    private VersionedKey decodeKey(String id, String encoded) {
+        if (!KEY_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Invalid AES key id: " + id);
+        }
+        byte[] decodedKey = Base64.getDecoder().decode(encoded);
+        log.trace("Key {} decoded successfully, length: {} bytes", id, decodedKey.length);
+
+        if (decodedKey.length != 32) {
+            log.error("Invalid AES key length of key {}: {} bytes (expected 32 bytes for AES-256)",
+                id, decodedKey.length);
+            throw new IllegalArgumentException("AES-256 key must be 32 bytes");
+        }
+        return new VersionedKey(id, encoded, new SecretKeySpec(decodedKey, KEY_ALGORITHM));
+    }
+
     /**
      * Derives a deterministic initialization vector from a card number
      * @param cardNumber The card number to derive IV from
+     * @param key key the IV is used with
      * @return Byte array of length IV_LENGTH suitable for AES-GCM IV
      */
-    private byte[] deriveIVFromCardNumber(String cardNumber) {
+    private byte[] deriveIVFromCardNumber(String cardNumber, VersionedKey key) {
         log.trace("Deriving IV from card number");
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest((cardNumber + encryptionKey).getBytes("UTF-8"));
+            byte[] hash = digest.digest((cardNumber + key.encoded()).getBytes("UTF-8"));
             byte[] iv = Arrays.copyOf(hash, IV_LENGTH);
             
             log.trace("IV derived successfully: {} bytes", iv.length);
@@ -158,5 +285,10 @@ public class AesEncryption {
         }
     }
 
+    /**
+     * AES key with its id and its Base64 form, which is mixed into the IV
+     */
+    private record VersionedKey(String id, String encoded, SecretKey secretKey) {
+    }
 
 }
@@ -18,9 +18,17 @@ public class AesHelper {
      * @return masked number with 4 last digits
      */
     public String getMaskedCardNumber(String encryptedData) {
-        String fullNumber = aesEncryption.decrypt(encryptedData);
-        if (fullNumber.length() >= 4) {
-            String lastFour = fullNumber.substring(fullNumber.length() - 4);
+        return maskCardNumber(aesEncryption.decrypt(encryptedData));
+    }
+
+    /**
+     * Creates a PCI-DSS compliant masked representation of a plain card number
+     * @param cardNumber plain card number
+     * @return masked number with 4 last digits
+     */
+    public String maskCardNumber(String cardNumber) {
+        if (cardNumber.length() >= 4) {
+            String lastFour = cardNumber.substring(cardNumber.length() - 4);
             return "**** **** **** " + lastFour;
         }
         return "****";
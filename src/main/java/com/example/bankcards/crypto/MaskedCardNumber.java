@@ -0,0 +1,45 @@
+package com.example.bankcards.crypto;
+
+/**
+ * Lazy masked card number for log arguments
+ * The mask is built only when the logger formats the message,
+ * so disabled log levels cost a single small allocation
+ * instead of substring and concatenation on every call
+ */
+public final class MaskedCardNumber {
+
+    private static final String NULL_VALUE = "null";
+
+    private static final String MASK = "****";
+
+    private static final int VISIBLE_DIGITS = 4;
+
+    private final String cardNumber;
+
+    private MaskedCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+    }
+
+    /**
+     * Wraps a card number for logging
+     *
+     * @param cardNumber plain card number, may be null
+     * @return argument rendering as **** followed by the last four digits
+     */
+    public static MaskedCardNumber of(String cardNumber) {
+        return new MaskedCardNumber(cardNumber);
+    }
+
+    @Override
+    public String toString() {
+        if (cardNumber == null) {
+            return NULL_VALUE;
+        }
+        int start = Math.max(0, cardNumber.length() - VISIBLE_DIGITS);
+        return new StringBuilder(MASK.length() + cardNumber.length() - start)
+            .append(MASK)
+            .append(cardNumber, start, cardNumber.length())
+            .toString();
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.example.bankcards.datasource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import com.example.bankcards.config.ReplicaDataSourceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically measures the replication lag of every replica.
+ *
+ * A replica receives read-only transactions only while it answers
+ * and its replay lag stays below {@code bankcards.datasource.replica.max-lag}.
+ * The replay position is compared with the WAL position of the primary read
+ * at the start of the check: a replica that has replayed it reports zero lag,
+ * otherwise the lag is the time since its last replayed transaction. A replica
+ * that lost its upstream connection therefore starts lagging as soon as the
+ * primary writes, instead of reporting zero because it replayed all it received.
+ * When the primary position cannot be read, all replicas are marked unavailable.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+
+    static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    static final String LAG_QUERY = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0
+            ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+        END
+        """;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    private final ReplicaDataSourceProperties properties;
+
+    /**
+     * Checks every replica and updates its availability for routing
+     */
+    @Scheduled(fixedDelayString = "${bankcards.datasource.replica.check-interval-ms:5000}")
+    public void checkReplicas() {
+        String primaryLsn = readPrimaryLsn();
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            boolean available = primaryLsn != null && isWithinLag(replica.getKey(), replica.getValue(), primaryLsn);
+            routingDataSource.setReplicaAvailable(replica.getKey(), available);
+        }
+    }
+
+    private String readPrimaryLsn() {
+        try {
+            return jdbcTemplate(routingDataSource.getPrimary()).queryForObject(PRIMARY_LSN_QUERY, String.class);
+
+        } catch (Exception exception) {
+            log.warn("Primary WAL position check failed: {}", exception.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isWithinLag(String name, DataSource dataSource, String primaryLsn) {
+        try {
+            Double lagMillis = jdbcTemplate(dataSource).queryForObject(LAG_QUERY, Double.class, primaryLsn);
+
+            log.trace("Replica {} lag: {} ms", name, lagMillis);
+            if (lagMillis == null) {
+                log.warn("Replica {} is behind primary and has not replayed any transaction", name);
+                return false;
+            }
+            if (lagMillis > properties.getMaxLag().toMillis()) {
+                log.warn("Replica {} lags behind primary by {} ms", name, lagMillis.longValue());
+                return false;
+            }
+            return true;
+
+        } catch (Exception exception) {
+            log.warn("Replica {} lag check failed: {}", name, exception.getMessage());
+            return false;
+        }
+    }
+
+    private JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout((int) Math.max(1, properties.getCheckTimeout().toSeconds()));
+        return jdbcTemplate;
+    }
+
+}
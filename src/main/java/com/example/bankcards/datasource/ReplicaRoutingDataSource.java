@@ -0,0 +1,138 @@
+package com.example.bankcards.datasource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routing data source that sends read-only transactions to replicas.
+ *
+ * Read-write transactions and work outside a transaction always use the primary.
+ * Read-only transactions are spread round-robin over the replicas that
+ * {@link ReplicaLagMonitor} reports as available and fall back to the primary
+ * when none of them is. A replica whose last successful check is older than the
+ * availability timeout is treated as unavailable, so a stalled monitor cannot keep
+ * routing reads to a replica that stopped replicating. Must be wrapped in a LazyConnectionDataSourceProxy so the
+ * connection is taken after the transaction has been marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+
+    private final List<String> replicaNames;
+
+    private final long availabilityTimeoutNanos;
+
+    private final Map<String, Long> lastConfirmedNanos = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+        Duration availabilityTimeout) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.availabilityTimeoutNanos = availabilityTimeout.toNanos();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Selects primary or one of the available replicas for the current transaction
+     *
+     * @return lookup key of the target data source
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaNames.isEmpty()) {
+            return PRIMARY;
+        }
+
+        int size = replicaNames.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String name = replicaNames.get((start + i) % size);
+            if (isReplicaAvailable(name)) {
+                log.trace("Routing read-only transaction to replica: {}", name);
+                return name;
+            }
+        }
+
+        log.debug("No replica available, routing read-only transaction to primary");
+        return PRIMARY;
+    }
+
+    /**
+     * Marks a replica as usable or not for read-only transactions
+     *
+     * @param name replica name
+     * @param available true if the replica is reachable and within the allowed lag
+     */
+    public void setReplicaAvailable(String name, boolean available) {
+        boolean previous = isReplicaAvailable(name);
+        if (available) {
+            lastConfirmedNanos.put(name, System.nanoTime());
+        } else {
+            lastConfirmedNanos.remove(name);
+        }
+        if (previous != available) {
+            log.info("Replica {} is now {}", name, available ? "available" : "unavailable");
+        }
+    }
+
+    /**
+     * Checks if a replica currently receives read-only transactions
+     *
+     * @param name replica name
+     * @return true if the replica was confirmed available within the availability timeout
+     */
+    public boolean isReplicaAvailable(String name) {
+        Long confirmedAt = lastConfirmedNanos.get(name);
+        return confirmedAt != null && System.nanoTime() - confirmedAt < availabilityTimeoutNanos;
+    }
+
+    /**
+     * Returns the primary data source
+     *
+     * @return primary data source
+     */
+    public DataSource getPrimary() {
+        return getResolvedDefaultDataSource();
+    }
+
+    /**
+     * Returns replica data sources by name
+     *
+     * @return unmodifiable map of replicas
+     */
+    public Map<String, DataSource> getReplicas() {
+        return Map.copyOf(replicas);
+    }
+
+    /**
+     * Closes the replica pools, the primary pool is managed by the application context
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+}
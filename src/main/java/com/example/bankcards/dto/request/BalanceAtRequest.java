@@ -0,0 +1,54 @@
+package com.example.bankcards.dto.request;
+
+import java.time.Instant;
+
+import com.example.bankcards.crypto.MaskedCardNumber;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Request for the balance of a card at a point in time.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Historical balance request")
+public class BalanceAtRequest {
+
+    /**
+     * Payment card number without spaces or hyphens.
+     */
+    @NonNull
+    @Schema(
+        description = "16-digit payment card number",
+        example = "4111111111111111",
+        required = true,
+        pattern = "^\\d{16}$"
+    )
+    @ToString.Exclude
+    private String cardNumber;
+
+    /**
+     * Point in time the balance is requested for, in UTC.
+     */
+    @NonNull
+    @Schema(
+        description = "Point in time",
+        example = "2024-01-15T14:30:00Z",
+        format = "date-time",
+        required = true
+    )
+    private Instant at;
+
+    @ToString.Include(name = "cardNumber")
+    private MaskedCardNumber maskedCardNumber() {
+        return MaskedCardNumber.of(cardNumber);
+    }
+
+}
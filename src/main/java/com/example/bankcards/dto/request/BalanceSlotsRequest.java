@@ -0,0 +1,59 @@
+package com.example.bankcards.dto.request;
+
+import com.example.bankcards.crypto.MaskedCardNumber;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Request changing the number of balance slots of a card account.
+ * Used for hot accounts that receive many concurrent credits.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Balance slots configuration request")
+public class BalanceSlotsRequest {
+
+    /**
+     * Card number of the account to configure.
+     */
+    @NonNull
+    @Schema(
+        description = "16-digit payment card number",
+        example = "4111111111111111",
+        required = true,
+        pattern = "^\\d{16}$"
+    )
+    @ToString.Exclude
+    private String cardNumber;
+
+    /**
+     * Number of slot rows credits are spread over.
+     * 0 keeps the whole balance in a single row.
+     */
+    @NonNull
+    @Min(0)
+    @Max(64)
+    @Schema(
+        description = "Number of balance slots, 0 disables striping",
+        example = "16",
+        required = true,
+        minimum = "0",
+        maximum = "64"
+    )
+    private Integer balanceSlots;
+
+    @ToString.Include(name = "cardNumber")
+    private MaskedCardNumber maskedCardNumber() {
+        return MaskedCardNumber.of(cardNumber);
+    }
+
+}
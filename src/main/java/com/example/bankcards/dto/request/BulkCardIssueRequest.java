@@ -0,0 +1,50 @@
+package com.example.bankcards.dto.request;
+
+import java.util.UUID;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Request issuing many cards to one user at once.
+ * Used for onboarding corporate clients.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Bulk card issuance request")
+public class BulkCardIssueRequest {
+
+    /**
+     * Owner of the issued cards.
+     */
+    @NonNull
+    @Schema(
+        description = "ID of the user receiving the cards",
+        example = "550e8400-e29b-41d4-a716-446655440000",
+        required = true
+    )
+    private UUID userId;
+
+    /**
+     * Number of cards to issue.
+     */
+    @NonNull
+    @Min(1)
+    @Max(10000)
+    @Schema(
+        description = "Number of cards to issue",
+        example = "1000",
+        required = true,
+        minimum = "1",
+        maximum = "10000"
+    )
+    private Integer count;
+
+}
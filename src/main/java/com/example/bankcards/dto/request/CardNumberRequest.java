@@ -1,11 +1,13 @@
 package com.example.bankcards.dto.request;
 
+import com.example.bankcards.crypto.MaskedCardNumber;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.ToString;
 
 /**
  * Request containing a payment card number.
@@ -32,6 +34,12 @@ public class CardNumberRequest {
         required = true,
         pattern = "^\\d{16}$"
     )
+    @ToString.Exclude
     private String cardNumber;
 
-}
\ No newline at end of file
+    @ToString.Include(name = "cardNumber")
+    private MaskedCardNumber maskedCardNumber() {
+        return MaskedCardNumber.of(cardNumber);
+    }
+
+}
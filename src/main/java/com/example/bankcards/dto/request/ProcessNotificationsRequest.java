@@ -0,0 +1,43 @@
+package com.example.bankcards.dto.request;
+
+import java.util.List;
+import com.example.bankcards.model.enums.EventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Request processing pending notifications of one type in bulk.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Bulk notification processing request")
+public class ProcessNotificationsRequest {
+
+    /**
+     * Type of notifications to process.
+     */
+    @NonNull
+    @Schema(
+        description = "Notification type",
+        example = "CREATE_CARD",
+        required = true,
+        allowableValues = {"CREATE_CARD", "BLOCK_CARD"}
+    )
+    private EventType event;
+
+    /**
+     * Selected notifications, all pending notifications of the type if empty.
+     */
+    @Schema(
+        description = "IDs of the notifications to process, all pending ones if omitted",
+        example = "[1, 2, 3]"
+    )
+    private List<Long> notificationIds;
+
+}
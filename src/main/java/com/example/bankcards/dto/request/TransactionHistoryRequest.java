@@ -0,0 +1,81 @@
+package com.example.bankcards.dto.request;
+
+import java.time.Instant;
+import com.example.bankcards.crypto.MaskedCardNumber;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Request of the outgoing transaction history of a card in a time range.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Schema(description = "Transaction history request")
+public class TransactionHistoryRequest {
+
+    /**
+     * Payment card number without spaces or hyphens.
+     */
+    @NonNull
+    @Schema(
+        description = "16-digit payment card number",
+        example = "4111111111111111",
+        required = true,
+        pattern = "^\\d{16}$"
+    )
+    @ToString.Exclude
+    private String cardNumber;
+
+    /**
+     * Inclusive start of the range.
+     */
+    @NonNull
+    @Schema(
+        description = "Start of the range",
+        example = "2024-01-01T00:00:00Z",
+        format = "date-time",
+        required = true
+    )
+    private Instant from;
+
+    /**
+     * Exclusive end of the range.
+     */
+    @NonNull
+    @Schema(
+        description = "End of the range",
+        example = "2025-01-01T00:00:00Z",
+        format = "date-time",
+        required = true
+    )
+    private Instant to;
+
+    /**
+     * Maximum number of returned transactions.
+     */
+    @Builder.Default
+    @Min(1)
+    @Max(500)
+    @Schema(
+        description = "Maximum number of transactions",
+        example = "50",
+        minimum = "1",
+        maximum = "500"
+    )
+    private Integer limit = 50;
+
+    @ToString.Include(name = "cardNumber")
+    private MaskedCardNumber maskedCardNumber() {
+        return MaskedCardNumber.of(cardNumber);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.example.bankcards.dto.request;
 
+import com.example.bankcards.crypto.MaskedCardNumber;
 import com.example.bankcards.model.enums.TransactionsType;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -8,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.ToString;
 
 /**
  * Money transfer request between two payment cards.
@@ -29,6 +31,7 @@ public class TransferRequest {
         example = "1234567812345678",
         required = true
     )
+    @ToString.Exclude
     private String fromNumberCard;
 
     /**
@@ -41,6 +44,7 @@ public class TransferRequest {
         example = "8765432187654321",
         required = true
     )
+    @ToString.Exclude
     private String toNumberCard;
 
     /**
@@ -79,4 +83,14 @@ public class TransferRequest {
     )
     private TransactionsType transactionsType;
 
-}
\ No newline at end of file
+    @ToString.Include(name = "fromNumberCard")
+    private MaskedCardNumber maskedFromNumberCard() {
+        return MaskedCardNumber.of(fromNumberCard);
+    }
+
+    @ToString.Include(name = "toNumberCard")
+    private MaskedCardNumber maskedToNumberCard() {
+        return MaskedCardNumber.of(toNumberCard);
+    }
+
+}
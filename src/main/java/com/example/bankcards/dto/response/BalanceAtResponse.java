@@ -0,0 +1,50 @@
+package com.example.bankcards.dto.response;
+
+import java.time.Instant;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response containing the balance of a card at a point in time.
+ * Calculated from the latest balance snapshot and the ledger entries after it.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Schema(description = "Historical balance response")
+public class BalanceAtResponse {
+
+    /**
+     * Masked card number for display (PCI-DSS compliant).
+     */
+    @Schema(
+        description = "Masked card number showing last 4 digits",
+        example = "**** **** **** 5678"
+    )
+    private String cardNumber;
+
+    /**
+     * Point in time of the balance.
+     */
+    @Schema(
+        description = "Point in time",
+        example = "2024-01-15T14:30:00Z",
+        format = "date-time"
+    )
+    private Instant at;
+
+    /**
+     * Balance at the given point in time.
+     */
+    @Schema(
+        description = "Card balance at the point in time",
+        example = "1500.50"
+    )
+    private Double balance;
+
+}
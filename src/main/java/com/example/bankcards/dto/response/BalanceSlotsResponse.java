@@ -0,0 +1,46 @@
+package com.example.bankcards.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response containing balance slots configuration of a card account.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Schema(description = "Balance slots configuration response")
+public class BalanceSlotsResponse {
+
+    /**
+     * Masked card number for display (PCI-DSS compliant).
+     */
+    @Schema(
+        description = "Masked card number showing last 4 digits",
+        example = "**** **** **** 5678"
+    )
+    private String cardNumber;
+
+    /**
+     * Number of slot rows credits are spread over.
+     */
+    @Schema(
+        description = "Number of balance slots",
+        example = "16"
+    )
+    private Integer balanceSlots;
+
+    /**
+     * Full balance including all slots.
+     */
+    @Schema(
+        description = "Current card balance",
+        example = "1500.50"
+    )
+    private Double currentBalance;
+
+}
@@ -0,0 +1,58 @@
+package com.example.bankcards.dto.response;
+
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Response for bulk card issuance.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Schema(description = "Bulk card issuance response")
+public class BulkCardIssueResponse {
+
+    /**
+     * Login of the card owner.
+     */
+    @Schema(
+        description = "Card owner login",
+        example = "corporate_client"
+    )
+    private String login;
+
+    /**
+     * Number of issued cards.
+     */
+    @Schema(
+        description = "Number of issued cards",
+        example = "1000"
+    )
+    private Integer issued;
+
+    /**
+     * Masked numbers of the issued cards.
+     */
+    @Schema(
+        description = "Masked card numbers showing last 4 digits",
+        example = "[\"**** **** **** 5678\"]"
+    )
+    @ToString.Exclude
+    private List<String> cardNumbers;
+
+    /**
+     * Issuance throughput.
+     */
+    @Schema(
+        description = "Issued cards per second",
+        example = "2500.0"
+    )
+    private Double cardsPerSecond;
+
+}
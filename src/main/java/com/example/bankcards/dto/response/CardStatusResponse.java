@@ -109,12 +109,12 @@ public class CardStatusResponse {
         /**
          * Transaction processing status.
          * 
-         * Possible values: PENDING, COMPLETED, FAILED, FAILED
+         * Possible values: PENDING, PROCESSING, COMPLETED, FAILED
          */
         @Schema(
             description = "Transaction status",
             example = "COMPLETED",
-            allowableValues = {"PENDING", "COMPLETED", "FAILED", "FAILED"}
+            allowableValues = {"PENDING", "PROCESSING", "COMPLETED", "FAILED"}
         )
         private String status;
 
@@ -1,5 +1,6 @@
 package com.example.bankcards.dto.response;
 
+import java.time.Instant;
 import java.util.UUID;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -8,9 +9,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * Response for completed transaction creation.
+ * Response for transaction creation.
  * 
- * Returned after successful money transfer or payment.
+ * Returned after successful money transfer or accepted payment.
  * Contains transaction identifiers and details for reference.
  */
 @Data
@@ -20,6 +21,15 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Transaction creation response")
 public class CreateTransactionResponse {
 
+    /**
+     * Unique identifier of the created transaction.
+     */
+    @Schema(
+        description = "Transaction ID",
+        example = "550e8400-e29b-41d4-a716-446655440002"
+    )
+    private UUID transactionId;
+
     /**
      * Unique identifier of the sender's card account.
      */
@@ -57,4 +67,25 @@ public class CreateTransactionResponse {
     )
     private Double amount;
 
+    /**
+     * Status of the transaction after the request.
+     * PAYMENT and WITHDRAWAL are accepted as PENDING and settled asynchronously.
+     */
+    @Schema(
+        description = "Transaction status",
+        example = "COMPLETED",
+        allowableValues = {"PENDING", "PROCESSING", "COMPLETED", "FAILED"}
+    )
+    private String status;
+
+    /**
+     * Transaction creation timestamp in UTC, needed to look up the status.
+     */
+    @Schema(
+        description = "Creation timestamp",
+        example = "2024-01-15T10:30:00Z",
+        format = "date-time"
+    )
+    private Instant createdAt;
+
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.example.bankcards.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily transaction volumes by type and status.
+ *
+ * Read from incrementally maintained rollups, transactions created
+ * after rolledUpTo are not included yet.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Schema(description = "Daily transaction volumes by type and status")
+public class DailyTransactionReportResponse {
+
+    /**
+     * First day of the report, UTC.
+     */
+    @Schema(
+        description = "First day of the report (UTC)",
+        example = "2024-01-01",
+        format = "date"
+    )
+    private LocalDate from;
+
+    /**
+     * Last day of the report, UTC, inclusive.
+     */
+    @Schema(
+        description = "Last day of the report (UTC, inclusive)",
+        example = "2024-01-31",
+        format = "date"
+    )
+    private LocalDate to;
+
+    /**
+     * Time up to which transactions are counted in the report.
+     */
+    @Schema(
+        description = "Transactions created before this time are included",
+        example = "2024-01-31T14:29:00Z",
+        format = "date-time"
+    )
+    private Instant rolledUpTo;
+
+    /**
+     * Volumes of every day, type and status with at least one transaction.
+     */
+    @Schema(
+        description = "Volumes by day, type and status"
+    )
+    private List<DailyVolume> volumes;
+
+    /**
+     * Number and amount of transactions of one type and status on one day.
+     */
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    @Data
+    @Schema(description = "Daily volume of one transaction type and status")
+    public static class DailyVolume {
+
+        @Schema(
+            description = "Day (UTC)",
+            example = "2024-01-15",
+            format = "date"
+        )
+        private LocalDate day;
+
+        @Schema(
+            description = "Transaction type",
+            example = "TRANSFER"
+        )
+        private TransactionsType type;
+
+        @Schema(
+            description = "Transaction status",
+            example = "COMPLETED"
+        )
+        private TransactionsStatusType status;
+
+        @Schema(
+            description = "Number of transactions",
+            example = "1520"
+        )
+        private Long count;
+
+        @Schema(
+            description = "Total amount of transactions",
+            example = "98250.75"
+        )
+        private Double amount;
+
+    }
+
+}
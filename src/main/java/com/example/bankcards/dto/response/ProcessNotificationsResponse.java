@@ -0,0 +1,64 @@
+package com.example.bankcards.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of bulk notification processing.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Schema(description = "Bulk notification processing response")
+public class ProcessNotificationsResponse {
+
+    /**
+     * Type of processed notifications.
+     */
+    @Schema(
+        description = "Notification type",
+        example = "CREATE_CARD"
+    )
+    private String event;
+
+    /**
+     * Number of notifications selected for processing.
+     */
+    @Schema(
+        description = "Number of selected notifications",
+        example = "5000"
+    )
+    private Long total;
+
+    /**
+     * Number of notifications processed and deactivated.
+     */
+    @Schema(
+        description = "Number of processed notifications",
+        example = "4990"
+    )
+    private Long processed;
+
+    /**
+     * Number of notifications left pending, e.g. of blocked users.
+     */
+    @Schema(
+        description = "Number of skipped notifications",
+        example = "10"
+    )
+    private Long skipped;
+
+    /**
+     * Processing duration.
+     */
+    @Schema(
+        description = "Processing duration in milliseconds",
+        example = "2400"
+    )
+    private Long durationMs;
+
+}
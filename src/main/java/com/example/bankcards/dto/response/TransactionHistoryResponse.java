@@ -0,0 +1,50 @@
+package com.example.bankcards.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outgoing transactions of a card in a time range, newest first.
+ * Transactions older than the archive boundary are read from the cold archive.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Schema(description = "Transaction history of a card")
+public class TransactionHistoryResponse {
+
+    /**
+     * Transactions sorted by creation date, newest first.
+     */
+    @Schema(
+        description = "Outgoing transactions, newest first"
+    )
+    private List<CardStatusResponse.PaymentTransaction> transactions;
+
+    /**
+     * Number of returned transactions read from the archive.
+     */
+    @Schema(
+        description = "Number of transactions served from the archive",
+        example = "12"
+    )
+    private Integer archived;
+
+    /**
+     * Transactions created before this time are served from the archive.
+     * null when nothing is archived yet.
+     */
+    @Schema(
+        description = "Archive boundary",
+        example = "2024-01-01T00:00:00Z",
+        format = "date-time"
+    )
+    private Instant archivedUntil;
+
+}
@@ -0,0 +1,71 @@
+package com.example.bankcards.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current status of a transaction sent by the user.
+ * PAYMENT and WITHDRAWAL transactions move from PENDING through PROCESSING
+ * to COMPLETED or FAILED, other types are COMPLETED when created.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+@Schema(description = "Transaction status response")
+public class TransactionStatusResponse {
+
+    /**
+     * Unique identifier of the transaction.
+     */
+    @Schema(
+        description = "Transaction ID",
+        example = "550e8400-e29b-41d4-a716-446655440002"
+    )
+    private UUID transactionId;
+
+    /**
+     * Type of the transaction.
+     */
+    @Schema(
+        description = "Transaction type",
+        example = "PAYMENT",
+        allowableValues = {"TRANSFER", "PAYMENT", "DEPOSIT", "WITHDRAWAL", "INTERNAL_TRANSFER"}
+    )
+    private String transactionType;
+
+    /**
+     * Current processing status.
+     */
+    @Schema(
+        description = "Transaction status",
+        example = "PENDING",
+        allowableValues = {"PENDING", "PROCESSING", "COMPLETED", "FAILED"}
+    )
+    private String status;
+
+    /**
+     * Transaction amount in currency units.
+     */
+    @Schema(
+        description = "Transaction amount",
+        example = "1500.50"
+    )
+    private Double amount;
+
+    /**
+     * Transaction creation timestamp in UTC.
+     */
+    @Schema(
+        description = "Creation timestamp",
+        example = "2024-01-15T10:30:00Z",
+        format = "date-time"
+    )
+    private Instant createdAt;
+
+}
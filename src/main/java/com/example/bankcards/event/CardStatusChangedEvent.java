@@ -0,0 +1,31 @@
+package com.example.bankcards.event;
+
+import java.time.Instant;
+import java.util.UUID;
+import com.example.bankcards.model.entity.BankCardsEntity;
+
+/**
+ * Published when a card is created, blocked or unblocked,
+ * applied to the card status index after the transaction commits
+ *
+ * @param storedNumber encrypted card number as stored
+ * @param cardId card id
+ * @param cardAccountId id of the card account
+ * @param ownerId id of the card owner
+ * @param active active flag after the change
+ * @param expiresAt expiration date of the card
+ */
+public record CardStatusChangedEvent(String storedNumber, UUID cardId, UUID cardAccountId, UUID ownerId,
+    boolean active, Instant expiresAt) {
+
+    public static CardStatusChangedEvent of(BankCardsEntity bankCard) {
+        return new CardStatusChangedEvent(
+            bankCard.getNumber(),
+            bankCard.getId(),
+            bankCard.getCardAccountEntity() != null ? bankCard.getCardAccountEntity().getId() : null,
+            bankCard.getUser() != null ? bankCard.getUser().getId() : null,
+            Boolean.TRUE.equals(bankCard.getIsActive()),
+            bankCard.getExpiresAt());
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when the cards of several accounts are blocked by one statement,
+ * applied to the card status index after the transaction commits
+ *
+ * @param cardAccountIds accounts whose cards were blocked
+ */
+public record CardsBlockedEvent(List<UUID> cardAccountIds) {
+}
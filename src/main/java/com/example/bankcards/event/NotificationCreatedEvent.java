@@ -0,0 +1,17 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.dto.response.NotificationResponse;
+
+/**
+ * Published when a card or block request notification is saved,
+ * delivered to admin streams after the transaction commits
+ *
+ * @param notification the new notification as returned to its author
+ */
+public record NotificationCreatedEvent(NotificationResponse notification) {
+
+    public Long id() {
+        return notification.getNotification().getId();
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.example.bankcards.event;
+
+import java.time.Instant;
+import java.util.UUID;
+import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+
+/**
+ * Published when a transfer is recorded,
+ * appended to the audit journal after the transaction commits
+ *
+ * @param transactionId payment transaction id
+ * @param senderAccountId sender card account id
+ * @param recipientId recipient id as stored in the transaction
+ * @param amount transfer amount
+ * @param createdAt creation time of the transaction
+ */
+public record TransferCompletedEvent(UUID transactionId, UUID senderAccountId, UUID recipientId, Double amount,
+    Instant createdAt) {
+
+    public static TransferCompletedEvent of(PaymentTransactionsEntity transaction) {
+        return new TransferCompletedEvent(
+            transaction.getId(),
+            transaction.getSenderCardAccountId().getId(),
+            transaction.getRecipientAccountId(),
+            transaction.getAmount(),
+            transaction.getCreatedAt());
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.example.bankcards.exception.abstractClass;
+
+import org.springframework.http.HttpStatus;
+
+public abstract class TooManyRequestsException extends ApiException {
+
+    protected TooManyRequestsException(String message, HttpStatus httpStatus) {
+        super(message, httpStatus);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.bankcards.exception.bankCardException;
+
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.crypto.MaskedCardNumber;
+import com.example.bankcards.exception.abstractClass.ConflictException;
+
+public class BankCardNumberTakenException extends ConflictException {
+
+    public BankCardNumberTakenException(String cardNumber) {
+        super(String.format("Bank card with number: %s is already issued", MaskedCardNumber.of(cardNumber)),
+            HttpStatus.CONFLICT);
+    }
+
+}
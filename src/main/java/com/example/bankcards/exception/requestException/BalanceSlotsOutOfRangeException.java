@@ -0,0 +1,12 @@
+package com.example.bankcards.exception.requestException;
+
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.exception.abstractClass.BadRequestException;
+
+public class BalanceSlotsOutOfRangeException extends BadRequestException {
+
+    public BalanceSlotsOutOfRangeException(int slots, int maxSlots) {
+        super(String.format("balance slots: %s must be between 0 and %s", slots, maxSlots), HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.exception.requestException;
+
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.exception.abstractClass.BadRequestException;
+
+public class IdempotencyKeyInvalidException extends BadRequestException {
+
+    public IdempotencyKeyInvalidException(int maxLength) {
+        super(String.format("idempotency key must be non-blank and at most %s characters", maxLength), HttpStatus.BAD_REQUEST);
+    }
+
+}
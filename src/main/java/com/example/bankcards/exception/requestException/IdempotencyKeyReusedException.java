@@ -0,0 +1,12 @@
+package com.example.bankcards.exception.requestException;
+
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.exception.abstractClass.ConflictException;
+
+public class IdempotencyKeyReusedException extends ConflictException {
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(String.format("idempotency key: %s was already used with a different request", idempotencyKey), HttpStatus.CONFLICT);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.exception.requestException;
+
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.exception.abstractClass.BadRequestException;
+
+public class ReportRangeTooLongException extends BadRequestException {
+
+    public ReportRangeTooLongException(long days, int maxDays) {
+        super(String.format("report range: %s days must not exceed %s days", days, maxDays), HttpStatus.BAD_REQUEST);
+    }
+
+}
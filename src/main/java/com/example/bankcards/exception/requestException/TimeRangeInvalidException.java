@@ -0,0 +1,12 @@
+package com.example.bankcards.exception.requestException;
+
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.exception.abstractClass.BadRequestException;
+
+public class TimeRangeInvalidException extends BadRequestException {
+
+    public TimeRangeInvalidException(Object from, Object to) {
+        super(String.format("time range start: %s must be before its end: %s", from, to), HttpStatus.BAD_REQUEST);
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.exception.transactionException;
+
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.exception.abstractClass.NotFoundException;
+
+public class TransactionNotFoundException extends NotFoundException {
+
+    public TransactionNotFoundException(UUID transactionId) {
+        super(String.format("Transaction with id: %s is not found", transactionId), HttpStatus.NOT_FOUND);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.example.bankcards.exception.transactionException;
+
+import org.springframework.http.HttpStatus;
+import com.example.bankcards.exception.abstractClass.TooManyRequestsException;
+
+public class TransferVelocityExceededException extends TooManyRequestsException {
+
+    public TransferVelocityExceededException(String scope, String window) {
+        super(String.format("transfer limit per %s of %s is exceeded", window, scope), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+}
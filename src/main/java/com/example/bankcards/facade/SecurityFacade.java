@@ -1,8 +1,10 @@
 package com.example.bankcards.facade;
 
 import org.springframework.stereotype.Service;
+import com.example.bankcards.crypto.MaskedCardNumber;
 import com.example.bankcards.model.entity.BankCardsEntity;
 import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.projection.CardStatusView;
 import com.example.bankcards.service.CardAccessValidator;
 import com.example.bankcards.service.SecurityContextService;
 import lombok.RequiredArgsConstructor;
@@ -46,10 +48,20 @@ public class SecurityFacade {
      */
     public Boolean checkCard(String currentNumber) {
         log.debug("Validating card availability: {}", 
-            currentNumber != null ? "****" + currentNumber.substring(Math.max(0, currentNumber.length() - 4)) : "null");
+            MaskedCardNumber.of(currentNumber));
         return cardValidator.checkCard(currentNumber);
     }
 
+    /**
+     * Checks if a card belongs to the currently authenticated user.
+     * 
+     * @param cardStatus card status to check
+     * @return true if current user owns the card
+     */
+    public Boolean isOwnedByCurrentUser(CardStatusView cardStatus) {
+        return cardValidator.checkCardOwner(cardStatus, contextService.getCurrentUserId());
+    }
+
     /**
      * Checks if current user account is active.
      * 
@@ -82,8 +94,22 @@ public class SecurityFacade {
      */
     public BankCardsEntity findBankCardByNumber(String cardNumber) {
         log.debug("Finding bank card by number: {}", 
-            cardNumber != null ? "****" + cardNumber.substring(Math.max(0, cardNumber.length() - 4)) : "null");
+            MaskedCardNumber.of(cardNumber));
         return cardValidator.findBankCardByNumber(cardNumber);
     }
 
+    /**
+     * Reads the status of a bank card by its number.
+     * Loads only ids, active flag and expiration date.
+     * 
+     * @param cardNumber card number to find
+     * @return card status projection
+     * @throws BankCardNotFoundException if card doesn't exist
+     */
+    public CardStatusView findCardStatusByNumber(String cardNumber) {
+        log.debug("Finding bank card status by number: {}", 
+            MaskedCardNumber.of(cardNumber));
+        return cardValidator.findCardStatusByNumber(cardNumber);
+    }
+
 }
@@ -29,6 +29,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
     public static final String AUTHORIZATION = "Authorization";
 
+    /**
+     * Request attribute holding the login already extracted by {@link RateLimitFilter}
+     */
+    public static final String LOGIN_ATTRIBUTE = JwtFilter.class.getName() + ".login";
+
     private final CustomUserDetailsService userDetailsService;
     private final JwtHelper jwtHelper;
 
@@ -68,7 +73,10 @@ public class JwtFilter extends OncePerRequestFilter {
             String jwt = authorizationHeader.substring(7);
             log.debug("JWT token extracted (length: {} chars)", jwt.length());
 
-            String login = jwtHelper.extractLogin(jwt);
+            String login = (String) request.getAttribute(LOGIN_ATTRIBUTE);
+            if (login == null) {
+                login = jwtHelper.extractLogin(jwt);
+            }
             log.debug("Extracted login from JWT: {}", login);
 
             log.trace("Current Security Context authentication: {}", 
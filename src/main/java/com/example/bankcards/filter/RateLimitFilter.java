@@ -0,0 +1,141 @@
+package com.example.bankcards.filter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.example.bankcards.config.RateLimitProperties;
+import com.example.bankcards.jwt.JwtHelper;
+import com.example.bankcards.service.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rate limiting filter placed in front of the JWT filter.
+ *
+ * Requests to /api/auth/** are limited per client address, requests carrying
+ * a Bearer token per login taken from the token. Both checks run before the
+ * user is loaded, so a rejected request never reaches the connection pool.
+ * The login is passed on to {@link JwtFilter} to avoid parsing the token twice.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED_COUNTER = "bankcards.rate_limit.rejected";
+
+    private static final String AUTH_PATH = "/api/auth/";
+
+    private static final String SCOPE_AUTH = "auth";
+
+    private static final String SCOPE_USER = "user";
+
+    private final boolean enabled;
+
+    private final JwtHelper jwtHelper;
+
+    private final TokenBucketRateLimiter userLimiter;
+
+    private final TokenBucketRateLimiter authLimiter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(RateLimitProperties properties, JwtHelper jwtHelper, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.jwtHelper = jwtHelper;
+        this.meterRegistry = meterRegistry;
+        this.userLimiter = new TokenBucketRateLimiter(properties.getUser().getRequestsPerSecond(),
+            properties.getUser().getBurst(), properties.getMaxKeys());
+        this.authLimiter = new TokenBucketRateLimiter(properties.getAuth().getRequestsPerSecond(),
+            properties.getAuth().getBurst(), properties.getMaxKeys());
+        log.info("Request rate limiting {}: user {}, auth {}",
+            enabled ? "enabled" : "disabled", properties.getUser(), properties.getAuth());
+    }
+
+    /**
+     * Takes a token of the client address or login and answers 429
+     * with Retry-After when the bucket is empty.
+     *
+     * @param request HTTP servlet request
+     * @param response HTTP servlet response
+     * @param filterChain filter chain for continuing request processing
+     * @throws ServletException if servlet error occurs
+     * @throws IOException if I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = 0;
+        String scope = null;
+
+        if (request.getServletPath().startsWith(AUTH_PATH)) {
+            scope = SCOPE_AUTH;
+            waitNanos = authLimiter.tryAcquire(request.getRemoteAddr(), System.nanoTime());
+        } else {
+            String authorizationHeader = request.getHeader(JwtFilter.AUTHORIZATION);
+            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+                String login = jwtHelper.extractLogin(authorizationHeader.substring(7));
+                if (login != null) {
+                    request.setAttribute(JwtFilter.LOGIN_ATTRIBUTE, login);
+                    scope = SCOPE_USER;
+                    waitNanos = userLimiter.tryAcquire(login, System.nanoTime());
+                }
+            }
+        }
+
+        if (waitNanos > 0) {
+            reject(request, response, scope, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String scope, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.warn("Rate limit of {} exceeded: {} {} | retry after {}s", scope, request.getMethod(),
+            request.getRequestURI(), retryAfterSeconds);
+
+        Counter.builder(REJECTED_COUNTER)
+            .description("Number of requests rejected by the rate limiter")
+            .tag("scope", scope)
+            .register(meterRegistry)
+            .increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("message", "too many requests, retry after " + retryAfterSeconds + "s");
+
+        try (OutputStream outputStream = response.getOutputStream()) {
+            objectMapper.writeValue(outputStream, data);
+            outputStream.flush();
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.example.bankcards.job;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.bankcards.config.SchedulingConfiguration;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import com.example.bankcards.service.BalanceReconciliationService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled job reconciling all card account balances with their transactions.
+ *
+ * A run is skipped while detached partitions wait for the archive job,
+ * because their rows are neither in payment_transactions nor counted in
+ * the archived balances yet and would show up as discrepancies.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.reconciliation", name = "enabled", havingValue = "true")
+@Slf4j
+public class BalanceReconciliationJob {
+
+    private final BalanceReconciliationService balanceReconciliationService;
+
+    private final PaymentTransactionsRepository paymentTransactionsRepository;
+
+    private final String archiveSchema;
+
+    public BalanceReconciliationJob(BalanceReconciliationService balanceReconciliationService,
+        PaymentTransactionsRepository paymentTransactionsRepository,
+        @Value("${bankcards.transactions.partitioning.archive-schema:payment_archive}") String archiveSchema) {
+        this.balanceReconciliationService = balanceReconciliationService;
+        this.paymentTransactionsRepository = paymentTransactionsRepository;
+        this.archiveSchema = archiveSchema;
+    }
+
+    /**
+     * Runs a full reconciliation unless partitions are waiting to be archived
+     */
+    @Scheduled(initialDelayString = "${bankcards.reconciliation.initial-delay-ms:600000}",
+        fixedDelayString = "${bankcards.reconciliation.interval-ms:86400000}",
+        scheduler = SchedulingConfiguration.BATCH_JOB_SCHEDULER)
+    public void run() {
+        List<String> pending = paymentTransactionsRepository.findDetachedPartitions(archiveSchema);
+        if (!pending.isEmpty()) {
+            log.warn("Balance reconciliation skipped, partitions wait for archiving: {}", pending);
+            return;
+        }
+        balanceReconciliationService.reconcile();
+    }
+
+}
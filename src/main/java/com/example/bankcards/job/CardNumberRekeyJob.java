@@ -0,0 +1,32 @@
+package com.example.bankcards.job;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.bankcards.config.SchedulingConfiguration;
+import com.example.bankcards.service.CardNumberRekeyService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Scheduled job moving card numbers to the current AES key after a rotation.
+ *
+ * A run returns at once when the current key is completed, so the job can
+ * stay enabled between rotations.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.card.rekey", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CardNumberRekeyJob {
+
+    private final CardNumberRekeyService cardNumberRekeyService;
+
+    /**
+     * Continues re-encrypting card numbers from the stored checkpoint
+     */
+    @Scheduled(fixedDelayString = "${bankcards.card.rekey.interval-ms:60000}",
+        scheduler = SchedulingConfiguration.BATCH_JOB_SCHEDULER)
+    public void run() {
+        cardNumberRekeyService.rekey();
+    }
+
+}
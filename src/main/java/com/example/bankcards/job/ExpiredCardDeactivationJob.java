@@ -0,0 +1,66 @@
+package com.example.bankcards.job;
+
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.repository.BankCardsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled job deactivating expired cards with chunked set-based updates.
+ *
+ * Only cards whose expires_at has passed are deactivated, so a card is
+ * never blocked early. The flag lags expiration by up to one interval,
+ * validation keeps comparing expires_at. Every chunk commits in its own
+ * transaction to keep row locks short.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.card.expiry", name = "enabled", havingValue = "true")
+@Slf4j
+public class ExpiredCardDeactivationJob {
+
+    private final BankCardsRepository bankCardsRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final Counter deactivatedCounter;
+
+    public ExpiredCardDeactivationJob(BankCardsRepository bankCardsRepository,
+        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+        @Value("${bankcards.card.expiry.chunk-size:1000}") int chunkSize) {
+        this.bankCardsRepository = bankCardsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.deactivatedCounter = Counter.builder("bankcards.card.expired")
+            .description("Number of cards deactivated after expiration")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Deactivates cards that have expired, chunk by chunk
+     */
+    @Scheduled(fixedDelayString = "${bankcards.card.expiry.interval-ms:60000}")
+    public void run() {
+        Instant cutoff = Instant.now();
+        int total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> bankCardsRepository.deactivateExpired(cutoff, chunkSize));
+            total += updated;
+        } while (updated == chunkSize);
+
+        deactivatedCounter.increment(total);
+        if (total > 0) {
+            log.info("Expired card deactivation finished: {} cards deactivated", total);
+        }
+    }
+
+}
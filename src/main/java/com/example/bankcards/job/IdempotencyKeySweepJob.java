@@ -0,0 +1,27 @@
+package com.example.bankcards.job;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.bankcards.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled job removing idempotency keys past their time to live
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.idempotency.sweep", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeySweepJob {
+
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(fixedDelayString = "${bankcards.idempotency.sweep.interval-ms:600000}")
+    public void run() {
+        int deleted = idempotencyService.sweepExpired();
+        log.info("Idempotency key sweep finished: {} keys deleted", deleted);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.bankcards.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.bankcards.model.projection.LedgerMismatchView;
+import com.example.bankcards.service.LedgerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled job taking per-account balance snapshots and reconciling
+ * the accounts touched since the previous run against the ledger.
+ *
+ * Entries younger than the safety lag are left for the next run,
+ * so a transaction that commits late is never skipped by a snapshot.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.ledger.snapshot", name = "enabled", havingValue = "true")
+@Slf4j
+public class LedgerSnapshotJob {
+
+    private final LedgerService ledgerService;
+
+    private final Duration safetyLag;
+
+    private final Counter snapshotCounter;
+
+    private final AtomicInteger mismatches = new AtomicInteger();
+
+    private Instant reconciledUpTo;
+
+    public LedgerSnapshotJob(LedgerService ledgerService, MeterRegistry meterRegistry,
+        @Value("${bankcards.ledger.snapshot.safety-lag-ms:60000}") long safetyLagMs) {
+        this.ledgerService = ledgerService;
+        this.safetyLag = Duration.ofMillis(safetyLagMs);
+        this.snapshotCounter = Counter.builder("bankcards.ledger.snapshots")
+            .description("Number of balance snapshots taken")
+            .register(meterRegistry);
+        meterRegistry.gauge("bankcards.ledger.mismatches", mismatches);
+    }
+
+    /**
+     * Takes snapshots up to now minus the safety lag, then reconciles
+     * accounts with ledger entries since the previous reconciliation
+     */
+    @Scheduled(fixedDelayString = "${bankcards.ledger.snapshot.interval-ms:300000}")
+    public void run() {
+        if (reconciledUpTo == null) {
+            reconciledUpTo = ledgerService.latestSnapshotTime();
+        }
+
+        Instant cutoff = Instant.now().minus(safetyLag);
+        int snapshots = ledgerService.takeSnapshots(cutoff);
+        snapshotCounter.increment(snapshots);
+
+        Instant since = reconciledUpTo.minus(safetyLag);
+        List<LedgerMismatchView> found = ledgerService.reconcile(since);
+        mismatches.set(found.size());
+        reconciledUpTo = cutoff;
+
+        log.info("Ledger snapshot run finished: {} snapshots, {} mismatches", snapshots, found.size());
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.example.bankcards.job;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled job maintaining the monthly partitions of payment_transactions.
+ *
+ * Partitions are created a few months ahead, so an insert never meets a
+ * missing range. Partitions older than the retention are detached and moved
+ * to the archive schema, which keeps indexes and vacuum of the live table
+ * limited to recent months while the old rows stay queryable.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.transactions.partitioning", name = "enabled", havingValue = "true")
+@Slf4j
+public class PaymentTransactionsPartitionJob {
+
+    private final PaymentTransactionsRepository paymentTransactionsRepository;
+
+    private final int monthsAhead;
+
+    private final int retentionMonths;
+
+    private final String archiveSchema;
+
+    private final Counter detachedCounter;
+
+    public PaymentTransactionsPartitionJob(PaymentTransactionsRepository paymentTransactionsRepository,
+        MeterRegistry meterRegistry,
+        @Value("${bankcards.transactions.partitioning.months-ahead:3}") int monthsAhead,
+        @Value("${bankcards.transactions.partitioning.retention-months:0}") int retentionMonths,
+        @Value("${bankcards.transactions.partitioning.archive-schema:payment_archive}") String archiveSchema) {
+        this.paymentTransactionsRepository = paymentTransactionsRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+        this.detachedCounter = Counter.builder("bankcards.transactions.partitions.detached")
+            .description("Number of payment_transactions partitions detached to the archive schema")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Creates partitions of the current and the next months,
+     * then detaches partitions past the retention if it is set
+     */
+    @Scheduled(fixedDelayString = "${bankcards.transactions.partitioning.interval-ms:3600000}")
+    public void run() {
+        LocalDate currentMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            String partition = paymentTransactionsRepository.createMonthlyPartition(currentMonth.plusMonths(i));
+            log.debug("Partition {} is present", partition);
+        }
+
+        if (retentionMonths > 0) {
+            List<String> detached = paymentTransactionsRepository.detachPartitionsBefore(
+                currentMonth.minusMonths(retentionMonths), archiveSchema);
+            detachedCounter.increment(detached.size());
+            if (!detached.isEmpty()) {
+                log.info("Detached payment_transactions partitions to {}: {}", archiveSchema, detached);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.example.bankcards.job;
+
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.bankcards.config.SchedulingConfiguration;
+import com.example.bankcards.service.TransactionArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled job moving partitions detached by {@link PaymentTransactionsPartitionJob}
+ * into compressed archive segments
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.transactions.archive", name = "enabled", havingValue = "true")
+@Slf4j
+public class TransactionArchiveJob {
+
+    private final TransactionArchiveService transactionArchiveService;
+
+    private final Counter archivedCounter;
+
+    public TransactionArchiveJob(TransactionArchiveService transactionArchiveService, MeterRegistry meterRegistry) {
+        this.transactionArchiveService = transactionArchiveService;
+        this.archivedCounter = Counter.builder("bankcards.transactions.partitions.archived")
+            .description("Number of detached partitions moved to archive segments")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Archives all detached partitions waiting in the archive schema
+     */
+    @Scheduled(fixedDelayString = "${bankcards.transactions.archive.interval-ms:3600000}",
+        scheduler = SchedulingConfiguration.BATCH_JOB_SCHEDULER)
+    public void run() {
+        if (!transactionArchiveService.isConfigured()) {
+            log.warn("Transaction archive directory is not an absolute path, detached partitions are kept in the database");
+            return;
+        }
+        try {
+            int archived = transactionArchiveService.archiveDetachedPartitions();
+            archivedCounter.increment(archived);
+            if (archived > 0) {
+                log.info("Transaction archive run finished: {} partitions archived", archived);
+            }
+        } catch (IOException exception) {
+            log.error("Transaction archive run failed: {}", exception.getMessage(), exception);
+        }
+    }
+
+}
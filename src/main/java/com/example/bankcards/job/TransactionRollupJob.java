@@ -0,0 +1,47 @@
+package com.example.bankcards.job;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.bankcards.service.TransactionReportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Scheduled job adding new transactions to the daily rollups.
+ *
+ * Transactions younger than the safety lag are left for the next run,
+ * so a transaction that commits late is never skipped by the watermark.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bankcards.transactions.rollup", name = "enabled", havingValue = "true")
+public class TransactionRollupJob {
+
+    private final TransactionReportService transactionReportService;
+
+    private final Duration safetyLag;
+
+    private final Counter rowsCounter;
+
+    public TransactionRollupJob(TransactionReportService transactionReportService, MeterRegistry meterRegistry,
+        @Value("${bankcards.transactions.rollup.safety-lag-ms:60000}") long safetyLagMs) {
+        this.transactionReportService = transactionReportService;
+        this.safetyLag = Duration.ofMillis(safetyLagMs);
+        this.rowsCounter = Counter.builder("bankcards.transactions.rollup.rows")
+            .description("Number of daily rollup rows inserted or updated")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Rolls up transactions created up to now minus the safety lag
+     */
+    @Scheduled(fixedDelayString = "${bankcards.transactions.rollup.interval-ms:60000}")
+    public void run() {
+        int rows = transactionReportService.rollUp(Instant.now().minus(safetyLag));
+        rowsCounter.increment(rows);
+    }
+
+}
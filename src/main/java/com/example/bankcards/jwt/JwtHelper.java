@@ -10,6 +10,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
  * 
  * Provides methods for JWT token validation, claim extraction,
  * and key generation.
+ * Public parsing methods are timed in {@code bankcards.jwt.parse}.
  */
 @Slf4j
 @Component
@@ -55,6 +57,7 @@ public class JwtHelper {
      * @param userDetails user details to verify against
      * @return true if token is valid and not expired
      */
+    @Timed(value = "bankcards.jwt.parse", extraTags = {"operation", "validate"})
     public Boolean validateToken(String token, UserDetails userDetails) {
         log.debug("Validating token against UserDetails for: {}",
             userDetails != null ? userDetails.getUsername() : "null");
@@ -79,6 +82,7 @@ public class JwtHelper {
      * @param usersEntity user entity to verify against
      * @return true if token is valid and not expired
      */
+    @Timed(value = "bankcards.jwt.parse", extraTags = {"operation", "validate"})
     public Boolean validateToken(String token, UsersEntity usersEntity) {
         log.debug("Validating token against UsersEntity for: {}",
             usersEntity != null ? usersEntity.getLogin() : "null");
@@ -102,6 +106,7 @@ public class JwtHelper {
      * @param token JWT token to parse
      * @return extracted username or null if extraction fails
      */
+    @Timed(value = "bankcards.jwt.parse", extraTags = {"operation", "extract_login"})
     public String extractLogin(String token) {
         log.trace("Extracting login from JWT token");
         
@@ -123,6 +128,7 @@ public class JwtHelper {
      * @param token JWT token to parse
      * @return expiration date or null if extraction fails
      */
+    @Timed(value = "bankcards.jwt.parse", extraTags = {"operation", "extract_expiration"})
     public Date extractExpiration(String token) {
         log.trace("Extracting expiration from JWT token");
         
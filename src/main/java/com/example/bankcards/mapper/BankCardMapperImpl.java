@@ -4,9 +4,14 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import com.example.bankcards.crypto.AesEncryption;
 import com.example.bankcards.crypto.AesHelper;
+import com.example.bankcards.dto.response.BalanceAtResponse;
+import com.example.bankcards.dto.response.BalanceSlotsResponse;
+import com.example.bankcards.dto.response.BulkCardIssueResponse;
 import com.example.bankcards.dto.response.CardActiveStatusResponse;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.CardStatusResponse;
@@ -16,6 +21,7 @@ import com.example.bankcards.mapper.interfaces.specializedInterface.BankCardMapp
 import com.example.bankcards.model.entity.BankCardsEntity;
 import com.example.bankcards.model.entity.CardAccountEntity;
 import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.projection.CardListView;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,36 +34,58 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BankCardMapperImpl extends AbstractEncryptionMapper implements BankCardMapper {
 
-    public BankCardMapperImpl(AesEncryption aesEncryption, AesHelper aesHelper) {
-        super(aesEncryption, aesHelper);
+    public BankCardMapperImpl(AesEncryption aesEncryption, AesHelper aesHelper,
+        @Value("${bankcards.card.issuance.bin:499999}") String reservedBin) {
+        super(aesEncryption, aesHelper, reservedBin);
     }
 
     /**
      * Creates a new BankCardsEntity with generated card details.
      * 
      * Generates random card number and CVV, sets expiration to 5 years from now.
+     * Numbers already issued under any key are skipped and generated again.
      * Card number is immediately encrypted before storage.
      * 
      * @param cardAccount associated card account entity
+     * @param numberIssued tells whether a plaintext card number is already issued
      * @return new bank card entity ready for persistence
      */
     @Override
-    public BankCardsEntity toEntity(CardAccountEntity cardAccount) {
+    public BankCardsEntity toEntity(CardAccountEntity cardAccount, Predicate<String> numberIssued) {
         log.info("Creating new BankCardsEntity for account ID: {}", 
             cardAccount != null ? cardAccount.getId() : "null");
-        
+
+        String cardNumber = generateCardNumber();
+        while (numberIssued.test(cardNumber)) {
+            log.warn("Generated card number is already issued, generating another");
+            cardNumber = generateCardNumber();
+        }
+        return toEntity(cardAccount, encrypt(cardNumber));
+    }
+
+    /**
+     * Creates a new BankCardsEntity with an already allocated and encrypted number.
+     * 
+     * Generates random CVV, sets expiration to 5 years from now.
+     * 
+     * @param cardAccount associated card account entity
+     * @param encryptedNumber encrypted card number
+     * @return new bank card entity ready for persistence
+     */
+    @Override
+    public BankCardsEntity toEntity(CardAccountEntity cardAccount, String encryptedNumber) {
         Instant now = Instant.now();
         log.debug("Setting card creation time: {}", now);
 
         BankCardsEntity entity = BankCardsEntity.builder()
-            .number(encrypt(generateCardNumber()))
+            .number(encryptedNumber)
             .cvc2(ThreadLocalRandom.current().nextInt(100, 999))
             .createdAt(now)
             .expiresAt(now.plus(5 * 365, ChronoUnit.DAYS))
             .cardAccountEntity(cardAccount)
             .build();
         
-        log.info("Bank card entity created with expiration: {}", entity.getExpiresAt());
+        log.debug("Bank card entity created with expiration: {}", entity.getExpiresAt());
         return entity;
     }
 
@@ -102,6 +130,24 @@ public class BankCardMapperImpl extends AbstractEncryptionMapper implements Bank
             .build();
     }
 
+    /**
+     * Maps CardListView projection to CardResponse DTO.
+     * Same response as for the entity without loading the card and its owner.
+     * 
+     * @param cardListView card listing projection
+     * @return card response DTO
+     */
+    @Override
+    public CardResponse toDtoCardResponse(CardListView cardListView) {
+        log.debug("Mapping CardListView to CardResponse");
+        
+        return CardResponse.builder()
+            .login(cardListView.getLogin())
+            .cardNumber(getMaskedCardNumber(cardListView.getNumber()))
+            .expiredAt(cardListView.getExpiresAt())
+            .build();
+    }
+
     /**
      * Maps BankCardsEntity to CardStatusResponse DTO with balance and transactions.
      * Includes current balance and recent payment transactions.
@@ -147,6 +193,68 @@ public class BankCardMapperImpl extends AbstractEncryptionMapper implements Bank
             .build();
     }
 
+    /**
+     * Maps BankCardsEntity to BalanceSlotsResponse DTO.
+     * Provides balance slots configuration with masked card number.
+     * 
+     * @param bankCardsEntity source bank card entity
+     * @param currentBalance full balance including slots
+     * @return balance slots response DTO
+     */
+    @Override
+    public BalanceSlotsResponse toDtoBalanceSlotsResponse(BankCardsEntity bankCardsEntity, Double currentBalance) {
+        log.debug("Mapping BankCardsEntity to BalanceSlotsResponse");
+        
+        return BalanceSlotsResponse.builder()
+            .cardNumber(getMaskedCardNumber(bankCardsEntity.getNumber()))
+            .balanceSlots(bankCardsEntity.getCardAccountEntity().getBalanceSlots())
+            .currentBalance(currentBalance)
+            .build();
+    }
+
+    /**
+     * Maps BankCardsEntity to BalanceAtResponse DTO.
+     * Provides historical balance with masked card number.
+     * 
+     * @param bankCardsEntity source bank card entity
+     * @param at point in time of the balance
+     * @param balance balance at the point in time
+     * @return historical balance response DTO
+     */
+    @Override
+    public BalanceAtResponse toDtoBalanceAtResponse(BankCardsEntity bankCardsEntity, Instant at, Double balance) {
+        log.debug("Mapping BankCardsEntity to BalanceAtResponse");
+        
+        return BalanceAtResponse.builder()
+            .cardNumber(getMaskedCardNumber(bankCardsEntity.getNumber()))
+            .at(at)
+            .balance(balance)
+            .build();
+    }
+
+    /**
+     * Builds BulkCardIssueResponse DTO from issued card numbers.
+     * Numbers are masked without decryption since they are still in plaintext.
+     * 
+     * @param login card owner login
+     * @param cardNumbers issued card numbers
+     * @param cardsPerSecond issuance throughput
+     * @return bulk issuance response DTO
+     */
+    @Override
+    public BulkCardIssueResponse toDtoBulkCardIssueResponse(String login, List<String> cardNumbers, Double cardsPerSecond) {
+        log.debug("Mapping {} issued cards to BulkCardIssueResponse", cardNumbers.size());
+
+        return BulkCardIssueResponse.builder()
+            .login(login)
+            .issued(cardNumbers.size())
+            .cardNumbers(cardNumbers.stream()
+                .map(this::maskCardNumber)
+                .toList())
+            .cardsPerSecond(cardsPerSecond)
+            .build();
+    }
+
     /**
      * Maps PaymentTransactionsEntity to PaymentTransaction DTO.
      * Converts internal transaction entity to API response format.
@@ -7,6 +7,7 @@ import com.example.bankcards.model.entity.CardAccountEntity;
 import com.example.bankcards.model.entity.NotificationEntity;
 import com.example.bankcards.model.entity.UsersEntity;
 import com.example.bankcards.model.enums.EventType;
+import com.example.bankcards.model.projection.NotificationListView;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -84,4 +85,25 @@ public class NotificationMapperImpl implements NotificationMapper {
             .build();
     }
 
+    /**
+     * Maps notification projection to NotificationResponse DTO.
+     * 
+     * @param notification notification listing projection with the user login
+     * @return notification response DTO
+     */
+    @Override
+    public NotificationResponse toDto(NotificationListView notification) {
+        log.debug("Mapping NotificationListView to NotificationResponse");
+        
+        return NotificationResponse.builder()
+            .login(notification.getLogin())
+            .notification(NotificationResponse.NotificationDto.builder()
+                .id(notification.getId())
+                .event(notification.getEvent().toString())
+                .createdAt(notification.getCreatedAt())
+                .isActive(notification.getActive())
+                .build())
+            .build();
+    }
+
 }
\ No newline at end of file
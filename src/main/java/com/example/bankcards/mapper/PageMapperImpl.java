@@ -8,8 +8,8 @@ import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.mapper.interfaces.specializedInterface.PageMapper;
-import com.example.bankcards.model.entity.BankCardsEntity;
-import com.example.bankcards.model.entity.NotificationEntity;
+import com.example.bankcards.model.projection.CardListView;
+import com.example.bankcards.model.projection.NotificationListView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,21 +25,21 @@ public class PageMapperImpl implements PageMapper {
     private final BankCardMapperImpl bankCardMapper;
 
     /**
-     * Maps Page<NotificationEntity> to PageResponse<NotificationResponse>.
+     * Maps Page<NotificationListView> to PageResponse<NotificationResponse>.
      * 
-     * @param page paginated notification entities
+     * @param page paginated notification projections
      * @return paginated notification response DTO
      */
     @Override
-    public PageResponse<NotificationResponse> toDtoNotification(Page<NotificationEntity> page) {
-        log.debug("Mapping Page<NotificationEntity> to PageResponse (page: {}, size: {}, total: {})", 
+    public PageResponse<NotificationResponse> toDtoNotification(Page<NotificationListView> page) {
+        log.debug("Mapping Page<NotificationListView> to PageResponse (page: {}, size: {}, total: {})", 
             page.getNumber(), page.getSize(), page.getTotalElements());
         
         List<NotificationResponse> content = page.getContent().stream()
-            .map(notification -> notificationMapper.toDto(notification.getUser(), notification))
+            .map(notificationMapper::toDto)
             .toList();
         
-        log.trace("Mapped {} notification entities", content.size());
+        log.trace("Mapped {} notification views", content.size());
         
         return PageResponse.<NotificationResponse>builder()
             .content(content)
@@ -52,21 +52,21 @@ public class PageMapperImpl implements PageMapper {
     }
 
     /**
-     * Maps Page<BankCardsEntity> to PageResponse<CardResponse>.
+     * Maps Page<CardListView> to PageResponse<CardResponse>.
      * 
-     * @param page paginated bank card entities
+     * @param page paginated card projections
      * @return paginated card response DTO
      */
     @Override
-    public PageResponse<CardResponse> toDtoBankCards(Page<BankCardsEntity> page) {
-        log.debug("Mapping Page<BankCardsEntity> to PageResponse (page: {}, size: {}, total: {})", 
+    public PageResponse<CardResponse> toDtoBankCards(Page<CardListView> page) {
+        log.debug("Mapping Page<CardListView> to PageResponse (page: {}, size: {}, total: {})", 
             page.getNumber(), page.getSize(), page.getTotalElements());
         
         List<CardResponse> content = page.getContent().stream()
             .map(bankCard -> bankCardMapper.toDtoCardResponse(bankCard))
             .toList();
         
-        log.trace("Mapped {} bank card entities", content.size());
+        log.trace("Mapped {} bank card views", content.size());
         
         return PageResponse.<CardResponse>builder()
             .content(content)
@@ -3,8 +3,11 @@ package com.example.bankcards.mapper;
 import java.time.Instant;
 import java.util.UUID;
 import org.springframework.stereotype.Component;
+import com.example.bankcards.archive.ArchivedTransaction;
 import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.dto.response.CardStatusResponse;
 import com.example.bankcards.dto.response.CreateTransactionResponse;
+import com.example.bankcards.dto.response.TransactionStatusResponse;
 import com.example.bankcards.exception.transactionException.TransactionStatusNotFoundException;
 import com.example.bankcards.exception.transactionException.TransactionTypeNotFoundException;
 import com.example.bankcards.mapper.interfaces.specializedInterface.PaymentTransactionsMapper;
@@ -13,6 +16,7 @@ import com.example.bankcards.model.entity.PaymentTransactionsEntity;
 import com.example.bankcards.model.entity.TransactionTypeEntity;
 import com.example.bankcards.model.entity.TransactionsStatusEntity;
 import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.projection.TransactionStatusView;
 import com.example.bankcards.repository.TransactionTypeRepository;
 import com.example.bankcards.repository.TransactionsStatusRepository;
 import lombok.RequiredArgsConstructor;
@@ -30,7 +34,7 @@ public class PaymentTransactionsMapperImpl implements PaymentTransactionsMapper
     private final TransactionsStatusRepository transactionsStatusRepository;
 
     /**
-     * Creates PaymentTransactionsEntity from transfer request.
+     * Creates a COMPLETED PaymentTransactionsEntity from transfer request.
      * 
      * @param cardAccountEntity sender's card account
      * @param recipientAccountId recipient's account ID
@@ -41,6 +45,22 @@ public class PaymentTransactionsMapperImpl implements PaymentTransactionsMapper
      */
     public PaymentTransactionsEntity toEntity(CardAccountEntity cardAccountEntity,
         UUID recipientAccountId, TransferRequest transferRequest) {
+        return toEntity(cardAccountEntity, recipientAccountId, transferRequest, TransactionsStatusType.COMPLETED);
+    }
+
+    /**
+     * Creates PaymentTransactionsEntity from transfer request with the given status.
+     * 
+     * @param cardAccountEntity sender's card account
+     * @param recipientAccountId recipient's account ID
+     * @param transferRequest transfer request details
+     * @param status initial status of the transaction
+     * @return payment transaction entity
+     * @throws TransactionTypeNotFoundException if transaction type not found
+     * @throws TransactionStatusNotFoundException if transaction status not found
+     */
+    public PaymentTransactionsEntity toEntity(CardAccountEntity cardAccountEntity,
+        UUID recipientAccountId, TransferRequest transferRequest, TransactionsStatusType status) {
         log.info("Creating PaymentTransactionsEntity for transfer from account: {} to recipient: {}", 
             cardAccountEntity != null ? cardAccountEntity.getId() : "null",
             recipientAccountId);
@@ -59,12 +79,12 @@ public class PaymentTransactionsMapperImpl implements PaymentTransactionsMapper
         log.trace("Transaction type resolved: {}", transactionType.getTransactionsType());
 
         TransactionsStatusEntity transactionStatus = transactionsStatusRepository
-            .findByTransactionsStatus(TransactionsStatusType.COMPLETED)
+            .findByTransactionsStatus(status)
                 .orElseThrow(() -> {
-                    log.error("Transaction status not found: COMPLETED");
+                    log.error("Transaction status not found: {}", status);
                     return new TransactionStatusNotFoundException("transaction status has not found");
                 });
-        log.trace("Transaction status resolved: COMPLETED");
+        log.trace("Transaction status resolved: {}", status);
 
         PaymentTransactionsEntity entity = PaymentTransactionsEntity.builder()
             .senderCardAccountId(cardAccountEntity)
@@ -90,11 +110,73 @@ public class PaymentTransactionsMapperImpl implements PaymentTransactionsMapper
         log.debug("Mapping PaymentTransactionsEntity to CreateTransactionResponse");
         
         return CreateTransactionResponse.builder()
+            .transactionId(paymentTransactionsEntity.getId())
             .fromCardAccountId(paymentTransactionsEntity.getSenderCardAccountId().getBankCardsEntity().getId())
             .toCardAccountId(paymentTransactionsEntity.getRecipientAccountId())
             .transactionType(paymentTransactionsEntity.getTransactionType().getTransactionsType().toString())
             .amount(paymentTransactionsEntity.getAmount())
+            .status(paymentTransactionsEntity.getTransactionsStatus().getTransactionsStatus().toString())
+            .createdAt(paymentTransactionsEntity.getCreatedAt())
+            .build();
+    }
+
+    /**
+     * Maps a transaction status projection to TransactionStatusResponse DTO.
+     * 
+     * @param transactionStatus transaction status view
+     * @return transaction status response DTO
+     */
+    public TransactionStatusResponse toDtoTransactionStatus(TransactionStatusView transactionStatus) {
+        log.trace("Mapping TransactionStatusView to TransactionStatusResponse");
+
+        return TransactionStatusResponse.builder()
+            .transactionId(transactionStatus.getId())
+            .transactionType(transactionStatus.getType().toString())
+            .status(transactionStatus.getStatus().toString())
+            .amount(transactionStatus.getAmount())
+            .createdAt(transactionStatus.getCreatedAt())
+            .build();
+    }
+
+    /**
+     * Maps PaymentTransactionsEntity to PaymentTransaction DTO of the history.
+     * 
+     * @param paymentTransactionsEntity source payment transaction entity
+     * @return payment transaction DTO
+     */
+    public CardStatusResponse.PaymentTransaction toDtoPaymentTransaction(
+        PaymentTransactionsEntity paymentTransactionsEntity) {
+        log.trace("Mapping PaymentTransactionsEntity to PaymentTransaction DTO");
+
+        return CardStatusResponse.PaymentTransaction.builder()
+            .senderCardId(paymentTransactionsEntity.getSenderCardAccountId().getId())
+            .recipientCardId(paymentTransactionsEntity.getRecipientAccountId())
+            .comment(paymentTransactionsEntity.getComment())
+            .amount(paymentTransactionsEntity.getAmount())
+            .type(paymentTransactionsEntity.getTransactionType().getTransactionsType().toString())
+            .status(paymentTransactionsEntity.getTransactionsStatus().getTransactionsStatus().toString())
+            .createdAt(paymentTransactionsEntity.getCreatedAt())
+            .build();
+    }
+
+    /**
+     * Maps a transaction read from the cold archive to PaymentTransaction DTO.
+     * 
+     * @param archivedTransaction archived row
+     * @return payment transaction DTO
+     */
+    public CardStatusResponse.PaymentTransaction toDtoPaymentTransaction(ArchivedTransaction archivedTransaction) {
+        log.trace("Mapping ArchivedTransaction to PaymentTransaction DTO");
+
+        return CardStatusResponse.PaymentTransaction.builder()
+            .senderCardId(archivedTransaction.senderAccountId())
+            .recipientCardId(archivedTransaction.recipientId())
+            .comment(archivedTransaction.comment())
+            .amount(archivedTransaction.amountCents() / 100.0)
+            .type(archivedTransaction.type())
+            .status(archivedTransaction.status())
+            .createdAt(archivedTransaction.createdAt())
             .build();
     }
 
-}
\ No newline at end of file
+}
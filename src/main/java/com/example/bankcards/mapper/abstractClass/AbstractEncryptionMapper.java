@@ -4,6 +4,7 @@ import java.util.concurrent.ThreadLocalRandom;
 import org.springframework.stereotype.Component;
 import com.example.bankcards.crypto.AesEncryption;
 import com.example.bankcards.crypto.AesHelper;
+import com.example.bankcards.crypto.MaskedCardNumber;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,6 +23,8 @@ public abstract class AbstractEncryptionMapper {
 
     private final AesHelper aesHelper;
 
+    private final String reservedBin;
+
     /**
      * Encrypts sensitive card number data for secure storage.
      * 
@@ -48,20 +51,34 @@ public abstract class AbstractEncryptionMapper {
         return masked;
     }
 
+    /**
+     * Creates masked card number for display from a plain number.
+     * 
+     * @param cardNumber plain card number that has not been encrypted yet
+     * @return masked card number in format "**** **** **** 1234"
+     */
+    protected String maskCardNumber(String cardNumber) {
+        return aesHelper.maskCardNumber(cardNumber);
+    }
+
     /**
      * Generates a random 16-digit card number for new cards.
      * 
      * Uses ThreadLocalRandom for thread-safe random generation.
-     * Ensures generated number is within valid card number ranges.
+     * Ensures generated number is within valid card number ranges
+     * and never starts with the BIN reserved for CardNumberAllocator.
      * 
      * @return 16-digit card number as string
      */
     protected String generateCardNumber() {
         log.debug("Generating new card number");
-        long cardNumberLong = ThreadLocalRandom.current()
-            .nextLong(1000_0000_0000_0000L, 9999_9999_9999_9999L);
-        String cardNumber = String.format("%016d", cardNumberLong);
-        log.debug("Generated card number: **** **** **** {}", cardNumber.substring(12));
+        String cardNumber;
+        do {
+            long cardNumberLong = ThreadLocalRandom.current()
+                .nextLong(1000_0000_0000_0000L, 9999_9999_9999_9999L);
+            cardNumber = String.format("%016d", cardNumberLong);
+        } while (cardNumber.startsWith(reservedBin));
+        log.debug("Generated card number: {}", MaskedCardNumber.of(cardNumber));
         return cardNumber;
     }
 
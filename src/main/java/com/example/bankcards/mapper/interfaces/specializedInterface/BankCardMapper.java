@@ -1,22 +1,40 @@
 package com.example.bankcards.mapper.interfaces.specializedInterface;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.example.bankcards.dto.response.BalanceAtResponse;
+import com.example.bankcards.dto.response.BalanceSlotsResponse;
+import com.example.bankcards.dto.response.BulkCardIssueResponse;
 import com.example.bankcards.dto.response.CardActiveStatusResponse;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.CardStatusResponse;
 import com.example.bankcards.dto.response.CreateCardResponse;
 import com.example.bankcards.model.entity.BankCardsEntity;
 import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.projection.CardListView;
 
 public interface BankCardMapper  {
 
-    BankCardsEntity toEntity(CardAccountEntity cardAccount);
+    BankCardsEntity toEntity(CardAccountEntity cardAccount, Predicate<String> numberIssued);
+
+    BankCardsEntity toEntity(CardAccountEntity cardAccount, String encryptedNumber);
 
     CreateCardResponse toDtoCreateCardResponse(BankCardsEntity bankCardsEntity);
 
     CardResponse toDtoCardResponse(BankCardsEntity bankCardsEntity);
 
+    CardResponse toDtoCardResponse(CardListView cardListView);
+
     CardStatusResponse toDtoCardStatusResponse(BankCardsEntity bankCardsEntity);
 
     CardActiveStatusResponse toDtoCardActiveStatusResponse(BankCardsEntity bankCardsEntity);
 
+    BalanceSlotsResponse toDtoBalanceSlotsResponse(BankCardsEntity bankCardsEntity, Double currentBalance);
+
+    BalanceAtResponse toDtoBalanceAtResponse(BankCardsEntity bankCardsEntity, Instant at, Double balance);
+
+    BulkCardIssueResponse toDtoBulkCardIssueResponse(String login, List<String> cardNumbers, Double cardsPerSecond);
+
 }
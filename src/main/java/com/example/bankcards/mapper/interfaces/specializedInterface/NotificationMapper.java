@@ -4,6 +4,7 @@ import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.model.entity.CardAccountEntity;
 import com.example.bankcards.model.entity.NotificationEntity;
 import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.projection.NotificationListView;
 
 public interface NotificationMapper {
 
@@ -13,4 +14,6 @@ public interface NotificationMapper {
 
     NotificationResponse toDto(UsersEntity user, NotificationEntity notification);
 
+    NotificationResponse toDto(NotificationListView notification);
+
 }
@@ -5,13 +5,13 @@ import org.springframework.data.domain.Page;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.PageResponse;
-import com.example.bankcards.model.entity.BankCardsEntity;
-import com.example.bankcards.model.entity.NotificationEntity;
+import com.example.bankcards.model.projection.CardListView;
+import com.example.bankcards.model.projection.NotificationListView;
 
 public interface PageMapper {
 
-    PageResponse<NotificationResponse> toDtoNotification(Page<NotificationEntity> page);
+    PageResponse<NotificationResponse> toDtoNotification(Page<NotificationListView> page);
 
-    PageResponse<CardResponse> toDtoBankCards(Page<BankCardsEntity> page);
+    PageResponse<CardResponse> toDtoBankCards(Page<CardListView> page);
 
 }
\ No newline at end of file
@@ -1,15 +1,29 @@
 package com.example.bankcards.mapper.interfaces.specializedInterface;
 
 import java.util.UUID;
+import com.example.bankcards.archive.ArchivedTransaction;
 import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.dto.response.CardStatusResponse;
 import com.example.bankcards.dto.response.CreateTransactionResponse;
+import com.example.bankcards.dto.response.TransactionStatusResponse;
 import com.example.bankcards.model.entity.CardAccountEntity;
 import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.projection.TransactionStatusView;
 
 public interface PaymentTransactionsMapper {
     PaymentTransactionsEntity toEntity(CardAccountEntity cardAccountEntity,
         UUID recipientAccountId, TransferRequest transferRequest);
 
+    PaymentTransactionsEntity toEntity(CardAccountEntity cardAccountEntity,
+        UUID recipientAccountId, TransferRequest transferRequest, TransactionsStatusType status);
+
     CreateTransactionResponse toDto(PaymentTransactionsEntity paymentTransactionsEntity);
 
+    CardStatusResponse.PaymentTransaction toDtoPaymentTransaction(PaymentTransactionsEntity paymentTransactionsEntity);
+
+    CardStatusResponse.PaymentTransaction toDtoPaymentTransaction(ArchivedTransaction archivedTransaction);
+
+    TransactionStatusResponse toDtoTransactionStatus(TransactionStatusView transactionStatus);
+
 }
@@ -0,0 +1,123 @@
+package com.example.bankcards.metrics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Micrometer meters for the money transfer pipeline.
+ *
+ * Every successful stage of a transfer is recorded in the
+ * {@code bankcards.transfer.stage} timer tagged with the stage name,
+ * the flush and commit of the surrounding transaction is recorded as the
+ * {@code commit} stage, and the final result, including the exception that
+ * aborted a failed transfer, is counted in {@code bankcards.transfer.outcome}.
+ * Histogram buckets are configured in application.yaml.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransferMetrics {
+
+    public static final String STAGE_TIMER = "bankcards.transfer.stage";
+
+    public static final String OUTCOME_COUNTER = "bankcards.transfer.outcome";
+
+    public static final String STAGE_VALIDATION = "validation";
+
+    public static final String STAGE_CARD_RESOLUTION = "card_resolution";
+
+    public static final String STAGE_BALANCE_UPDATE = "balance_update";
+
+    public static final String STAGE_TRANSACTION_INSERT = "transaction_insert";
+
+    public static final String STAGE_COMMIT = "commit";
+
+    private static final Object COMMIT_STAGE_KEY = new Object();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Starts timing a stage of the transfer
+     *
+     * @return sample to pass to {@link #stopStage(Timer.Sample, String)}
+     */
+    public Timer.Sample startStage() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stops timing a successfully finished stage of the transfer
+     *
+     * @param sample sample returned by {@link #startStage()}
+     * @param stage stage name used as tag value
+     */
+    public void stopStage(Timer.Sample sample, String stage) {
+        sample.stop(stageTimer(stage, "ok"));
+    }
+
+    /**
+     * Registers a synchronization that times flush and commit of the current transaction.
+     * Hibernate defers the UPDATE and INSERT statements until flush,
+     * so this stage is where the database round trips of a transfer are spent.
+     * A transaction running several transfers, like a group commit batch,
+     * registers it once and records one commit
+     */
+    public void recordCommitStage() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.trace("No active transaction synchronization, commit stage is not recorded");
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(COMMIT_STAGE_KEY)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(COMMIT_STAGE_KEY, Boolean.TRUE);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private Timer.Sample sample;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sample = Timer.start(meterRegistry);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(COMMIT_STAGE_KEY);
+                if (sample != null) {
+                    sample.stop(stageTimer(STAGE_COMMIT,
+                        status == STATUS_COMMITTED ? "committed" : "rolled_back"));
+                }
+            }
+        });
+    }
+
+    /**
+     * Counts a finished transfer
+     *
+     * @param exception thrown exception or null when the transfer succeeded
+     */
+    public void recordOutcome(Throwable exception) {
+        Counter.builder(OUTCOME_COUNTER)
+            .description("Number of processed transfers by result")
+            .tag("result", exception == null ? "success" : "failure")
+            .tag("exception", exception == null ? "none" : exception.getClass().getSimpleName())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private Timer stageTimer(String stage, String status) {
+        return Timer.builder(STAGE_TIMER)
+            .description("Duration of a single money transfer stage")
+            .tag("stage", stage)
+            .tag("status", status)
+            .register(meterRegistry);
+    }
+
+}
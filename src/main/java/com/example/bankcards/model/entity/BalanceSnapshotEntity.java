@@ -0,0 +1,55 @@
+package com.example.bankcards.model.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "balance_snapshot",
+    indexes = @Index(name = "idx_balance_snapshot_account_as_of", columnList = "card_account_id, as_of")
+)
+@Builder
+public class BalanceSnapshotEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_account_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CardAccountEntity cardAccount;
+
+    @Column(name = "balance", columnDefinition = "DECIMAL(15,2)", nullable = false)
+    private Double balance;
+
+    @Column(name = "as_of", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private Instant asOf;
+
+    @CreationTimestamp
+    @Column(name = "created_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private Instant createdAt;
+
+}
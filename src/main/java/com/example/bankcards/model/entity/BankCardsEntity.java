@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
@@ -24,7 +25,10 @@ import lombok.ToString;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "bank_cards")
+@Table(
+    name = "bank_cards",
+    indexes = @Index(name = "idx_bank_cards_expires_at", columnList = "expires_at")
+)
 @Data
 public class BankCardsEntity {
 
@@ -48,6 +52,14 @@ public class BankCardsEntity {
     @Column(name = "is_active", columnDefinition = "boolean", nullable = false)
     private Boolean isActive = true;
 
+    /**
+     * Time of the last change of the status fields, set by a database trigger
+     * and read by the card status index of every instance
+     */
+    @Column(name = "status_changed_at", columnDefinition = "TIMESTAMPTZ DEFAULT now()", nullable = false,
+        insertable = false, updatable = false)
+    private Instant statusChangedAt;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "user_id")
     @ToString.Exclude
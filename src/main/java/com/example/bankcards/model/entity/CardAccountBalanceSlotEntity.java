@@ -0,0 +1,50 @@
+package com.example.bankcards.model.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(
+    name = "card_account_balance_slot",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uq_card_account_balance_slot",
+        columnNames = {"card_account_id", "slot"})
+)
+@Builder
+public class CardAccountBalanceSlotEntity {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_account_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CardAccountEntity cardAccount;
+
+    @Column(name = "slot", columnDefinition = "INTEGER", nullable = false)
+    private Integer slot;
+
+    @Column(name = "balance", columnDefinition = "DECIMAL(15,2)", nullable = false)
+    private Double balance;
+
+}
@@ -38,6 +38,17 @@ public class CardAccountEntity {
     @Column(name = "current_balance", columnDefinition="DECIMAL(15,2)", nullable = false, unique = false)
     private Double currentBalance;
 
+    @Column(name = "balance_slots", columnDefinition = "INTEGER", nullable = false)
+    private int balanceSlots;
+
+    /**
+     * Funds held by accepted transactions awaiting settlement, changed only by atomic updates
+     */
+    @Builder.Default
+    @Column(name = "held_amount", columnDefinition = "DECIMAL(15,2) DEFAULT 0", nullable = false,
+        insertable = false, updatable = false)
+    private Double heldAmount = 0.0;
+
     @UpdateTimestamp
     @Column(name = "updated_at", columnDefinition = "TIMESTAMPTZ", nullable = false, unique = false)
     private Instant updatedAt;
@@ -0,0 +1,27 @@
+package com.example.bankcards.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "card_pan_range")
+@Builder
+public class CardPanRangeEntity {
+
+    @Id
+    @Column(name = "bin", columnDefinition = "VARCHAR(6)", nullable = false)
+    private String bin;
+
+    @Column(name = "next_sequence", columnDefinition = "BIGINT", nullable = false)
+    private Long nextSequence;
+
+}
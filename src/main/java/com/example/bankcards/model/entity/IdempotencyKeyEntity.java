@@ -0,0 +1,55 @@
+package com.example.bankcards.model.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "idempotency_key",
+    uniqueConstraints = @UniqueConstraint(name = "uq_idempotency_key_user_login_key", columnNames = {"user_login", "idempotency_key"}),
+    indexes = @Index(name = "idx_idempotency_key_expires_at", columnList = "expires_at")
+)
+@Builder
+public class IdempotencyKeyEntity {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "user_login", columnDefinition = "VARCHAR(255)", nullable = false)
+    private String userLogin;
+
+    @Column(name = "idempotency_key", columnDefinition = "VARCHAR(255)", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", columnDefinition = "VARCHAR(64)", nullable = false)
+    private String requestHash;
+
+    @Column(name = "response", columnDefinition = "TEXT")
+    private String response;
+
+    @CreationTimestamp
+    @Column(name = "created_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private Instant expiresAt;
+
+}
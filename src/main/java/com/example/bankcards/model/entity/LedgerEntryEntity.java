@@ -0,0 +1,64 @@
+package com.example.bankcards.model.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.example.bankcards.model.enums.LedgerDirection;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "ledger_entry",
+    indexes = @Index(name = "idx_ledger_entry_account_created_at", columnList = "card_account_id, created_at")
+)
+@Builder
+public class LedgerEntryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_account_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CardAccountEntity cardAccount;
+
+    @Column(name = "transaction_id", columnDefinition = "UUID", nullable = false)
+    private UUID transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", columnDefinition = "VARCHAR(10)", nullable = false)
+    private LedgerDirection direction;
+
+    @Column(name = "amount", columnDefinition = "DECIMAL(15,2)", nullable = false)
+    private Double amount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private Instant createdAt;
+
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,14 @@ import lombok.NoArgsConstructor;
 @Builder
 @Data
 @Entity
-@Table(name = "payment_transactions")
+@Table(
+    name = "payment_transactions",
+    indexes = {
+        @Index(name = "idx_payment_transactions_sender_created_at", columnList = "sender_card_account_id, created_at"),
+        @Index(name = "idx_payment_transactions_recipient_created_at", columnList = "recipient_account_id, created_at"),
+        @Index(name = "idx_payment_transactions_created_at", columnList = "created_at")
+    }
+)
 @AllArgsConstructor
 @NoArgsConstructor
 public class PaymentTransactionsEntity {
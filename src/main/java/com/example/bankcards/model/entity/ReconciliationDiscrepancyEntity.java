@@ -0,0 +1,51 @@
+package com.example.bankcards.model.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "reconciliation_discrepancy",
+    indexes = @Index(name = "idx_reconciliation_discrepancy_run_id", columnList = "run_id")
+)
+@Builder
+public class ReconciliationDiscrepancyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", columnDefinition = "UUID", nullable = false)
+    private UUID runId;
+
+    @Column(name = "card_account_id", columnDefinition = "UUID", nullable = false)
+    private UUID cardAccountId;
+
+    @Column(name = "account_balance", columnDefinition = "DECIMAL(17,2)", nullable = false)
+    private Double accountBalance;
+
+    @Column(name = "transactions_balance", columnDefinition = "DECIMAL(17,2)", nullable = false)
+    private Double transactionsBalance;
+
+    @CreationTimestamp
+    @Column(name = "detected_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private Instant detectedAt;
+
+}
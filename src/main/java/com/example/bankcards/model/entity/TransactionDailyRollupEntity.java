@@ -0,0 +1,63 @@
+package com.example.bankcards.model.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "transaction_daily_rollup")
+@IdClass(TransactionDailyRollupEntity.RollupId.class)
+@Builder
+public class TransactionDailyRollupEntity {
+
+    @Id
+    @Column(name = "day", columnDefinition = "DATE", nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", columnDefinition = "VARCHAR(30)", nullable = false)
+    private TransactionsType transactionType;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_status", columnDefinition = "VARCHAR(30)", nullable = false)
+    private TransactionsStatusType transactionStatus;
+
+    @Column(name = "transaction_count", columnDefinition = "BIGINT", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "amount", columnDefinition = "DECIMAL(19,2)", nullable = false)
+    private Double amount;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RollupId implements Serializable {
+
+        private LocalDate day;
+
+        private TransactionsType transactionType;
+
+        private TransactionsStatusType transactionStatus;
+
+    }
+
+}
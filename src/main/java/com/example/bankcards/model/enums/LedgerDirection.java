@@ -0,0 +1,9 @@
+package com.example.bankcards.model.enums;
+
+public enum LedgerDirection {
+
+    DEBIT,
+
+    CREDIT
+
+}
@@ -0,0 +1,17 @@
+package com.example.bankcards.model.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Balance and held funds of a card account read under a row lock
+ */
+public interface AccountBalanceView {
+
+    UUID getId();
+
+    BigDecimal getCurrentBalance();
+
+    BigDecimal getHeldAmount();
+
+}
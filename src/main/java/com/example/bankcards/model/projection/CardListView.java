@@ -0,0 +1,16 @@
+package com.example.bankcards.model.projection;
+
+import java.time.Instant;
+
+/**
+ * Card with exactly the columns shown in card listings
+ */
+public interface CardListView {
+
+    String getLogin();
+
+    String getNumber();
+
+    Instant getExpiresAt();
+
+}
@@ -0,0 +1,21 @@
+package com.example.bankcards.model.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Card with the fields needed to validate access to it
+ */
+public interface CardStatusView {
+
+    UUID getId();
+
+    UUID getCardAccountId();
+
+    UUID getOwnerId();
+
+    Boolean getActive();
+
+    Instant getExpiresAt();
+
+}
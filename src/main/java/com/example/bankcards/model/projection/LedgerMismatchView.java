@@ -0,0 +1,17 @@
+package com.example.bankcards.model.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Card account whose ledger balance differs from the stored balance
+ */
+public interface LedgerMismatchView {
+
+    UUID getAccountId();
+
+    BigDecimal getLedgerBalance();
+
+    BigDecimal getAccountBalance();
+
+}
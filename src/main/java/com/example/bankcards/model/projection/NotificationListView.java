@@ -0,0 +1,21 @@
+package com.example.bankcards.model.projection;
+
+import java.time.Instant;
+import com.example.bankcards.model.enums.EventType;
+
+/**
+ * Notification with exactly the columns shown in notification pages
+ */
+public interface NotificationListView {
+
+    Long getId();
+
+    EventType getEvent();
+
+    Instant getCreatedAt();
+
+    Boolean getActive();
+
+    String getLogin();
+
+}
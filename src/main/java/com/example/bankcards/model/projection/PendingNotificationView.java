@@ -0,0 +1,18 @@
+package com.example.bankcards.model.projection;
+
+import java.util.UUID;
+
+/**
+ * Pending notification with the identifiers needed to process it
+ */
+public interface PendingNotificationView {
+
+    Long getId();
+
+    UUID getUserId();
+
+    Boolean getUserActive();
+
+    UUID getCardAccountId();
+
+}
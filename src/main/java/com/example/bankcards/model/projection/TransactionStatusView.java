@@ -0,0 +1,23 @@
+package com.example.bankcards.model.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+
+/**
+ * Transaction with the columns shown by the status query
+ */
+public interface TransactionStatusView {
+
+    UUID getId();
+
+    TransactionsType getType();
+
+    TransactionsStatusType getStatus();
+
+    Double getAmount();
+
+    Instant getCreatedAt();
+
+}
@@ -0,0 +1,41 @@
+package com.example.bankcards.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bankcards.model.entity.BalanceSnapshotEntity;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshotEntity, Long> {
+
+    @Query(value = "SELECT MAX(as_of) FROM balance_snapshot", nativeQuery = true)
+    Instant findLatestAsOf();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO balance_snapshot (card_account_id, balance, as_of, created_at)
+        SELECT delta.card_account_id,
+            COALESCE(s.balance, 0) + delta.net,
+            :cutoff,
+            now()
+        FROM (
+            SELECT card_account_id,
+                SUM(CASE WHEN direction = 'CREDIT' THEN amount ELSE -amount END) AS net
+            FROM ledger_entry
+            WHERE created_at > :since AND created_at <= :cutoff
+            GROUP BY card_account_id
+        ) delta
+        LEFT JOIN LATERAL (
+            SELECT balance
+            FROM balance_snapshot
+            WHERE card_account_id = delta.card_account_id
+            ORDER BY as_of DESC
+            LIMIT 1
+        ) s ON true
+        """, nativeQuery = true)
+    int takeSnapshots(@Param("since") Instant since, @Param("cutoff") Instant cutoff);
+
+}
@@ -1,14 +1,19 @@
 package com.example.bankcards.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.example.bankcards.model.entity.BankCardsEntity;
 import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.projection.CardListView;
+import com.example.bankcards.model.projection.CardStatusView;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,9 +22,100 @@ public interface BankCardsRepository extends JpaRepository<BankCardsEntity, UUID
 
     Optional<BankCardsEntity> findByNumber(String number);
 
+    /**
+     * Finds a card stored under any of the given encrypted numbers,
+     * used while card numbers are rekeyed and a card may be stored under an older key
+     *
+     * @param numbers candidate encrypted numbers of one card
+     * @return the card if one of the candidates is stored
+     */
+    Optional<BankCardsEntity> findFirstByNumberIn(Collection<String> numbers);
+
+    /**
+     * Reads the access relevant fields of a card stored under any of the given encrypted numbers,
+     * without loading the card, its owner or its account
+     *
+     * @param numbers candidate encrypted numbers of one card
+     * @return status of the card if one of the candidates is stored
+     */
+    @Query("""
+        SELECT b.id AS id, a.id AS cardAccountId, u.id AS ownerId, b.isActive AS active, b.expiresAt AS expiresAt
+        FROM BankCardsEntity b
+        LEFT JOIN b.cardAccountEntity a
+        LEFT JOIN b.user u
+        WHERE b.number IN :numbers
+        """)
+    Optional<CardStatusView> findStatusByNumberIn(@Param("numbers") Collection<String> numbers);
+
+    /**
+     * Checks whether a card is stored under any of the given encrypted numbers
+     *
+     * @param numbers candidate encrypted numbers of one card
+     * @return true if one of the candidates is stored
+     */
+    boolean existsByNumberIn(Collection<String> numbers);
+
+    /**
+     * Returns which of the given encrypted numbers are already stored
+     *
+     * @param numbers candidate encrypted numbers of many cards
+     * @return stored numbers among the candidates
+     */
+    @Query("SELECT b.number FROM BankCardsEntity b WHERE b.number IN :numbers")
+    List<String> findNumbersIn(@Param("numbers") Collection<String> numbers);
+
     List<BankCardsEntity> findByUser(UsersEntity user);
 
     @Query("SELECT b FROM BankCardsEntity b WHERE b.user = :user AND b.isActive = true")
     Page<BankCardsEntity> findActiveCardsByUser(@Param("user") UsersEntity user, Pageable pageable);
 
+    /**
+     * Reads a page of active cards of a user with only the listed columns and the owner's login
+     *
+     * @param login owner login
+     * @param pageable page and sort by card properties
+     * @return page of card list views
+     */
+    @Query(value = """
+        SELECT u.login AS login, b.number AS number, b.expiresAt AS expiresAt
+        FROM BankCardsEntity b
+        JOIN b.user u
+        WHERE u.login = :login AND b.isActive = true
+        """,
+        countQuery = """
+        SELECT count(b) FROM BankCardsEntity b
+        WHERE b.user.login = :login AND b.isActive = true
+        """)
+    Page<CardListView> findActiveCardViewsByLogin(@Param("login") String login, Pageable pageable);
+
+    /**
+     * Deactivates up to limit active cards expiring at or before the cutoff.
+     * Rows locked by other transactions are skipped and picked up by the next chunk.
+     *
+     * @param cutoff expiration time up to which cards are deactivated
+     * @param limit maximum number of cards updated by one statement
+     * @return number of deactivated cards
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE bank_cards SET is_active = false
+        WHERE id IN (
+            SELECT id FROM bank_cards
+            WHERE is_active AND expires_at <= :cutoff
+            ORDER BY expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        """, nativeQuery = true)
+    int deactivateExpired(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE BankCardsEntity b SET b.isActive = false
+        WHERE b.id IN (
+            SELECT a.bankCardsEntity.id FROM CardAccountEntity a WHERE a.id IN :accountIds
+        )
+        """)
+    int blockByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.bankcards.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bankcards.model.entity.CardAccountBalanceSlotEntity;
+
+public interface CardAccountBalanceSlotRepository extends JpaRepository<CardAccountBalanceSlotEntity, UUID> {
+
+    @Modifying
+    @Query(value = """
+        UPDATE card_account_balance_slot
+        SET balance = balance + :amount
+        WHERE card_account_id = :accountId AND slot = :slot
+        """, nativeQuery = true)
+    int credit(@Param("accountId") UUID accountId, @Param("slot") int slot, @Param("amount") Double amount);
+
+    @Query(value = """
+        SELECT COALESCE(SUM(balance), 0)
+        FROM card_account_balance_slot
+        WHERE card_account_id = :accountId
+        """, nativeQuery = true)
+    BigDecimal sumBalance(@Param("accountId") UUID accountId);
+
+    @Query(value = """
+        WITH locked AS (
+            SELECT slot, balance
+            FROM card_account_balance_slot
+            WHERE card_account_id = :accountId
+            FOR UPDATE
+        ), cleared AS (
+            UPDATE card_account_balance_slot s
+            SET balance = 0
+            FROM locked
+            WHERE s.card_account_id = :accountId AND s.slot = locked.slot AND locked.balance <> 0
+            RETURNING locked.balance
+        )
+        SELECT COALESCE(SUM(balance), 0) FROM cleared
+        """, nativeQuery = true)
+    BigDecimal collect(@Param("accountId") UUID accountId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO card_account_balance_slot (id, card_account_id, slot, balance)
+        SELECT gen_random_uuid(), :accountId, slot_number, 0
+        FROM generate_series(0, :slots - 1) AS slot_number
+        ON CONFLICT (card_account_id, slot) DO NOTHING
+        """, nativeQuery = true)
+    int createSlots(@Param("accountId") UUID accountId, @Param("slots") int slots);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM card_account_balance_slot
+        WHERE card_account_id = :accountId AND slot >= :slots
+        """, nativeQuery = true)
+    int deleteSlotsFrom(@Param("accountId") UUID accountId, @Param("slots") int slots);
+
+}
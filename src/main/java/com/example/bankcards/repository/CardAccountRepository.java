@@ -1,11 +1,76 @@
 package com.example.bankcards.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.projection.AccountBalanceView;
 
 public interface CardAccountRepository extends JpaRepository<CardAccountEntity, UUID> {
-    
+
+    /**
+     * Locks the account rows in id order, the order settlement locks them in,
+     * and returns their committed balances
+     */
+    @Query(value = """
+        SELECT id, current_balance AS currentBalance, held_amount AS heldAmount
+        FROM card_account
+        WHERE id IN (:accountIds)
+        ORDER BY id
+        FOR UPDATE
+        """, nativeQuery = true)
+    List<AccountBalanceView> lockBalances(@Param("accountIds") Collection<UUID> accountIds);
+
+    /**
+     * Locks in id order the rows a batch of transfers writes: every sender
+     * and every recipient without balance slots, striped recipients stay unlocked
+     */
+    @Query(value = """
+        SELECT id
+        FROM card_account
+        WHERE id IN (:accountIds) AND (balance_slots = 0 OR id IN (:senderIds))
+        ORDER BY id
+        FOR UPDATE
+        """, nativeQuery = true)
+    List<UUID> lockForTransfers(@Param("accountIds") Collection<UUID> accountIds,
+        @Param("senderIds") Collection<UUID> senderIds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE card_account
+        SET held_amount = held_amount + :amount
+        WHERE id = :accountId AND current_balance - held_amount >= :amount
+        """, nativeQuery = true)
+    int hold(@Param("accountId") UUID accountId, @Param("amount") Double amount);
+
+    @Modifying
+    @Query(value = """
+        UPDATE card_account
+        SET current_balance = current_balance - :amount, held_amount = held_amount - :amount, updated_at = now()
+        WHERE id = :accountId
+        """, nativeQuery = true)
+    int debitHeld(@Param("accountId") UUID accountId, @Param("amount") Double amount);
+
+    @Modifying
+    @Query(value = """
+        UPDATE card_account
+        SET held_amount = held_amount - :amount
+        WHERE id = :accountId
+        """, nativeQuery = true)
+    int releaseHold(@Param("accountId") UUID accountId, @Param("amount") Double amount);
+
+    @Modifying
+    @Query(value = """
+        UPDATE card_account
+        SET current_balance = current_balance + :amount, updated_at = now()
+        WHERE id = :accountId
+        """, nativeQuery = true)
+    int credit(@Param("accountId") UUID accountId, @Param("amount") Double amount);
+
 }
@@ -0,0 +1,30 @@
+package com.example.bankcards.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.model.entity.CardPanRangeEntity;
+
+@Repository
+public interface CardPanRangeRepository extends JpaRepository<CardPanRangeEntity, String> {
+
+    /**
+     * Atomically reserves count account sequence numbers of a BIN
+     *
+     * @param bin issuer identification number
+     * @param count number of sequence numbers to reserve
+     * @return first reserved sequence number
+     */
+    @Transactional
+    @Query(value = """
+        INSERT INTO card_pan_range (bin, next_sequence)
+        VALUES (:bin, :count)
+        ON CONFLICT (bin) DO UPDATE
+        SET next_sequence = card_pan_range.next_sequence + :count
+        RETURNING next_sequence - :count
+        """, nativeQuery = true)
+    Long reserve(@Param("bin") String bin, @Param("count") long count);
+
+}
@@ -0,0 +1,36 @@
+package com.example.bankcards.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.example.bankcards.model.entity.IdempotencyKeyEntity;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, UUID> {
+
+    Optional<IdempotencyKeyEntity> findByUserLoginAndIdempotencyKey(String userLogin, String idempotencyKey);
+
+    /**
+     * Deletes up to limit keys expired before the given time
+     *
+     * @param now current time
+     * @param limit maximum number of rows deleted in one statement
+     * @return number of deleted keys
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM idempotency_key
+        WHERE id IN (
+            SELECT id FROM idempotency_key
+            WHERE expires_at < :now
+            LIMIT :limit
+        )
+        """, nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
+
+}
@@ -0,0 +1,73 @@
+package com.example.bankcards.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bankcards.model.entity.LedgerEntryEntity;
+import com.example.bankcards.model.projection.LedgerMismatchView;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntryEntity, Long> {
+
+    @Query(value = """
+        WITH snapshot AS (
+            SELECT balance, as_of
+            FROM balance_snapshot
+            WHERE card_account_id = :accountId AND as_of <= :at
+            ORDER BY as_of DESC
+            LIMIT 1
+        )
+        SELECT COALESCE((SELECT balance FROM snapshot), 0)
+            + COALESCE(SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END), 0)
+        FROM ledger_entry e
+        WHERE e.card_account_id = :accountId
+          AND e.created_at > COALESCE((SELECT as_of FROM snapshot), '-infinity'::timestamptz)
+          AND e.created_at <= :at
+        """, nativeQuery = true)
+    BigDecimal balanceAt(@Param("accountId") UUID accountId, @Param("at") Instant at);
+
+    @Query(value = """
+        WITH touched AS (
+            SELECT DISTINCT card_account_id
+            FROM ledger_entry
+            WHERE created_at > :since
+        ), ledger AS (
+            SELECT t.card_account_id,
+                COALESCE(s.balance, 0) + COALESCE((
+                    SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                    FROM ledger_entry e
+                    WHERE e.card_account_id = t.card_account_id
+                      AND e.created_at > COALESCE(s.as_of, '-infinity'::timestamptz)
+                ), 0) AS ledger_balance
+            FROM touched t
+            LEFT JOIN LATERAL (
+                SELECT balance, as_of
+                FROM balance_snapshot
+                WHERE card_account_id = t.card_account_id
+                ORDER BY as_of DESC
+                LIMIT 1
+            ) s ON true
+        )
+        SELECT l.card_account_id AS accountId,
+            l.ledger_balance AS ledgerBalance,
+            a.current_balance + COALESCE((
+                SELECT SUM(slot.balance)
+                FROM card_account_balance_slot slot
+                WHERE slot.card_account_id = a.id
+            ), 0) AS accountBalance
+        FROM ledger l
+        JOIN card_account a ON a.id = l.card_account_id
+        WHERE l.ledger_balance <> a.current_balance + COALESCE((
+            SELECT SUM(slot.balance)
+            FROM card_account_balance_slot slot
+            WHERE slot.card_account_id = a.id
+        ), 0)
+        """, nativeQuery = true)
+    List<LedgerMismatchView> findMismatchesTouchedSince(@Param("since") Instant since);
+
+}
@@ -1,12 +1,73 @@
 package com.example.bankcards.repository;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.bankcards.model.entity.NotificationEntity;
+import com.example.bankcards.model.enums.EventType;
+import com.example.bankcards.model.projection.NotificationListView;
+import com.example.bankcards.model.projection.PendingNotificationView;
 
 public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
 
     Page<NotificationEntity> findAllByIsActiveTrue(Pageable pageable);
 
+    long countByEventAndIsActiveTrue(EventType event);
+
+    @Query(value = """
+        SELECT n.id AS id, n.event AS event, n.createdAt AS createdAt, n.isActive AS active, u.login AS login
+        FROM NotificationEntity n
+        LEFT JOIN n.user u
+        WHERE n.isActive = true
+        """,
+        countQuery = "SELECT count(n) FROM NotificationEntity n WHERE n.isActive = true")
+    Page<NotificationListView> findActiveViews(Pageable pageable);
+
+    @Query("""
+        SELECT n.id AS id, n.event AS event, n.createdAt AS createdAt, n.isActive AS active, u.login AS login
+        FROM NotificationEntity n
+        LEFT JOIN n.user u
+        WHERE n.isActive = true AND n.id > :afterId
+        ORDER BY n.id
+        """)
+    List<NotificationListView> findActiveViewsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT n.id FROM NotificationEntity n
+        WHERE n.isActive = true AND n.event = :event AND n.id > :afterId
+        ORDER BY n.id
+        """)
+    List<Long> findPendingIdsAfter(@Param("event") EventType event, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT n.id AS id, u.id AS userId, u.isActive AS userActive, c.id AS cardAccountId
+        FROM NotificationEntity n
+        LEFT JOIN n.user u
+        LEFT JOIN n.card c
+        WHERE n.id IN :ids AND n.event = :event AND n.isActive = true
+        ORDER BY n.id
+        """)
+    List<PendingNotificationView> findPendingByIds(@Param("event") EventType event, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Deactivates the still active notifications among the given ids.
+     * Only the returned notifications may be processed by the caller,
+     * the others were already handled by a concurrent request.
+     *
+     * @param ids notifications to deactivate
+     * @return ids of the notifications deactivated by this statement
+     */
+    @Transactional
+    @Query(value = """
+        UPDATE notification SET is_active = false
+        WHERE id IN (:ids) AND is_active
+        RETURNING id
+        """, nativeQuery = true)
+    List<Long> claimActive(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,12 +1,93 @@
 package com.example.bankcards.repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.projection.TransactionStatusView;
 
+/**
+ * Repository of payment transactions.
+ *
+ * The table is range partitioned by month on created_at, so every query
+ * bounds created_at to let Postgres prune the partitions it does not need.
+ */
 public interface PaymentTransactionsRepository extends JpaRepository<PaymentTransactionsEntity, UUID> {
 
-    
-}
\ No newline at end of file
+    @Query("""
+        SELECT t FROM PaymentTransactionsEntity t
+        WHERE t.id = :id AND t.createdAt >= :from AND t.createdAt < :to
+        """)
+    Optional<PaymentTransactionsEntity> findByIdCreatedBetween(@Param("id") UUID id,
+        @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("""
+        SELECT t FROM PaymentTransactionsEntity t
+        WHERE t.senderCardAccountId.id = :accountId AND t.createdAt >= :from AND t.createdAt < :to
+        ORDER BY t.createdAt DESC
+        """)
+    List<PaymentTransactionsEntity> findSentBetween(@Param("accountId") UUID accountId,
+        @Param("from") Instant from, @Param("to") Instant to, Pageable pageable);
+
+    /**
+     * Reads the status of a transaction sent from a card of the user
+     *
+     * @param id transaction id
+     * @param login login of the card owner
+     * @param from lower bound of created_at, inclusive
+     * @param to upper bound of created_at, exclusive
+     * @return status view or empty if there is no such transaction of the user
+     */
+    @Query("""
+        SELECT t.id AS id, t.transactionType.transactionsType AS type,
+            t.transactionsStatus.transactionsStatus AS status, t.amount AS amount, t.createdAt AS createdAt
+        FROM PaymentTransactionsEntity t
+        JOIN t.senderCardAccountId a
+        JOIN a.bankCardsEntity b
+        JOIN b.user u
+        WHERE t.id = :id AND u.login = :login AND t.createdAt >= :from AND t.createdAt < :to
+        """)
+    Optional<TransactionStatusView> findStatusViewByIdAndLogin(@Param("id") UUID id, @Param("login") String login,
+        @Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Creates the partition of the month if it does not exist yet
+     *
+     * @param month any day of the month
+     * @return name of the partition
+     */
+    @Transactional
+    @Query(value = "SELECT create_payment_transactions_partition(CAST(:month AS date))", nativeQuery = true)
+    String createMonthlyPartition(@Param("month") LocalDate month);
+
+    /**
+     * Detaches the partitions of months ending before the given month
+     * and moves them to the archive schema
+     *
+     * @param beforeMonth first day of the oldest month to keep attached
+     * @param archiveSchema schema the detached partitions are moved to
+     * @return names of the detached partitions
+     */
+    @Transactional
+    @Query(value = "SELECT detach_payment_transactions_partitions(CAST(:beforeMonth AS date), :archiveSchema)",
+        nativeQuery = true)
+    List<String> detachPartitionsBefore(@Param("beforeMonth") LocalDate beforeMonth,
+        @Param("archiveSchema") String archiveSchema);
+
+    @Query(value = """
+        SELECT tablename FROM pg_tables
+        WHERE schemaname = :archiveSchema AND tablename ~ '^payment_transactions_p[0-9]{6}$'
+        ORDER BY tablename
+        """, nativeQuery = true)
+    List<String> findDetachedPartitions(@Param("archiveSchema") String archiveSchema);
+
+}
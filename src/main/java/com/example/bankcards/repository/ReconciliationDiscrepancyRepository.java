@@ -0,0 +1,14 @@
+package com.example.bankcards.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.bankcards.model.entity.ReconciliationDiscrepancyEntity;
+
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancyEntity, Long> {
+
+    List<ReconciliationDiscrepancyEntity> findByRunId(UUID runId);
+
+}
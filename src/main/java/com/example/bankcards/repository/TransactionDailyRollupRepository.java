@@ -0,0 +1,57 @@
+package com.example.bankcards.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.bankcards.model.entity.TransactionDailyRollupEntity;
+
+public interface TransactionDailyRollupRepository
+    extends JpaRepository<TransactionDailyRollupEntity, TransactionDailyRollupEntity.RollupId> {
+
+    @Query("""
+        SELECT r FROM TransactionDailyRollupEntity r
+        WHERE r.day BETWEEN :from AND :to
+        ORDER BY r.day, r.transactionType, r.transactionStatus
+        """)
+    List<TransactionDailyRollupEntity> findDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(value = "SELECT rolled_up_to FROM transaction_rollup_watermark WHERE id = 1", nativeQuery = true)
+    Instant findRolledUpTo();
+
+    @Query(value = "SELECT rolled_up_to FROM transaction_rollup_watermark WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Instant lockRolledUpTo();
+
+    @Query(value = """
+        SELECT MIN(t.created_at)
+        FROM payment_transactions t
+        WHERE t.status_id IN (SELECT id FROM status_transactions WHERE status IN ('PENDING', 'PROCESSING'))
+            AND t.created_at >= :from AND t.created_at < :to
+        """, nativeQuery = true)
+    Instant findOldestUnsettled(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_daily_rollup (day, transaction_type, transaction_status, transaction_count, amount)
+        SELECT (t.created_at AT TIME ZONE 'UTC')::date, tt.type, st.status, COUNT(*), SUM(t.amount)
+        FROM payment_transactions t
+        JOIN transactions_type tt ON tt.id = t.type_id
+        JOIN status_transactions st ON st.id = t.status_id
+        WHERE t.created_at >= :from AND t.created_at < :to
+        GROUP BY 1, 2, 3
+        ON CONFLICT (day, transaction_type, transaction_status) DO UPDATE
+        SET transaction_count = transaction_daily_rollup.transaction_count + EXCLUDED.transaction_count,
+            amount = transaction_daily_rollup.amount + EXCLUDED.amount
+        """, nativeQuery = true)
+    int rollUp(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query(value = "UPDATE transaction_rollup_watermark SET rolled_up_to = :to WHERE id = 1", nativeQuery = true)
+    int advanceRolledUpTo(@Param("to") Instant to);
+
+}
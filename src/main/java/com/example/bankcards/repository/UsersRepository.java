@@ -20,6 +20,9 @@ public interface UsersRepository extends JpaRepository<UsersEntity, UUID> {
         "WHERE u.login = :login")
     Optional<UsersEntity> findByLogin(@Param("login") String login);
 
+    @Query("SELECT u.id FROM UsersEntity u WHERE u.login = :login")
+    Optional<UUID> findIdByLogin(@Param("login") String login);
+
     List<UsersEntity> findByEmail(String email);
 
     boolean existsByLogin(String login);
@@ -2,11 +2,18 @@ package com.example.bankcards.service;
 
 import java.util.ArrayList;
 import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.crypto.MaskedCardNumber;
+import com.example.bankcards.dto.request.BalanceAtRequest;
+import com.example.bankcards.dto.request.BalanceSlotsRequest;
 import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.dto.response.BalanceAtResponse;
+import com.example.bankcards.dto.response.BalanceSlotsResponse;
 import com.example.bankcards.dto.response.CardActiveStatusResponse;
 import com.example.bankcards.dto.response.CreateCardResponse;
+import com.example.bankcards.event.CardStatusChangedEvent;
 import com.example.bankcards.exception.userException.UserNotFoundException;
 import com.example.bankcards.facade.SecurityFacade;
 import com.example.bankcards.mapper.BankCardMapperImpl;
@@ -29,7 +36,8 @@ import lombok.extern.slf4j.Slf4j;
  * administrator privileges which are enforced at controller level.
  * 
  * Transactions are managed with @Transactional to ensure data consistency
- * during card lifecycle operations.
+ * during card lifecycle operations. Status changes are published as
+ * events and applied to the card status index after commit.
  */
 @Service
 @RequiredArgsConstructor
@@ -50,11 +58,21 @@ public class AdminCardServiceImpl implements AdminCardService {
 
     private final ValidationServiceImpl validationService;
 
+    private final CardAccessValidator cardAccessValidator;
+
+    private final StripedBalanceService stripedBalanceService;
+
+    private final LedgerService ledgerService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Creates a new bank card for the specified user.
      * 
      * Performs validation to ensure user exists and is active,
      * then creates associated card account and bank card entities.
+     * The generated number is checked against cards stored under
+     * previous keys, which the unique constraint does not cover.
      * 
      * @param userId unique identifier of the user receiving the card
      * @return response with created card details
@@ -81,7 +99,7 @@ public class AdminCardServiceImpl implements AdminCardService {
         log.debug("Card account created with ID: {}", cardAccount.getId());
 
         log.trace("Creating bank card entity...");
-        BankCardsEntity bankCard = bankCardMapper.toEntity(cardAccount);
+        BankCardsEntity bankCard = bankCardMapper.toEntity(cardAccount, cardAccessValidator::isNumberIssued);
         bankCard.setUser(user);
         bankCard.setCardAccountEntity(cardAccount);
         cardAccount.setBankCardsEntity(bankCard);
@@ -89,6 +107,7 @@ public class AdminCardServiceImpl implements AdminCardService {
         bankCard = bankCardsRepository.save(bankCard);
         log.info("Bank card created successfully with number: {}", 
             bankCard.getNumber() != null ? "ENCRYPTED" : "PENDING");
+        eventPublisher.publishEvent(CardStatusChangedEvent.of(bankCard));
 
         if (user.getBankCardsEntities() == null) {
             log.trace("Initializing user cards collection");
@@ -114,14 +133,15 @@ public class AdminCardServiceImpl implements AdminCardService {
      */
     @Transactional
     public CardActiveStatusResponse blockCard(CardNumberRequest cardNumberRequest) {
-        log.info("Blocking card: {}", cardNumberRequest.getCardNumber());
+        log.info("Blocking card: {}", MaskedCardNumber.of(cardNumberRequest.getCardNumber()));
         
         BankCardsEntity bankCard = securityFacade.findBankCardByNumber(
             cardNumberRequest.getCardNumber());
         log.debug("Card found, current active status: {}", bankCard.getIsActive());
         
         bankCard.setIsActive(false);
-        log.info("Card blocked successfully: {}", cardNumberRequest.getCardNumber());
+        eventPublisher.publishEvent(CardStatusChangedEvent.of(bankCard));
+        log.info("Card blocked successfully: {}", MaskedCardNumber.of(cardNumberRequest.getCardNumber()));
         
         return bankCardMapper.toDtoCardActiveStatusResponse(bankCard);
     }
@@ -138,16 +158,65 @@ public class AdminCardServiceImpl implements AdminCardService {
      */
     @Transactional
     public CardActiveStatusResponse unblockCard(CardNumberRequest cardNumberRequest) {
-        log.info("Unblocking card: {}", cardNumberRequest.getCardNumber());
+        log.info("Unblocking card: {}", MaskedCardNumber.of(cardNumberRequest.getCardNumber()));
         
         BankCardsEntity bankCard = securityFacade.findBankCardByNumber(
             cardNumberRequest.getCardNumber());
         log.debug("Card found, current active status: {}", bankCard.getIsActive());
         
         bankCard.setIsActive(true);
-        log.info("Card unblocked successfully: {}", cardNumberRequest.getCardNumber());
+        eventPublisher.publishEvent(CardStatusChangedEvent.of(bankCard));
+        log.info("Card unblocked successfully: {}", MaskedCardNumber.of(cardNumberRequest.getCardNumber()));
         
         return bankCardMapper.toDtoCardActiveStatusResponse(bankCard);
     }
 
+    /**
+     * Changes the number of balance slots of a card account.
+     * 
+     * Hot accounts receiving many concurrent credits spread them
+     * over several slot rows, zero slots restores a single balance row.
+     * 
+     * @param balanceSlotsRequest contains card number and number of slots
+     * @return response with slots configuration and full balance
+     * @throws BankCardNotFoundException if card doesn't exist
+     * @throws BalanceSlotsOutOfRangeException if number of slots is out of range
+     */
+    @Transactional
+    public BalanceSlotsResponse configureBalanceSlots(BalanceSlotsRequest balanceSlotsRequest) {
+        log.info("Configuring {} balance slots for card: {}", balanceSlotsRequest.getBalanceSlots(),
+            MaskedCardNumber.of(balanceSlotsRequest.getCardNumber()));
+
+        BankCardsEntity bankCard = securityFacade.findBankCardByNumber(
+            balanceSlotsRequest.getCardNumber());
+        CardAccountEntity cardAccount = bankCard.getCardAccountEntity();
+
+        stripedBalanceService.configureSlots(cardAccount, balanceSlotsRequest.getBalanceSlots());
+        log.info("Balance slots configured for account: {}", cardAccount.getId());
+
+        return bankCardMapper.toDtoBalanceSlotsResponse(bankCard, stripedBalanceService.totalBalance(cardAccount));
+    }
+
+    /**
+     * Returns the balance of a card at a point in time.
+     * 
+     * Reads the latest balance snapshot before the given time
+     * and applies the ledger entries recorded after it.
+     * 
+     * @param balanceAtRequest contains card number and point in time
+     * @return response with the historical balance
+     * @throws BankCardNotFoundException if card doesn't exist
+     */
+    @Transactional(readOnly = true)
+    public BalanceAtResponse balanceAt(BalanceAtRequest balanceAtRequest) {
+        log.info("Calculating balance of card {} at {}",
+            MaskedCardNumber.of(balanceAtRequest.getCardNumber()), balanceAtRequest.getAt());
+
+        BankCardsEntity bankCard = securityFacade.findBankCardByNumber(
+            balanceAtRequest.getCardNumber());
+        Double balance = ledgerService.balanceAt(bankCard.getCardAccountEntity(), balanceAtRequest.getAt());
+
+        return bankCardMapper.toDtoBalanceAtResponse(bankCard, balanceAtRequest.getAt(), balance);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.example.bankcards.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.model.entity.ReconciliationDiscrepancyEntity;
+import com.example.bankcards.repository.ReconciliationDiscrepancyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service verifying stored balances against the history of completed transactions.
+ *
+ * The uuid space of card_account is cut into 2^range-bits ranges by the
+ * leading bits of the id, which follows the byte order Postgres compares
+ * uuid values in. A fork-join task splits the space in halves down to single
+ * ranges, and every range is checked by one aggregate statement whose rows
+ * are streamed, so all sums of a range come from one snapshot and the
+ * application never holds more than a fetch of rows per worker. The
+ * statement runs in a read-only transaction, the driver ignores the fetch
+ * size under autocommit and would read all rows at once. Amounts of
+ * archived partitions are added from payment_transactions_archived_balance.
+ */
+@Service
+@Slf4j
+public class BalanceReconciliationService implements DisposableBean {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final int MAX_RANGE_BITS = 20;
+
+    private static final String RANGE_QUERY = """
+        WITH accounts AS (
+            SELECT a.id, a.card_id, a.current_balance + COALESCE((
+                SELECT SUM(slot.balance)
+                FROM card_account_balance_slot slot
+                WHERE slot.card_account_id = a.id
+            ), 0) AS account_balance
+            FROM card_account a
+            WHERE a.id >= ? %s
+        ),
+        completed AS (
+            SELECT id FROM status_transactions WHERE status = 'COMPLETED'
+        ),
+        debits AS (
+            SELECT t.sender_card_account_id AS account_id, SUM(t.amount) AS amount
+            FROM payment_transactions t
+            JOIN accounts a ON a.id = t.sender_card_account_id
+            WHERE t.status_id IN (SELECT id FROM completed)
+            GROUP BY t.sender_card_account_id
+        ),
+        credits AS (
+            SELECT a.id AS account_id, SUM(t.amount) AS amount
+            FROM payment_transactions t
+            JOIN accounts a ON a.card_id = t.recipient_account_id
+            WHERE t.status_id IN (SELECT id FROM completed)
+            GROUP BY a.id
+        )
+        SELECT a.id, a.account_balance,
+            COALESCE(c.amount, 0) - COALESCE(d.amount, 0) + COALESCE(archived.amount, 0) AS transactions_balance
+        FROM accounts a
+        LEFT JOIN debits d ON d.account_id = a.id
+        LEFT JOIN credits c ON c.account_id = a.id
+        LEFT JOIN payment_transactions_archived_balance archived ON archived.card_account_id = a.id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+
+    private final ForkJoinPool pool;
+
+    private final int rangeBits;
+
+    private final AtomicLong rangesTotal = new AtomicLong();
+
+    private final AtomicLong rangesCompleted = new AtomicLong();
+
+    private final AtomicLong runAccounts = new AtomicLong();
+
+    private final AtomicLong runDiscrepancies = new AtomicLong();
+
+    private volatile long runStartedNanos;
+
+    private volatile long runFinishedNanos;
+
+    private final Counter accountsCounter;
+
+    private final Counter discrepanciesCounter;
+
+    private final Timer rangeTimer;
+
+    private final Timer runTimer;
+
+    public BalanceReconciliationService(DataSource dataSource, PlatformTransactionManager transactionManager,
+        ReconciliationDiscrepancyRepository discrepancyRepository, MeterRegistry meterRegistry,
+        @Value("${bankcards.reconciliation.parallelism:4}") int parallelism,
+        @Value("${bankcards.reconciliation.range-bits:10}") int rangeBits) {
+        if (rangeBits < 0 || rangeBits > MAX_RANGE_BITS) {
+            throw new IllegalArgumentException("range-bits must be between 0 and " + MAX_RANGE_BITS);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.discrepancyRepository = discrepancyRepository;
+        this.pool = new ForkJoinPool(parallelism);
+        this.rangeBits = rangeBits;
+
+        this.accountsCounter = Counter.builder("bankcards.reconciliation.accounts")
+            .description("Number of accounts checked by balance reconciliation")
+            .register(meterRegistry);
+        this.discrepanciesCounter = Counter.builder("bankcards.reconciliation.discrepancies")
+            .description("Number of accounts whose balance differs from their transactions")
+            .register(meterRegistry);
+        this.rangeTimer = Timer.builder("bankcards.reconciliation.range")
+            .description("Duration of reconciling one account id range")
+            .register(meterRegistry);
+        this.runTimer = Timer.builder("bankcards.reconciliation.run")
+            .description("Duration of a full balance reconciliation")
+            .register(meterRegistry);
+        Gauge.builder("bankcards.reconciliation.progress", this, BalanceReconciliationService::progress)
+            .description("Share of account id ranges reconciled in the current or last run")
+            .register(meterRegistry);
+        Gauge.builder("bankcards.reconciliation.throughput", this, BalanceReconciliationService::throughput)
+            .description("Accounts reconciled per second in the current or last run")
+            .baseUnit("accounts/s")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reconciles all accounts and writes discrepancies to reconciliation_discrepancy
+     *
+     * @return summary of the run
+     */
+    public synchronized ReconciliationResult reconcile() {
+        UUID runId = UUID.randomUUID();
+        long ranges = 1L << rangeBits;
+        rangesTotal.set(ranges);
+        rangesCompleted.set(0);
+        runAccounts.set(0);
+        runDiscrepancies.set(0);
+        runFinishedNanos = 0;
+        runStartedNanos = System.nanoTime();
+        log.info("Starting balance reconciliation {} over {} ranges with parallelism {}",
+            runId, ranges, pool.getParallelism());
+
+        pool.invoke(new RangeTask(runId, 0, ranges));
+
+        runFinishedNanos = System.nanoTime();
+        long elapsedNanos = runFinishedNanos - runStartedNanos;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        ReconciliationResult result = new ReconciliationResult(runId, runAccounts.get(), runDiscrepancies.get(),
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        log.info("Balance reconciliation {} finished: {} accounts, {} discrepancies in {} ms",
+            runId, result.accounts(), result.discrepancies(), result.durationMillis());
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private void reconcileRange(UUID runId, long range) {
+        long started = System.nanoTime();
+        int shift = Long.SIZE - rangeBits;
+        UUID lower = rangeBits == 0 ? new UUID(0, 0) : new UUID(range << shift, 0);
+        UUID upper = rangeBits == 0 || range + 1 == 1L << rangeBits ? null : new UUID((range + 1) << shift, 0);
+
+        List<ReconciliationDiscrepancyEntity> discrepancies = new ArrayList<>();
+        long[] accounts = new long[1];
+        String sql = String.format(RANGE_QUERY, upper == null ? "" : "AND a.id < ?");
+        Object[] arguments = upper == null ? new Object[] {lower} : new Object[] {lower, upper};
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, resultSet -> {
+            accounts[0]++;
+            BigDecimal accountBalance = resultSet.getBigDecimal("account_balance");
+            BigDecimal transactionsBalance = resultSet.getBigDecimal("transactions_balance");
+            if (accountBalance.compareTo(transactionsBalance) != 0) {
+                UUID accountId = resultSet.getObject("id", UUID.class);
+                log.error("Balance discrepancy for account {}: account {}, transactions {}",
+                    accountId, accountBalance, transactionsBalance);
+                discrepancies.add(ReconciliationDiscrepancyEntity.builder()
+                    .runId(runId)
+                    .cardAccountId(accountId)
+                    .accountBalance(accountBalance.doubleValue())
+                    .transactionsBalance(transactionsBalance.doubleValue())
+                    .build());
+            }
+        }, arguments));
+
+        if (!discrepancies.isEmpty()) {
+            discrepancyRepository.saveAll(discrepancies);
+        }
+        runAccounts.addAndGet(accounts[0]);
+        runDiscrepancies.addAndGet(discrepancies.size());
+        accountsCounter.increment(accounts[0]);
+        discrepanciesCounter.increment(discrepancies.size());
+        rangesCompleted.incrementAndGet();
+        rangeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private double progress() {
+        long total = rangesTotal.get();
+        return total == 0 ? 0 : (double) rangesCompleted.get() / total;
+    }
+
+    private double throughput() {
+        long started = runStartedNanos;
+        if (started == 0) {
+            return 0;
+        }
+        long finished = runFinishedNanos;
+        double seconds = ((finished == 0 ? System.nanoTime() : finished) - started) / 1_000_000_000.0;
+        return seconds == 0 ? 0 : runAccounts.get() / seconds;
+    }
+
+    /**
+     * Summary of a reconciliation run
+     *
+     * @param runId id of the run in reconciliation_discrepancy
+     * @param accounts number of checked accounts
+     * @param discrepancies number of accounts with a discrepancy
+     * @param durationMillis duration of the run
+     */
+    public record ReconciliationResult(UUID runId, long accounts, long discrepancies, long durationMillis) {
+    }
+
+    /**
+     * Splits a span of ranges in halves until a single range is left
+     */
+    private final class RangeTask extends RecursiveAction {
+
+        private final UUID runId;
+
+        private final long from;
+
+        private final long to;
+
+        private RangeTask(UUID runId, long from, long to) {
+            this.runId = runId;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                reconcileRange(runId, from);
+                return;
+            }
+            long middle = from + (to - from) / 2;
+            invokeAll(new RangeTask(runId, from, middle), new RangeTask(runId, middle, to));
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.example.bankcards.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.dto.request.BulkCardIssueRequest;
+import com.example.bankcards.dto.response.BulkCardIssueResponse;
+import com.example.bankcards.exception.userException.UserNotFoundException;
+import com.example.bankcards.mapper.BankCardMapperImpl;
+import com.example.bankcards.mapper.CardAccountMapperImpl;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.UsersRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues many cards to one user in a single request.
+ *
+ * Numbers come from CardNumberAllocator, are encrypted in parallel before
+ * the transaction starts and are persisted chunk by chunk. Before
+ * encryption they are checked against cards stored under any key, since
+ * the unique constraint does not cover numbers under a previous key. Each chunk is
+ * flushed as JDBC batches (hibernate.jdbc.batch_size) and cleared from the
+ * persistence context, so memory stays flat for large requests.
+ * All cards of a request are committed together.
+ */
+@Service
+@Slf4j
+public class BulkCardIssuanceService {
+
+    private final UsersRepository usersRepository;
+
+    private final BankCardsRepository bankCardsRepository;
+
+    private final CardAccountMapperImpl cardAccountMapper;
+
+    private final BankCardMapperImpl bankCardMapper;
+
+    private final CardNumberAllocator cardNumberAllocator;
+
+    private final AesEncryption aesEncryption;
+
+    private final CardAccessValidator cardAccessValidator;
+
+    private final ValidationServiceImpl validationService;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter issuedCounter;
+
+    private final int chunkSize;
+
+    public BulkCardIssuanceService(UsersRepository usersRepository, BankCardsRepository bankCardsRepository,
+        CardAccountMapperImpl cardAccountMapper, BankCardMapperImpl bankCardMapper,
+        CardNumberAllocator cardNumberAllocator, AesEncryption aesEncryption,
+        CardAccessValidator cardAccessValidator, ValidationServiceImpl validationService, EntityManager entityManager,
+        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+        @Value("${bankcards.card.issuance.chunk-size:500}") int chunkSize) {
+        this.usersRepository = usersRepository;
+        this.bankCardsRepository = bankCardsRepository;
+        this.cardAccountMapper = cardAccountMapper;
+        this.bankCardMapper = bankCardMapper;
+        this.cardNumberAllocator = cardNumberAllocator;
+        this.aesEncryption = aesEncryption;
+        this.cardAccessValidator = cardAccessValidator;
+        this.validationService = validationService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.issuedCounter = Counter.builder("bankcards.card.issued")
+            .description("Number of cards issued in bulk")
+            .register(meterRegistry);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Issues the requested number of cards to the user
+     *
+     * @param bulkCardIssueRequest contains owner ID and number of cards
+     * @return response with masked numbers and cards per second
+     * @throws UserNotFoundException if user with given ID doesn't exist
+     * @throws UserNotActiveException if user account is suspended
+     * @throws BankCardNumberTakenException if an allocated number is already issued
+     */
+    public BulkCardIssueResponse issueCards(BulkCardIssueRequest bulkCardIssueRequest) {
+        UUID userId = bulkCardIssueRequest.getUserId();
+        int count = bulkCardIssueRequest.getCount();
+        log.info("Starting bulk issuance of {} cards for user ID: {}", count, userId);
+        long start = System.nanoTime();
+
+        UsersEntity user = usersRepository.findById(userId)
+            .orElseThrow(() -> new UserNotFoundException(userId));
+        validationService.validateUserIsActive(user);
+
+        List<String> numbers = cardNumberAllocator.allocate(count);
+        List<String> encrypted = encrypt(numbers);
+        log.debug("Allocated and encrypted {} card numbers", count);
+
+        transactionTemplate.executeWithoutResult(status -> persist(Collections.nCopies(count, userId), encrypted));
+        issuedCounter.increment(count);
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double cardsPerSecond = count / seconds;
+        log.info("Issued {} cards for user {} in {} ms ({} cards/sec)",
+            count, user.getLogin(), Math.round(seconds * 1000), Math.round(cardsPerSecond));
+
+        return bankCardMapper.toDtoBulkCardIssueResponse(user.getLogin(), numbers, cardsPerSecond);
+    }
+
+    /**
+     * Checks that the card numbers are not issued yet and encrypts them in parallel
+     *
+     * @param numbers plaintext card numbers
+     * @return encrypted card numbers in the same order
+     * @throws BankCardNumberTakenException if a number is already stored under any key
+     */
+    public List<String> encrypt(List<String> numbers) {
+        cardAccessValidator.validateNumbersNotIssued(numbers);
+        return numbers.parallelStream()
+            .map(aesEncryption::encrypt)
+            .toList();
+    }
+
+    /**
+     * Persists one card per owner in the caller's transaction, chunk by chunk.
+     * The persistence context is cleared after every chunk.
+     *
+     * @param ownerIds owner of each card
+     * @param encrypted encrypted number of each card
+     */
+    public void persist(List<UUID> ownerIds, List<String> encrypted) {
+        for (int from = 0; from < encrypted.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, encrypted.size());
+            List<BankCardsEntity> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(newCard(entityManager.getReference(UsersEntity.class, ownerIds.get(i)), encrypted.get(i)));
+            }
+
+            bankCardsRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            log.trace("Persisted cards {}..{}", from, from + chunk.size() - 1);
+        }
+    }
+
+    private BankCardsEntity newCard(UsersEntity owner, String encryptedNumber) {
+        CardAccountEntity cardAccount = cardAccountMapper.toEntity();
+        BankCardsEntity bankCard = bankCardMapper.toEntity(cardAccount, encryptedNumber);
+        bankCard.setUser(owner);
+        cardAccount.setBankCardsEntity(bankCard);
+        return bankCard;
+    }
+
+}
@@ -1,10 +1,17 @@
 package com.example.bankcards.service;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.crypto.MaskedCardNumber;
 import com.example.bankcards.exception.bankCardException.BankCardNotFoundException;
+import com.example.bankcards.exception.bankCardException.BankCardNumberTakenException;
 import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.projection.CardStatusView;
 import com.example.bankcards.repository.BankCardsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,12 +28,16 @@ public class CardAccessValidator {
 
     private final BankCardsRepository bankCardsRepository;
     private final AesEncryption aesEncryption;
+    private final CardStatusIndex cardStatusIndex;
+
+    private static final int ISSUED_CHECK_CHUNK_SIZE = 500;
 
     /**
      * Finds a bank card by its number with encryption handling.
      * 
-     * Encrypts the provided card number before querying the database
-     * to match stored encrypted values.
+     * Encrypts the provided card number under the current and every
+     * previous key before querying the database, so cards not yet
+     * rekeyed after a key rotation are still found.
      * 
      * @param cardNumber plaintext card number to find
      * @return bank card entity if found
@@ -34,36 +45,72 @@ public class CardAccessValidator {
      */
     public BankCardsEntity findBankCardByNumber(String cardNumber) {
         log.debug("Finding bank card by number: {}", 
-            cardNumber != null ? "****" + cardNumber.substring(Math.max(0, cardNumber.length() - 4)) : "null");
+            MaskedCardNumber.of(cardNumber));
         
-        String encryptedCardNumber = aesEncryption.encrypt(cardNumber);
-        log.trace("Card number encrypted for lookup");
+        List<String> encryptedCandidates = aesEncryption.lookupCandidates(cardNumber);
+        log.trace("Card number encrypted for lookup under {} candidates", encryptedCandidates.size());
         
-        return bankCardsRepository.findByNumber(encryptedCardNumber)
+        return bankCardsRepository.findFirstByNumberIn(encryptedCandidates)
             .orElseThrow(() -> {
                 log.error("Bank card not found for number: {}", 
-                    cardNumber != null ? "****" + cardNumber.substring(Math.max(0, cardNumber.length() - 4)) : "null");
+                    MaskedCardNumber.of(cardNumber));
                 return new BankCardNotFoundException(cardNumber);
             });
     }
 
+    /**
+     * Reads the access relevant fields of a card by its number.
+     * 
+     * Answers from the in-memory card status index when it has the card.
+     * Otherwise uses the same encrypted lookup as findBankCardByNumber but
+     * selects only ids, active flag and expiration date, so no
+     * entity graph of the card, its owner or its account is loaded,
+     * and adds the card to the index.
+     * 
+     * @param cardNumber plaintext card number to find
+     * @return card status projection
+     * @throws BankCardNotFoundException if card doesn't exist
+     */
+    public CardStatusView findCardStatusByNumber(String cardNumber) {
+        log.debug("Finding bank card status by number: {}", 
+            MaskedCardNumber.of(cardNumber));
+        
+        CardStatusView indexed = cardStatusIndex.find(cardNumber);
+        if (indexed != null) {
+            log.trace("Card status found in the index");
+            return indexed;
+        }
+        
+        CardStatusView cardStatus = bankCardsRepository
+            .findStatusByNumberIn(aesEncryption.lookupCandidates(cardNumber))
+            .orElseThrow(() -> {
+                log.error("Bank card not found for number: {}", 
+                    MaskedCardNumber.of(cardNumber));
+                return new BankCardNotFoundException(cardNumber);
+            });
+        cardStatusIndex.addMissing(cardNumber, cardStatus);
+        return cardStatus;
+    }
+
     /**
      * Validates card for general usage.
      * 
      * Checks both active status and expiration date.
      * Card must be active and not expired to pass validation.
+     * The expiration date is compared even when the expired card
+     * deactivation job is enabled, since the flag lags expiration.
      * 
      * @param currentNumber card number to validate
      * @return true if card is valid for use, false otherwise
      */
     public Boolean checkCard(String currentNumber) {
         log.debug("Validating card: {}", 
-            currentNumber != null ? "****" + currentNumber.substring(Math.max(0, currentNumber.length() - 4)) : "null");
+            MaskedCardNumber.of(currentNumber));
         
-        BankCardsEntity bankCard = findBankCardByNumber(currentNumber);
+        CardStatusView cardStatus = findCardStatusByNumber(currentNumber);
         
-        boolean isActive = checkActiveCard(bankCard);
-        boolean notExpired = checkExpiresCard(bankCard);
+        boolean isActive = checkActiveCard(cardStatus);
+        boolean notExpired = checkExpiresCard(cardStatus);
         boolean isValid = isActive && notExpired;
         
         log.debug("Card validation result - Active: {}, Not expired: {}, Overall: {}", 
@@ -75,11 +122,11 @@ public class CardAccessValidator {
     /**
      * Checks if card is currently active.
      * 
-     * @param bankCard card entity to check
+     * @param cardStatus card status to check
      * @return true if card is active, false if blocked/suspended
      */
-    public Boolean checkActiveCard(BankCardsEntity bankCard) {
-        boolean isActive = bankCard.getIsActive();
+    public Boolean checkActiveCard(CardStatusView cardStatus) {
+        boolean isActive = cardStatus.getActive();
         log.trace("Card active status check: {}", isActive);
         return isActive;
     }
@@ -89,14 +136,67 @@ public class CardAccessValidator {
      * 
      * Compares expiration date with current time.
      * 
-     * @param bankCard card entity to check
+     * @param cardStatus card status to check
      * @return true if card expiration date is in future
      */
-    public Boolean checkExpiresCard(BankCardsEntity bankCard) {
-        boolean notExpired = bankCard.getExpiresAt().isAfter(Instant.now());
+    public Boolean checkExpiresCard(CardStatusView cardStatus) {
+        boolean notExpired = cardStatus.getExpiresAt().isAfter(Instant.now());
         log.trace("Card expiration check - Expires at: {}, Not expired: {}", 
-            bankCard.getExpiresAt(), notExpired);
+            cardStatus.getExpiresAt(), notExpired);
         return notExpired;
     }
 
-}
\ No newline at end of file
+    /**
+     * Checks if card belongs to the given user.
+     * 
+     * @param cardStatus card status to check
+     * @param userId id of the expected owner
+     * @return true if the user owns the card
+     */
+    public Boolean checkCardOwner(CardStatusView cardStatus, UUID userId) {
+        boolean isOwner = cardStatus.getOwnerId() != null && cardStatus.getOwnerId().equals(userId);
+        log.trace("Card owner check - Owner: {}, User: {}, Match: {}", 
+            cardStatus.getOwnerId(), userId, isOwner);
+        return isOwner;
+    }
+
+    /**
+     * Checks if a card number is already stored under the current or any previous key.
+     * 
+     * The unique constraint on bank_cards.number only compares ciphertexts,
+     * so it does not see a number stored under a previous key when the
+     * same number is encrypted under the current one.
+     * 
+     * @param cardNumber plaintext card number
+     * @return true if the number is already issued
+     */
+    public boolean isNumberIssued(String cardNumber) {
+        return bankCardsRepository.existsByNumberIn(aesEncryption.lookupCandidates(cardNumber));
+    }
+
+    /**
+     * Checks that none of the card numbers about to be issued is stored yet under any key.
+     * 
+     * Numbers are checked in chunks with one query per chunk.
+     * 
+     * @param cardNumbers plaintext card numbers
+     * @throws BankCardNumberTakenException if one of the numbers is already issued
+     */
+    public void validateNumbersNotIssued(List<String> cardNumbers) {
+        for (int from = 0; from < cardNumbers.size(); from += ISSUED_CHECK_CHUNK_SIZE) {
+            List<String> chunk = cardNumbers.subList(from, Math.min(from + ISSUED_CHECK_CHUNK_SIZE, cardNumbers.size()));
+            Map<String, String> numberByCandidate = chunk.parallelStream()
+                .flatMap(number -> aesEncryption.lookupCandidates(number).stream()
+                    .map(candidate -> Map.entry(candidate, number)))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first));
+
+            List<String> issued = bankCardsRepository.findNumbersIn(numberByCandidate.keySet());
+            if (!issued.isEmpty()) {
+                String cardNumber = numberByCandidate.get(issued.get(0));
+                log.error("Card number is already issued: {}", MaskedCardNumber.of(cardNumber));
+                throw new BankCardNumberTakenException(cardNumber);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.example.bankcards.repository.CardPanRangeRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Allocates Luhn-valid card numbers from a reserved BIN range.
+ *
+ * A number is the 6-digit BIN, a 9-digit account sequence and a Luhn
+ * check digit. Sequences are reserved in blocks by one atomic upsert,
+ * so concurrent issuers never hand out the same number and no
+ * collision has to be caught by the unique constraint.
+ */
+@Service
+@Slf4j
+public class CardNumberAllocator {
+
+    private static final long MAX_SEQUENCE = 999_999_999L;
+
+    private final CardPanRangeRepository cardPanRangeRepository;
+
+    private final String bin;
+
+    public CardNumberAllocator(CardPanRangeRepository cardPanRangeRepository,
+        @Value("${bankcards.card.issuance.bin:499999}") String bin) {
+        if (!bin.matches("\\d{6}")) {
+            throw new IllegalArgumentException("Card issuance BIN must be 6 digits");
+        }
+        this.cardPanRangeRepository = cardPanRangeRepository;
+        this.bin = bin;
+    }
+
+    /**
+     * Reserves and builds count unique card numbers
+     *
+     * @param count number of card numbers
+     * @return 16-digit Luhn-valid card numbers
+     */
+    public List<String> allocate(int count) {
+        long first = cardPanRangeRepository.reserve(bin, count);
+        if (first + count - 1 > MAX_SEQUENCE) {
+            throw new IllegalStateException("Card number range of BIN " + bin + " is exhausted");
+        }
+        log.debug("Reserved card sequences {}..{} of BIN {}", first, first + count - 1, bin);
+
+        List<String> numbers = new ArrayList<>(count);
+        for (long sequence = first; sequence < first + count; sequence++) {
+            String body = bin + String.format("%09d", sequence);
+            numbers.add(body + luhnCheckDigit(body));
+        }
+        return numbers;
+    }
+
+    /**
+     * Calculates the Luhn check digit appended to the given digits
+     *
+     * @param body card number without the check digit
+     * @return check digit
+     */
+    public static int luhnCheckDigit(String body) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = body.length() - 1; i >= 0; i--) {
+            int digit = body.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Checks the Luhn check digit of a full card number
+     *
+     * @param number card number including the check digit
+     * @return true if the check digit is valid
+     */
+    public static boolean isLuhnValid(String number) {
+        if (number == null || number.length() < 2 || !number.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        int last = number.length() - 1;
+        return luhnCheckDigit(number.substring(0, last)) == number.charAt(last) - '0';
+    }
+
+}
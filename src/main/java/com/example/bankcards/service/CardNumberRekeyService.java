@@ -0,0 +1,266 @@
+package com.example.bankcards.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.crypto.AesEncryption;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service re-encrypting stored card numbers with the current AES key.
+ *
+ * Cards are walked in id order, one page of batch-size * parallelism rows at
+ * a time. The stale numbers of a page are split into chunks that are
+ * re-encrypted and updated in parallel, every chunk in its own short
+ * transaction. Updates compare the old ciphertext, so a row changed in the
+ * meantime is left alone, and running a page twice is harmless. After a page
+ * the last card id is stored in card_number_rekey_checkpoint under the current
+ * key id, so a stopped run resumes where it left off. The rate of rekeyed
+ * cards is capped to leave database capacity to online traffic.
+ */
+@Service
+@Slf4j
+public class CardNumberRekeyService implements DisposableBean {
+
+    private static final String PAGE_QUERY = """
+        SELECT id, number FROM bank_cards
+        WHERE id > ?
+        ORDER BY id
+        LIMIT ?
+        """;
+
+    private static final String FIRST_PAGE_QUERY = """
+        SELECT id, number FROM bank_cards
+        ORDER BY id
+        LIMIT ?
+        """;
+
+    private static final String UPDATE_NUMBER = "UPDATE bank_cards SET number = ? WHERE id = ? AND number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AesEncryption aesEncryption;
+
+    private final ForkJoinPool pool;
+
+    private final int batchSize;
+
+    private final int maxCardsPerSecond;
+
+    private final Counter rekeyedCounter;
+
+    private final Timer chunkTimer;
+
+    public CardNumberRekeyService(DataSource dataSource, PlatformTransactionManager transactionManager,
+        AesEncryption aesEncryption, MeterRegistry meterRegistry,
+        @Value("${bankcards.card.rekey.batch-size:500}") int batchSize,
+        @Value("${bankcards.card.rekey.parallelism:4}") int parallelism,
+        @Value("${bankcards.card.rekey.max-cards-per-second:5000}") int maxCardsPerSecond) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Rekey batch-size must be positive");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.aesEncryption = aesEncryption;
+        this.pool = new ForkJoinPool(parallelism);
+        this.batchSize = batchSize;
+        this.maxCardsPerSecond = maxCardsPerSecond;
+
+        this.rekeyedCounter = Counter.builder("bankcards.card.rekey.cards")
+            .description("Number of card numbers re-encrypted with the current key")
+            .register(meterRegistry);
+        this.chunkTimer = Timer.builder("bankcards.card.rekey.chunk")
+            .description("Duration of re-encrypting and updating one chunk of card numbers")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Re-encrypts every card number not yet stored under the current key,
+     * continuing from the checkpoint of the current key
+     *
+     * @return summary of the run
+     */
+    public synchronized RekeyResult rekey() {
+        String keyId = aesEncryption.getCurrentKeyId();
+        jdbcTemplate.update("""
+            INSERT INTO card_number_rekey_checkpoint (key_id) VALUES (?)
+            ON CONFLICT (key_id) DO NOTHING
+            """, keyId);
+        Checkpoint checkpoint = jdbcTemplate.queryForObject("""
+            SELECT last_card_id, completed_at FROM card_number_rekey_checkpoint WHERE key_id = ?
+            """, (resultSet, row) -> new Checkpoint(resultSet.getObject("last_card_id", UUID.class),
+                resultSet.getTimestamp("completed_at")), keyId);
+        if (checkpoint.completedAt() != null) {
+            log.debug("Card numbers are already rekeyed to key {}", keyId);
+            return new RekeyResult(keyId, 0, 0, true, 0);
+        }
+
+        long started = System.nanoTime();
+        UUID lastCardId = checkpoint.lastCardId();
+        long scanned = 0;
+        long rekeyed = 0;
+        log.info("Rekeying card numbers to key {} from card {} with parallelism {}",
+            keyId, lastCardId, pool.getParallelism());
+
+        while (true) {
+            List<StoredNumber> page = lastCardId == null
+                ? jdbcTemplate.query(FIRST_PAGE_QUERY, this::mapStoredNumber, batchSize * pool.getParallelism())
+                : jdbcTemplate.query(PAGE_QUERY, this::mapStoredNumber, lastCardId,
+                    batchSize * pool.getParallelism());
+            if (page.isEmpty()) {
+                break;
+            }
+
+            int pageRekeyed = rekeyPage(page);
+            lastCardId = page.get(page.size() - 1).id();
+            jdbcTemplate.update("""
+                UPDATE card_number_rekey_checkpoint
+                SET last_card_id = ?, rekeyed = rekeyed + ?, updated_at = now()
+                WHERE key_id = ?
+                """, lastCardId, pageRekeyed, keyId);
+            scanned += page.size();
+            rekeyed += pageRekeyed;
+
+            if (!throttle(rekeyed, started)) {
+                log.warn("Rekey to key {} interrupted after card {}, resuming on the next run", keyId, lastCardId);
+                return new RekeyResult(keyId, scanned, rekeyed, false, elapsedMillis(started));
+            }
+        }
+
+        boolean completed = complete(keyId);
+        RekeyResult result = new RekeyResult(keyId, scanned, rekeyed, completed, elapsedMillis(started));
+        log.info("Rekey pass to key {} finished: {} cards scanned, {} rekeyed in {} ms, completed: {}",
+            keyId, result.scanned(), result.rekeyed(), result.durationMillis(), result.completed());
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private int rekeyPage(List<StoredNumber> page) {
+        List<StoredNumber> stale = page.stream()
+            .filter(stored -> !aesEncryption.isCurrent(stored.number()))
+            .toList();
+
+        List<ForkJoinTask<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < stale.size(); from += batchSize) {
+            List<StoredNumber> chunk = stale.subList(from, Math.min(from + batchSize, stale.size()));
+            chunks.add(pool.submit(() -> rekeyChunk(chunk)));
+        }
+
+        int updated = 0;
+        for (ForkJoinTask<Integer> chunk : chunks) {
+            updated += chunk.join();
+        }
+        return updated;
+    }
+
+    private int rekeyChunk(List<StoredNumber> chunk) {
+        long started = System.nanoTime();
+        List<Object[]> updates = new ArrayList<>(chunk.size());
+        for (StoredNumber stored : chunk) {
+            updates.add(new Object[] {aesEncryption.reencrypt(stored.number()), stored.id(), stored.number()});
+        }
+
+        int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_NUMBER, updates));
+        int updated = 0;
+        for (int count : counts) {
+            updated += Math.max(count, 0);
+        }
+        rekeyedCounter.increment(updated);
+        chunkTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.trace("Rekeyed {} of {} card numbers", updated, chunk.size());
+        return updated;
+    }
+
+    /**
+     * Marks the key as completed if no card is left under another key,
+     * otherwise resets the checkpoint so the next run makes another pass
+     * over cards written by instances still running with an older key
+     */
+    private boolean complete(String keyId) {
+        String prefix = keyId + ":";
+        Long remaining = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM bank_cards WHERE left(number, ?) <> ?", Long.class, prefix.length(), prefix);
+        if (remaining != null && remaining > 0) {
+            log.warn("{} card numbers are still not under key {}, starting another pass", remaining, keyId);
+            jdbcTemplate.update("""
+                UPDATE card_number_rekey_checkpoint SET last_card_id = NULL, updated_at = now() WHERE key_id = ?
+                """, keyId);
+            return false;
+        }
+        jdbcTemplate.update("""
+            UPDATE card_number_rekey_checkpoint SET completed_at = now(), updated_at = now() WHERE key_id = ?
+            """, keyId);
+        return true;
+    }
+
+    /**
+     * Sleeps until the rekeyed cards fit the configured rate
+     *
+     * @return false if the thread was interrupted
+     */
+    private boolean throttle(long rekeyed, long started) {
+        if (maxCardsPerSecond <= 0) {
+            return true;
+        }
+        long aheadNanos = rekeyed * 1_000_000_000L / maxCardsPerSecond - (System.nanoTime() - started);
+        if (aheadNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private StoredNumber mapStoredNumber(ResultSet resultSet, int row) throws SQLException {
+        return new StoredNumber(resultSet.getObject("id", UUID.class), resultSet.getString("number"));
+    }
+
+    private static long elapsedMillis(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    /**
+     * Summary of a rekey run
+     *
+     * @param keyId id of the key card numbers were moved to
+     * @param scanned number of cards read in this run
+     * @param rekeyed number of cards re-encrypted in this run
+     * @param completed true if no card is left under another key
+     * @param durationMillis duration of the run
+     */
+    public record RekeyResult(String keyId, long scanned, long rekeyed, boolean completed, long durationMillis) {
+    }
+
+    private record StoredNumber(UUID id, String number) {
+    }
+
+    private record Checkpoint(UUID lastCardId, Timestamp completedAt) {
+    }
+
+}
@@ -2,6 +2,7 @@ package com.example.bankcards.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -10,11 +11,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.crypto.MaskedCardNumber;
 import com.example.bankcards.dto.request.CardNumberRequest;
 import com.example.bankcards.dto.response.CardResponse;
 import com.example.bankcards.dto.response.CardStatusResponse;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.PageResponse;
+import com.example.bankcards.event.NotificationCreatedEvent;
 import com.example.bankcards.exception.bankCardException.BankCardNotAvailableException;
 import com.example.bankcards.exception.userException.UserNotFoundException;
 import com.example.bankcards.facade.SecurityFacade;
@@ -25,6 +28,7 @@ import com.example.bankcards.model.entity.BankCardsEntity;
 import com.example.bankcards.model.entity.CardAccountEntity;
 import com.example.bankcards.model.entity.NotificationEntity;
 import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.projection.CardListView;
 import com.example.bankcards.repository.BankCardsRepository;
 import com.example.bankcards.repository.NotificationRepository;
 import com.example.bankcards.repository.UsersRepository;
@@ -58,11 +62,16 @@ public class CardServiceImpl implements CardService {
 
     private final ValidationServiceImpl validationService;
 
+    private final StripedBalanceService stripedBalanceService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Creates a new craete card request for the admin.
      * 
      * Validates user is active, then creates a notification
      * for administrators to process the card creation request.
+     * Connected admin streams receive it after commit.
      * 
      * @param userDetails authenticated user details
      * @return notification response with request details
@@ -86,7 +95,9 @@ public class CardServiceImpl implements CardService {
         notificationRepository.save(notificationEntity);
         log.info("Card request notification created with ID: {}", notificationEntity.getId());
 
-        return notificationMapper.toDto(user, notificationEntity);
+        NotificationResponse response = notificationMapper.toDto(user, notificationEntity);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(response));
+        return response;
     }
 
     /**
@@ -99,6 +110,7 @@ public class CardServiceImpl implements CardService {
      * @param size number of items per page
      * @return paginated response with card details
      */
+    @Transactional(readOnly = true)
     public PageResponse<CardResponse> showAllCards(Integer page, Integer size) {
         log.debug("Fetching cards page: {}, size: {}", page, size);
         
@@ -109,10 +121,10 @@ public class CardServiceImpl implements CardService {
         );
         log.trace("Pageable created with sort: createdAt DESC");
 
-        UsersEntity user = securityFacade.getCurrentUser();
-        log.debug("Fetching cards for user: {}", user.getLogin());
+        String login = securityFacade.getLogin();
+        log.debug("Fetching cards for user: {}", login);
 
-        Page<BankCardsEntity> pageResult = bankCardsRepository.findActiveCardsByUser(user, pageable);
+        Page<CardListView> pageResult = bankCardsRepository.findActiveCardViewsByLogin(login, pageable);
         log.debug("Found {} cards on page {} of {}", 
             pageResult.getNumberOfElements(), page, pageResult.getTotalPages());
 
@@ -130,10 +142,10 @@ public class CardServiceImpl implements CardService {
      * @throws BankCardNotAvailableException if card validation fails
      * @throws UserNotActiveException if user account is suspended
      */
+    @Transactional(readOnly = true)
     public CardStatusResponse checkBalance(CardNumberRequest cardNumberRequest) {
         log.info("Checking balance for card: {}", 
-            cardNumberRequest.getCardNumber() != null ? 
-            "****" + cardNumberRequest.getCardNumber().substring(Math.max(0, cardNumberRequest.getCardNumber().length() - 4)) : "null");
+            MaskedCardNumber.of(cardNumberRequest.getCardNumber()));
         
         validationService.validateCurrentUserIsActive();
         log.debug("User activity validation passed");
@@ -142,7 +154,7 @@ public class CardServiceImpl implements CardService {
         log.debug("Card validation result: {}", validateCard);
 
         if (!validateCard) {
-            log.error("Card validation failed: {}", cardNumberRequest.getCardNumber());
+            log.error("Card validation failed: {}", MaskedCardNumber.of(cardNumberRequest.getCardNumber()));
             throw new BankCardNotAvailableException("One or both cards are not available");
         }
 
@@ -150,7 +162,14 @@ public class CardServiceImpl implements CardService {
         log.debug("Card found with account ID: {}", 
             bankCard.getCardAccountEntity() != null ? bankCard.getCardAccountEntity().getId() : "null");
 
-        return bankCardMapper.toDtoCardStatusResponse(bankCard);
+        CardStatusResponse response = bankCardMapper.toDtoCardStatusResponse(bankCard);
+        if (bankCard.getCardAccountEntity() != null
+            && stripedBalanceService.isStriped(bankCard.getCardAccountEntity())) {
+            response.setCurrentBalance(stripedBalanceService.totalBalance(bankCard.getCardAccountEntity()));
+            log.debug("Balance slots added to card balance");
+        }
+
+        return response;
     }
 
     /**
@@ -166,8 +185,7 @@ public class CardServiceImpl implements CardService {
     @Transactional(propagation = Propagation.REQUIRED)
     public NotificationResponse createBlockRequest(CardNumberRequest cardNumberRequest) {
         log.info("Creating block request for card: {}", 
-            cardNumberRequest.getCardNumber() != null ? 
-            "****" + cardNumberRequest.getCardNumber().substring(Math.max(0, cardNumberRequest.getCardNumber().length() - 4)) : "null");
+            MaskedCardNumber.of(cardNumberRequest.getCardNumber()));
         
         validationService.validateCurrentUserIsActive();
         log.debug("User activity validation passed");
@@ -183,7 +201,9 @@ public class CardServiceImpl implements CardService {
         
         setNotificationToCardAccount(notificationEntity, cardNumberRequest.getCardNumber());
 
-        return notificationMapper.toDto(usersEntity, notificationEntity);
+        NotificationResponse response = notificationMapper.toDto(usersEntity, notificationEntity);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(response));
+        return response;
     }
 
     /**
@@ -199,7 +219,7 @@ public class CardServiceImpl implements CardService {
     public void setNotificationToCardAccount(NotificationEntity notificationEntity, String cardNumber) {
         log.debug("Associating notification {} with card: {}", 
             notificationEntity.getId(),
-            cardNumber != null ? "****" + cardNumber.substring(Math.max(0, cardNumber.length() - 4)) : "null");
+            MaskedCardNumber.of(cardNumber));
         
         BankCardsEntity bankCard = securityFacade.findBankCardByNumber(cardNumber);
         CardAccountEntity cardAccount = bankCard.getCardAccountEntity();
@@ -0,0 +1,344 @@
+package com.example.bankcards.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.event.CardStatusChangedEvent;
+import com.example.bankcards.event.CardsBlockedEvent;
+import com.example.bankcards.exception.encryprionExceprion.EncryptionException;
+import com.example.bankcards.model.projection.CardStatusView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of card statuses answering card checks without a query.
+ *
+ * Cards are keyed by the first 128 bits of an HMAC-SHA256 of the plaintext
+ * number under a random key generated at startup, so the index survives
+ * card number rekeying and never holds numbers or reusable digests of them.
+ * The index is loaded from bank_cards in the background once the
+ * application is ready and answers lookups when the load finished. Card
+ * creation, blocking and unblocking update it after their transaction
+ * commits, bulk blocks reload the affected cards. Cards written otherwise,
+ * e.g. by bulk issuance, are added on their first lookup from the database,
+ * which never replaces a stored status. Changes made by other instances,
+ * and by any other writer, are read back periodically from the cards whose
+ * status_changed_at, set by a trigger, is newer than the previous refresh
+ * minus an overlap covering transactions that committed late. When no
+ * refresh succeeded for several intervals, lookups miss until one does.
+ * Expired cards always miss, so their status is read from the database.
+ */
+@Service
+@Slf4j
+public class CardStatusIndex {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private static final String LOAD_QUERY = """
+        SELECT b.id, b.number, a.id AS card_account_id, b.user_id, b.is_active, b.expires_at
+        FROM bank_cards b
+        LEFT JOIN card_account a ON a.card_id = b.id
+        """;
+
+    private static final String CHANGED_SINCE_FILTER = "WHERE b.status_changed_at > ?";
+
+    private final boolean enabled;
+
+    private final CardStatusTable table;
+
+    private final AesEncryption aesEncryption;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SecretKeySpec digestKey;
+
+    private final ThreadLocal<Mac> macs;
+
+    private final Duration refreshOverlap;
+
+    private final long maxStalenessNanos;
+
+    private volatile boolean ready;
+
+    private volatile long refreshedAtNanos;
+
+    private volatile Instant refreshedUpTo;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    public CardStatusIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+        AesEncryption aesEncryption, MeterRegistry meterRegistry,
+        @Value("${bankcards.card.index.enabled:false}") boolean enabled,
+        @Value("${bankcards.card.index.expected-cards:1024}") int expectedCards,
+        @Value("${bankcards.card.index.refresh-interval-ms:1000}") long refreshIntervalMs,
+        @Value("${bankcards.card.index.refresh-overlap-ms:30000}") long refreshOverlapMs,
+        @Value("${bankcards.card.index.max-stale-refreshes:5}") int maxStaleRefreshes) {
+        this.enabled = enabled;
+        this.refreshOverlap = Duration.ofMillis(refreshOverlapMs);
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMs * maxStaleRefreshes);
+        this.table = new CardStatusTable(enabled ? expectedCards : 16);
+        this.aesEncryption = aesEncryption;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, HMAC);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+
+        this.hitCounter = Counter.builder("bankcards.card.index.lookups")
+            .tag("result", "hit")
+            .description("Number of card status lookups answered by the in-memory index")
+            .register(meterRegistry);
+        this.missCounter = Counter.builder("bankcards.card.index.lookups")
+            .tag("result", "miss")
+            .description("Number of card status lookups answered by the in-memory index")
+            .register(meterRegistry);
+        Gauge.builder("bankcards.card.index.size", table, CardStatusTable::size)
+            .description("Number of cards in the in-memory index")
+            .register(meterRegistry);
+        Gauge.builder("bankcards.card.index.memory", table, CardStatusTable::memoryBytes)
+            .description("Bytes held by the slots of the in-memory card index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts loading the index from bank_cards in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            Thread.ofPlatform().name("card-status-index").daemon().start(this::load);
+        }
+    }
+
+    /**
+     * Returns the indexed status of a card
+     *
+     * @param cardNumber plaintext card number
+     * @return card status or null if the index is not loaded or stale, has no such card or the card has expired
+     */
+    public CardStatusTable.Entry find(String cardNumber) {
+        if (!isReady()) {
+            return null;
+        }
+        long[] digest = digest(cardNumber);
+        CardStatusTable.Entry entry = table.get(digest[0], digest[1]);
+        if (entry != null && !entry.getExpiresAt().isAfter(Instant.now())) {
+            entry = null;
+        }
+        (entry != null ? hitCounter : missCounter).increment();
+        return entry;
+    }
+
+    /**
+     * Adds a card read from the database after an index miss. Inside a
+     * transaction the card is added after commit. A status stored in the
+     * meantime by a committed change is kept.
+     *
+     * @param cardNumber plaintext card number
+     * @param cardStatus status read from the database
+     */
+    public void addMissing(String cardNumber, CardStatusView cardStatus) {
+        if (!enabled) {
+            return;
+        }
+        long[] digest = digest(cardNumber);
+        Runnable add = () -> table.putIfAbsent(digest[0], digest[1], cardStatus.getId(),
+            cardStatus.getCardAccountId(), cardStatus.getOwnerId(), cardStatus.getActive(),
+            cardStatus.getExpiresAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add.run();
+                }
+            });
+        } else {
+            add.run();
+        }
+    }
+
+    /**
+     * Stores the status of a created, blocked or unblocked card after its transaction committed
+     *
+     * @param event changed card
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCardStatusChanged(CardStatusChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long[] digest = digest(aesEncryption.decrypt(event.storedNumber()));
+        table.put(digest[0], digest[1], event.cardId(), event.cardAccountId(), event.ownerId(),
+            event.active(), event.expiresAt());
+        log.trace("Card {} stored in the status index, active: {}", event.cardId(), event.active());
+    }
+
+    /**
+     * Reloads the cards of blocked accounts after their transaction committed
+     *
+     * @param event blocked card accounts
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCardsBlocked(CardsBlockedEvent event) {
+        if (!enabled || event.cardAccountIds().isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(event.cardAccountIds().size(), "?"));
+        List<Integer> refreshed = jdbcTemplate.query(LOAD_QUERY + "WHERE a.id IN (" + placeholders + ")",
+            (resultSet, row) -> loadRow(resultSet, true) ? 1 : 0, event.cardAccountIds().toArray());
+        log.debug("{} cards of {} blocked accounts refreshed in the status index",
+            refreshed.size(), event.cardAccountIds().size());
+    }
+
+    /**
+     * Reads back the cards changed since the previous refresh, by this or any other instance
+     */
+    @Scheduled(fixedDelayString = "${bankcards.card.index.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (!enabled || !ready) {
+            return;
+        }
+        Instant since = refreshedUpTo.minus(refreshOverlap);
+        try {
+            AtomicLong refreshed = new AtomicLong();
+            Instant upTo = transactionTemplate.execute(status -> {
+                Instant now = jdbcTemplate.queryForObject("SELECT now()", Timestamp.class).toInstant();
+                jdbcTemplate.query(LOAD_QUERY + CHANGED_SINCE_FILTER, resultSet -> {
+                    if (loadRow(resultSet, true)) {
+                        refreshed.incrementAndGet();
+                    }
+                }, Timestamp.from(since));
+                return now;
+            });
+            refreshedUpTo = upTo;
+            refreshedAtNanos = System.nanoTime();
+            log.trace("{} cards changed since {} refreshed in the status index", refreshed.get(), since);
+        } catch (RuntimeException exception) {
+            log.warn("Refreshing the card status index failed: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * @return true if the index is loaded and was refreshed recently enough to answer lookups
+     */
+    public boolean isReady() {
+        return ready && System.nanoTime() - refreshedAtNanos <= maxStalenessNanos;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        AtomicLong loaded = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        try {
+            refreshedUpTo = transactionTemplate.execute(status -> {
+                Instant now = jdbcTemplate.queryForObject("SELECT now()", Timestamp.class).toInstant();
+                jdbcTemplate.query(LOAD_QUERY, resultSet -> {
+                    if (loadRow(resultSet, false)) {
+                        loaded.incrementAndGet();
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                });
+                return now;
+            });
+        } catch (RuntimeException exception) {
+            log.error("Loading the card status index failed, card checks keep using the database", exception);
+            return;
+        }
+        refreshedAtNanos = System.nanoTime();
+        ready = true;
+        log.info("Card status index loaded: {} cards in {} ms, {} skipped, {} bytes", loaded.get(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), skipped.get(), table.memoryBytes());
+    }
+
+    /**
+     * Stores a card row, the load keeps statuses stored by changes committed meanwhile
+     *
+     * @return false if the number cannot be decrypted
+     */
+    private boolean loadRow(ResultSet resultSet, boolean replace) throws SQLException {
+        String number;
+        try {
+            number = aesEncryption.decrypt(resultSet.getString("number"));
+        } catch (EncryptionException exception) {
+            log.warn("Card {} cannot be decrypted and is left out of the status index",
+                resultSet.getObject("id", UUID.class));
+            return false;
+        }
+        long[] digest = digest(number);
+        UUID cardId = resultSet.getObject("id", UUID.class);
+        UUID cardAccountId = resultSet.getObject("card_account_id", UUID.class);
+        UUID ownerId = resultSet.getObject("user_id", UUID.class);
+        boolean active = resultSet.getBoolean("is_active");
+        Instant expiresAt = resultSet.getTimestamp("expires_at").toInstant();
+        if (replace) {
+            table.put(digest[0], digest[1], cardId, cardAccountId, ownerId, active, expiresAt);
+        } else {
+            table.putIfAbsent(digest[0], digest[1], cardId, cardAccountId, ownerId, active, expiresAt);
+        }
+        return true;
+    }
+
+    /**
+     * @return the two halves of the card digest, never both zero
+     */
+    private long[] digest(String cardNumber) {
+        ByteBuffer hash = ByteBuffer.wrap(macs.get().doFinal(cardNumber.getBytes(StandardCharsets.US_ASCII)));
+        long high = hash.getLong();
+        long low = hash.getLong();
+        return new long[] {high, high == 0 && low == 0 ? 1 : low};
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(digestKey);
+            return mac;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", exception);
+        }
+    }
+
+}
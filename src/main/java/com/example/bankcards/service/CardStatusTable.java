@@ -0,0 +1,249 @@
+package com.example.bankcards.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import com.example.bankcards.model.projection.CardStatusView;
+
+/**
+ * Open addressing hash table of card statuses held in one long array.
+ *
+ * Every slot is nine longs: the 128 bit card digest used as key, card id,
+ * card account id and owner id as two longs each, and one long packing the
+ * expiration in epoch microseconds with the active, has account and has
+ * owner flags. A digest of two zero longs marks an empty slot and is not a
+ * valid key. Slots are found by linear probing from a position derived from
+ * the high half of the digest, which is expected to be uniformly distributed.
+ * Entries are never removed, the table grows by half when it is three
+ * quarters full. Lookups are optimistic reads validated against a stamped
+ * lock, writes take the write lock.
+ */
+public class CardStatusTable {
+
+    static final int STRIDE = 9;
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / STRIDE;
+
+    private static final long ACTIVE = 1;
+
+    private static final long HAS_ACCOUNT = 1 << 1;
+
+    private static final long HAS_OWNER = 1 << 2;
+
+    private static final int FLAG_BITS = 3;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] slots;
+
+    private int size;
+
+    public CardStatusTable(int expectedCards) {
+        this.slots = new long[capacityFor(Math.max(expectedCards, 16)) * STRIDE];
+    }
+
+    /**
+     * Returns the status stored under a digest
+     *
+     * @param keyHigh high half of the card digest
+     * @param keyLow low half of the card digest
+     * @return card status or null if the card is not in the table
+     */
+    public Entry get(long keyHigh, long keyLow) {
+        long stamp = lock.tryOptimisticRead();
+        Entry entry = find(slots, keyHigh, keyLow);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                entry = find(slots, keyHigh, keyLow);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the status of a card, replacing a stored one
+     *
+     * @return true if the card was not in the table
+     */
+    public boolean put(long keyHigh, long keyLow, UUID cardId, UUID cardAccountId, UUID ownerId,
+        boolean active, Instant expiresAt) {
+        return write(keyHigh, keyLow, cardId, cardAccountId, ownerId, active, expiresAt, true);
+    }
+
+    /**
+     * Stores the status of a card unless the table already has one, so a status
+     * read before a newer one was stored never overwrites it
+     *
+     * @return true if the card was not in the table
+     */
+    public boolean putIfAbsent(long keyHigh, long keyLow, UUID cardId, UUID cardAccountId, UUID ownerId,
+        boolean active, Instant expiresAt) {
+        return write(keyHigh, keyLow, cardId, cardAccountId, ownerId, active, expiresAt, false);
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int capacity() {
+        long stamp = lock.readLock();
+        try {
+            return slots.length / STRIDE;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return bytes held by the slot array
+     */
+    public long memoryBytes() {
+        return (long) capacity() * STRIDE * Long.BYTES;
+    }
+
+    private boolean write(long keyHigh, long keyLow, UUID cardId, UUID cardAccountId, UUID ownerId,
+        boolean active, Instant expiresAt, boolean replace) {
+        if (keyHigh == 0 && keyLow == 0) {
+            throw new IllegalArgumentException("Card digest of zeros is reserved for empty slots");
+        }
+        long stamp = lock.writeLock();
+        try {
+            int base = probe(slots, keyHigh, keyLow);
+            boolean added = isEmpty(slots, base);
+            if (!added && !replace) {
+                return false;
+            }
+            slots[base] = keyHigh;
+            slots[base + 1] = keyLow;
+            slots[base + 2] = cardId.getMostSignificantBits();
+            slots[base + 3] = cardId.getLeastSignificantBits();
+            slots[base + 4] = cardAccountId != null ? cardAccountId.getMostSignificantBits() : 0;
+            slots[base + 5] = cardAccountId != null ? cardAccountId.getLeastSignificantBits() : 0;
+            slots[base + 6] = ownerId != null ? ownerId.getMostSignificantBits() : 0;
+            slots[base + 7] = ownerId != null ? ownerId.getLeastSignificantBits() : 0;
+            slots[base + 8] = ChronoUnit.MICROS.between(Instant.EPOCH, expiresAt) << FLAG_BITS
+                | (active ? ACTIVE : 0)
+                | (cardAccountId != null ? HAS_ACCOUNT : 0)
+                | (ownerId != null ? HAS_OWNER : 0);
+            if (added && ++size > slots.length / STRIDE / 4 * 3) {
+                grow();
+            }
+            return added;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void grow() {
+        int capacity = slots.length / STRIDE;
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Card status table is full");
+        }
+        long[] grown = new long[(int) Math.min((long) capacity + capacity / 2, MAX_CAPACITY) * STRIDE];
+        for (int base = 0; base < slots.length; base += STRIDE) {
+            if (!isEmpty(slots, base)) {
+                System.arraycopy(slots, base, grown, probe(grown, slots[base], slots[base + 1]), STRIDE);
+            }
+        }
+        slots = grown;
+    }
+
+    /**
+     * Reads without a lock, a result of a concurrent write is discarded by the caller
+     */
+    private static Entry find(long[] table, long keyHigh, long keyLow) {
+        int capacity = table.length / STRIDE;
+        int slot = home(keyHigh, capacity);
+        for (int probes = 0; probes < capacity; probes++) {
+            int base = slot * STRIDE;
+            if (isEmpty(table, base)) {
+                return null;
+            }
+            if (table[base] == keyHigh && table[base + 1] == keyLow) {
+                return toEntry(table, base);
+            }
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+        return null;
+    }
+
+    /**
+     * @return base index of the slot holding the key or of the empty slot it belongs to
+     */
+    private static int probe(long[] table, long keyHigh, long keyLow) {
+        int capacity = table.length / STRIDE;
+        int slot = home(keyHigh, capacity);
+        while (true) {
+            int base = slot * STRIDE;
+            if (isEmpty(table, base) || (table[base] == keyHigh && table[base + 1] == keyLow)) {
+                return base;
+            }
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+    }
+
+    private static int home(long keyHigh, int capacity) {
+        return (int) (((keyHigh >>> 32) * capacity) >>> 32);
+    }
+
+    private static boolean isEmpty(long[] table, int base) {
+        return table[base] == 0 && table[base + 1] == 0;
+    }
+
+    private static Entry toEntry(long[] table, int base) {
+        long packed = table[base + 8];
+        return new Entry(
+            new UUID(table[base + 2], table[base + 3]),
+            (packed & HAS_ACCOUNT) != 0 ? new UUID(table[base + 4], table[base + 5]) : null,
+            (packed & HAS_OWNER) != 0 ? new UUID(table[base + 6], table[base + 7]) : null,
+            (packed & ACTIVE) != 0,
+            Instant.EPOCH.plus(packed >> FLAG_BITS, ChronoUnit.MICROS));
+    }
+
+    private static int capacityFor(int expectedCards) {
+        return (int) Math.min((long) expectedCards * 4 / 3 + 1, MAX_CAPACITY);
+    }
+
+    /**
+     * Card status read from the table
+     */
+    public record Entry(UUID id, UUID cardAccountId, UUID ownerId, boolean active, Instant expiresAt)
+        implements CardStatusView {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public UUID getCardAccountId() {
+            return cardAccountId;
+        }
+
+        @Override
+        public UUID getOwnerId() {
+            return ownerId;
+        }
+
+        @Override
+        public Boolean getActive() {
+            return active;
+        }
+
+        @Override
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,307 @@
+package com.example.bankcards.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.dto.response.CreateTransactionResponse;
+import com.example.bankcards.exception.bankCardException.BankCardNotFoundException;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.service.interfaces.TransferParticipant;
+import com.example.bankcards.service.interfaces.TransferService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transfer engine committing several queued transfers in one database transaction.
+ *
+ * Transfers are routed by sender card to one of a fixed set of single-writer
+ * workers. A card has exactly one account, so every sender account is debited
+ * by one thread only and its row is no longer fought over by concurrent
+ * transactions. Each worker drains up to max-batch-size queued transfers,
+ * runs them in one transaction and completes the callers' futures after commit.
+ * Before the first transfer the batch locks all account rows it writes in id
+ * order, the order settlement uses, so batches of different workers moving
+ * money between the same accounts in opposite directions cannot deadlock.
+ * If the batch fails, it is rolled back and its transfers are retried one per
+ * transaction, so one failing transfer never fails its neighbours.
+ *
+ * Work that has to commit with a transfer, such as the idempotency key claim,
+ * is passed as a TransferParticipant and runs inside the batch transaction, so
+ * such transfers are batched too. Callers already inside a transaction run the
+ * transfer directly, so it stays atomic with their own work.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "bankcards.transfer.group-commit", name = "enabled", havingValue = "true")
+@Slf4j
+public class GroupCommitTransferService implements TransferService, DisposableBean {
+
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final TransferServiceImpl delegate;
+
+    private final CardAccessValidator cardAccessValidator;
+
+    private final CardAccountRepository cardAccountRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<BlockingQueue<QueuedTransfer>> queues = new ArrayList<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final int maxBatchSize;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running = true;
+
+    public GroupCommitTransferService(TransferServiceImpl delegate, CardAccessValidator cardAccessValidator,
+        CardAccountRepository cardAccountRepository, PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${bankcards.transfer.group-commit.workers:8}") int workerCount,
+        @Value("${bankcards.transfer.group-commit.max-batch-size:32}") int maxBatchSize,
+        @Value("${bankcards.transfer.group-commit.queue-capacity:1024}") int queueCapacity) {
+        this.delegate = delegate;
+        this.cardAccessValidator = cardAccessValidator;
+        this.cardAccountRepository = cardAccountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizeSummary = DistributionSummary.builder("bankcards.transfer.group_commit.batch_size")
+            .description("Number of transfers committed in one transaction")
+            .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<QueuedTransfer> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            meterRegistry.gauge("bankcards.transfer.group_commit.queue_depth",
+                Tags.of("worker", String.valueOf(i)), queue, BlockingQueue::size);
+
+            Thread worker = new Thread(() -> drain(queue), "transfer-writer-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("Group commit transfer engine started with {} workers, batches up to {}", workerCount, maxBatchSize);
+    }
+
+    /**
+     * Queues the transfer on the worker owning the sender card and waits for its commit
+     *
+     * @param transferRequest transfer details including cards and amount
+     * @return response with transaction details
+     * @throws IllegalAccessException if security validation fails
+     */
+    @Override
+    public CreateTransactionResponse transfer(TransferRequest transferRequest) throws IllegalAccessException {
+        return transfer(transferRequest, TransferParticipant.NONE);
+    }
+
+    /**
+     * Queues the transfer with its participant and waits for the commit of both
+     *
+     * @param transferRequest transfer details including cards and amount
+     * @param participant steps run before and after the transfer in the batch transaction
+     * @return response with transaction details
+     * @throws IllegalAccessException if security validation fails
+     */
+    @Override
+    public CreateTransactionResponse transfer(TransferRequest transferRequest, TransferParticipant participant)
+        throws IllegalAccessException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.transfer(transferRequest, participant);
+        }
+        if (!running) {
+            throw new IllegalStateException("Group commit transfer engine is shut down");
+        }
+
+        QueuedTransfer queued = new QueuedTransfer(transferRequest, participant, SecurityContextHolder.getContext(),
+            new CompletableFuture<>());
+        try {
+            queues.get(partition(transferRequest.getFromNumberCard())).put(queued);
+            return queued.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for transfer commit", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalAccessException illegalAccess) {
+                throw illegalAccess;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Stops accepting transfers and lets workers commit what is already queued
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+            worker.interrupt();
+        }
+        IllegalStateException shutdown = new IllegalStateException("Group commit transfer engine is shut down");
+        for (BlockingQueue<QueuedTransfer> queue : queues) {
+            QueuedTransfer queued;
+            while ((queued = queue.poll()) != null) {
+                queued.result().completeExceptionally(shutdown);
+            }
+        }
+    }
+
+    private int partition(String cardNumber) {
+        int hash = Objects.hashCode(cardNumber);
+        return Math.floorMod(hash ^ (hash >>> 16), queues.size());
+    }
+
+    private void drain(BlockingQueue<QueuedTransfer> queue) {
+        List<QueuedTransfer> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedTransfer first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                commitBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit worker failed on a batch of {} transfers", batch.size(), e);
+                batch.forEach(queued -> queued.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commitBatch(List<QueuedTransfer> batch) {
+        batchSizeSummary.record(batch.size());
+        List<CreateTransactionResponse> responses = new ArrayList<>(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                lockAccounts(batch);
+                for (QueuedTransfer queued : batch) {
+                    responses.add(runAs(queued));
+                }
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(unwrap(e));
+                return;
+            }
+            log.debug("Group commit of {} transfers rolled back, retrying one by one: {}", batch.size(), e.getMessage());
+            commitEach(batch);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(responses.get(i));
+        }
+    }
+
+    /**
+     * Locks the sender and recipient accounts of the batch in id order.
+     * Cards that cannot be resolved are skipped, their transfers fail on their own
+     */
+    private void lockAccounts(List<QueuedTransfer> batch) {
+        Set<UUID> senderIds = new HashSet<>();
+        Set<UUID> accountIds = new HashSet<>();
+        for (QueuedTransfer queued : batch) {
+            UUID senderId = findAccountId(queued.request().getFromNumberCard());
+            UUID recipientId = findAccountId(queued.request().getToNumberCard());
+            if (senderId != null) {
+                senderIds.add(senderId);
+                accountIds.add(senderId);
+            }
+            if (recipientId != null) {
+                accountIds.add(recipientId);
+            }
+        }
+        if (!senderIds.isEmpty()) {
+            cardAccountRepository.lockForTransfers(accountIds, senderIds);
+        }
+    }
+
+    private UUID findAccountId(String cardNumber) {
+        try {
+            return cardAccessValidator.findCardStatusByNumber(cardNumber).getCardAccountId();
+        } catch (BankCardNotFoundException e) {
+            return null;
+        }
+    }
+
+    private void commitEach(List<QueuedTransfer> batch) {
+        for (QueuedTransfer queued : batch) {
+            try {
+                queued.result().complete(transactionTemplate.execute(status -> runAs(queued)));
+            } catch (RuntimeException e) {
+                queued.result().completeExceptionally(unwrap(e));
+            }
+        }
+    }
+
+    private CreateTransactionResponse runAs(QueuedTransfer queued) {
+        SecurityContextHolder.setContext(queued.securityContext());
+        try {
+            return delegate.transfer(queued.request(), queued.participant());
+        } catch (IllegalAccessException e) {
+            throw new AccessDeniedDuringTransfer(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static Throwable unwrap(RuntimeException exception) {
+        return exception instanceof AccessDeniedDuringTransfer ? exception.getCause() : exception;
+    }
+
+    private record QueuedTransfer(TransferRequest request, TransferParticipant participant,
+        SecurityContext securityContext, CompletableFuture<CreateTransactionResponse> result) {
+    }
+
+    /**
+     * Carries the checked exception of the transfer out of the transaction callback
+     */
+    private static final class AccessDeniedDuringTransfer extends RuntimeException {
+
+        private AccessDeniedDuringTransfer(IllegalAccessException cause) {
+            super(cause);
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.bankcards.service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.example.bankcards.dto.response.CreateTransactionResponse;
+
+/**
+ * Bounded least-recently-used cache of committed idempotency keys.
+ *
+ * Holds only keys whose transfer has committed, so a hit can be replayed
+ * without touching the database. The unique index stays the source of truth.
+ */
+public class IdempotencyKeyCache {
+
+    private final Map<String, Entry> entries;
+
+    public IdempotencyKeyCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached entry if present and not expired
+     *
+     * @param userLogin login the key is scoped to
+     * @param idempotencyKey client supplied key
+     * @param now current time
+     * @return cached entry or null
+     */
+    public synchronized Entry get(String userLogin, String idempotencyKey, Instant now) {
+        String cacheKey = cacheKey(userLogin, idempotencyKey);
+        Entry entry = entries.get(cacheKey);
+        if (entry != null && entry.expiresAt().isBefore(now)) {
+            entries.remove(cacheKey);
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized void put(String userLogin, String idempotencyKey, Entry entry) {
+        entries.put(cacheKey(userLogin, idempotencyKey), entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops entries expired before the given time
+     *
+     * @param now current time
+     */
+    public synchronized void evictExpired(Instant now) {
+        entries.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+    }
+
+    private static String cacheKey(String userLogin, String idempotencyKey) {
+        return userLogin + '\n' + idempotencyKey;
+    }
+
+    public record Entry(String requestHash, CreateTransactionResponse response, Instant expiresAt) {
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.example.bankcards.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.dto.response.CreateTransactionResponse;
+import com.example.bankcards.exception.requestException.IdempotencyKeyInvalidException;
+import com.example.bankcards.exception.requestException.IdempotencyKeyReusedException;
+import com.example.bankcards.facade.SecurityFacade;
+import com.example.bankcards.model.entity.IdempotencyKeyEntity;
+import com.example.bankcards.repository.IdempotencyKeyRepository;
+import com.example.bankcards.service.interfaces.TransferParticipant;
+import com.example.bankcards.service.interfaces.TransferService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes transfers at most once per client supplied idempotency key.
+ *
+ * The key row is inserted in the same transaction as the transfer, so the
+ * unique index on (user_login, idempotency_key) makes a concurrent duplicate
+ * wait for the first request and then replay its stored response.
+ * The insert is handed to the transfer engine as a TransferParticipant, so
+ * with group commit enabled keyed transfers are batched like any other.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final TransferService transferService;
+
+    private final SecurityFacade securityFacade;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final IdempotencyKeyCache cache;
+
+    private final Duration ttl;
+
+    private final int sweepBatchSize;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, TransferService transferService,
+        SecurityFacade securityFacade, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+        @Value("${bankcards.idempotency.cache-size:10000}") int cacheSize,
+        @Value("${bankcards.idempotency.ttl-hours:24}") long ttlHours,
+        @Value("${bankcards.idempotency.sweep.batch-size:1000}") int sweepBatchSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transferService = transferService;
+        this.securityFacade = securityFacade;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = new IdempotencyKeyCache(cacheSize);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Performs the transfer once per key, replaying the stored response on retries
+     *
+     * @param idempotencyKey client supplied key, null disables deduplication
+     * @param transferRequest transfer details
+     * @return response of the first successful execution
+     * @throws IllegalAccessException if access is denied
+     */
+    public CreateTransactionResponse transfer(String idempotencyKey, TransferRequest transferRequest) throws IllegalAccessException {
+        if (idempotencyKey == null) {
+            return transferService.transfer(transferRequest);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyInvalidException(MAX_KEY_LENGTH);
+        }
+
+        String login = securityFacade.getLogin();
+        String requestHash = hash(transferRequest);
+        Instant now = Instant.now();
+
+        IdempotencyKeyCache.Entry cached = cache.get(login, idempotencyKey, now);
+        if (cached != null) {
+            log.debug("Idempotency key {} replayed from cache", idempotencyKey);
+            return replay(idempotencyKey, requestHash, cached);
+        }
+
+        Optional<IdempotencyKeyEntity> stored = idempotencyKeyRepository.findByUserLoginAndIdempotencyKey(login, idempotencyKey);
+        if (stored.isPresent() && !stored.get().getExpiresAt().isBefore(now)) {
+            log.debug("Idempotency key {} replayed from store", idempotencyKey);
+            return replay(idempotencyKey, requestHash, remember(stored.get()));
+        }
+
+        try {
+            CreateTransactionResponse response = executeOnce(login, idempotencyKey, requestHash, now, stored, transferRequest);
+            cache.put(login, idempotencyKey, new IdempotencyKeyCache.Entry(requestHash, response, now.plus(ttl)));
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyKeyEntity winner = idempotencyKeyRepository.findByUserLoginAndIdempotencyKey(login, idempotencyKey)
+                .orElseThrow(() -> e);
+            log.info("Idempotency key {} was committed by a concurrent request, replaying", idempotencyKey);
+            return replay(idempotencyKey, requestHash, remember(winner));
+        }
+    }
+
+    /**
+     * Deletes expired keys in batches, each batch in its own transaction
+     *
+     * @return number of deleted keys
+     */
+    public int sweepExpired() {
+        Instant now = Instant.now();
+        cache.evictExpired(now);
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(now, sweepBatchSize));
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+        return total;
+    }
+
+    private CreateTransactionResponse executeOnce(String login, String idempotencyKey, String requestHash, Instant now,
+        Optional<IdempotencyKeyEntity> expired, TransferRequest transferRequest) throws IllegalAccessException {
+        return transferService.transfer(transferRequest, new TransferParticipant() {
+
+            private IdempotencyKeyEntity claim;
+
+            @Override
+            public void beforeTransfer() {
+                expired.ifPresent(idempotencyKeyRepository::delete);
+                claim = idempotencyKeyRepository.saveAndFlush(IdempotencyKeyEntity.builder()
+                    .userLogin(login)
+                    .idempotencyKey(idempotencyKey)
+                    .requestHash(requestHash)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+            }
+
+            @Override
+            public void afterTransfer(CreateTransactionResponse response) {
+                claim.setResponse(serialize(response));
+            }
+
+        });
+    }
+
+    private CreateTransactionResponse replay(String idempotencyKey, String requestHash, IdempotencyKeyCache.Entry entry) {
+        if (!entry.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+        return entry.response();
+    }
+
+    private IdempotencyKeyCache.Entry remember(IdempotencyKeyEntity stored) {
+        IdempotencyKeyCache.Entry entry = new IdempotencyKeyCache.Entry(
+            stored.getRequestHash(), deserialize(stored.getResponse()), stored.getExpiresAt());
+        cache.put(stored.getUserLogin(), stored.getIdempotencyKey(), entry);
+        return entry;
+    }
+
+    private String hash(TransferRequest transferRequest) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(transferRequest));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Unable to fingerprint transfer request", e);
+        }
+    }
+
+    private String serialize(CreateTransactionResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to store transfer response", e);
+        }
+    }
+
+    private CreateTransactionResponse deserialize(String response) {
+        try {
+            return objectMapper.readValue(response, CreateTransactionResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored transfer response", e);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.example.bankcards.service;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.LedgerEntryEntity;
+import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.enums.LedgerDirection;
+import com.example.bankcards.model.projection.LedgerMismatchView;
+import com.example.bankcards.repository.BalanceSnapshotRepository;
+import com.example.bankcards.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for the append-only double-entry ledger.
+ *
+ * Every transfer writes one DEBIT entry for the sender and one CREDIT entry
+ * for the recipient in the same transaction as the balance update.
+ * Periodic per-account snapshots let balance-at-time queries read the latest
+ * snapshot plus the entries after it instead of the whole history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerService {
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    /**
+     * Records debit and credit entries of a transfer
+     *
+     * @param fromAccount sender's card account
+     * @param toAccount recipient's card account
+     * @param transaction saved transaction of the transfer
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void recordTransfer(CardAccountEntity fromAccount, CardAccountEntity toAccount,
+        PaymentTransactionsEntity transaction) {
+        LedgerEntryEntity debit = LedgerEntryEntity.builder()
+            .cardAccount(fromAccount)
+            .transactionId(transaction.getId())
+            .direction(LedgerDirection.DEBIT)
+            .amount(transaction.getAmount())
+            .build();
+
+        LedgerEntryEntity credit = LedgerEntryEntity.builder()
+            .cardAccount(toAccount)
+            .transactionId(transaction.getId())
+            .direction(LedgerDirection.CREDIT)
+            .amount(transaction.getAmount())
+            .build();
+
+        ledgerEntryRepository.saveAll(List.of(debit, credit));
+        log.debug("Ledger entries recorded for transaction: {}", transaction.getId());
+    }
+
+    /**
+     * Calculates the balance of an account at a point in time
+     * from the latest snapshot before it and the entries after the snapshot
+     *
+     * @param cardAccount card account
+     * @param at point in time
+     * @return balance at the given time
+     */
+    @Transactional(readOnly = true)
+    public Double balanceAt(CardAccountEntity cardAccount, Instant at) {
+        Double balance = ledgerEntryRepository.balanceAt(cardAccount.getId(), at).doubleValue();
+        log.debug("Balance of account {} at {}: {}", cardAccount.getId(), at, balance);
+        return balance;
+    }
+
+    /**
+     * Takes snapshots of all accounts with ledger entries since the previous snapshot run
+     *
+     * @param cutoff entries created up to this time are included
+     * @return number of snapshots taken
+     */
+    @Transactional
+    public int takeSnapshots(Instant cutoff) {
+        Instant since = latestSnapshotTime();
+        if (!cutoff.isAfter(since)) {
+            log.debug("Snapshots are already taken up to {}", since);
+            return 0;
+        }
+
+        int snapshots = balanceSnapshotRepository.takeSnapshots(since, cutoff);
+        log.info("Balance snapshots taken for {} accounts, entries from {} to {}", snapshots, since, cutoff);
+        return snapshots;
+    }
+
+    /**
+     * Compares ledger balances with stored balances of accounts with entries since the given time
+     *
+     * @param since only accounts with ledger entries after this time are checked
+     * @return accounts whose ledger balance differs from the stored balance
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerMismatchView> reconcile(Instant since) {
+        List<LedgerMismatchView> mismatches = ledgerEntryRepository.findMismatchesTouchedSince(since);
+        for (LedgerMismatchView mismatch : mismatches) {
+            log.error("Ledger mismatch for account {}: ledger {}, account {}",
+                mismatch.getAccountId(), mismatch.getLedgerBalance(), mismatch.getAccountBalance());
+        }
+        return mismatches;
+    }
+
+    /**
+     * Returns time up to which ledger entries are covered by snapshots
+     *
+     * @return as_of of the latest snapshot or epoch if there is none
+     */
+    @Transactional(readOnly = true)
+    public Instant latestSnapshotTime() {
+        Instant latest = balanceSnapshotRepository.findLatestAsOf();
+        return latest != null ? latest : Instant.EPOCH;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.example.bankcards.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.dto.request.ProcessNotificationsRequest;
+import com.example.bankcards.dto.response.ProcessNotificationsResponse;
+import com.example.bankcards.event.CardsBlockedEvent;
+import com.example.bankcards.model.enums.EventType;
+import com.example.bankcards.model.projection.PendingNotificationView;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Processes pending admin notifications in bulk.
+ *
+ * Notifications are walked chunk by chunk in id order. Every chunk commits
+ * in its own transaction, so an interrupted run keeps its progress and a
+ * repeated request continues with what is still pending. A notification is
+ * claimed by deactivating it with UPDATE ... RETURNING in the chunk
+ * transaction, so concurrent runs never issue or block twice.
+ * CREATE_CARD notifications of blocked users are skipped and stay pending.
+ */
+@Service
+@Slf4j
+public class NotificationProcessingService {
+
+    private final NotificationRepository notificationRepository;
+
+    private final BankCardsRepository bankCardsRepository;
+
+    private final CardNumberAllocator cardNumberAllocator;
+
+    private final BulkCardIssuanceService bulkCardIssuanceService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong remaining = new AtomicLong();
+
+    private final int chunkSize;
+
+    public NotificationProcessingService(NotificationRepository notificationRepository,
+        BankCardsRepository bankCardsRepository, CardNumberAllocator cardNumberAllocator,
+        BulkCardIssuanceService bulkCardIssuanceService, PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+        @Value("${bankcards.notification.processing.chunk-size:500}") int chunkSize) {
+        this.notificationRepository = notificationRepository;
+        this.bankCardsRepository = bankCardsRepository;
+        this.cardNumberAllocator = cardNumberAllocator;
+        this.bulkCardIssuanceService = bulkCardIssuanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        meterRegistry.gauge("bankcards.notification.processing.remaining", remaining);
+    }
+
+    /**
+     * Processes the selected or all pending notifications of a type
+     *
+     * @param processNotificationsRequest notification type and optional selection
+     * @return numbers of processed and skipped notifications
+     */
+    public ProcessNotificationsResponse process(ProcessNotificationsRequest processNotificationsRequest) {
+        EventType event = processNotificationsRequest.getEvent();
+        List<Long> selection = processNotificationsRequest.getNotificationIds();
+        boolean selected = selection != null && !selection.isEmpty();
+        long start = System.nanoTime();
+
+        long total = selected ? selection.size() : notificationRepository.countByEventAndIsActiveTrue(event);
+        log.info("Starting bulk processing of {} {} notifications", total, event);
+        remaining.set(total);
+
+        long processed = 0;
+        long seen = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids;
+            if (selected) {
+                int from = (int) seen;
+                ids = from < selection.size()
+                    ? selection.subList(from, Math.min(from + chunkSize, selection.size()))
+                    : List.of();
+            } else {
+                ids = notificationRepository.findPendingIdsAfter(event, afterId, PageRequest.of(0, chunkSize));
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            processed += processChunk(event, ids);
+            seen += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            remaining.set(Math.max(total - seen, 0));
+            log.info("Processed {} of {} {} notifications ({}%)", seen, total, event,
+                total == 0 ? 100 : seen * 100 / total);
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Bulk processing of {} notifications finished: {} processed, {} skipped in {} ms",
+            event, processed, seen - processed, durationMs);
+
+        return ProcessNotificationsResponse.builder()
+            .event(event.name())
+            .total(total)
+            .processed(processed)
+            .skipped(seen - processed)
+            .durationMs(durationMs)
+            .build();
+    }
+
+    private int processChunk(EventType event, List<Long> ids) {
+        List<PendingNotificationView> pending = notificationRepository.findPendingByIds(event, ids);
+        return switch (event) {
+            case CREATE_CARD -> issueCards(pending);
+            case BLOCK_CARD -> blockCards(pending);
+        };
+    }
+
+    private int issueCards(List<PendingNotificationView> pending) {
+        List<PendingNotificationView> eligible = pending.stream()
+            .filter(notification -> notification.getUserId() != null && Boolean.TRUE.equals(notification.getUserActive()))
+            .toList();
+        if (eligible.isEmpty()) {
+            return 0;
+        }
+
+        List<String> encrypted = bulkCardIssuanceService.encrypt(cardNumberAllocator.allocate(eligible.size()));
+
+        return transactionTemplate.execute(status -> {
+            Set<Long> claimed = new HashSet<>(notificationRepository.claimActive(ids(eligible)));
+            List<UUID> owners = new ArrayList<>(claimed.size());
+            List<String> numbers = new ArrayList<>(claimed.size());
+            for (int i = 0; i < eligible.size(); i++) {
+                if (claimed.contains(eligible.get(i).getId())) {
+                    owners.add(eligible.get(i).getUserId());
+                    numbers.add(encrypted.get(i));
+                }
+            }
+            bulkCardIssuanceService.persist(owners, numbers);
+            return owners.size();
+        });
+    }
+
+    private int blockCards(List<PendingNotificationView> pending) {
+        List<PendingNotificationView> eligible = pending.stream()
+            .filter(notification -> notification.getCardAccountId() != null)
+            .toList();
+        if (eligible.isEmpty()) {
+            return 0;
+        }
+
+        return transactionTemplate.execute(status -> {
+            Set<Long> claimed = new HashSet<>(notificationRepository.claimActive(ids(eligible)));
+            List<UUID> accountIds = eligible.stream()
+                .filter(notification -> claimed.contains(notification.getId()))
+                .map(PendingNotificationView::getCardAccountId)
+                .toList();
+            if (!accountIds.isEmpty()) {
+                bankCardsRepository.blockByAccountIds(accountIds);
+                eventPublisher.publishEvent(new CardsBlockedEvent(accountIds));
+            }
+            return accountIds.size();
+        });
+    }
+
+    private static List<Long> ids(List<PendingNotificationView> notifications) {
+        return notifications.stream()
+            .map(PendingNotificationView::getId)
+            .toList();
+    }
+
+}
@@ -2,10 +2,11 @@ package com.example.bankcards.service;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.bankcards.dto.response.NotificationResponse;
 import com.example.bankcards.dto.response.PageResponse;
 import com.example.bankcards.mapper.PageMapperImpl;
-import com.example.bankcards.model.entity.NotificationEntity;
+import com.example.bankcards.model.projection.NotificationListView;
 import com.example.bankcards.repository.NotificationRepository;
 import com.example.bankcards.service.interfaces.NotificationService;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +37,7 @@ public class NotificationServiceImpl implements NotificationService {
      * @param size number of items per page
      * @return paginated response with notification details
      */
+    @Transactional(readOnly = true)
     public PageResponse<NotificationResponse> getUserActiveNotifications(int page, int size) {
         log.debug("Fetching active notifications page: {}, size: {}", page, size);
         
@@ -46,7 +48,7 @@ public class NotificationServiceImpl implements NotificationService {
         );
         log.trace("Created pageable with sort: createdAt DESC");
 
-        Page<NotificationEntity> pageResult = notificationRepository.findAllByIsActiveTrue(pageable);
+        Page<NotificationListView> pageResult = notificationRepository.findActiveViews(pageable);
         log.debug("Found {} active notifications on page {} of {}", 
             pageResult.getNumberOfElements(), page, pageResult.getTotalPages());
         
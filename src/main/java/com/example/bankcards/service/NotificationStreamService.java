@@ -0,0 +1,255 @@
+package com.example.bankcards.service;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.example.bankcards.dto.response.NotificationResponse;
+import com.example.bankcards.event.NotificationCreatedEvent;
+import com.example.bankcards.mapper.NotificationMapperImpl;
+import com.example.bankcards.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service pushing new notifications to connected admins as server-sent events.
+ *
+ * Notifications are broadcast in process once their transaction has
+ * committed. Every subscriber owns a bounded queue drained by a small
+ * dispatcher pool, so a slow client never blocks the request that created
+ * the notification. A subscriber whose queue overflows is disconnected and
+ * catches up on reconnect. The event id is the notification id; a client
+ * reconnecting with Last-Event-ID first receives the active notifications
+ * created after it from the database, then the live ones.
+ */
+@Service
+@Slf4j
+public class NotificationStreamService implements DisposableBean {
+
+    private static final String EVENT_NAME = "notification";
+
+    private final NotificationRepository notificationRepository;
+
+    private final NotificationMapperImpl notificationMapper;
+
+    private final ScheduledExecutorService dispatcher;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final long timeoutMs;
+
+    private final int clientBuffer;
+
+    private final int replayLimit;
+
+    private final Counter deliveredCounter;
+
+    private final Counter overflowCounter;
+
+    public NotificationStreamService(NotificationRepository notificationRepository,
+        NotificationMapperImpl notificationMapper, MeterRegistry meterRegistry,
+        @Value("${bankcards.notification.stream.timeout-ms:1800000}") long timeoutMs,
+        @Value("${bankcards.notification.stream.client-buffer:256}") int clientBuffer,
+        @Value("${bankcards.notification.stream.replay-limit:500}") int replayLimit,
+        @Value("${bankcards.notification.stream.heartbeat-ms:15000}") long heartbeatMs,
+        @Value("${bankcards.notification.stream.dispatch-threads:2}") int dispatchThreads) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        this.timeoutMs = timeoutMs;
+        this.clientBuffer = clientBuffer;
+        this.replayLimit = replayLimit;
+        this.dispatcher = Executors.newScheduledThreadPool(dispatchThreads,
+            Thread.ofPlatform().name("notification-stream-", 0).daemon().factory());
+        this.dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+
+        this.deliveredCounter = Counter.builder("bankcards.notifications.stream.delivered")
+            .description("Number of notification events sent to admin streams")
+            .register(meterRegistry);
+        this.overflowCounter = Counter.builder("bankcards.notifications.stream.overflows")
+            .description("Number of admin streams disconnected because their buffer was full")
+            .register(meterRegistry);
+        Gauge.builder("bankcards.notifications.stream.subscribers", subscribers, Set::size)
+            .description("Number of connected admin notification streams")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a notification stream
+     *
+     * @param lastEventId id of the last notification the client has seen, null for live events only
+     * @return emitter sending missed and new notifications
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Admin notification stream opened after id {}, {} subscribers", lastEventId, subscribers.size());
+
+        if (lastEventId != null) {
+            List<NotificationResponse> missed = notificationRepository
+                .findActiveViewsAfter(lastEventId, PageRequest.of(0, replayLimit)).stream()
+                .map(notificationMapper::toDto)
+                .toList();
+            log.debug("Replaying {} notifications after id {}", missed.size(), lastEventId);
+            if (!subscriber.replay(missed)) {
+                return emitter;
+            }
+        }
+        subscriber.start();
+        return emitter;
+    }
+
+    /**
+     * Broadcasts a notification to every connected stream after its transaction committed
+     *
+     * @param event created notification
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        log.trace("Broadcasting notification {} to {} streams", event.id(), subscribers.size());
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event.notification());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException exception) {
+                log.debug("Admin notification stream closed by client");
+                remove(subscriber);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Admin notification stream closed, {} subscribers", subscribers.size());
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(NotificationResponse notification) {
+        return SseEmitter.event()
+            .id(String.valueOf(notification.getNotification().getId()))
+            .name(EVENT_NAME)
+            .data(notification, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Connected stream with its bounded queue of pending notifications
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<NotificationResponse> queue = new ArrayBlockingQueue<>(clientBuffer);
+
+        /**
+         * Set while a drain is scheduled or running, starts set so that
+         * live notifications wait in the queue until the replay is sent
+         */
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+
+        private volatile Set<Long> replayed = Set.of();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(NotificationResponse notification) {
+            if (!queue.offer(notification)) {
+                log.warn("Admin notification stream buffer of {} events is full, disconnecting", clientBuffer);
+                overflowCounter.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            schedule();
+        }
+
+        /**
+         * Sends missed notifications on the subscribing thread
+         *
+         * @return false if the client is gone
+         */
+        private boolean replay(List<NotificationResponse> missed) {
+            Set<Long> ids = new HashSet<>();
+            try {
+                for (NotificationResponse notification : missed) {
+                    emitter.send(toEvent(notification));
+                    ids.add(notification.getNotification().getId());
+                }
+                deliveredCounter.increment(missed.size());
+            } catch (IOException | IllegalStateException exception) {
+                remove(this);
+                emitter.completeWithError(exception);
+                return false;
+            }
+            replayed = ids;
+            return true;
+        }
+
+        private void start() {
+            draining.set(false);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                NotificationResponse notification;
+                while ((notification = queue.poll()) != null) {
+                    if (replayed.contains(notification.getNotification().getId())) {
+                        continue;
+                    }
+                    emitter.send(toEvent(notification));
+                    deliveredCounter.increment();
+                }
+            } catch (IOException | IllegalStateException exception) {
+                log.debug("Admin notification stream closed by client");
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            schedule();
+        }
+
+    }
+
+}
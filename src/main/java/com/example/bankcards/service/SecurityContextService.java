@@ -1,5 +1,6 @@
 package com.example.bankcards.service;
 
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -45,6 +46,21 @@ public class SecurityContextService {
             });
     }
 
+    /**
+     * Retrieves the id of the currently authenticated user without loading the user.
+     * 
+     * @return current user id
+     * @throws UserNotFoundException if user doesn't exist in database
+     */
+    public UUID getCurrentUserId() {
+        String username = getAuthentication().getName();
+        return usersRepository.findIdByLogin(username)
+            .orElseThrow(() -> {
+                log.error("Current user not found in database: {}", username);
+                return new UserNotFoundException(username);
+            });
+    }
+
     /**
      * Checks if current user account is active.
      * 
@@ -0,0 +1,486 @@
+package com.example.bankcards.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.event.TransferCompletedEvent;
+import com.example.bankcards.exception.bankCardException.BankCardNotEnoughFundsException;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous settlement of PAYMENT and WITHDRAWAL transactions.
+ *
+ * Such transactions are accepted as PENDING: the amount is added to
+ * held_amount of the sender account by one conditional UPDATE, which fails
+ * if the balance minus funds already held does not cover it, and the
+ * request returns. A pool of workers claims the oldest PENDING transactions
+ * in batches with FOR UPDATE SKIP LOCKED, marks them PROCESSING and commits,
+ * then settles the batch in one transaction: the sender balance and hold are
+ * reduced, the recipient is credited, ledger entries are written and the
+ * status becomes COMPLETED. A transaction whose recipient card is missing,
+ * blocked or expired becomes FAILED and its hold is released. Balances
+ * change only when a transaction completes, so reconciliation keeps
+ * comparing them with COMPLETED transactions. If a batch fails, it is rolled
+ * back and its transactions are settled one per transaction.
+ *
+ * Every status change is conditional on the current status, so a
+ * transaction is settled once even if it is claimed twice. Transactions
+ * left PROCESSING by a stopped instance are returned to PENDING at startup,
+ * which assumes a single instance runs the workers. Workers are woken after
+ * an acceptance commits and poll otherwise.
+ */
+@Service
+@Slf4j
+public class SettlementService implements DisposableBean {
+
+    private static final Set<TransactionsType> DEFERRED_TYPES = EnumSet.of(
+        TransactionsType.PAYMENT, TransactionsType.WITHDRAWAL);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private static final String CLAIM_QUERY = """
+        WITH claimed AS (
+            SELECT t.id, t.created_at
+            FROM payment_transactions t
+            WHERE t.status_id = (SELECT id FROM status_transactions WHERE status = 'PENDING')
+            ORDER BY t.created_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        )
+        UPDATE payment_transactions t
+        SET status_id = (SELECT id FROM status_transactions WHERE status = 'PROCESSING')
+        FROM claimed c
+        WHERE t.id = c.id AND t.created_at = c.created_at
+        RETURNING t.id, t.created_at, t.sender_card_account_id, t.recipient_account_id, t.amount
+        """;
+
+    private static final String FINISH_QUERY = """
+        UPDATE payment_transactions
+        SET status_id = (SELECT id FROM status_transactions WHERE status = ?)
+        WHERE id = ? AND created_at = ?
+            AND status_id = (SELECT id FROM status_transactions WHERE status = 'PROCESSING')
+        """;
+
+    private static final String RECIPIENTS_QUERY = """
+        SELECT b.id, b.is_active, b.expires_at, a.id AS card_account_id, a.balance_slots
+        FROM bank_cards b
+        LEFT JOIN card_account a ON a.card_id = b.id
+        WHERE b.id IN (%s)
+        """;
+
+    private static final String LOCK_ACCOUNTS_QUERY = """
+        SELECT id FROM card_account WHERE id IN (%s) ORDER BY id FOR UPDATE
+        """;
+
+    private static final String REQUEUE_QUERY = """
+        UPDATE payment_transactions
+        SET status_id = (SELECT id FROM status_transactions WHERE status = 'PENDING')
+        WHERE status_id = (SELECT id FROM status_transactions WHERE status = 'PROCESSING')
+        """;
+
+    private static final String QUEUE_DEPTH_QUERY = """
+        SELECT st.status, COUNT(t.id) AS transactions
+        FROM status_transactions st
+        LEFT JOIN payment_transactions t ON t.status_id = st.id
+        WHERE st.status IN ('PENDING', 'PROCESSING')
+        GROUP BY st.status
+        """;
+
+    private final CardAccountRepository cardAccountRepository;
+
+    private final PaymentTransactionsRepository paymentTransactionsRepository;
+
+    private final LedgerService ledgerService;
+
+    private final StripedBalanceService stripedBalanceService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int workerCount;
+
+    private final int batchSize;
+
+    private final long pollIntervalMs;
+
+    private final Semaphore wakeups = new Semaphore(0);
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    private final AtomicLong pendingDepth = new AtomicLong();
+
+    private final AtomicLong processingDepth = new AtomicLong();
+
+    private final Counter completedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer settlementLatency;
+
+    private final DistributionSummary batchSizeSummary;
+
+    public SettlementService(CardAccountRepository cardAccountRepository,
+        PaymentTransactionsRepository paymentTransactionsRepository, LedgerService ledgerService,
+        StripedBalanceService stripedBalanceService, ApplicationEventPublisher eventPublisher,
+        DataSource dataSource, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+        @Value("${bankcards.transfer.settlement.enabled:false}") boolean enabled,
+        @Value("${bankcards.transfer.settlement.workers:4}") int workerCount,
+        @Value("${bankcards.transfer.settlement.batch-size:100}") int batchSize,
+        @Value("${bankcards.transfer.settlement.poll-interval-ms:1000}") long pollIntervalMs) {
+        this.cardAccountRepository = cardAccountRepository;
+        this.paymentTransactionsRepository = paymentTransactionsRepository;
+        this.ledgerService = ledgerService;
+        this.stripedBalanceService = stripedBalanceService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+
+        meterRegistry.gauge("bankcards.settlement.queue_depth", Tags.of("status", "PENDING"), pendingDepth);
+        meterRegistry.gauge("bankcards.settlement.queue_depth", Tags.of("status", "PROCESSING"), processingDepth);
+        this.completedCounter = Counter.builder("bankcards.settlement.transactions")
+            .tag("result", "completed")
+            .description("Number of settled PAYMENT and WITHDRAWAL transactions")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("bankcards.settlement.transactions")
+            .tag("result", "failed")
+            .description("Number of settled PAYMENT and WITHDRAWAL transactions")
+            .register(meterRegistry);
+        this.settlementLatency = Timer.builder("bankcards.settlement.latency")
+            .description("Time from acceptance of a transaction to its settlement")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("bankcards.settlement.batch_size")
+            .description("Number of transactions settled in one transaction")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns transactions left PROCESSING by a previous run to the queue and starts the workers
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        int requeued = jdbcTemplate.update(REQUEUE_QUERY);
+        if (requeued > 0) {
+            log.warn("{} transactions left PROCESSING returned to PENDING", requeued);
+        }
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform().name("settlement-worker-" + i).daemon().start(this::work));
+        }
+        log.info("Settlement started with {} workers, batches up to {}", workerCount, batchSize);
+    }
+
+    /**
+     * Checks if transactions of a type are accepted as PENDING and settled later
+     *
+     * @param transactionsType requested transaction type
+     * @return true for PAYMENT and WITHDRAWAL while settlement is enabled
+     */
+    public boolean isDeferred(TransactionsType transactionsType) {
+        return enabled && transactionsType != null && DEFERRED_TYPES.contains(transactionsType);
+    }
+
+    /**
+     * Holds funds of the sender for a transaction awaiting settlement.
+     * Pending changes of the account are flushed first, so the check sees
+     * collected balance slots. Workers are woken after the transaction commits.
+     *
+     * @param fromAccount sender's card account
+     * @param amount held amount
+     * @throws BankCardNotEnoughFundsException if the balance minus held funds does not cover the amount
+     */
+    public void hold(CardAccountEntity fromAccount, Double amount) {
+        cardAccountRepository.flush();
+        if (cardAccountRepository.hold(fromAccount.getId(), amount) == 0) {
+            log.error("Insufficient funds to hold - Account: {}, Amount: {}", fromAccount.getId(), amount);
+            throw new BankCardNotEnoughFundsException();
+        }
+        fromAccount.setHeldAmount(fromAccount.getHeldAmount() + amount);
+        log.debug("Held {} on account {}", amount, fromAccount.getId());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeups.release();
+                }
+            });
+        } else {
+            wakeups.release();
+        }
+    }
+
+    /**
+     * Claims and settles one batch of the oldest PENDING transactions
+     *
+     * @return number of claimed transactions
+     */
+    public int settleBatch() {
+        List<Claimed> batch = transactionTemplate.execute(status -> jdbcTemplate.query(CLAIM_QUERY,
+            (resultSet, row) -> toClaimed(resultSet), batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batchSizeSummary.record(batch.size());
+        try {
+            recordSettled(transactionTemplate.execute(status -> settle(batch)));
+        } catch (RuntimeException exception) {
+            log.debug("Settlement of {} transactions rolled back, settling one by one: {}",
+                batch.size(), exception.getMessage());
+            for (Claimed claimed : batch) {
+                settleAlone(claimed);
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Refreshes the number of PENDING and PROCESSING transactions published as queue depth
+     */
+    @Scheduled(fixedDelayString = "${bankcards.transfer.settlement.queue-depth-interval-ms:5000}")
+    public void refreshQueueDepth() {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.query(QUEUE_DEPTH_QUERY, resultSet -> {
+            long transactions = resultSet.getLong("transactions");
+            if (TransactionsStatusType.PENDING.name().equals(resultSet.getString("status"))) {
+                pendingDepth.set(transactions);
+            } else {
+                processingDepth.set(transactions);
+            }
+        });
+    }
+
+    /**
+     * Stops the workers after their current batch
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        wakeups.release(workers.size());
+        for (Thread worker : workers) {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+            worker.interrupt();
+        }
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                if (settleBatch() == 0 && wakeups.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS)) {
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException exception) {
+                log.error("Settlement worker failed to claim transactions", exception);
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<Settled> settle(List<Claimed> batch) {
+        Map<UUID, Recipient> recipients = findRecipients(batch);
+        lockAccounts(batch, recipients);
+
+        Instant now = Instant.now();
+        List<Settled> settled = new ArrayList<>(batch.size());
+        for (Claimed claimed : batch) {
+            Recipient recipient = recipients.get(claimed.recipientCardId());
+            String rejection = rejection(recipient, now);
+            if (rejection == null) {
+                if (finish(claimed, TransactionsStatusType.COMPLETED)) {
+                    complete(claimed, recipient);
+                    settled.add(new Settled(claimed, TransactionsStatusType.COMPLETED));
+                }
+            } else if (finish(claimed, TransactionsStatusType.FAILED)) {
+                cardAccountRepository.releaseHold(claimed.senderAccountId(), claimed.amount());
+                log.info("Transaction {} failed: {}", claimed.id(), rejection);
+                settled.add(new Settled(claimed, TransactionsStatusType.FAILED));
+            }
+        }
+        return settled;
+    }
+
+    private void complete(Claimed claimed, Recipient recipient) {
+        cardAccountRepository.debitHeld(claimed.senderAccountId(), claimed.amount());
+        if (recipient.balanceSlots() == 0
+                || !stripedBalanceService.creditSlot(recipient.cardAccountId(), recipient.balanceSlots(), claimed.amount())) {
+            cardAccountRepository.credit(recipient.cardAccountId(), claimed.amount());
+        }
+
+        PaymentTransactionsEntity transaction = paymentTransactionsRepository
+            .findByIdCreatedBetween(claimed.id(), claimed.createdAt(), claimed.createdAt().plus(1, ChronoUnit.MICROS))
+            .orElseThrow(() -> new IllegalStateException("Claimed transaction " + claimed.id() + " disappeared"));
+        ledgerService.recordTransfer(cardAccountRepository.getReferenceById(claimed.senderAccountId()),
+            cardAccountRepository.getReferenceById(recipient.cardAccountId()), transaction);
+        eventPublisher.publishEvent(TransferCompletedEvent.of(transaction));
+        log.debug("Transaction {} completed: {} to account {}", claimed.id(), claimed.amount(),
+            recipient.cardAccountId());
+    }
+
+    /**
+     * Settles a transaction of a failed batch alone, fails it if that fails too.
+     * If even failing it fails, it stays PROCESSING until the next start.
+     */
+    private void settleAlone(Claimed claimed) {
+        try {
+            recordSettled(transactionTemplate.execute(status -> settle(List.of(claimed))));
+        } catch (RuntimeException exception) {
+            log.error("Settlement of transaction {} failed", claimed.id(), exception);
+            try {
+                recordSettled(transactionTemplate.execute(status -> {
+                    if (!finish(claimed, TransactionsStatusType.FAILED)) {
+                        return List.<Settled>of();
+                    }
+                    cardAccountRepository.releaseHold(claimed.senderAccountId(), claimed.amount());
+                    return List.of(new Settled(claimed, TransactionsStatusType.FAILED));
+                }));
+            } catch (RuntimeException failure) {
+                log.error("Transaction {} could not be failed and stays PROCESSING", claimed.id(), failure);
+            }
+        }
+    }
+
+    private boolean finish(Claimed claimed, TransactionsStatusType status) {
+        return jdbcTemplate.update(FINISH_QUERY, status.name(), claimed.id(),
+            claimed.createdAt().atOffset(ZoneOffset.UTC)) == 1;
+    }
+
+    private Map<UUID, Recipient> findRecipients(List<Claimed> batch) {
+        List<UUID> cardIds = batch.stream().map(Claimed::recipientCardId).distinct().toList();
+        Map<UUID, Recipient> recipients = new HashMap<>();
+        jdbcTemplate.query(RECIPIENTS_QUERY.formatted(placeholders(cardIds.size())), resultSet -> {
+            UUID cardId = resultSet.getObject("id", UUID.class);
+            recipients.put(cardId, new Recipient(
+                resultSet.getBoolean("is_active"),
+                resultSet.getTimestamp("expires_at").toInstant(),
+                resultSet.getObject("card_account_id", UUID.class),
+                resultSet.getInt("balance_slots")));
+        }, cardIds.toArray());
+        return recipients;
+    }
+
+    /**
+     * Locks the rows of all accounts of the batch in id order, so workers never deadlock on each other.
+     * Striped recipients are credited through a balance slot and their rows stay unlocked
+     */
+    private void lockAccounts(List<Claimed> batch, Map<UUID, Recipient> recipients) {
+        Set<UUID> accountIds = new TreeSet<>();
+        for (Claimed claimed : batch) {
+            accountIds.add(claimed.senderAccountId());
+            Recipient recipient = recipients.get(claimed.recipientCardId());
+            if (recipient != null && recipient.cardAccountId() != null && recipient.balanceSlots() == 0) {
+                accountIds.add(recipient.cardAccountId());
+            }
+        }
+        jdbcTemplate.query(LOCK_ACCOUNTS_QUERY.formatted(placeholders(accountIds.size())),
+            resultSet -> { }, accountIds.toArray());
+    }
+
+    private void recordSettled(List<Settled> settled) {
+        Instant now = Instant.now();
+        for (Settled transaction : settled) {
+            (transaction.status() == TransactionsStatusType.COMPLETED ? completedCounter : failedCounter).increment();
+            settlementLatency.record(Duration.between(transaction.claimed().createdAt(), now));
+        }
+    }
+
+    private static String rejection(Recipient recipient, Instant now) {
+        if (recipient == null) {
+            return "recipient card not found";
+        }
+        if (!recipient.active()) {
+            return "recipient card is blocked";
+        }
+        if (!recipient.expiresAt().isAfter(now)) {
+            return "recipient card has expired";
+        }
+        if (recipient.cardAccountId() == null) {
+            return "recipient card has no account";
+        }
+        return null;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static Claimed toClaimed(ResultSet resultSet) throws SQLException {
+        return new Claimed(
+            resultSet.getObject("id", UUID.class),
+            resultSet.getTimestamp("created_at").toInstant(),
+            resultSet.getObject("sender_card_account_id", UUID.class),
+            resultSet.getObject("recipient_account_id", UUID.class),
+            resultSet.getBigDecimal("amount").doubleValue());
+    }
+
+    private record Claimed(UUID id, Instant createdAt, UUID senderAccountId, UUID recipientCardId, Double amount) {
+    }
+
+    private record Recipient(boolean active, Instant expiresAt, UUID cardAccountId, int balanceSlots) {
+    }
+
+    private record Settled(Claimed claimed, TransactionsStatusType status) {
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.example.bankcards.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lock-striped in-memory counter of events and amounts per key over sliding time windows.
+ *
+ * Every window is a ring of fixed-size time buckets with running totals,
+ * so a check touches only the buckets that expired since the previous one.
+ * Keys are spread over stripes, each guarded by its own monitor and holding
+ * a bounded least-recently-used map of key states.
+ */
+public class SlidingWindowCounter {
+
+    private final List<Window> windows;
+
+    private final Object[] locks;
+
+    private final Map<Object, KeyState>[] states;
+
+    @SuppressWarnings("unchecked")
+    public SlidingWindowCounter(List<Window> windows, int stripes, int maxKeysPerStripe) {
+        this.windows = List.copyOf(windows);
+        this.locks = new Object[stripes];
+        this.states = new Map[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new Object();
+            states[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, KeyState> eldest) {
+                    return size() > maxKeysPerStripe;
+                }
+            };
+        }
+    }
+
+    /**
+     * Records one event with the given amount unless a window would exceed its limit
+     *
+     * @param key key the event is counted for
+     * @param amount amount of the event in minor units
+     * @param nowMillis current time in epoch milliseconds
+     * @return the first window whose limit would be exceeded, or null if the event was recorded
+     */
+    public Window tryAcquire(Object key, long amount, long nowMillis) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            KeyState state = states[stripe].computeIfAbsent(key, ignored -> new KeyState(windows));
+            for (int i = 0; i < windows.size(); i++) {
+                Window window = windows.get(i);
+                Ring ring = state.rings[i];
+                ring.advance(window, nowMillis);
+                if (window.maxCount() > 0 && ring.totalCount + 1 > window.maxCount()
+                        || window.maxAmount() > 0 && ring.totalAmount + amount > window.maxAmount()) {
+                    return window;
+                }
+            }
+            for (int i = 0; i < windows.size(); i++) {
+                state.rings[i].add(windows.get(i), nowMillis, 1, amount);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Takes back an event recorded by {@link #tryAcquire} if it is still inside its windows
+     *
+     * @param key key the event was counted for
+     * @param amount amount of the event in minor units
+     * @param acquiredAtMillis time the event was recorded at
+     * @param nowMillis current time in epoch milliseconds
+     */
+    public void release(Object key, long amount, long acquiredAtMillis, long nowMillis) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            KeyState state = states[stripe].get(key);
+            if (state == null) {
+                return;
+            }
+            for (int i = 0; i < windows.size(); i++) {
+                Window window = windows.get(i);
+                Ring ring = state.rings[i];
+                ring.advance(window, nowMillis);
+                if (acquiredAtMillis / window.bucketMillis() > ring.lastEpoch - window.buckets()) {
+                    ring.add(window, acquiredAtMillis, -1, -amount);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events counted for the key in the given window
+     *
+     * @param key counted key
+     * @param window one of the windows of this counter
+     * @param nowMillis current time in epoch milliseconds
+     * @return events inside the window
+     */
+    public long count(Object key, Window window, long nowMillis) {
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            KeyState state = states[stripe].get(key);
+            if (state == null) {
+                return 0;
+            }
+            Ring ring = state.rings[windows.indexOf(window)];
+            ring.advance(window, nowMillis);
+            return ring.totalCount;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < locks.length; i++) {
+            synchronized (locks[i]) {
+                size += states[i].size();
+            }
+        }
+        return size;
+    }
+
+    private int stripe(Object key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), locks.length);
+    }
+
+    /**
+     * Sliding window split into buckets, with limits of events and amount inside it.
+     * A limit of zero disables the corresponding check.
+     */
+    public record Window(String name, long bucketMillis, int buckets, long maxCount, long maxAmount) {
+    }
+
+    private static final class KeyState {
+
+        private final Ring[] rings;
+
+        private KeyState(List<Window> windows) {
+            this.rings = new Ring[windows.size()];
+            for (int i = 0; i < rings.length; i++) {
+                rings[i] = new Ring(windows.get(i).buckets());
+            }
+        }
+
+    }
+
+    private static final class Ring {
+
+        private final long[] counts;
+
+        private final long[] amounts;
+
+        private long totalCount;
+
+        private long totalAmount;
+
+        private long lastEpoch = Long.MIN_VALUE;
+
+        private Ring(int buckets) {
+            this.counts = new long[buckets];
+            this.amounts = new long[buckets];
+        }
+
+        /**
+         * Clears the buckets that left the window since the last call
+         */
+        private void advance(Window window, long nowMillis) {
+            long epoch = nowMillis / window.bucketMillis();
+            if (epoch <= lastEpoch) {
+                return;
+            }
+            if (lastEpoch == Long.MIN_VALUE || epoch - lastEpoch >= counts.length) {
+                Arrays.fill(counts, 0);
+                Arrays.fill(amounts, 0);
+                totalCount = 0;
+                totalAmount = 0;
+            } else {
+                for (long e = lastEpoch + 1; e <= epoch; e++) {
+                    int index = (int) (e % counts.length);
+                    totalCount -= counts[index];
+                    totalAmount -= amounts[index];
+                    counts[index] = 0;
+                    amounts[index] = 0;
+                }
+            }
+            lastEpoch = epoch;
+        }
+
+        private void add(Window window, long atMillis, long count, long amount) {
+            int index = (int) ((atMillis / window.bucketMillis()) % counts.length);
+            counts[index] += count;
+            amounts[index] += amount;
+            totalCount += count;
+            totalAmount += amount;
+        }
+
+    }
+
+}
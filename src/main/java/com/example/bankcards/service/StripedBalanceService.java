@@ -0,0 +1,135 @@
+package com.example.bankcards.service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.exception.requestException.BalanceSlotsOutOfRangeException;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.repository.CardAccountBalanceSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for striped balances of hot card accounts.
+ *
+ * An account with balance slots keeps part of its balance in
+ * card_account_balance_slot rows. Credits go to a random slot with a single
+ * atomic UPDATE, so concurrent credits lock different rows instead of
+ * queueing on the card_account row. Debits first collect all slots into
+ * current_balance, balance reads add the slots to current_balance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StripedBalanceService {
+
+    public static final int MAX_BALANCE_SLOTS = 64;
+
+    private final CardAccountBalanceSlotRepository slotRepository;
+
+    /**
+     * Checks if credits of the account are spread over slots
+     *
+     * @param cardAccount card account
+     * @return true if the account has balance slots
+     */
+    public boolean isStriped(CardAccountEntity cardAccount) {
+        return cardAccount.getBalanceSlots() > 0;
+    }
+
+    /**
+     * Credits a striped account by adding the amount to one random slot.
+     * The card_account row itself is neither read nor locked.
+     *
+     * @param cardAccount striped card account
+     * @param amount credited amount
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void credit(CardAccountEntity cardAccount, Double amount) {
+        if (!creditSlot(cardAccount.getId(), cardAccount.getBalanceSlots(), amount)) {
+            log.warn("Balance slot missing for account {}, crediting main balance", cardAccount.getId());
+            cardAccount.setCurrentBalance(cardAccount.getCurrentBalance() + amount);
+        }
+    }
+
+    /**
+     * Credits one random slot of a striped account known only by its id
+     *
+     * @param cardAccountId striped card account id
+     * @param balanceSlots number of slots of the account
+     * @param amount credited amount
+     * @return false if the chosen slot does not exist and nothing was credited
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public boolean creditSlot(UUID cardAccountId, int balanceSlots, Double amount) {
+        int slot = ThreadLocalRandom.current().nextInt(balanceSlots);
+        if (slotRepository.credit(cardAccountId, slot, amount) == 0) {
+            return false;
+        }
+        log.trace("Credited {} to slot {} of account {}", amount, slot, cardAccountId);
+        return true;
+    }
+
+    /**
+     * Moves the balance of all slots into current_balance of the account.
+     * Locks the slot rows until the end of the transaction,
+     * must be called before a debit is validated
+     *
+     * @param cardAccount striped card account
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void collect(CardAccountEntity cardAccount) {
+        BigDecimal collected = slotRepository.collect(cardAccount.getId());
+        if (collected.signum() != 0) {
+            cardAccount.setCurrentBalance(BigDecimal.valueOf(cardAccount.getCurrentBalance())
+                .add(collected)
+                .doubleValue());
+        }
+        log.debug("Collected {} from balance slots of account {}", collected, cardAccount.getId());
+    }
+
+    /**
+     * Calculates the full balance of an account including its slots
+     *
+     * @param cardAccount card account
+     * @return current_balance plus the sum of all slots
+     */
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public Double totalBalance(CardAccountEntity cardAccount) {
+        if (!isStriped(cardAccount)) {
+            return cardAccount.getCurrentBalance();
+        }
+        return BigDecimal.valueOf(cardAccount.getCurrentBalance())
+            .add(slotRepository.sumBalance(cardAccount.getId()))
+            .doubleValue();
+    }
+
+    /**
+     * Changes the number of balance slots of an account.
+     * Existing slot balances are collected into current_balance first,
+     * zero slots switches the account back to a single balance row
+     *
+     * @param cardAccount card account
+     * @param slots new number of slots, from 0 to MAX_BALANCE_SLOTS
+     * @throws BalanceSlotsOutOfRangeException if slots is out of range
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void configureSlots(CardAccountEntity cardAccount, int slots) {
+        if (slots < 0 || slots > MAX_BALANCE_SLOTS) {
+            throw new BalanceSlotsOutOfRangeException(slots, MAX_BALANCE_SLOTS);
+        }
+        log.info("Changing balance slots of account {} from {} to {}",
+            cardAccount.getId(), cardAccount.getBalanceSlots(), slots);
+
+        collect(cardAccount);
+        slotRepository.deleteSlotsFrom(cardAccount.getId(), slots);
+        if (slots > 0) {
+            slotRepository.createSlots(cardAccount.getId(), slots);
+        }
+        cardAccount.setBalanceSlots(slots);
+    }
+
+}
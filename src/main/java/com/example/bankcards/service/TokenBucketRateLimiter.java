@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket rate limiter with lock-free state per key.
+ *
+ * A bucket is kept as the single time at which it would be full again
+ * (the generic cell rate algorithm), so taking a token is one compare-and-set
+ * on an AtomicLong without allocation. Buckets that refilled completely carry
+ * no information and are dropped once the number of keys exceeds its bound.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long nanosPerToken;
+
+    private final long burstNanos;
+
+    private final int maxKeys;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param tokensPerSecond rate the bucket refills with
+     * @param burst capacity of the bucket
+     * @param maxKeys number of keys kept before full buckets are dropped
+     */
+    public TokenBucketRateLimiter(double tokensPerSecond, int burst, int maxKeys) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate and burst of a token bucket must be positive");
+        }
+        this.nanosPerToken = Math.max(1, Math.round(1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the bucket of the key
+     *
+     * @param key limited key
+     * @param nowNanos current value of a monotonic clock in nanoseconds
+     * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            evictIfFull(nowNanos);
+            bucket = buckets.computeIfAbsent(key, ignored -> new AtomicLong(nowNanos));
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long nextFullAt = Math.max(fullAt, nowNanos) + nanosPerToken;
+            long waitNanos = nextFullAt - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(fullAt, nextFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops full buckets when the key bound is reached.
+     * If every bucket is in use, arbitrary ones are dropped, which
+     * at most hands their keys one extra burst.
+     */
+    private void evictIfFull(long nowNanos) {
+        if (buckets.size() < maxKeys || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() <= nowNanos);
+            Iterator<AtomicLong> iterator = buckets.values().iterator();
+            while (buckets.size() >= maxKeys && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+}
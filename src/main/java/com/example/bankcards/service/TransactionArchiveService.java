@@ -0,0 +1,273 @@
+package com.example.bankcards.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.bankcards.archive.ArchivedTransaction;
+import com.example.bankcards.archive.TransactionSegmentReader;
+import com.example.bankcards.archive.TransactionSegmentWriter;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service moving detached monthly partitions of payment_transactions
+ * into compressed segment files and serving reads from them.
+ *
+ * Every partition becomes one segment named after its month. A segment is
+ * written to a temporary file, forced to disk, moved in place and verified
+ * before its table is dropped, so a crash at any step leaves either the
+ * table or a complete segment. The net amounts of the partition are moved
+ * to payment_transactions_archived_balance together with the drop.
+ * Archived months are contiguous and older than every month still in
+ * the database.
+ *
+ * Segments are the only copy of archived rows, so the directory must be
+ * an absolute path on a persistent volume. Without one, partitions are
+ * left detached in the archive schema. Segments are read only by instances
+ * mounting the directory, one instance owns the archive and every instance
+ * serving history before the boundary must share its volume.
+ */
+@Service
+@Slf4j
+public class TransactionArchiveService implements DisposableBean {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("payment_transactions_p(\\d{6})\\.seg");
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("payment_transactions_p(\\d{6})");
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final PaymentTransactionsRepository paymentTransactionsRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path directory;
+
+    private final String archiveSchema;
+
+    private final int blockRows;
+
+    private final ConcurrentSkipListMap<YearMonth, TransactionSegmentReader> segments = new ConcurrentSkipListMap<>();
+
+    public TransactionArchiveService(PaymentTransactionsRepository paymentTransactionsRepository,
+        DataSource dataSource, PlatformTransactionManager transactionManager,
+        @Value("${bankcards.transactions.archive.directory:}") String directory,
+        @Value("${bankcards.transactions.partitioning.archive-schema:payment_archive}") String archiveSchema,
+        @Value("${bankcards.transactions.archive.block-rows:1024}") int blockRows) throws IOException {
+        this.paymentTransactionsRepository = paymentTransactionsRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.archiveSchema = archiveSchema;
+        this.blockRows = blockRows;
+        openSegments();
+    }
+
+    /**
+     * Checks if segments can be written, the directory must be an absolute path
+     *
+     * @return true if a persistent archive directory is configured
+     */
+    public boolean isConfigured() {
+        return directory != null && directory.isAbsolute();
+    }
+
+    /**
+     * Archives every detached partition found in the archive schema, oldest first
+     *
+     * @return number of archived partitions
+     * @throws IOException if a segment cannot be written
+     * @throws IllegalStateException if no absolute archive directory is configured
+     */
+    public int archiveDetachedPartitions() throws IOException {
+        if (!isConfigured()) {
+            throw new IllegalStateException(
+                "bankcards.transactions.archive.directory must be an absolute path on a persistent volume, got: "
+                    + directory);
+        }
+        List<String> partitions = paymentTransactionsRepository.findDetachedPartitions(archiveSchema);
+        for (String partition : partitions) {
+            archivePartition(partition);
+        }
+        return partitions.size();
+    }
+
+    /**
+     * Finds archived transactions sent from the account, newest first
+     *
+     * @param accountId sender card account id
+     * @param from inclusive start of the range
+     * @param to exclusive end of the range
+     * @param limit maximum number of rows
+     * @return archived rows inside the range
+     */
+    public List<ArchivedTransaction> findSent(UUID accountId, Instant from, Instant to, int limit) {
+        YearMonth fromMonth = YearMonth.from(from.atZone(ZoneOffset.UTC));
+        YearMonth toMonth = YearMonth.from(to.atZone(ZoneOffset.UTC));
+
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (Map.Entry<YearMonth, TransactionSegmentReader> segment
+                : segments.subMap(fromMonth, true, toMonth, true).descendingMap().entrySet()) {
+            List<ArchivedTransaction> rows = new ArrayList<>(segment.getValue().findSent(accountId, from, to));
+            rows.sort((left, right) -> right.createdAt().compareTo(left.createdAt()));
+            for (ArchivedTransaction row : rows) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(row);
+            }
+        }
+        log.debug("Found {} archived transactions of account {} in {} - {}", result.size(), accountId, from, to);
+        return result;
+    }
+
+    /**
+     * Returns the end of the newest archived month, rows before it are served from segments
+     *
+     * @return archive boundary or null if nothing is archived
+     */
+    public Instant archivedUntil() {
+        Map.Entry<YearMonth, TransactionSegmentReader> newest = segments.lastEntry();
+        return newest == null ? null : newest.getKey().plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (TransactionSegmentReader reader : segments.values()) {
+            reader.close();
+        }
+        segments.clear();
+    }
+
+    private void archivePartition(String partition) throws IOException {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("unexpected partition name: " + partition);
+        }
+        YearMonth month = YearMonth.parse(matcher.group(1), MONTH_FORMAT);
+
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(partition + ".seg.tmp");
+        Path segment = directory.resolve(partition + ".seg");
+
+        long started = System.nanoTime();
+        long written;
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(temporary, blockRows)) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(exportQuery(partition), resultSet -> {
+                try {
+                    writer.append(new ArchivedTransaction(
+                        resultSet.getObject("id", UUID.class),
+                        resultSet.getObject("sender_card_account_id", UUID.class),
+                        resultSet.getObject("recipient_account_id", UUID.class),
+                        resultSet.getString("comment"),
+                        resultSet.getLong("amount_cents"),
+                        resultSet.getString("type"),
+                        resultSet.getString("status"),
+                        resultSet.getTimestamp("created_at").toInstant()));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }));
+            written = writer.rowCount();
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        Files.move(temporary, segment, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        TransactionSegmentReader reader = TransactionSegmentReader.open(segment);
+        if (reader.rowCount() != written) {
+            reader.close();
+            throw new IllegalStateException(String.format(
+                "segment %s holds %d rows instead of %d", segment, reader.rowCount(), written));
+        }
+        TransactionSegmentReader replaced = segments.put(month, reader);
+        if (replaced != null) {
+            replaced.close();
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(archivedBalanceQuery(partition));
+            jdbcTemplate.execute(String.format("DROP TABLE \"%s\".\"%s\"", archiveSchema, partition));
+        });
+        log.info("Archived partition {}: {} rows, {} bytes in {} ms", partition, written, Files.size(segment),
+            (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private String exportQuery(String partition) {
+        return String.format("""
+            SELECT t.id, t.sender_card_account_id, t.recipient_account_id, t.comment,
+                   (t.amount * 100)::bigint AS amount_cents, tt.type, st.status, t.created_at
+            FROM "%s"."%s" t
+            JOIN transactions_type tt ON tt.id = t.type_id
+            JOIN status_transactions st ON st.id = t.status_id
+            ORDER BY t.sender_card_account_id, t.created_at
+            """, archiveSchema, partition);
+    }
+
+    /**
+     * Adds the net amount of every account in the partition to payment_transactions_archived_balance,
+     * runs in the transaction dropping the partition so it is applied exactly once
+     */
+    private String archivedBalanceQuery(String partition) {
+        return String.format("""
+            INSERT INTO payment_transactions_archived_balance (card_account_id, amount, updated_at)
+            SELECT net.account_id, SUM(net.amount), now()
+            FROM (
+                SELECT t.sender_card_account_id AS account_id, -t.amount AS amount
+                FROM "%1$s"."%2$s" t
+                JOIN status_transactions st ON st.id = t.status_id AND st.status = 'COMPLETED'
+                UNION ALL
+                SELECT a.id, t.amount
+                FROM "%1$s"."%2$s" t
+                JOIN status_transactions st ON st.id = t.status_id AND st.status = 'COMPLETED'
+                JOIN card_account a ON a.card_id = t.recipient_account_id
+            ) net
+            GROUP BY net.account_id
+            ON CONFLICT (card_account_id) DO UPDATE
+            SET amount = payment_transactions_archived_balance.amount + EXCLUDED.amount,
+                updated_at = EXCLUDED.updated_at
+            """, archiveSchema, partition);
+    }
+
+    private void openSegments() throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.put(YearMonth.parse(matcher.group(1), MONTH_FORMAT), TransactionSegmentReader.open(file));
+                }
+            }
+        }
+        log.info("Opened {} transaction archive segments in {}", segments.size(), directory.toAbsolutePath());
+    }
+
+}
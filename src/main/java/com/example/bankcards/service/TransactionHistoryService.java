@@ -0,0 +1,136 @@
+package com.example.bankcards.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.archive.ArchivedTransaction;
+import com.example.bankcards.crypto.MaskedCardNumber;
+import com.example.bankcards.dto.request.TransactionHistoryRequest;
+import com.example.bankcards.dto.response.CardStatusResponse;
+import com.example.bankcards.dto.response.TransactionHistoryResponse;
+import com.example.bankcards.dto.response.TransactionStatusResponse;
+import com.example.bankcards.exception.bankCardException.BankCardNotFoundException;
+import com.example.bankcards.exception.requestException.TimeRangeInvalidException;
+import com.example.bankcards.exception.transactionException.TransactionNotFoundException;
+import com.example.bankcards.facade.SecurityFacade;
+import com.example.bankcards.mapper.PaymentTransactionsMapperImpl;
+import com.example.bankcards.model.projection.CardStatusView;
+import com.example.bankcards.model.projection.TransactionStatusView;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for the outgoing transaction history of a card and the status of single transactions.
+ *
+ * The part of the requested range after the archive boundary is read from
+ * payment_transactions with partition pruning predicates, the part before
+ * it from the memory-mapped archive segments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionHistoryService {
+
+    /**
+     * Margin around the creation time given by the client, which may have lost precision
+     */
+    private static final Duration STATUS_LOOKUP_MARGIN = Duration.ofSeconds(1);
+
+    private final SecurityFacade securityFacade;
+
+    private final ValidationServiceImpl validationService;
+
+    private final PaymentTransactionsRepository paymentTransactionsRepository;
+
+    private final TransactionArchiveService transactionArchiveService;
+
+    private final PaymentTransactionsMapperImpl paymentTransactionsMapper;
+
+    /**
+     * Returns outgoing transactions of a card of the current user, newest first
+     *
+     * @param request card number, time range and limit
+     * @return transactions from the database and the archive
+     * @throws UserNotActiveException if current user account is suspended
+     * @throws BankCardNotFoundException if the card does not exist or belongs to another user
+     * @throws TimeRangeInvalidException if the range is empty
+     */
+    @Transactional(readOnly = true)
+    public TransactionHistoryResponse findSentHistory(TransactionHistoryRequest request) {
+        log.info("Reading transaction history of card: {} from {} to {}",
+            MaskedCardNumber.of(request.getCardNumber()), request.getFrom(), request.getTo());
+
+        if (!request.getFrom().isBefore(request.getTo())) {
+            throw new TimeRangeInvalidException(request.getFrom(), request.getTo());
+        }
+
+        validationService.validateCurrentUserIsActive();
+        log.debug("User activity validation passed");
+
+        CardStatusView cardStatus = securityFacade.findCardStatusByNumber(request.getCardNumber());
+        if (!securityFacade.isOwnedByCurrentUser(cardStatus)) {
+            log.error("Card {} does not belong to the current user", MaskedCardNumber.of(request.getCardNumber()));
+            throw new BankCardNotFoundException(request.getCardNumber());
+        }
+        UUID accountId = cardStatus.getCardAccountId();
+
+        int limit = request.getLimit();
+        Instant archivedUntil = transactionArchiveService.archivedUntil();
+        List<CardStatusResponse.PaymentTransaction> transactions = new ArrayList<>();
+
+        if (archivedUntil == null || request.getTo().isAfter(archivedUntil)) {
+            Instant from = archivedUntil == null || request.getFrom().isAfter(archivedUntil)
+                ? request.getFrom()
+                : archivedUntil;
+            paymentTransactionsRepository.findSentBetween(accountId, from, request.getTo(), PageRequest.of(0, limit))
+                .forEach(transaction -> transactions.add(paymentTransactionsMapper.toDtoPaymentTransaction(transaction)));
+            log.debug("Read {} transactions from the database", transactions.size());
+        }
+
+        int archived = 0;
+        if (archivedUntil != null && request.getFrom().isBefore(archivedUntil) && transactions.size() < limit) {
+            Instant to = request.getTo().isBefore(archivedUntil) ? request.getTo() : archivedUntil;
+            for (ArchivedTransaction transaction : transactionArchiveService.findSent(accountId, request.getFrom(), to,
+                    limit - transactions.size())) {
+                transactions.add(paymentTransactionsMapper.toDtoPaymentTransaction(transaction));
+                archived++;
+            }
+            log.debug("Read {} transactions from the archive", archived);
+        }
+
+        return TransactionHistoryResponse.builder()
+            .transactions(transactions)
+            .archived(archived)
+            .archivedUntil(archivedUntil)
+            .build();
+    }
+
+    /**
+     * Returns the current status of a transaction sent from a card of the current user,
+     * used to follow PAYMENT and WITHDRAWAL transactions through settlement.
+     * The creation time returned with the transaction bounds created_at,
+     * so only the partition of its month is probed
+     *
+     * @param transactionId transaction id
+     * @param createdAt creation time of the transaction
+     * @return transaction status
+     * @throws TransactionNotFoundException if the transaction does not exist or was sent by another user
+     */
+    @Transactional(readOnly = true)
+    public TransactionStatusResponse findStatus(UUID transactionId, Instant createdAt) {
+        log.debug("Reading status of transaction: {} created at {}", transactionId, createdAt);
+        TransactionStatusView transactionStatus = paymentTransactionsRepository
+            .findStatusViewByIdAndLogin(transactionId, securityFacade.getLogin(),
+                createdAt.minus(STATUS_LOOKUP_MARGIN), createdAt.plus(STATUS_LOOKUP_MARGIN))
+            .orElseThrow(() -> new TransactionNotFoundException(transactionId));
+        log.debug("Transaction {} is {}", transactionId, transactionStatus.getStatus());
+        return paymentTransactionsMapper.toDtoTransactionStatus(transactionStatus);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.example.bankcards.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.dto.response.DailyTransactionReportResponse;
+import com.example.bankcards.exception.requestException.ReportRangeTooLongException;
+import com.example.bankcards.exception.requestException.TimeRangeInvalidException;
+import com.example.bankcards.repository.TransactionDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service for daily transaction volume reports.
+ *
+ * Volumes are kept in transaction_daily_rollup, one row per day, type and
+ * status. New transactions are added by rolling up the range between the
+ * stored watermark and a cutoff, so every run only reads transactions
+ * created since the previous one and a report reads at most one row per
+ * day, type and status whatever the size of payment_transactions.
+ * The watermark never passes a PENDING or PROCESSING transaction, since
+ * a rolled up row is never moved to the status settlement gives it later.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionReportService {
+
+    public static final int MAX_REPORT_DAYS = 366;
+
+    private final TransactionDailyRollupRepository rollupRepository;
+
+    /**
+     * Adds transactions created between the watermark and the cutoff to the rollups.
+     * The watermark row is locked, so concurrent runs never count a transaction twice.
+     * The cutoff is moved back to the oldest transaction still awaiting settlement
+     *
+     * @param cutoff transactions created before this time are rolled up
+     * @return number of rollup rows inserted or updated
+     */
+    @Transactional
+    public int rollUp(Instant cutoff) {
+        Instant rolledUpTo = rollupRepository.lockRolledUpTo();
+        if (!cutoff.isAfter(rolledUpTo)) {
+            log.debug("Transactions are already rolled up to {}", rolledUpTo);
+            return 0;
+        }
+
+        Instant rollUpTo = cutoff;
+        Instant oldestUnsettled = rollupRepository.findOldestUnsettled(rolledUpTo, cutoff);
+        if (oldestUnsettled != null) {
+            log.debug("Rollup stops before unsettled transaction created at {}", oldestUnsettled);
+            rollUpTo = oldestUnsettled;
+        }
+        if (!rollUpTo.isAfter(rolledUpTo)) {
+            return 0;
+        }
+
+        int rows = rollupRepository.rollUp(rolledUpTo, rollUpTo);
+        rollupRepository.advanceRolledUpTo(rollUpTo);
+        log.info("Rolled up transactions from {} to {} into {} rows", rolledUpTo, rollUpTo, rows);
+        return rows;
+    }
+
+    /**
+     * Returns daily volumes by type and status for a range of days
+     *
+     * @param from first day, UTC
+     * @param to last day, UTC, inclusive
+     * @return volumes read from the rollups
+     * @throws TimeRangeInvalidException if from is after to
+     * @throws ReportRangeTooLongException if the range is longer than MAX_REPORT_DAYS
+     */
+    @Transactional(readOnly = true)
+    public DailyTransactionReportResponse dailyReport(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new TimeRangeInvalidException(from, to);
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_REPORT_DAYS) {
+            throw new ReportRangeTooLongException(days, MAX_REPORT_DAYS);
+        }
+
+        List<DailyTransactionReportResponse.DailyVolume> volumes = rollupRepository.findDays(from, to).stream()
+            .map(rollup -> DailyTransactionReportResponse.DailyVolume.builder()
+                .day(rollup.getDay())
+                .type(rollup.getTransactionType())
+                .status(rollup.getTransactionStatus())
+                .count(rollup.getTransactionCount())
+                .amount(rollup.getAmount())
+                .build())
+            .toList();
+        log.debug("Daily report from {} to {} has {} rows", from, to, volumes.size());
+
+        return DailyTransactionReportResponse.builder()
+            .from(from)
+            .to(to)
+            .rolledUpTo(rollupRepository.findRolledUpTo())
+            .volumes(volumes)
+            .build();
+    }
+
+}
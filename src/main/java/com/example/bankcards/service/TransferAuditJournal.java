@@ -0,0 +1,120 @@
+package com.example.bankcards.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HexFormat;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.example.bankcards.audit.AuditJournalWriter;
+import com.example.bankcards.audit.AuditRecord;
+import com.example.bankcards.event.TransferCompletedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service appending committed transfers to the hash chained audit journal.
+ *
+ * Transfers are appended after their transaction commits, so rolled back
+ * transfers and rolled back group commit batches never reach the journal.
+ * Appends land in the page cache of the memory-mapped segment at once and
+ * are forced to disk in groups, every flush-records appends and every
+ * flush-interval-ms, which bounds what a power loss can take. A crash of
+ * the process alone loses nothing that was appended. The hash of the last
+ * record is logged at every segment rotation and on shutdown, to be kept as
+ * an anchor outside the journal. A failed append is logged and counted but
+ * never fails the transfer, which is already committed.
+ */
+@Service
+@Slf4j
+public class TransferAuditJournal implements DisposableBean {
+
+    private final AuditJournalWriter writer;
+
+    private final Counter appendedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer flushTimer;
+
+    public TransferAuditJournal(MeterRegistry meterRegistry,
+        @Value("${bankcards.audit.journal.enabled:false}") boolean enabled,
+        @Value("${bankcards.audit.journal.directory:audit}") String directory,
+        @Value("${bankcards.audit.journal.segment-records:262144}") int segmentRecords,
+        @Value("${bankcards.audit.journal.flush-records:256}") int flushRecords) throws IOException {
+        this.writer = enabled ? new AuditJournalWriter(Path.of(directory), segmentRecords, flushRecords) : null;
+        this.appendedCounter = Counter.builder("bankcards.audit.journal.records")
+            .tag("result", "appended")
+            .description("Number of transfers appended to the audit journal")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("bankcards.audit.journal.records")
+            .tag("result", "failed")
+            .description("Number of transfers appended to the audit journal")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("bankcards.audit.journal.flush")
+            .description("Time spent forcing audit journal records to disk")
+            .register(meterRegistry);
+        if (writer != null) {
+            log.info("Audit journal opened in {} {}", directory, anchor());
+        }
+    }
+
+    /**
+     * Appends a transfer after its transaction committed
+     *
+     * @param event recorded transfer
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            int rotations = writer.rotations();
+            AuditRecord record = writer.append(event.transactionId(), event.senderAccountId(), event.recipientId(),
+                Math.round(event.amount() * 100), event.createdAt(), Instant.now());
+            appendedCounter.increment();
+            log.trace("Transaction {} appended to the audit journal as {}", event.transactionId(), record.sequence());
+            if (writer.rotations() != rotations) {
+                log.info("Audit journal rotated {}", anchor());
+            }
+        } catch (IOException | RuntimeException exception) {
+            failedCounter.increment();
+            log.error("Transaction {} could not be appended to the audit journal", event.transactionId(), exception);
+        }
+    }
+
+    /**
+     * Forces the records appended since the last flush to disk
+     */
+    @Scheduled(fixedDelayString = "${bankcards.audit.journal.flush-interval-ms:100}")
+    public void flush() {
+        if (writer != null) {
+            flushTimer.record(writer::flush);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (writer != null) {
+            writer.close();
+            log.info("Audit journal closed {}", anchor());
+        }
+    }
+
+    /**
+     * Reads the last sequence and its hash under the writer lock, so both belong to the same record
+     */
+    private String anchor() {
+        synchronized (writer) {
+            return "at sequence " + writer.lastSequence() + ", last hash " + HexFormat.of().formatHex(writer.lastHash());
+        }
+    }
+
+}
@@ -1,21 +1,30 @@
 package com.example.bankcards.service;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.bankcards.crypto.MaskedCardNumber;
 import com.example.bankcards.dto.request.TransferRequest;
 import com.example.bankcards.dto.response.CreateTransactionResponse;
+import com.example.bankcards.event.TransferCompletedEvent;
 import com.example.bankcards.facade.SecurityFacade;
 import com.example.bankcards.mapper.PaymentTransactionsMapperImpl;
+import com.example.bankcards.metrics.TransferMetrics;
 import com.example.bankcards.model.entity.BankCardsEntity;
 import com.example.bankcards.model.entity.CardAccountEntity;
 import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.projection.AccountBalanceView;
 import com.example.bankcards.repository.CardAccountRepository;
 import com.example.bankcards.repository.PaymentTransactionsRepository;
+import com.example.bankcards.service.interfaces.TransferParticipant;
 import com.example.bankcards.service.interfaces.TransferService;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,12 +47,33 @@ public class TransferServiceImpl implements TransferService {
 
     private final ValidationServiceImpl validationService;
 
+    private final TransferMetrics transferMetrics;
+
+    private final StripedBalanceService stripedBalanceService;
+
+    private final LedgerService ledgerService;
+
+    private final TransferVelocityLimiter velocityLimiter;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final SettlementService settlementService;
+
     /**
      * Processes a money transfer between two payment cards.
      * 
      * Performs comprehensive validation including user activity,
      * card availability, sufficient funds, and amount validation.
-     * Updates balances and creates audit transaction record.
+     * Velocity limits of the user are checked before any database work,
+     * those of the sender account right after its card is resolved.
+     * Both account rows are locked before the funds check, so settlement
+     * cannot change them between the check and the balance update.
+     * Updates balances and creates audit transaction record
+     * with matching debit and credit ledger entries.
+     * The transfer is appended to the audit journal after commit.
+     * PAYMENT and WITHDRAWAL transactions are only accepted: the amount is held
+     * and the transaction recorded as PENDING, the settlement workers complete it.
+     * Duration of every stage and the outcome are published to Micrometer.
      * 
      * @param transferRequest transfer details including cards and amount
      * @return response with transaction details
@@ -51,17 +81,57 @@ public class TransferServiceImpl implements TransferService {
      * @throws BankCardNotAvailableException if cards are unavailable
      * @throws BankCardNotEnoughFundsException if insufficient balance
      * @throws UserNotActiveException if user account is suspended
+     * @throws TransferVelocityExceededException if a velocity limit is exceeded
      */
     @Override
     @Transactional(propagation = Propagation.REQUIRED)
     public CreateTransactionResponse transfer(TransferRequest transferRequest) throws IllegalAccessException {
+        transferMetrics.recordCommitStage();
+        try {
+            CreateTransactionResponse response = processTransfer(transferRequest);
+            transferMetrics.recordOutcome(null);
+            return response;
+        } catch (IllegalAccessException | RuntimeException exception) {
+            transferMetrics.recordOutcome(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Processes a money transfer together with work that must commit with it.
+     * 
+     * @param transferRequest transfer details including cards and amount
+     * @param participant steps run before and after the transfer in its transaction
+     * @return response with transaction details
+     * @throws IllegalAccessException if security validation fails
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED)
+    public CreateTransactionResponse transfer(TransferRequest transferRequest, TransferParticipant participant)
+        throws IllegalAccessException {
+        participant.beforeTransfer();
+        CreateTransactionResponse response = transfer(transferRequest);
+        participant.afterTransfer(response);
+        return response;
+    }
+
+    /**
+     * Runs the transfer stages and records the duration of each of them.
+     *
+     * @param transferRequest transfer details including cards and amount
+     * @return response with transaction details
+     * @throws IllegalAccessException if security validation fails
+     */
+    private CreateTransactionResponse processTransfer(TransferRequest transferRequest) throws IllegalAccessException {
         log.info("Processing transfer from {} to {} for amount: {}", 
-            transferRequest.getFromNumberCard() != null ? 
-                "****" + transferRequest.getFromNumberCard().substring(Math.max(0, transferRequest.getFromNumberCard().length() - 4)) : "null",
-            transferRequest.getToNumberCard() != null ? 
-                "****" + transferRequest.getToNumberCard().substring(Math.max(0, transferRequest.getToNumberCard().length() - 4)) : "null",
+            MaskedCardNumber.of(transferRequest.getFromNumberCard()),
+            MaskedCardNumber.of(transferRequest.getToNumberCard()),
             transferRequest.getAmount());
         
+        Timer.Sample validationSample = transferMetrics.startStage();
+        velocityLimiter.acquireForUser(securityFacade.getLogin(), transferRequest.getAmount());
+        log.debug("User velocity limits check passed");
+
         validationService.validateCurrentUserIsActive();
         log.debug("User activity validation passed");
 
@@ -70,44 +140,134 @@ public class TransferServiceImpl implements TransferService {
 
         validationService.validateAmount(transferRequest.getAmount());
         log.debug("Amount validation passed: {}", transferRequest.getAmount());
+        transferMetrics.stopStage(validationSample, TransferMetrics.STAGE_VALIDATION);
     
+        Timer.Sample resolutionSample = transferMetrics.startStage();
         BankCardsEntity fromCard = securityFacade.findBankCardByNumber(transferRequest.getFromNumberCard());
         CardAccountEntity fromAccount = fromCard.getCardAccountEntity();
         log.debug("Sender card found, account ID: {}, balance: {}", 
             fromAccount.getId(), fromAccount.getCurrentBalance());
 
+        velocityLimiter.acquireForAccount(fromAccount.getId(), transferRequest.getAmount());
+        log.debug("Account velocity limits check passed");
+
         BankCardsEntity toCard = securityFacade.findBankCardByNumber(transferRequest.getToNumberCard());
         CardAccountEntity toAccount = toCard.getCardAccountEntity();
         log.debug("Recipient card found, account ID: {}, balance: {}", 
             toAccount.getId(), toAccount.getCurrentBalance());
+        transferMetrics.stopStage(resolutionSample, TransferMetrics.STAGE_CARD_RESOLUTION);
+
+        Timer.Sample balanceSample = transferMetrics.startStage();
+        lockAccounts(fromAccount, toAccount);
+        log.debug("Account rows locked, sender balance: {}, held: {}",
+            fromAccount.getCurrentBalance(), fromAccount.getHeldAmount());
+
+        if (stripedBalanceService.isStriped(fromAccount)) {
+            stripedBalanceService.collect(fromAccount);
+            log.debug("Balance slots collected for sender account: {}", fromAccount.getId());
+        }
 
         validationService.validateSufficientFunds(fromAccount, transferRequest.getAmount());
         log.debug("Sufficient funds validation passed");
 
+        if (settlementService.isDeferred(transferRequest.getTransactionsType())) {
+            return acceptForSettlement(fromCard, toCard, transferRequest, balanceSample);
+        }
+
         performTransfer(fromAccount, toAccount, transferRequest.getAmount());
         log.info("Balances updated - From: {} -> {}, To: {} -> {}", 
             fromAccount.getCurrentBalance() + transferRequest.getAmount(), fromAccount.getCurrentBalance(),
             toAccount.getCurrentBalance() - transferRequest.getAmount(), toAccount.getCurrentBalance());
 
+        saveUpdatedAccounts(fromAccount, toAccount);
+        log.debug("Account updates persisted");
+        transferMetrics.stopStage(balanceSample, TransferMetrics.STAGE_BALANCE_UPDATE);
+
+        Timer.Sample insertSample = transferMetrics.startStage();
         PaymentTransactionsEntity transaction = createTransaction(
             fromAccount,
             toCard.getId(),
-            transferRequest
+            transferRequest,
+            TransactionsStatusType.COMPLETED
         );
         log.info("Transaction recorded with ID: {}", transaction.getId());
 
+        ledgerService.recordTransfer(fromAccount, toAccount, transaction);
+        log.debug("Ledger entries recorded");
+
         updateCardTransactions(fromCard, toCard, transaction);
         log.debug("Transaction linked to card accounts");
+        transferMetrics.stopStage(insertSample, TransferMetrics.STAGE_TRANSACTION_INSERT);
 
-        saveUpdatedAccounts(fromAccount, toAccount);
-        log.debug("Account updates persisted");
+        eventPublisher.publishEvent(TransferCompletedEvent.of(transaction));
         
         log.info("Transfer completed successfully. Transaction ID: {}", transaction.getId());
         return paymentTransactionsMapper.toDto(transaction);
     }
 
+    /**
+     * Holds the amount on the sender account and records a PENDING transaction
+     * left to the settlement workers. Balances and ledger stay unchanged until settlement.
+     *
+     * @param fromCard sender's bank card
+     * @param toCard recipient's bank card
+     * @param transferRequest transfer details including cards and amount
+     * @param balanceSample running sample of the balance update stage
+     * @return response with the PENDING transaction
+     */
+    private CreateTransactionResponse acceptForSettlement(BankCardsEntity fromCard, BankCardsEntity toCard,
+        TransferRequest transferRequest, Timer.Sample balanceSample) {
+        CardAccountEntity fromAccount = fromCard.getCardAccountEntity();
+        settlementService.hold(fromAccount, transferRequest.getAmount());
+        log.info("Held {} on account {}, held in total: {}",
+            transferRequest.getAmount(), fromAccount.getId(), fromAccount.getHeldAmount());
+        transferMetrics.stopStage(balanceSample, TransferMetrics.STAGE_BALANCE_UPDATE);
+
+        Timer.Sample insertSample = transferMetrics.startStage();
+        PaymentTransactionsEntity transaction = createTransaction(
+            fromAccount,
+            toCard.getId(),
+            transferRequest,
+            TransactionsStatusType.PENDING
+        );
+        updateCardTransactions(fromCard, toCard, transaction);
+        transferMetrics.stopStage(insertSample, TransferMetrics.STAGE_TRANSACTION_INSERT);
+
+        log.info("{} accepted for settlement. Transaction ID: {}",
+            transferRequest.getTransactionsType(), transaction.getId());
+        return paymentTransactionsMapper.toDto(transaction);
+    }
+
+    /**
+     * Locks the rows of the accounts whose balances the transfer overwrites and
+     * replaces the balances and held funds of the entities with the committed values.
+     * The entities were read without a lock, settlement may have debited, credited
+     * or held funds since. A striped recipient is credited through a balance slot
+     * and its row is left unlocked, so concurrent credits do not queue on it.
+     *
+     * @param fromAccount sender's card account
+     * @param toAccount recipient's card account
+     */
+    private void lockAccounts(CardAccountEntity fromAccount, CardAccountEntity toAccount) {
+        List<CardAccountEntity> accounts = stripedBalanceService.isStriped(toAccount)
+            ? List.of(fromAccount)
+            : List.of(fromAccount, toAccount);
+        List<AccountBalanceView> balances = cardAccountRepository.lockBalances(
+            accounts.stream().map(CardAccountEntity::getId).toList());
+        for (AccountBalanceView balance : balances) {
+            for (CardAccountEntity account : accounts) {
+                if (account.getId().equals(balance.getId())) {
+                    account.setCurrentBalance(balance.getCurrentBalance().doubleValue());
+                    account.setHeldAmount(balance.getHeldAmount().doubleValue());
+                }
+            }
+        }
+    }
+
     /**
      * Updates balances between sender and recipient accounts.
+     * Striped recipient accounts are credited through a random balance slot,
+     * or by an atomic update of the unlocked row if the slot is missing.
      * 
      * @param fromAccount sender's card account
      * @param toAccount recipient's card account
@@ -117,8 +277,15 @@ public class TransferServiceImpl implements TransferService {
         Double newFromBalance = fromAccount.getCurrentBalance() - amount;
         fromAccount.setCurrentBalance(newFromBalance);
 
-        Double newToBalance = toAccount.getCurrentBalance() + amount;
-        toAccount.setCurrentBalance(newToBalance);
+        if (stripedBalanceService.isStriped(toAccount)) {
+            if (!stripedBalanceService.creditSlot(toAccount.getId(), toAccount.getBalanceSlots(), amount)) {
+                log.warn("Balance slot missing for account {}, crediting main balance", toAccount.getId());
+                cardAccountRepository.credit(toAccount.getId(), amount);
+            }
+        } else {
+            Double newToBalance = toAccount.getCurrentBalance() + amount;
+            toAccount.setCurrentBalance(newToBalance);
+        }
         
         log.trace("Transfer performed: -{} from account {}, +{} to account {}", 
             amount, fromAccount.getId(), amount, toAccount.getId());
@@ -156,7 +323,9 @@ public class TransferServiceImpl implements TransferService {
      */
     private void saveUpdatedAccounts(CardAccountEntity fromAccount, CardAccountEntity toAccount) {
         cardAccountRepository.save(fromAccount);
-        cardAccountRepository.save(toAccount);
+        if (!stripedBalanceService.isStriped(toAccount)) {
+            cardAccountRepository.save(toAccount);
+        }
         log.trace("Account balances persisted");
     }
 
@@ -166,15 +335,16 @@ public class TransferServiceImpl implements TransferService {
      * @param cardAccountEntity sender's account
      * @param recipientAccountId recipient's account ID
      * @param transferRequest original transfer request
+     * @param status initial status of the transaction
      * @return saved transaction entity
      */
     @Transactional(propagation = Propagation.REQUIRED)
     private PaymentTransactionsEntity createTransaction(CardAccountEntity cardAccountEntity,
-        UUID recipientAccountId, TransferRequest transferRequest) {
-        log.debug("Creating transaction record for transfer");
+        UUID recipientAccountId, TransferRequest transferRequest, TransactionsStatusType status) {
+        log.debug("Creating {} transaction record for transfer", status);
         
         PaymentTransactionsEntity paymentTransactionsEntity = paymentTransactionsMapper.toEntity(
-            cardAccountEntity, recipientAccountId, transferRequest);
+            cardAccountEntity, recipientAccountId, transferRequest, status);
         
         PaymentTransactionsEntity savedEntity = paymentTransactionsRepository.save(paymentTransactionsEntity);
         log.trace("Transaction saved with ID: {}", savedEntity.getId());
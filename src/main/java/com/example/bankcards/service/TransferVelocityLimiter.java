@@ -0,0 +1,123 @@
+package com.example.bankcards.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.example.bankcards.config.VelocityLimitProperties;
+import com.example.bankcards.exception.transactionException.TransferVelocityExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Enforces count and amount limits of outgoing transfers per minute and per day
+ * for every sender account and every user.
+ *
+ * Counters live in memory in {@link SlidingWindowCounter}, so a check costs
+ * no query on payment_transactions. A transfer is counted when it is checked
+ * and taken back when its transaction rolls back.
+ * Limits are per application instance.
+ */
+@Service
+@EnableConfigurationProperties(VelocityLimitProperties.class)
+@Slf4j
+public class TransferVelocityLimiter {
+
+    private static final String SCOPE_ACCOUNT = "account";
+
+    private static final String SCOPE_USER = "user";
+
+    private static final long MINUTE_BUCKET_MILLIS = 1_000L;
+
+    private static final int MINUTE_BUCKETS = 60;
+
+    private static final long DAY_BUCKET_MILLIS = 600_000L;
+
+    private static final int DAY_BUCKETS = 144;
+
+    private final boolean enabled;
+
+    private final SlidingWindowCounter accountCounter;
+
+    private final SlidingWindowCounter userCounter;
+
+    private final Clock clock;
+
+    @Autowired
+    public TransferVelocityLimiter(VelocityLimitProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public TransferVelocityLimiter(VelocityLimitProperties properties, Clock clock) {
+        this.enabled = properties.isEnabled();
+        this.clock = clock;
+        this.accountCounter = new SlidingWindowCounter(windows(properties.getAccount()),
+            properties.getStripes(), properties.getMaxKeysPerStripe());
+        this.userCounter = new SlidingWindowCounter(windows(properties.getUser()),
+            properties.getStripes(), properties.getMaxKeysPerStripe());
+        log.info("Transfer velocity limits {}: account {}, user {}",
+            enabled ? "enabled" : "disabled", properties.getAccount(), properties.getUser());
+    }
+
+    /**
+     * Counts an outgoing transfer of the user
+     *
+     * @param login login of the sender
+     * @param amount transfer amount
+     * @throws TransferVelocityExceededException if a user limit would be exceeded
+     */
+    public void acquireForUser(String login, Double amount) {
+        if (enabled && login != null) {
+            acquire(userCounter, SCOPE_USER, login, amount);
+        }
+    }
+
+    /**
+     * Counts an outgoing transfer from the account
+     *
+     * @param accountId id of the sender card account
+     * @param amount transfer amount
+     * @throws TransferVelocityExceededException if an account limit would be exceeded
+     */
+    public void acquireForAccount(UUID accountId, Double amount) {
+        if (enabled) {
+            acquire(accountCounter, SCOPE_ACCOUNT, accountId, amount);
+        }
+    }
+
+    private void acquire(SlidingWindowCounter counter, String scope, Object key, Double amount) {
+        long minorUnits = Math.round(amount * 100);
+        long acquiredAt = clock.millis();
+        SlidingWindowCounter.Window exceeded = counter.tryAcquire(key, minorUnits, acquiredAt);
+        if (exceeded != null) {
+            log.warn("Transfer velocity limit per {} of {} exceeded", exceeded.name(), scope);
+            throw new TransferVelocityExceededException(scope, exceeded.name());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counter.release(key, minorUnits, acquiredAt, clock.millis());
+                        log.trace("Velocity of {} released after rollback", scope);
+                    }
+                }
+            });
+        }
+    }
+
+    private static List<SlidingWindowCounter.Window> windows(VelocityLimitProperties.Limits limits) {
+        List<SlidingWindowCounter.Window> windows = new ArrayList<>(2);
+        windows.add(new SlidingWindowCounter.Window("minute", MINUTE_BUCKET_MILLIS, MINUTE_BUCKETS,
+            limits.getCountPerMinute(), Math.round(limits.getAmountPerMinute() * 100)));
+        windows.add(new SlidingWindowCounter.Window("day", DAY_BUCKET_MILLIS, DAY_BUCKETS,
+            limits.getCountPerDay(), Math.round(limits.getAmountPerDay() * 100)));
+        return windows;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.example.bankcards.service;
 
 import org.springframework.stereotype.Service;
+import com.example.bankcards.crypto.MaskedCardNumber;
 import com.example.bankcards.dto.request.TransferRequest;
 import com.example.bankcards.exception.bankCardException.BankCardNotAvailableException;
 import com.example.bankcards.exception.bankCardException.BankCardNotEnoughFundsException;
@@ -84,9 +85,9 @@ public class ValidationServiceImpl {
         String fromCardNumber = transferRequest.getFromNumberCard();
         String toCardNumber = transferRequest.getToNumberCard();
         
-        log.debug("Validating card availability - From: ****{}, To: ****{}",
-            fromCardNumber != null && fromCardNumber.length() > 4 ? fromCardNumber.substring(fromCardNumber.length() - 4) : "null",
-            toCardNumber != null && toCardNumber.length() > 4 ? toCardNumber.substring(toCardNumber.length() - 4) : "null");
+        log.debug("Validating card availability - From: {}, To: {}",
+            MaskedCardNumber.of(fromCardNumber),
+            MaskedCardNumber.of(toCardNumber));
         
         boolean fromCardAvailable = securityFacade.checkCard(fromCardNumber);
         boolean toCardAvailable = securityFacade.checkCard(toCardNumber);
@@ -103,18 +104,20 @@ public class ValidationServiceImpl {
 
     /**
      * Validates that sender has sufficient funds for transfer.
+     * Funds held by transactions awaiting settlement are not available.
      * 
      * @param fromAccount sender's card account
      * @param amount transfer amount
      * @throws BankCardNotEnoughFundsException if insufficient balance
      */
     public void validateSufficientFunds(CardAccountEntity fromAccount, Double amount) {
-        log.debug("Validating sufficient funds - Account: {}, Balance: {}, Amount: {}", 
-            fromAccount.getId(), fromAccount.getCurrentBalance(), amount);
+        double held = fromAccount.getHeldAmount() != null ? fromAccount.getHeldAmount() : 0;
+        log.debug("Validating sufficient funds - Account: {}, Balance: {}, Held: {}, Amount: {}", 
+            fromAccount.getId(), fromAccount.getCurrentBalance(), held, amount);
         
-        if (fromAccount.getCurrentBalance() - amount < 0) {
-            log.error("Insufficient funds - Account: {}, Balance: {}, Amount: {}", 
-                fromAccount.getId(), fromAccount.getCurrentBalance(), amount);
+        if (fromAccount.getCurrentBalance() - held - amount < 0) {
+            log.error("Insufficient funds - Account: {}, Balance: {}, Held: {}, Amount: {}", 
+                fromAccount.getId(), fromAccount.getCurrentBalance(), held, amount);
             throw new BankCardNotEnoughFundsException();
         }
         log.trace("Sufficient funds validation passed");
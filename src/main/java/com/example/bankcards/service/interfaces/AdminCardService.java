@@ -2,7 +2,11 @@ package com.example.bankcards.service.interfaces;
 
 import java.util.UUID;
 
+import com.example.bankcards.dto.request.BalanceAtRequest;
+import com.example.bankcards.dto.request.BalanceSlotsRequest;
 import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.dto.response.BalanceAtResponse;
+import com.example.bankcards.dto.response.BalanceSlotsResponse;
 import com.example.bankcards.dto.response.CardActiveStatusResponse;
 import com.example.bankcards.dto.response.CreateCardResponse;
 
@@ -14,4 +18,8 @@ public interface AdminCardService {
 
     CardActiveStatusResponse unblockCard(CardNumberRequest cardNumberRequest);
 
+    BalanceSlotsResponse configureBalanceSlots(BalanceSlotsRequest balanceSlotsRequest);
+
+    BalanceAtResponse balanceAt(BalanceAtRequest balanceAtRequest);
+
 }
@@ -0,0 +1,21 @@
+package com.example.bankcards.service.interfaces;
+
+import com.example.bankcards.dto.response.CreateTransactionResponse;
+
+/**
+ * Work that has to commit or roll back together with one transfer
+ * Both steps run in the database transaction of the transfer and may run
+ * again in a new transaction when a group commit batch is retried
+ */
+public interface TransferParticipant {
+
+    TransferParticipant NONE = new TransferParticipant() {
+    };
+
+    default void beforeTransfer() {
+    }
+
+    default void afterTransfer(CreateTransactionResponse response) {
+    }
+
+}
@@ -7,4 +7,7 @@ public interface TransferService {
 
     CreateTransactionResponse transfer(TransferRequest transferRequest) throws IllegalAccessException;
 
+    CreateTransactionResponse transfer(TransferRequest transferRequest, TransferParticipant participant)
+        throws IllegalAccessException;
+
 }
@@ -0,0 +1,97 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.bankcards.audit.AuditJournalReader;
+import com.example.bankcards.audit.AuditJournalWriter;
+
+/**
+ * Measures records per second appended to the audit journal for several
+ * group flush sizes and appending threads, including segment rotations,
+ * and the rate of a full verification afterwards. A flush size of one
+ * forces every record to disk on its own.
+ *
+ * Run with: mvn test -Dtest=AuditJournalThroughputBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AuditJournalThroughputBenchmark {
+
+    private static final int RECORDS = 200_000;
+
+    private static final int SEGMENT_RECORDS = 65_536;
+
+    private static final int[] FLUSH_RECORDS = {1, 16, 256, 4096};
+
+    private static final int[] THREADS = {1, 4, 8};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendThroughput_ByFlushRecordsAndThreads() throws Exception {
+        for (int flushRecords : FLUSH_RECORDS) {
+            for (int threads : THREADS) {
+                Path journal = Files.createDirectory(directory.resolve("journal-" + flushRecords + "-" + threads));
+                int records = flushRecords == 1 ? RECORDS / 20 : RECORDS;
+                double appendRate = append(journal, flushRecords, threads, records);
+
+                long start = System.nanoTime();
+                AuditJournalReader.Verification verification = AuditJournalReader.verify(journal, record -> { });
+                double verifyRate = records / ((System.nanoTime() - start) / 1_000_000_000.0);
+                assertTrue(verification.valid(), verification.failure());
+                assertEquals(records, verification.records());
+
+                System.out.printf("Audit journal, flush every %d records, %d threads: %.0f records/s appended, "
+                    + "%.0f records/s verified%n", flushRecords, threads, appendRate, verifyRate);
+            }
+        }
+    }
+
+    private double append(Path journal, int flushRecords, int threads, int records) throws Exception {
+        try (AuditJournalWriter writer = new AuditJournalWriter(journal, SEGMENT_RECORDS, flushRecords)) {
+            CountDownLatch startSignal = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int share = records / threads + (t < records % threads ? 1 : 0);
+                Thread worker = new Thread(() -> {
+                    UUID account = UUID.randomUUID();
+                    try {
+                        startSignal.await();
+                        for (int i = 0; i < share; i++) {
+                            Instant now = Instant.now();
+                            writer.append(UUID.randomUUID(), account, UUID.randomUUID(), 1_000L + i, now, now);
+                        }
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+
+            long start = System.nanoTime();
+            startSignal.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            writer.flush();
+            long nanos = System.nanoTime() - start;
+            assertEquals(records, writer.lastSequence());
+            return records / (nanos / 1_000_000_000.0);
+        }
+    }
+
+}
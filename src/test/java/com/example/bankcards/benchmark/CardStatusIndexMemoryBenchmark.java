@@ -0,0 +1,92 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import com.example.bankcards.service.CardStatusTable;
+
+/**
+ * Measures heap per card of the card status table filled with 10M cards,
+ * grown from a small table as well as presized, and the mean lookup time
+ * of stored cards. Heap is read after a full GC before and after filling.
+ * Needs about 4 GB of heap.
+ *
+ * Run with: mvn test -Dtest=CardStatusIndexMemoryBenchmark -Dbenchmark=true -DargLine=-Xmx4g
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CardStatusIndexMemoryBenchmark {
+
+    private static final int CARDS = 10_000_000;
+
+    private static final int LOOKUPS = 5_000_000;
+
+    private static final Instant EXPIRES_AT = Instant.now().plus(5 * 365, ChronoUnit.DAYS);
+
+    @Test
+    void memoryPerCard_TenMillionCards() {
+        measure("grown", 1024);
+        measure("presized", CARDS);
+    }
+
+    private void measure(String name, int expectedCards) {
+        long before = usedHeap();
+        CardStatusTable table = new CardStatusTable(expectedCards);
+        fill(table);
+        long after = usedHeap();
+        assertEquals(CARDS, table.size());
+
+        SplittableRandom random = new SplittableRandom(42);
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            int card = random.nextInt(CARDS);
+            if (table.get(keyHigh(card), keyLow(card)) != null) {
+                found++;
+            }
+        }
+        long lookupNanos = System.nanoTime() - start;
+        assertEquals(LOOKUPS, found);
+
+        System.out.printf("Card status table %s, %d cards: %.1f bytes/card on heap, %.1f bytes/card in slots, "
+            + "capacity %d, %.0f ns/lookup%n",
+            name, CARDS, (double) (after - before) / CARDS, (double) table.memoryBytes() / CARDS,
+            table.capacity(), (double) lookupNanos / LOOKUPS);
+    }
+
+    private static void fill(CardStatusTable table) {
+        UUID owner = UUID.randomUUID();
+        for (int card = 0; card < CARDS; card++) {
+            table.put(keyHigh(card), keyLow(card), new UUID(card, card), new UUID(card, -card),
+                card % 4 == 0 ? owner : new UUID(-card, card), card % 10 != 0, EXPIRES_AT);
+        }
+    }
+
+    private static long keyHigh(int card) {
+        return mix(card * 0x9E3779B97F4A7C15L);
+    }
+
+    private static long keyLow(int card) {
+        return mix(card + 0x632BE59BD9B4E019L) | 1;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.facade.SecurityFacade;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.TransactionTypeEntity;
+import com.example.bankcards.model.entity.TransactionsStatusEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import com.example.bankcards.repository.TransactionTypeRepository;
+import com.example.bankcards.repository.TransactionsStatusRepository;
+import com.example.bankcards.service.GroupCommitTransferService;
+import com.example.bankcards.service.TransferServiceImpl;
+import com.example.bankcards.service.interfaces.TransferService;
+
+/**
+ * Compares transfers/sec of the per-transaction path and the group commit
+ * engine when a growing share of transfers is sent from one hot account.
+ * Transfers failing on a deadlock are counted, not retried, and the
+ * engine run asserts that every successful transfer left one transaction.
+ *
+ * Run with: mvn test -Dtest=GroupCommitSkewBenchmark -Dbenchmark=true
+ */
+@Testcontainers
+@SpringBootTest(properties = "bankcards.transfer.group-commit.enabled=true")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GroupCommitSkewBenchmark {
+
+    private static final int THREADS = 32;
+
+    private static final int TRANSFERS_PER_THREAD = 200;
+
+    private static final int SENDERS = 64;
+
+    private static final int RECIPIENTS = 64;
+
+    private static final double[] HOT_SHARES = {0.0, 0.5, 0.9, 0.99};
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("group_commit_benchmark_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS + 10));
+        registry.add("logging.level.com.example.bankcards", () -> "WARN");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferServiceImpl directTransferService;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private PaymentTransactionsRepository paymentTransactionsRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private TransactionsStatusRepository transactionsStatusRepository;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    @MockBean
+    private SecurityFacade securityFacade;
+
+    private final List<String> senders = new ArrayList<>();
+
+    private final List<String> recipients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(securityFacade.getLogin()).thenReturn("benchmark");
+        when(securityFacade.isCurrentActive()).thenReturn(true);
+        when(securityFacade.checkCard(anyString())).thenReturn(true);
+        when(securityFacade.findBankCardByNumber(anyString())).thenAnswer(invocation ->
+            bankCardsRepository.findByNumber(aesEncryption.encrypt(invocation.getArgument(0))).orElseThrow());
+
+        transactionTypeRepository.findByTransactionsType(TransactionsType.TRANSFER)
+            .orElseGet(() -> transactionTypeRepository.save(TransactionTypeEntity.builder()
+                .transactionsType(TransactionsType.TRANSFER)
+                .build()));
+        transactionsStatusRepository.findByTransactionsStatus(TransactionsStatusType.COMPLETED)
+            .orElseGet(() -> transactionsStatusRepository.save(TransactionsStatusEntity.builder()
+                .transactionsStatus(TransactionsStatusType.COMPLETED)
+                .build()));
+
+        for (int i = 0; i < SENDERS; i++) {
+            senders.add(createCard(String.format("4000%012d", i)));
+        }
+        for (int i = 0; i < RECIPIENTS; i++) {
+            recipients.add(createCard(String.format("5000%012d", i)));
+        }
+    }
+
+    @Test
+    void transfersPerSecond_DirectVersusGroupCommit_AtVaryingHotAccountSkew() throws Exception {
+        assertInstanceOf(GroupCommitTransferService.class, transferService);
+
+        for (double hotShare : HOT_SHARES) {
+            Result direct = run(directTransferService, hotShare);
+
+            long before = paymentTransactionsRepository.count();
+            Result groupCommit = run(transferService, hotShare);
+            assertEquals(THREADS * TRANSFERS_PER_THREAD - groupCommit.failures(),
+                paymentTransactionsRepository.count() - before);
+
+            System.out.printf("Hot account share %.2f, transfers/sec with %d threads: direct %.0f (%d failed), "
+                + "group commit %.0f (%d failed)%n",
+                hotShare, THREADS, direct.rate(), direct.failures(), groupCommit.rate(), groupCommit.failures());
+        }
+    }
+
+    private String createCard(String number) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(1_000_000_000.00)
+            .updatedAt(Instant.now())
+            .build());
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(aesEncryption.encrypt(number))
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        bankCardsRepository.save(card);
+        return number;
+    }
+
+    private Result run(TransferService service, double hotShare) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicInteger failures = new AtomicInteger();
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+                        String from = random.nextDouble() < hotShare
+                            ? senders.get(0)
+                            : senders.get(1 + random.nextInt(SENDERS - 1));
+                        try {
+                            service.transfer(TransferRequest.builder()
+                                .fromNumberCard(from)
+                                .toNumberCard(recipients.get(random.nextInt(RECIPIENTS)))
+                                .amount(1.00)
+                                .transactionsType(TransactionsType.TRANSFER)
+                                .build());
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return new Result(THREADS * TRANSFERS_PER_THREAD / seconds, failures.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private record Result(double rate, int failures) {
+    }
+
+}
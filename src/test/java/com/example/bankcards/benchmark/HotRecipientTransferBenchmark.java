@@ -0,0 +1,210 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.facade.SecurityFacade;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.TransactionTypeEntity;
+import com.example.bankcards.model.entity.TransactionsStatusEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.TransactionTypeRepository;
+import com.example.bankcards.repository.TransactionsStatusRepository;
+import com.example.bankcards.service.StripedBalanceService;
+import com.example.bankcards.service.TransferServiceImpl;
+
+/**
+ * Compares transfers/sec into one hot recipient with a single balance row
+ * and with striped balance slots, driven through TransferServiceImpl.transfer.
+ * Every thread sends from its own account, so the recipient is the only
+ * row the transfers could queue on.
+ *
+ * Run with: mvn test -Dtest=HotRecipientTransferBenchmark -Dbenchmark=true
+ */
+@Testcontainers
+@SpringBootTest(properties = "bankcards.transfer.velocity.enabled=false")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HotRecipientTransferBenchmark {
+
+    private static final int THREADS = 32;
+
+    private static final int TRANSFERS_PER_THREAD = 200;
+
+    private static final int SLOTS = 16;
+
+    private static final double AMOUNT = 1.00;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("hot_recipient_benchmark_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS + 2));
+        registry.add("logging.level.com.example.bankcards", () -> "WARN");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private TransferServiceImpl transferService;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private TransactionsStatusRepository transactionsStatusRepository;
+
+    @Autowired
+    private StripedBalanceService stripedBalanceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    @MockBean
+    private SecurityFacade securityFacade;
+
+    private final List<String> senders = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(securityFacade.getLogin()).thenReturn("benchmark");
+        when(securityFacade.isCurrentActive()).thenReturn(true);
+        when(securityFacade.checkCard(anyString())).thenReturn(true);
+        when(securityFacade.findBankCardByNumber(anyString())).thenAnswer(invocation ->
+            bankCardsRepository.findByNumber(aesEncryption.encrypt(invocation.getArgument(0))).orElseThrow());
+
+        transactionTypeRepository.findByTransactionsType(TransactionsType.TRANSFER)
+            .orElseGet(() -> transactionTypeRepository.save(TransactionTypeEntity.builder()
+                .transactionsType(TransactionsType.TRANSFER)
+                .build()));
+        transactionsStatusRepository.findByTransactionsStatus(TransactionsStatusType.COMPLETED)
+            .orElseGet(() -> transactionsStatusRepository.save(TransactionsStatusEntity.builder()
+                .transactionsStatus(TransactionsStatusType.COMPLETED)
+                .build()));
+
+        for (int i = 0; i < THREADS; i++) {
+            senders.add(createCard(String.format("4100%012d", i), 1_000_000_000.00, 0));
+        }
+    }
+
+    @Test
+    void transfersPerSecond_IntoSingleRowVersusStripedRecipient() throws Exception {
+        String singleRowRecipient = createCard("5100000000000000", 0.00, 0);
+        String stripedRecipient = createCard("5100000000000001", 0.00, SLOTS);
+
+        double singleRowRate = run(singleRowRecipient);
+        double stripedRate = run(stripedRecipient);
+
+        double expected = THREADS * TRANSFERS_PER_THREAD * AMOUNT;
+        assertEquals(expected, totalBalance(singleRowRecipient), 0.001);
+        assertEquals(expected, totalBalance(stripedRecipient), 0.001);
+
+        System.out.printf("Transfers/sec into one recipient with %d threads: single row %.0f, %d slots %.0f%n",
+            THREADS, singleRowRate, SLOTS, stripedRate);
+    }
+
+    private String createCard(String number, Double balance, int slots) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+                .currentBalance(balance)
+                .updatedAt(Instant.now())
+                .build());
+            stripedBalanceService.configureSlots(account, slots);
+            BankCardsEntity card = BankCardsEntity.builder()
+                .number(aesEncryption.encrypt(number))
+                .cvc2(123)
+                .isActive(true)
+                .createdAt(Instant.now())
+                .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+                .cardAccountEntity(account)
+                .build();
+            account.setBankCardsEntity(card);
+            bankCardsRepository.save(card);
+            return number;
+        });
+    }
+
+    private Double totalBalance(String number) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            return stripedBalanceService.totalBalance(bankCardsRepository.findByNumber(aesEncryption.encrypt(number))
+                .orElseThrow()
+                .getCardAccountEntity());
+        });
+    }
+
+    private double run(String recipient) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                String sender = senders.get(i);
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+                        transferService.transfer(TransferRequest.builder()
+                            .fromNumberCard(sender)
+                            .toNumberCard(recipient)
+                            .amount(AMOUNT)
+                            .transactionsType(TransactionsType.TRANSFER)
+                            .build());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return THREADS * TRANSFERS_PER_THREAD / seconds;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
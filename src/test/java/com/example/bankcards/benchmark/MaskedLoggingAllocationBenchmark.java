@@ -0,0 +1,78 @@
+package com.example.bankcards.benchmark;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.LoggerFactory;
+import com.example.bankcards.crypto.MaskedCardNumber;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Measures bytes allocated by the card masking log calls of one transfer
+ * with DEBUG disabled, comparing eager substring masking with MaskedCardNumber.
+ * One transfer logs a masked card number twelve times on its way through
+ * TransferServiceImpl, ValidationServiceImpl, SecurityFacade and CardAccessValidator.
+ *
+ * Run with: mvn test -Dtest=MaskedLoggingAllocationBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MaskedLoggingAllocationBenchmark {
+
+    private static final int WARMUP_TRANSFERS = 200_000;
+
+    private static final int MEASURED_TRANSFERS = 1_000_000;
+
+    private static final int MASKED_LOG_CALLS_PER_TRANSFER = 12;
+
+    private static final Logger LOG = (Logger) LoggerFactory.getLogger(MaskedLoggingAllocationBenchmark.class);
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String fromCard = "4276123412345678";
+
+    private final String toCard = "4276876587654321";
+
+    @Test
+    void allocationsPerTransfer_EagerVersusLazyMasking() {
+        LOG.setLevel(Level.INFO);
+
+        run(this::eagerTransfer, WARMUP_TRANSFERS);
+        run(this::lazyTransfer, WARMUP_TRANSFERS);
+
+        double eager = bytesPerTransfer(this::eagerTransfer);
+        double lazy = bytesPerTransfer(this::lazyTransfer);
+
+        System.out.printf("Masked log allocations per transfer: eager %.1f bytes, lazy %.1f bytes%n", eager, lazy);
+    }
+
+    private double bytesPerTransfer(Runnable transfer) {
+        long threadId = Thread.currentThread().threadId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        run(transfer, MEASURED_TRANSFERS);
+        long after = threadMXBean.getThreadAllocatedBytes(threadId);
+        return (double) (after - before) / MEASURED_TRANSFERS;
+    }
+
+    private void run(Runnable transfer, int times) {
+        for (int i = 0; i < times; i++) {
+            transfer.run();
+        }
+    }
+
+    private void eagerTransfer() {
+        for (int i = 0; i < MASKED_LOG_CALLS_PER_TRANSFER / 2; i++) {
+            LOG.debug("Transfer from {} to {}",
+                fromCard != null ? "****" + fromCard.substring(Math.max(0, fromCard.length() - 4)) : "null",
+                toCard != null ? "****" + toCard.substring(Math.max(0, toCard.length() - 4)) : "null");
+        }
+    }
+
+    private void lazyTransfer() {
+        for (int i = 0; i < MASKED_LOG_CALLS_PER_TRANSFER / 2; i++) {
+            LOG.debug("Transfer from {} to {}", MaskedCardNumber.of(fromCard), MaskedCardNumber.of(toCard));
+        }
+    }
+
+}
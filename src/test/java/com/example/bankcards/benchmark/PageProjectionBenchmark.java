@@ -0,0 +1,226 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.NotificationResponse;
+import com.example.bankcards.mapper.BankCardMapperImpl;
+import com.example.bankcards.mapper.NotificationMapperImpl;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.NotificationEntity;
+import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.enums.EventType;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.NotificationRepository;
+import com.example.bankcards.repository.UsersRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares the card and notification listing pages read as entities, as
+ * before, and as projections selecting only the response columns. For each
+ * path the prepared statements per page come from Hibernate statistics, the
+ * latency is the read and mapping of one page in a read-only transaction.
+ * Both paths must produce the same responses.
+ *
+ * Run with: mvn test -Dtest=PageProjectionBenchmark -Dbenchmark=true
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PageProjectionBenchmark {
+
+    private static final int USERS = 20;
+
+    private static final int CARDS_PER_USER = 50;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int WARMUP = 50;
+
+    private static final int ITERATIONS = 300;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("page_projection_benchmark_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("logging.level.com.example.bankcards", () -> "WARN");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+        registry.add("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener",
+            () -> "WARN");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private BankCardMapperImpl bankCardMapper;
+
+    @Autowired
+    private NotificationMapperImpl notificationMapper;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<UsersEntity> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            UsersEntity user = usersRepository.save(UsersEntity.builder()
+                .login("pageUser" + i)
+                .email("pageUser" + i + "@example.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+            users.add(user);
+            for (int j = 0; j < CARDS_PER_USER; j++) {
+                CardAccountEntity account = createCard(user, String.format("4%03d%012d", i, j));
+                notificationRepository.save(NotificationEntity.builder()
+                    .event(j % 2 == 0 ? EventType.CREATE_CARD : EventType.BLOCK_CARD)
+                    .user(user)
+                    .card(account)
+                    .build());
+            }
+        }
+    }
+
+    @Test
+    void cardPage_EntityVersusProjection() {
+        UsersEntity user = users.get(USERS / 2);
+        Pageable pageable = PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        Supplier<List<CardResponse>> entities = () -> bankCardsRepository.findActiveCardsByUser(user, pageable)
+            .map(bankCardMapper::toDtoCardResponse).getContent();
+        Supplier<List<CardResponse>> projections = () -> bankCardsRepository
+            .findActiveCardViewsByLogin(user.getLogin(), pageable)
+            .map(bankCardMapper::toDtoCardResponse).getContent();
+
+        compare("Card page", entities, projections);
+    }
+
+    @Test
+    void notificationPage_EntityVersusProjection() {
+        Pageable pageable = PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+
+        Supplier<List<NotificationResponse>> entities = () -> notificationRepository.findAllByIsActiveTrue(pageable)
+            .map(notification -> notificationMapper.toDto(notification.getUser(), notification)).getContent();
+        Supplier<List<NotificationResponse>> projections = () -> notificationRepository.findActiveViews(pageable)
+            .map(notificationMapper::toDto).getContent();
+
+        compare("Notification page", entities, projections);
+    }
+
+    private <T> void compare(String name, Supplier<List<T>> entities, Supplier<List<T>> projections) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        assertEquals(readOnly.execute(status -> entities.get()), readOnly.execute(status -> projections.get()));
+
+        Result entity = measure(readOnly, entities);
+        Result projection = measure(readOnly, projections);
+
+        System.out.printf("%s of %d: entities %.1f statements, %.3f ms mean, %.3f ms p95; "
+            + "projections %.1f statements, %.3f ms mean, %.3f ms p95%n",
+            name, PAGE_SIZE, entity.statements(), entity.meanMillis(), entity.p95Millis(),
+            projection.statements(), projection.meanMillis(), projection.p95Millis());
+        assertTrue(projection.statements() <= entity.statements());
+    }
+
+    private <T> Result measure(TransactionTemplate readOnly, Supplier<List<T>> page) {
+        for (int i = 0; i < WARMUP; i++) {
+            readOnly.execute(status -> page.get());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            readOnly.execute(status -> page.get());
+            nanos[i] = System.nanoTime() - start;
+        }
+        double statements = (double) statistics.getPrepareStatementCount() / ITERATIONS;
+
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0) / 1_000_000.0;
+        double p95 = nanos[(int) (ITERATIONS * 0.95) - 1] / 1_000_000.0;
+        return new Result(statements, mean, p95);
+    }
+
+    private CardAccountEntity createCard(UsersEntity user, String number) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(100.00)
+            .updatedAt(Instant.now())
+            .build());
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(aesEncryption.encrypt(number))
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+            .isActive(true)
+            .user(user)
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        bankCardsRepository.save(card);
+        return account;
+    }
+
+    private record Result(double statements, double meanMillis, double p95Millis) {
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Measures startup of the packaged application in separate JVMs until the
+ * "Started" log line: the plain jar with and without Liquibase on start,
+ * and the extracted jar with an AppCDS archive, plus AOT when the jar was
+ * built with the aot profile. The database is migrated by a warm-up run,
+ * so the Liquibase numbers show the cost of checking an up to date schema
+ * as on every pod of a rolling deploy. Results are written to
+ * target/startup-benchmark.txt.
+ *
+ * Run with: mvn verify -Paot -Dbenchmark=true
+ * or after mvn package: mvn test -Dtest=StartupTimeBenchmark -Dbenchmark=true
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StartupTimeBenchmark {
+
+    private static final int RUNS = 3;
+
+    private static final long START_TIMEOUT_SECONDS = 180;
+
+    private static final Pattern STARTED = Pattern.compile(
+        "Started \\w+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("startup_benchmark_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @TempDir
+    Path workDirectory;
+
+    @Test
+    void benchmarkStartup() throws Exception {
+        Path jar = findJar();
+        boolean aot = Boolean.getBoolean("startup.aot");
+
+        Path extracted = workDirectory.resolve("extracted");
+        run(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination",
+            extracted.toString()), workDirectory, Map.of());
+        Path extractedJar = extracted.resolve(jar.getFileName());
+        Path cdsArchive = workDirectory.resolve("app.jsa");
+        List<String> aotFlag = aot ? List.of("-Dspring.aot.enabled=true") : List.of();
+
+        startSeconds(List.of("-jar", jar.toString()), Map.of());
+
+        List<String> trainingCommand = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + cdsArchive));
+        trainingCommand.addAll(aotFlag);
+        trainingCommand.addAll(List.of("-Dspring.context.exit=onRefresh", "-jar", extractedJar.toString()));
+        run(trainingCommand, workDirectory, environment(Map.of("BANKCARDS_LIQUIBASE_ENABLED", "false")));
+        assertTrue(Files.exists(cdsArchive), "AppCDS archive was not created");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jar, liquibase on start", List.of("-jar", jar.toString()));
+        modes.put("jar, liquibase skipped", List.of("-jar", jar.toString()));
+        List<String> optimized = new ArrayList<>(List.of("-XX:SharedArchiveFile=" + cdsArchive));
+        optimized.addAll(aotFlag);
+        optimized.addAll(List.of("-jar", extractedJar.toString()));
+        modes.put((aot ? "extracted, AppCDS + AOT" : "extracted, AppCDS") + ", liquibase skipped", optimized);
+
+        StringBuilder report = new StringBuilder(String.format("Startup of %s, median of %d runs, java %s%n",
+            jar.getFileName(), RUNS, System.getProperty("java.version")));
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            Map<String, String> liquibase = mode.getKey().contains("liquibase skipped")
+                ? Map.of("BANKCARDS_LIQUIBASE_ENABLED", "false")
+                : Map.of();
+            double[] seconds = new double[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                seconds[i] = startSeconds(mode.getValue(), liquibase);
+            }
+            Arrays.sort(seconds);
+            report.append(String.format("%-45s %.2f s (min %.2f, max %.2f)%n", mode.getKey(),
+                seconds[RUNS / 2], seconds[0], seconds[RUNS - 1]));
+        }
+
+        System.out.print(report);
+        Files.writeString(Path.of("target", "startup-benchmark.txt"), report);
+    }
+
+    private double startSeconds(List<String> arguments, Map<String, String> extraEnvironment) throws Exception {
+        List<String> command = new ArrayList<>(List.of(java()));
+        command.addAll(arguments);
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .directory(workDirectory.toFile())
+            .redirectErrorStream(true);
+        builder.environment().putAll(environment(extraEnvironment));
+
+        Process process = builder.start();
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(START_TIMEOUT_SECONDS);
+            String line;
+            while ((line = output.readLine()) != null && System.nanoTime() < deadline) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    return Double.parseDouble(matcher.group(2));
+                }
+            }
+            fail("application did not report startup: " + command);
+            return 0;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void run(List<String> command, Path directory, Map<String, String> environment)
+        throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command)
+            .directory(directory.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        builder.environment().putAll(environment);
+        Process process = builder.start();
+        assertTrue(process.waitFor(START_TIMEOUT_SECONDS, TimeUnit.SECONDS), "timed out: " + command);
+        assertEquals(0, process.exitValue(), "failed: " + command);
+    }
+
+    private Map<String, String> environment(Map<String, String> extra) {
+        Map<String, String> environment = new HashMap<>(extra);
+        environment.put("SPRING_DATASOURCE_URL", postgres.getJdbcUrl());
+        environment.put("SPRING_DATASOURCE_USERNAME", postgres.getUsername());
+        environment.put("SPRING_DATASOURCE_PASSWORD", postgres.getPassword());
+        environment.put("SERVER_PORT", "0");
+        environment.put("BANKCARDS_ARCHIVE_DIR", workDirectory.resolve("archive").toString());
+        environment.put("LOGGING_FILE_NAME", workDirectory.resolve("app.log").toString());
+        return environment;
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static Path findJar() throws IOException {
+        String configured = System.getProperty("startup.jar");
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured).toAbsolutePath();
+        }
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(Path.of("target"), "*.jar")) {
+            for (Path jar : jars) {
+                return jar.toAbsolutePath();
+            }
+        }
+        return fail("no packaged jar in target, run mvn package first");
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.service.StripedBalanceService;
+
+/**
+ * Compares credits/sec to one hot account with a single balance row
+ * and with striped balance slots.
+ * Every credit runs in its own transaction that keeps the row lock for
+ * a short extra statement, like the transaction insert of a real transfer.
+ *
+ * Run with: mvn test -Dtest=StripedBalanceContentionBenchmark -Dbenchmark=true
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StripedBalanceContentionBenchmark {
+
+    private static final int THREADS = 32;
+
+    private static final int CREDITS_PER_THREAD = 500;
+
+    private static final int SLOTS = 16;
+
+    private static final double AMOUNT = 1.00;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("striped_benchmark_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS + 2));
+        registry.add("logging.level.com.example.bankcards", () -> "WARN");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private StripedBalanceService stripedBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void creditsPerSecond_SingleRowVersusStripedSlots() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        UUID singleRowAccount = createAccount(0);
+        UUID stripedAccount = createAccount(SLOTS);
+
+        double singleRowRate = run(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE card_account SET current_balance = current_balance + ? WHERE id = ?",
+                AMOUNT, singleRowAccount);
+            jdbcTemplate.queryForObject("SELECT pg_sleep(0.001)::text", String.class);
+        }));
+
+        double stripedRate = run(() -> transactionTemplate.executeWithoutResult(status -> {
+            CardAccountEntity account = cardAccountRepository.findById(stripedAccount).orElseThrow();
+            stripedBalanceService.credit(account, AMOUNT);
+            jdbcTemplate.queryForObject("SELECT pg_sleep(0.001)::text", String.class);
+        }));
+
+        double expected = THREADS * CREDITS_PER_THREAD * AMOUNT;
+        Double stripedTotal = new TransactionTemplate(transactionManager).execute(status ->
+            stripedBalanceService.totalBalance(cardAccountRepository.findById(stripedAccount).orElseThrow()));
+        assertEquals(expected, stripedTotal, 0.001);
+
+        System.out.printf("Hot account credits/sec with %d threads: single row %.0f, %d slots %.0f%n",
+            THREADS, singleRowRate, SLOTS, stripedRate);
+    }
+
+    private UUID createAccount(int slots) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+                .currentBalance(0.00)
+                .updatedAt(Instant.now())
+                .build());
+            stripedBalanceService.configureSlots(account, slots);
+            return account.getId();
+        });
+    }
+
+    private double run(Runnable credit) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < CREDITS_PER_THREAD; j++) {
+                        credit.run();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return THREADS * CREDITS_PER_THREAD / seconds;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.example.bankcards.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import com.example.bankcards.service.SlidingWindowCounter;
+
+/**
+ * Measures velocity checks/sec of SlidingWindowCounter with many threads,
+ * comparing a single lock with lock striping, for keys spread over many
+ * accounts and for one hot account.
+ * Limits are high enough for every check to be recorded.
+ *
+ * Run with: mvn test -Dtest=VelocityLimitContentionBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VelocityLimitContentionBenchmark {
+
+    private static final int THREADS = 32;
+
+    private static final int CHECKS_PER_THREAD = 1_000_000;
+
+    private static final int ACCOUNTS = 100_000;
+
+    private static final List<SlidingWindowCounter.Window> WINDOWS = List.of(
+        new SlidingWindowCounter.Window("minute", 1_000L, 60, Long.MAX_VALUE, Long.MAX_VALUE),
+        new SlidingWindowCounter.Window("day", 600_000L, 144, Long.MAX_VALUE, Long.MAX_VALUE));
+
+    private final UUID[] accounts = new UUID[ACCOUNTS];
+
+    @Test
+    void checksPerSecond_SingleLockVersusStriped() throws Exception {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts[i] = UUID.randomUUID();
+        }
+
+        for (int stripes : new int[] {1, 64, 256}) {
+            run(stripes, false);
+        }
+
+        for (int stripes : new int[] {1, 64, 256}) {
+            double spread = run(stripes, false);
+            double hot = run(stripes, true);
+            System.out.printf("Velocity checks/sec with %d stripes: spread %.0f, hot account %.0f%n",
+                stripes, spread, hot);
+        }
+    }
+
+    private double run(int stripes, boolean hotAccount) throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOWS, stripes, ACCOUNTS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < CHECKS_PER_THREAD; i++) {
+                        UUID account = hotAccount ? accounts[0] : accounts[random.nextInt(ACCOUNTS)];
+                        assertNull(counter.tryAcquire(account, 100, System.currentTimeMillis()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            return (double) THREADS * CHECKS_PER_THREAD / elapsed * 1_000_000_000L;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -1,9 +1,12 @@
 package com.example.bankcards.integration.controller;
 
 import com.example.bankcards.config.JwtCreatorConfigTest;
+import com.example.bankcards.model.entity.NotificationEntity;
 import com.example.bankcards.model.entity.RoleEntity;
 import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.enums.EventType;
 import com.example.bankcards.model.enums.RoleType;
+import com.example.bankcards.repository.NotificationRepository;
 import com.example.bankcards.repository.RoleRepository;
 import com.example.bankcards.repository.UsersRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +20,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -28,6 +32,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -60,6 +65,9 @@ public class AdminControllerTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private NotificationRepository notificationRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -218,4 +226,77 @@ public class AdminControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional
+    void dailyTransactionReport_ShouldReturnOk_WhenUserIsAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/transactions/daily")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31")
+                        .header("Authorization", "Bearer " + jwtCreatorConfigTest.createToken(adminUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("2024-01-01"))
+                .andExpect(jsonPath("$.to").value("2024-01-31"))
+                .andExpect(jsonPath("$.rolledUpTo").isNotEmpty())
+                .andExpect(jsonPath("$.volumes").isArray());
+    }
+
+    @Test
+    @Transactional
+    void dailyTransactionReport_ShouldReturnBadRequest_WhenRangeIsReversed() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/transactions/daily")
+                        .param("from", "2024-02-01")
+                        .param("to", "2024-01-01")
+                        .header("Authorization", "Bearer " + jwtCreatorConfigTest.createToken(adminUser)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void dailyTransactionReport_ShouldReturnForbidden_WhenUserIsNotAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/transactions/daily")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31")
+                        .header("Authorization", "Bearer " + jwtCreatorConfigTest.createToken(regularUser)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    void streamNotifications_ShouldStartEventStream_WhenUserIsAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/notifications/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Authorization", "Bearer " + jwtCreatorConfigTest.createToken(adminUser)))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @Transactional
+    void streamNotifications_ShouldReplayNotificationsAfterLastEventId() throws Exception {
+        NotificationEntity notification = notificationRepository.save(NotificationEntity.builder()
+                .event(EventType.CREATE_CARD)
+                .user(regularUser)
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/api/admin/notifications/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", notification.getId() - 1)
+                        .header("Authorization", "Bearer " + jwtCreatorConfigTest.createToken(adminUser)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString())
+                .contains("id:" + notification.getId())
+                .contains("event:notification")
+                .contains("\"login\":\"regularUser\"");
+    }
+
+    @Test
+    @Transactional
+    void streamNotifications_ShouldReturnForbidden_WhenUserIsNotAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/notifications/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Authorization", "Bearer " + jwtCreatorConfigTest.createToken(regularUser)))
+                .andExpect(status().isForbidden());
+    }
+
+}
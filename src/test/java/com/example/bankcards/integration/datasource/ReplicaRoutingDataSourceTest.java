@@ -0,0 +1,122 @@
+package com.example.bankcards.integration.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import com.example.bankcards.datasource.ReplicaLagMonitor;
+import com.example.bankcards.datasource.ReplicaRoutingDataSource;
+
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String REPLICA_NAME = "replica-test";
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("routing_primary_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("routing_replica_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("bankcards.datasource.replica.enabled", () -> "true");
+        registry.add("bankcards.datasource.replica.check-interval-ms", () -> "600000");
+        registry.add("bankcards.datasource.replica.instances[0].name", () -> REPLICA_NAME);
+        registry.add("bankcards.datasource.replica.instances[0].url", replica::getJdbcUrl);
+        registry.add("bankcards.datasource.replica.instances[0].username", replica::getUsername);
+        registry.add("bankcards.datasource.replica.instances[0].password", replica::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @AfterEach
+    void tearDown() {
+        replicaLagMonitor.checkReplicas();
+    }
+
+    @Test
+    void readOnlyTransaction_WithHealthyReplica_ShouldUseReplica() {
+        replicaLagMonitor.checkReplicas();
+
+        assertTrue(routingDataSource.isReplicaAvailable(REPLICA_NAME));
+        assertEquals("routing_replica_db", currentDatabase(true));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        replicaLagMonitor.checkReplicas();
+
+        assertEquals("routing_primary_db", currentDatabase(false));
+    }
+
+    @Test
+    void readOnlyTransaction_WithUnavailableReplica_ShouldFallBackToPrimary() {
+        routingDataSource.setReplicaAvailable(REPLICA_NAME, false);
+
+        assertEquals("routing_primary_db", currentDatabase(true));
+    }
+
+    @Test
+    void isReplicaAvailable_WithCheckOlderThanTimeout_ShouldReturnFalse() {
+        ReplicaRoutingDataSource staleRouting = new ReplicaRoutingDataSource(
+            routingDataSource.getPrimary(), routingDataSource.getReplicas(), Duration.ZERO);
+
+        staleRouting.setReplicaAvailable(REPLICA_NAME, true);
+
+        assertFalse(staleRouting.isReplicaAvailable(REPLICA_NAME));
+    }
+
+    @Test
+    void nonTransactionalWork_ShouldUsePrimary() {
+        replicaLagMonitor.checkReplicas();
+
+        assertEquals("routing_primary_db",
+            jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+            jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+}
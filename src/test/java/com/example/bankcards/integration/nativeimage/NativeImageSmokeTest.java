@@ -0,0 +1,183 @@
+package com.example.bankcards.integration.nativeimage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Starts the native binary against a fresh database, so Liquibase, JPA,
+ * JWT signing and AES card encryption all run inside the image, and
+ * records startup time and resident memory to target/native-smoke.txt.
+ *
+ * Run with: mvn -Pnative verify
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+class NativeImageSmokeTest {
+
+    private static final long START_TIMEOUT_SECONDS = 60;
+
+    private static final Pattern STARTED = Pattern.compile(
+        "Started \\w+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+
+    private static final Pattern PORT = Pattern.compile("Tomcat started on port (\\d+)");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17")
+    )
+            .withDatabaseName("native_smoke_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @TempDir
+    Path workDirectory;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Process process;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    @Test
+    void nativeBinary_ShouldStartAndServeAuthenticatedRequests() throws Exception {
+        Path binary = Path.of(System.getProperty("native.binary")).toAbsolutePath();
+        assertTrue(Files.isExecutable(binary), "native binary not found: " + binary);
+
+        ProcessBuilder builder = new ProcessBuilder(binary.toString())
+            .directory(workDirectory.toFile())
+            .redirectErrorStream(true);
+        builder.environment().put("SPRING_DATASOURCE_URL", postgres.getJdbcUrl());
+        builder.environment().put("SPRING_DATASOURCE_USERNAME", postgres.getUsername());
+        builder.environment().put("SPRING_DATASOURCE_PASSWORD", postgres.getPassword());
+        builder.environment().put("SERVER_PORT", "0");
+        builder.environment().put("BANKCARDS_ARCHIVE_DIR", workDirectory.resolve("archive").toString());
+        builder.environment().put("LOGGING_FILE_NAME", workDirectory.resolve("app.log").toString());
+        process = builder.start();
+
+        int port = 0;
+        double startedSeconds = 0;
+        BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(START_TIMEOUT_SECONDS);
+        String line;
+        while (startedSeconds == 0 && (line = output.readLine()) != null && System.nanoTime() < deadline) {
+            Matcher portMatcher = PORT.matcher(line);
+            if (portMatcher.find()) {
+                port = Integer.parseInt(portMatcher.group(1));
+            }
+            Matcher startedMatcher = STARTED.matcher(line);
+            if (startedMatcher.find()) {
+                startedSeconds = Double.parseDouble(startedMatcher.group(2));
+            }
+        }
+        assertTrue(startedSeconds > 0, "native binary did not report startup");
+        assertTrue(port > 0, "native binary did not report its port");
+        Thread.ofVirtual().start(() -> output.lines().forEach(ignored -> { }));
+        long startupRss = residentKilobytes(process.pid());
+
+        String baseUrl = "http://localhost:" + port;
+        assertEquals(200, get(baseUrl + "/actuator/health", null).statusCode());
+
+        HttpResponse<String> signup = post(baseUrl + "/api/auth/signup",
+            "{\"login\":\"native_user\",\"password\":\"NativePass123\",\"email\":\"native@example.com\"}", null);
+        assertEquals(200, signup.statusCode(), signup.body());
+
+        HttpResponse<String> signin = signinAdmin(baseUrl);
+        assertEquals(200, signin.statusCode(), signin.body());
+        JsonNode admin = objectMapper.readTree(signin.body());
+        String jwt = admin.get("jwt").asText();
+
+        HttpResponse<String> card = post(baseUrl + "/api/admin/card/create/" + admin.get("id").asText(), "", jwt);
+        assertEquals(200, card.statusCode(), card.body());
+
+        HttpResponse<String> cards = get(baseUrl + "/api/user/cards", jwt);
+        assertEquals(200, cards.statusCode(), cards.body());
+        assertFalse(objectMapper.readTree(cards.body()).get("content").isEmpty());
+
+        long servingRss = residentKilobytes(process.pid());
+        String report = String.format("Native image %s%nstartup: %.3f s%nRSS after startup: %d MB%n"
+            + "RSS after smoke requests: %d MB%n", binary.getFileName(), startedSeconds,
+            startupRss / 1024, servingRss / 1024);
+        System.out.print(report);
+        Files.writeString(Path.of("target", "native-smoke.txt"), report);
+    }
+
+    /**
+     * Signs in the admin created by DataInitializer, which runs after the startup line is logged
+     */
+    private HttpResponse<String> signinAdmin(String baseUrl) throws IOException, InterruptedException {
+        HttpResponse<String> signin = null;
+        for (int attempt = 0; attempt < 20; attempt++) {
+            signin = post(baseUrl + "/api/auth/signin", "{\"login\":\"admin\",\"password\":\"admin\"}", null);
+            if (signin.statusCode() == 200) {
+                break;
+            }
+            Thread.sleep(500);
+        }
+        return signin;
+    }
+
+    private HttpResponse<String> get(String url, String jwt) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET();
+        if (jwt != null) {
+            request.header("Authorization", "Bearer " + jwt);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String url, String body, String jwt) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (jwt != null) {
+            request.header("Authorization", "Bearer " + jwt);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+}
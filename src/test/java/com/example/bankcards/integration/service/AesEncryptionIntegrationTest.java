@@ -69,7 +69,7 @@ class AesEncryptionIntegrationTest {
         assertNotEquals(originalCardNumber, encrypted);
         assertEquals(originalCardNumber, decrypted);
 
-        assertTrue(encrypted.matches("^[A-Za-z0-9+/]+=*$"));
+        assertTrue(encrypted.matches("^v1:[A-Za-z0-9+/]+=*$"));
     }
 
     @Test
@@ -0,0 +1,156 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.entity.ReconciliationDiscrepancyEntity;
+import com.example.bankcards.model.entity.TransactionTypeEntity;
+import com.example.bankcards.model.entity.TransactionsStatusEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import com.example.bankcards.repository.ReconciliationDiscrepancyRepository;
+import com.example.bankcards.repository.TransactionTypeRepository;
+import com.example.bankcards.repository.TransactionsStatusRepository;
+import com.example.bankcards.service.BalanceReconciliationService;
+import com.example.bankcards.service.BalanceReconciliationService.ReconciliationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "bankcards.reconciliation.range-bits=4")
+@Testcontainers
+@ActiveProfiles("test")
+public class BalanceReconciliationServiceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private BalanceReconciliationService balanceReconciliationService;
+
+    @Autowired
+    private ReconciliationDiscrepancyRepository discrepancyRepository;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private PaymentTransactionsRepository paymentTransactionsRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private TransactionsStatusRepository transactionsStatusRepository;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    private TransactionTypeEntity transfer;
+
+    @BeforeEach
+    void setUp() {
+        transfer = transactionTypeRepository.findByTransactionsType(TransactionsType.TRANSFER)
+            .orElseGet(() -> transactionTypeRepository.save(TransactionTypeEntity.builder()
+                .transactionsType(TransactionsType.TRANSFER)
+                .build()));
+    }
+
+    @Test
+    void reconcile_WithConsistentAccounts_ShouldReportNoDiscrepancy() {
+        CardAccountEntity sender = createAccount(-100.00);
+        CardAccountEntity recipient = createAccount(100.00);
+        saveTransaction(sender, recipient, 100.00, TransactionsStatusType.COMPLETED);
+        saveTransaction(sender, recipient, 30.00, TransactionsStatusType.FAILED);
+
+        ReconciliationResult result = balanceReconciliationService.reconcile();
+
+        assertThat(result.accounts()).isGreaterThanOrEqualTo(2);
+        assertThat(discrepancyRepository.findByRunId(result.runId()))
+            .extracting(ReconciliationDiscrepancyEntity::getCardAccountId)
+            .doesNotContain(sender.getId(), recipient.getId());
+    }
+
+    @Test
+    void reconcile_WithBalanceOutOfSync_ShouldWriteDiscrepancy() {
+        CardAccountEntity sender = createAccount(-20.00);
+        CardAccountEntity recipient = createAccount(75.50);
+        saveTransaction(sender, recipient, 20.00, TransactionsStatusType.COMPLETED);
+
+        ReconciliationResult result = balanceReconciliationService.reconcile();
+
+        List<ReconciliationDiscrepancyEntity> discrepancies = discrepancyRepository.findByRunId(result.runId());
+        assertThat(discrepancies)
+            .filteredOn(discrepancy -> discrepancy.getCardAccountId().equals(recipient.getId()))
+            .singleElement()
+            .satisfies(discrepancy -> {
+                assertThat(discrepancy.getAccountBalance()).isEqualTo(75.50);
+                assertThat(discrepancy.getTransactionsBalance()).isEqualTo(20.00);
+            });
+        assertThat(discrepancies)
+            .extracting(ReconciliationDiscrepancyEntity::getCardAccountId)
+            .doesNotContain(sender.getId());
+        assertThat(result.discrepancies()).isEqualTo(discrepancies.size());
+    }
+
+    private CardAccountEntity createAccount(Double balance) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(balance)
+            .updatedAt(Instant.now())
+            .build());
+        String number = String.format("4%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(aesEncryption.encrypt(number))
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        bankCardsRepository.save(card);
+        return cardAccountRepository.findById(account.getId()).orElseThrow();
+    }
+
+    private void saveTransaction(CardAccountEntity sender, CardAccountEntity recipient, Double amount,
+        TransactionsStatusType status) {
+        TransactionsStatusEntity statusEntity = transactionsStatusRepository.findByTransactionsStatus(status)
+            .orElseGet(() -> transactionsStatusRepository.save(TransactionsStatusEntity.builder()
+                .transactionsStatus(status)
+                .build()));
+        paymentTransactionsRepository.save(PaymentTransactionsEntity.builder()
+            .senderCardAccountId(sender)
+            .recipientAccountId(recipient.getBankCardsEntity().getId())
+            .amount(amount)
+            .transactionType(transfer)
+            .transactionsStatus(statusEntity)
+            .build());
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.exception.bankCardException.BankCardNotFoundException;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.projection.CardStatusView;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.UsersRepository;
+import com.example.bankcards.service.CardAccessValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "bankcards.card.expiry.enabled=false")
+@Testcontainers
+@ActiveProfiles("test")
+public class CardAccessValidatorIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CardAccessValidator cardAccessValidator;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    @Test
+    void findCardStatusByNumber_WithExistingCard_ShouldReturnIdsAndFlags() {
+        UsersEntity owner = createUser();
+        String number = randomNumber();
+        Instant expiresAt = Instant.now().plus(365, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS);
+        BankCardsEntity card = createCard(number, owner, true, expiresAt);
+
+        CardStatusView status = cardAccessValidator.findCardStatusByNumber(number);
+
+        assertThat(status.getId()).isEqualTo(card.getId());
+        assertThat(status.getCardAccountId()).isEqualTo(card.getCardAccountEntity().getId());
+        assertThat(status.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(status.getActive()).isTrue();
+        assertThat(status.getExpiresAt()).isEqualTo(expiresAt);
+        assertThat(cardAccessValidator.checkCardOwner(status, owner.getId())).isTrue();
+        assertThat(cardAccessValidator.checkCardOwner(status, UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void checkCard_WithActiveAndInactiveOrExpiredCards_ShouldValidateFromProjection() {
+        UsersEntity owner = createUser();
+        String valid = randomNumber();
+        String blocked = randomNumber();
+        String expired = randomNumber();
+        createCard(valid, owner, true, Instant.now().plus(30, ChronoUnit.DAYS));
+        createCard(blocked, owner, false, Instant.now().plus(30, ChronoUnit.DAYS));
+        createCard(expired, owner, true, Instant.now().minus(1, ChronoUnit.DAYS));
+
+        assertThat(cardAccessValidator.checkCard(valid)).isTrue();
+        assertThat(cardAccessValidator.checkCard(blocked)).isFalse();
+        assertThat(cardAccessValidator.checkCard(expired)).isFalse();
+    }
+
+    @Test
+    void findCardStatusByNumber_WithUnknownNumber_ShouldThrowNotFound() {
+        assertThatThrownBy(() -> cardAccessValidator.findCardStatusByNumber(randomNumber()))
+            .isInstanceOf(BankCardNotFoundException.class);
+    }
+
+    private UsersEntity createUser() {
+        String login = "owner" + ThreadLocalRandom.current().nextInt(1_000_000);
+        return usersRepository.save(UsersEntity.builder()
+            .login(login)
+            .email(login + "@example.com")
+            .password("password")
+            .createdAt(Instant.now())
+            .build());
+    }
+
+    private BankCardsEntity createCard(String number, UsersEntity owner, boolean active, Instant expiresAt) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.0)
+            .updatedAt(Instant.now())
+            .build());
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(aesEncryption.encrypt(number))
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(expiresAt)
+            .isActive(active)
+            .user(owner)
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        bankCardsRepository.save(card);
+        return bankCardsRepository.findById(card.getId()).orElseThrow();
+    }
+
+    private static String randomNumber() {
+        return String.format("4%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.enums.TransactionsType;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.service.AdminCardServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+public class CardNumberLoggingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private AdminCardServiceImpl adminCardService;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    @Test
+    void blockAndUnblockCard_ShouldLogOnlyMaskedNumber(CapturedOutput output) {
+        String number = randomNumber();
+        createCard(number);
+
+        adminCardService.blockCard(CardNumberRequest.builder().cardNumber(number).build());
+        adminCardService.unblockCard(CardNumberRequest.builder().cardNumber(number).build());
+
+        assertThat(output.getOut()).contains("****" + number.substring(12));
+        assertThat(output.getOut()).doesNotContain(number);
+    }
+
+    @Test
+    void requestToString_ShouldMaskCardNumbers() {
+        String from = randomNumber();
+        String to = randomNumber();
+
+        String cardNumberRequest = CardNumberRequest.builder().cardNumber(from).build().toString();
+        String transferRequest = TransferRequest.builder()
+            .fromNumberCard(from)
+            .toNumberCard(to)
+            .amount(10.0)
+            .transactionsType(TransactionsType.TRANSFER)
+            .build()
+            .toString();
+
+        assertThat(cardNumberRequest).contains("****" + from.substring(12)).doesNotContain(from);
+        assertThat(transferRequest).contains("****" + from.substring(12), "****" + to.substring(12))
+            .doesNotContain(from)
+            .doesNotContain(to);
+    }
+
+    private void createCard(String number) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.0)
+            .updatedAt(Instant.now())
+            .build());
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(aesEncryption.encrypt(number))
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+            .isActive(true)
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        bankCardsRepository.save(card);
+    }
+
+    private static String randomNumber() {
+        return String.format("4%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.exception.bankCardException.BankCardNumberTakenException;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.service.BulkCardIssuanceService;
+import com.example.bankcards.service.CardAccessValidator;
+import com.example.bankcards.service.CardNumberRekeyService;
+import com.example.bankcards.service.CardNumberRekeyService.RekeyResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "encryption.aes.key-id=v2",
+    "encryption.aes.secret-key=r1ZCk3k8K2eYJm4QeGz0PqZ9YFhYVxY3dZK6k8n8xR0=",
+    "encryption.aes.previous-keys=v1:" + CardNumberRekeyServiceIntegrationTest.OLD_KEY,
+    "bankcards.card.rekey.batch-size=7",
+    "bankcards.card.rekey.parallelism=3",
+    "bankcards.card.rekey.max-cards-per-second=0"
+})
+@Testcontainers
+@ActiveProfiles("test")
+public class CardNumberRekeyServiceIntegrationTest {
+
+    static final String OLD_KEY = "dGhpc2lzYTI1NmJpdHNlY3JldGtleWZvcmFlc3Rlc3Q=";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CardNumberRekeyService cardNumberRekeyService;
+
+    @Autowired
+    private CardAccessValidator cardAccessValidator;
+
+    @Autowired
+    private BulkCardIssuanceService bulkCardIssuanceService;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findBankCardByNumber_WithCardUnderPreviousKey_ShouldFindCard() {
+        String number = randomNumber();
+        BankCardsEntity card = createCard(oldAesEncryption().encrypt(number));
+
+        assertThat(cardAccessValidator.findBankCardByNumber(number).getId()).isEqualTo(card.getId());
+    }
+
+    @Test
+    void isNumberIssued_WithCardUnderPreviousKey_ShouldBeTrue() {
+        String number = randomNumber();
+        String unversioned = randomNumber();
+        createCard(oldAesEncryption().encrypt(number));
+        createCard(oldAesEncryption().encrypt(unversioned).substring("v1:".length()));
+
+        assertThat(cardAccessValidator.isNumberIssued(number)).isTrue();
+        assertThat(cardAccessValidator.isNumberIssued(unversioned)).isTrue();
+        assertThat(cardAccessValidator.isNumberIssued(randomNumber())).isFalse();
+    }
+
+    @Test
+    void encrypt_WithNumberIssuedUnderPreviousKey_ShouldRejectIt() {
+        String number = randomNumber();
+        createCard(oldAesEncryption().encrypt(number));
+
+        assertThatThrownBy(() -> bulkCardIssuanceService.encrypt(List.of(randomNumber(), number)))
+            .isInstanceOf(BankCardNumberTakenException.class)
+            .hasMessageNotContaining(number);
+        assertThat(bulkCardIssuanceService.encrypt(List.of(randomNumber()))).hasSize(1);
+    }
+
+    @Test
+    void rekey_WithCardsUnderPreviousKey_ShouldMoveThemToCurrentKey() {
+        AesEncryption oldAesEncryption = oldAesEncryption();
+        List<String> numbers = new ArrayList<>();
+        List<UUID> cardIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String number = randomNumber();
+            String stored = oldAesEncryption.encrypt(number);
+            numbers.add(number);
+            cardIds.add(createCard(i % 2 == 0 ? stored : stored.substring("v1:".length())).getId());
+        }
+        String alreadyCurrent = randomNumber();
+        createCard(aesEncryption.encrypt(alreadyCurrent));
+
+        RekeyResult result = cardNumberRekeyService.rekey();
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.rekeyed()).isGreaterThanOrEqualTo(numbers.size());
+        for (int i = 0; i < numbers.size(); i++) {
+            String stored = bankCardsRepository.findById(cardIds.get(i)).orElseThrow().getNumber();
+            assertThat(stored).isEqualTo(aesEncryption.encrypt(numbers.get(i)));
+        }
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT completed_at IS NOT NULL FROM card_number_rekey_checkpoint WHERE key_id = 'v2'", Boolean.class))
+            .isTrue();
+
+        RekeyResult repeated = cardNumberRekeyService.rekey();
+
+        assertThat(repeated.completed()).isTrue();
+        assertThat(repeated.scanned()).isZero();
+    }
+
+    private BankCardsEntity createCard(String storedNumber) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.0)
+            .updatedAt(Instant.now())
+            .build());
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(storedNumber)
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+            .isActive(true)
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        return bankCardsRepository.save(card);
+    }
+
+    private static String randomNumber() {
+        return String.format("4%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+    }
+
+    private static AesEncryption oldAesEncryption() {
+        AesEncryption oldAesEncryption = new AesEncryption();
+        ReflectionTestUtils.setField(oldAesEncryption, "currentKeyId", "v1");
+        ReflectionTestUtils.setField(oldAesEncryption, "encryptionKey", OLD_KEY);
+        ReflectionTestUtils.setField(oldAesEncryption, "previousKeys", "");
+        ReflectionTestUtils.setField(oldAesEncryption, "IV_LENGTH", 12);
+        ReflectionTestUtils.invokeMethod(oldAesEncryption, "generateKey");
+        return oldAesEncryption;
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.dto.request.CardNumberRequest;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.UsersRepository;
+import com.example.bankcards.service.AdminCardServiceImpl;
+import com.example.bankcards.service.CardAccessValidator;
+import com.example.bankcards.service.CardStatusIndex;
+import com.example.bankcards.service.CardStatusTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "bankcards.card.index.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=none"
+})
+@Testcontainers
+@ActiveProfiles("test")
+public class CardStatusIndexIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CardStatusIndex cardStatusIndex;
+
+    @Autowired
+    private CardAccessValidator cardAccessValidator;
+
+    @Autowired
+    private AdminCardServiceImpl adminCardService;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void awaitIndexLoaded() throws InterruptedException {
+        for (int i = 0; i < 100 && !cardStatusIndex.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(cardStatusIndex.isReady()).isTrue();
+    }
+
+    @Test
+    void findCardStatusByNumber_AfterDatabaseLookup_ShouldAnswerFromIndex() {
+        UsersEntity owner = createUser();
+        String number = randomNumber();
+        BankCardsEntity card = createCard(number, owner);
+        assertThat(cardStatusIndex.find(number)).isNull();
+
+        assertThat(cardAccessValidator.checkCard(number)).isTrue();
+
+        CardStatusTable.Entry indexed = cardStatusIndex.find(number);
+        assertThat(indexed).isNotNull();
+        assertThat(indexed.getId()).isEqualTo(card.getId());
+        assertThat(indexed.getCardAccountId()).isEqualTo(card.getCardAccountEntity().getId());
+        assertThat(indexed.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(indexed.getExpiresAt()).isEqualTo(card.getExpiresAt());
+        assertThat(cardAccessValidator.findCardStatusByNumber(number)).isEqualTo(indexed);
+    }
+
+    @Test
+    void blockCard_AfterCommit_ShouldUpdateIndex() {
+        String number = randomNumber();
+        createCard(number, createUser());
+        assertThat(cardAccessValidator.checkCard(number)).isTrue();
+
+        adminCardService.blockCard(CardNumberRequest.builder().cardNumber(number).build());
+
+        assertThat(cardStatusIndex.find(number).getActive()).isFalse();
+        assertThat(cardAccessValidator.checkCard(number)).isFalse();
+
+        adminCardService.unblockCard(CardNumberRequest.builder().cardNumber(number).build());
+
+        assertThat(cardStatusIndex.find(number).getActive()).isTrue();
+        assertThat(cardAccessValidator.checkCard(number)).isTrue();
+    }
+
+    @Test
+    void refresh_AfterBlockByAnotherWriter_ShouldUpdateIndex() {
+        String number = randomNumber();
+        BankCardsEntity card = createCard(number, createUser());
+        assertThat(cardAccessValidator.checkCard(number)).isTrue();
+        assertThat(cardStatusIndex.find(number).getActive()).isTrue();
+
+        jdbcTemplate.update("UPDATE bank_cards SET is_active = false WHERE id = ?", card.getId());
+        cardStatusIndex.refresh();
+
+        assertThat(cardStatusIndex.find(number).getActive()).isFalse();
+        assertThat(cardAccessValidator.checkCard(number)).isFalse();
+    }
+
+    private UsersEntity createUser() {
+        String login = "indexed" + ThreadLocalRandom.current().nextInt(1_000_000);
+        return usersRepository.save(UsersEntity.builder()
+            .login(login)
+            .email(login + "@example.com")
+            .password("password")
+            .createdAt(Instant.now())
+            .build());
+    }
+
+    private BankCardsEntity createCard(String number, UsersEntity owner) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.0)
+            .updatedAt(Instant.now())
+            .build());
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(aesEncryption.encrypt(number))
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS))
+            .isActive(true)
+            .user(owner)
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        bankCardsRepository.save(card);
+        return bankCardsRepository.findById(card.getId()).orElseThrow();
+    }
+
+    private static String randomNumber() {
+        return String.format("4%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.projection.LedgerMismatchView;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.service.LedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional
+public class LedgerServiceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    private CardAccountEntity sender;
+
+    private CardAccountEntity recipient;
+
+    @BeforeEach
+    void setUp() {
+        sender = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.00)
+            .updatedAt(Instant.now())
+            .build());
+
+        recipient = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.00)
+            .updatedAt(Instant.now())
+            .build());
+    }
+
+    @Test
+    void balanceAt_AfterTransfers_ShouldApplyDebitsAndCredits() {
+        Instant before = Instant.now().minus(1, ChronoUnit.SECONDS);
+
+        ledgerService.recordTransfer(recipient, sender, transaction(500.00));
+        ledgerService.recordTransfer(sender, recipient, transaction(120.50));
+
+        Instant after = Instant.now().plus(1, ChronoUnit.SECONDS);
+
+        assertThat(ledgerService.balanceAt(sender, before)).isEqualTo(0.00);
+        assertThat(ledgerService.balanceAt(sender, after)).isEqualTo(379.50);
+        assertThat(ledgerService.balanceAt(recipient, after)).isEqualTo(-379.50);
+    }
+
+    @Test
+    void balanceAt_AfterSnapshot_ShouldAddOnlyEntriesAfterSnapshot() {
+        ledgerService.recordTransfer(recipient, sender, transaction(300.00));
+
+        Instant cutoff = Instant.now().plus(1, ChronoUnit.SECONDS);
+        int snapshots = ledgerService.takeSnapshots(cutoff);
+
+        assertThat(snapshots).isEqualTo(2);
+        assertThat(ledgerService.latestSnapshotTime()).isEqualTo(cutoff.truncatedTo(ChronoUnit.MICROS));
+        assertThat(ledgerService.balanceAt(sender, cutoff)).isEqualTo(300.00);
+        assertThat(ledgerService.takeSnapshots(cutoff)).isZero();
+    }
+
+    @Test
+    void reconcile_WithStoredBalanceOutOfSync_ShouldReportMismatch() {
+        Instant since = Instant.now().minus(1, ChronoUnit.SECONDS);
+
+        ledgerService.recordTransfer(recipient, sender, transaction(50.00));
+        sender.setCurrentBalance(50.00);
+        recipient.setCurrentBalance(0.00);
+        cardAccountRepository.save(sender);
+        cardAccountRepository.save(recipient);
+
+        List<LedgerMismatchView> mismatches = ledgerService.reconcile(since);
+
+        assertThat(mismatches).hasSize(1);
+        assertThat(mismatches.getFirst().getAccountId()).isEqualTo(recipient.getId());
+    }
+
+    private PaymentTransactionsEntity transaction(Double amount) {
+        return PaymentTransactionsEntity.builder()
+            .id(UUID.randomUUID())
+            .amount(amount)
+            .build();
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.dto.request.ProcessNotificationsRequest;
+import com.example.bankcards.dto.response.ProcessNotificationsResponse;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.NotificationEntity;
+import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.enums.EventType;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.NotificationRepository;
+import com.example.bankcards.repository.UsersRepository;
+import com.example.bankcards.service.NotificationProcessingService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "bankcards.notification.processing.chunk-size=2")
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional
+public class NotificationProcessingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private NotificationProcessingService notificationProcessingService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void process_CreateCardNotifications_ShouldIssueCardsForActiveUsersOnly() {
+        UsersEntity active = createUser("bulk_active", true);
+        UsersEntity blocked = createUser("bulk_blocked", false);
+        for (int i = 0; i < 5; i++) {
+            notificationRepository.save(NotificationEntity.builder().event(EventType.CREATE_CARD).user(active).build());
+        }
+        notificationRepository.save(NotificationEntity.builder().event(EventType.CREATE_CARD).user(blocked).build());
+
+        ProcessNotificationsResponse response = notificationProcessingService.process(
+            ProcessNotificationsRequest.builder().event(EventType.CREATE_CARD).build());
+        entityManager.clear();
+
+        assertThat(response.getTotal()).isEqualTo(6);
+        assertThat(response.getProcessed()).isEqualTo(5);
+        assertThat(response.getSkipped()).isEqualTo(1);
+        assertThat(notificationRepository.countByEventAndIsActiveTrue(EventType.CREATE_CARD)).isEqualTo(1);
+
+        List<BankCardsEntity> cards = bankCardsRepository.findByUser(usersRepository.findById(active.getId()).orElseThrow());
+        assertThat(cards).hasSize(5);
+        assertThat(cards).allSatisfy(card -> assertThat(card.getCardAccountEntity()).isNotNull());
+    }
+
+    @Test
+    void process_SelectedBlockCardNotifications_ShouldBlockOnlySelectedCards() {
+        UsersEntity user = createUser("bulk_block", true);
+        BankCardsEntity first = createCard(user, "encrypted-number-1");
+        BankCardsEntity second = createCard(user, "encrypted-number-2");
+        NotificationEntity selected = notificationRepository.save(NotificationEntity.builder()
+            .event(EventType.BLOCK_CARD).user(user).card(first.getCardAccountEntity()).build());
+        notificationRepository.save(NotificationEntity.builder()
+            .event(EventType.BLOCK_CARD).user(user).card(second.getCardAccountEntity()).build());
+
+        ProcessNotificationsResponse response = notificationProcessingService.process(
+            ProcessNotificationsRequest.builder()
+                .event(EventType.BLOCK_CARD)
+                .notificationIds(List.of(selected.getId()))
+                .build());
+        entityManager.clear();
+
+        assertThat(response.getProcessed()).isEqualTo(1);
+        assertThat(bankCardsRepository.findById(first.getId()).orElseThrow().getIsActive()).isFalse();
+        assertThat(bankCardsRepository.findById(second.getId()).orElseThrow().getIsActive()).isTrue();
+        assertThat(notificationRepository.countByEventAndIsActiveTrue(EventType.BLOCK_CARD)).isEqualTo(1);
+    }
+
+    @Test
+    void process_Twice_ShouldNotProcessNotificationsAgain() {
+        UsersEntity user = createUser("bulk_twice", true);
+        notificationRepository.save(NotificationEntity.builder().event(EventType.CREATE_CARD).user(user).build());
+
+        notificationProcessingService.process(ProcessNotificationsRequest.builder().event(EventType.CREATE_CARD).build());
+        ProcessNotificationsResponse second = notificationProcessingService.process(
+            ProcessNotificationsRequest.builder().event(EventType.CREATE_CARD).build());
+        entityManager.clear();
+
+        assertThat(second.getTotal()).isZero();
+        assertThat(bankCardsRepository.findByUser(usersRepository.findById(user.getId()).orElseThrow())).hasSize(1);
+    }
+
+    private UsersEntity createUser(String login, boolean active) {
+        return usersRepository.save(UsersEntity.builder()
+            .login(login)
+            .email(login + "@example.com")
+            .password("password")
+            .createdAt(Instant.now())
+            .isActive(active)
+            .build());
+    }
+
+    private BankCardsEntity createCard(UsersEntity user, String number) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.00)
+            .updatedAt(Instant.now())
+            .build());
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(number)
+            .cvc2(123)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+            .user(user)
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        return bankCardsRepository.save(card);
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.exception.bankCardException.BankCardNotEnoughFundsException;
+import com.example.bankcards.model.entity.BankCardsEntity;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.entity.TransactionTypeEntity;
+import com.example.bankcards.model.entity.TransactionsStatusEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+import com.example.bankcards.repository.BankCardsRepository;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import com.example.bankcards.repository.TransactionTypeRepository;
+import com.example.bankcards.repository.TransactionsStatusRepository;
+import com.example.bankcards.service.LedgerService;
+import com.example.bankcards.service.SettlementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "bankcards.transfer.settlement.enabled=true",
+    "bankcards.transfer.settlement.workers=0"
+})
+@Testcontainers
+@ActiveProfiles("test")
+public class SettlementServiceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private BankCardsRepository bankCardsRepository;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private PaymentTransactionsRepository paymentTransactionsRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private TransactionsStatusRepository transactionsStatusRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AesEncryption aesEncryption;
+
+    private TransactionTypeEntity payment;
+
+    @BeforeEach
+    void setUp() {
+        payment = transactionTypeRepository.findByTransactionsType(TransactionsType.PAYMENT)
+            .orElseGet(() -> transactionTypeRepository.save(TransactionTypeEntity.builder()
+                .transactionsType(TransactionsType.PAYMENT)
+                .build()));
+        int leftFromOtherTests;
+        do {
+            leftFromOtherTests = settlementService.settleBatch();
+        } while (leftFromOtherTests > 0);
+    }
+
+    @Test
+    void settleBatch_WithPendingPayment_ShouldMoveBalancesAndComplete() {
+        CardAccountEntity sender = createAccount(100.00, true);
+        CardAccountEntity recipient = createAccount(10.00, true);
+        PaymentTransactionsEntity transaction = acceptPayment(sender, recipient, 40.00);
+
+        assertThat(cardAccountRepository.findById(sender.getId()).orElseThrow().getHeldAmount()).isEqualTo(40.00);
+
+        Instant before = Instant.now().minus(1, ChronoUnit.SECONDS);
+        assertThat(settlementService.settleBatch()).isEqualTo(1);
+        Instant after = Instant.now().plus(1, ChronoUnit.SECONDS);
+
+        CardAccountEntity settledSender = cardAccountRepository.findById(sender.getId()).orElseThrow();
+        assertThat(settledSender.getCurrentBalance()).isEqualTo(60.00);
+        assertThat(settledSender.getHeldAmount()).isEqualTo(0.00);
+        assertThat(cardAccountRepository.findById(recipient.getId()).orElseThrow().getCurrentBalance()).isEqualTo(50.00);
+        assertThat(status(transaction)).isEqualTo(TransactionsStatusType.COMPLETED);
+        assertThat(ledgerService.balanceAt(sender, after) - ledgerService.balanceAt(sender, before)).isEqualTo(-40.00);
+        assertThat(ledgerService.balanceAt(recipient, after) - ledgerService.balanceAt(recipient, before)).isEqualTo(40.00);
+    }
+
+    @Test
+    void settleBatch_WithBlockedRecipient_ShouldFailAndReleaseHold() {
+        CardAccountEntity sender = createAccount(100.00, true);
+        CardAccountEntity recipient = createAccount(10.00, false);
+        PaymentTransactionsEntity transaction = acceptPayment(sender, recipient, 25.00);
+
+        assertThat(settlementService.settleBatch()).isEqualTo(1);
+
+        CardAccountEntity settledSender = cardAccountRepository.findById(sender.getId()).orElseThrow();
+        assertThat(settledSender.getCurrentBalance()).isEqualTo(100.00);
+        assertThat(settledSender.getHeldAmount()).isEqualTo(0.00);
+        assertThat(cardAccountRepository.findById(recipient.getId()).orElseThrow().getCurrentBalance()).isEqualTo(10.00);
+        assertThat(status(transaction)).isEqualTo(TransactionsStatusType.FAILED);
+    }
+
+    @Test
+    void hold_WithAmountAboveAvailableBalance_ShouldThrow() {
+        CardAccountEntity sender = createAccount(50.00, true);
+        transactionTemplate.executeWithoutResult(status -> settlementService.hold(sender, 30.00));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> settlementService.hold(sender, 30.00)))
+            .isInstanceOf(BankCardNotEnoughFundsException.class);
+        assertThat(cardAccountRepository.findById(sender.getId()).orElseThrow().getHeldAmount()).isEqualTo(30.00);
+    }
+
+    private CardAccountEntity createAccount(Double balance, boolean active) {
+        CardAccountEntity account = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(balance)
+            .updatedAt(Instant.now())
+            .build());
+        String number = String.format("4%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L));
+        BankCardsEntity card = BankCardsEntity.builder()
+            .number(aesEncryption.encrypt(number))
+            .cvc2(123)
+            .isActive(active)
+            .createdAt(Instant.now())
+            .expiresAt(Instant.now().plus(365, ChronoUnit.DAYS))
+            .cardAccountEntity(account)
+            .build();
+        account.setBankCardsEntity(card);
+        bankCardsRepository.save(card);
+        return cardAccountRepository.findById(account.getId()).orElseThrow();
+    }
+
+    private PaymentTransactionsEntity acceptPayment(CardAccountEntity sender, CardAccountEntity recipient,
+        Double amount) {
+        TransactionsStatusEntity pending = transactionsStatusRepository
+            .findByTransactionsStatus(TransactionsStatusType.PENDING)
+            .orElseThrow();
+        return transactionTemplate.execute(status -> {
+            settlementService.hold(sender, amount);
+            return paymentTransactionsRepository.save(PaymentTransactionsEntity.builder()
+                .senderCardAccountId(sender)
+                .recipientAccountId(recipient.getBankCardsEntity().getId())
+                .amount(amount)
+                .transactionType(payment)
+                .transactionsStatus(pending)
+                .build());
+        });
+    }
+
+    private TransactionsStatusType status(PaymentTransactionsEntity transaction) {
+        return transactionTemplate.execute(status -> paymentTransactionsRepository
+            .findByIdCreatedBetween(transaction.getId(), transaction.getCreatedAt().minus(1, ChronoUnit.SECONDS),
+                transaction.getCreatedAt().plus(1, ChronoUnit.SECONDS))
+            .orElseThrow()
+            .getTransactionsStatus()
+            .getTransactionsStatus());
+    }
+
+}
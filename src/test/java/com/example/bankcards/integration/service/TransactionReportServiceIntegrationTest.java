@@ -0,0 +1,152 @@
+package com.example.bankcards.integration.service;
+
+import com.example.bankcards.dto.response.DailyTransactionReportResponse;
+import com.example.bankcards.dto.response.DailyTransactionReportResponse.DailyVolume;
+import com.example.bankcards.exception.requestException.ReportRangeTooLongException;
+import com.example.bankcards.model.entity.CardAccountEntity;
+import com.example.bankcards.model.entity.PaymentTransactionsEntity;
+import com.example.bankcards.model.entity.TransactionTypeEntity;
+import com.example.bankcards.model.entity.TransactionsStatusEntity;
+import com.example.bankcards.model.enums.TransactionsStatusType;
+import com.example.bankcards.model.enums.TransactionsType;
+import com.example.bankcards.repository.CardAccountRepository;
+import com.example.bankcards.repository.PaymentTransactionsRepository;
+import com.example.bankcards.repository.TransactionTypeRepository;
+import com.example.bankcards.repository.TransactionsStatusRepository;
+import com.example.bankcards.service.TransactionReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional
+public class TransactionReportServiceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TransactionReportService transactionReportService;
+
+    @Autowired
+    private CardAccountRepository cardAccountRepository;
+
+    @Autowired
+    private PaymentTransactionsRepository paymentTransactionsRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private TransactionsStatusRepository transactionsStatusRepository;
+
+    private CardAccountEntity sender;
+
+    @BeforeEach
+    void setUp() {
+        sender = cardAccountRepository.save(CardAccountEntity.builder()
+            .currentBalance(0.00)
+            .updatedAt(Instant.now())
+            .build());
+    }
+
+    @Test
+    void rollUp_ShouldCountNewTransactionsOnce() {
+        saveTransaction(100.00, TransactionsStatusType.COMPLETED);
+        saveTransaction(25.50, TransactionsStatusType.COMPLETED);
+        saveTransaction(10.00, TransactionsStatusType.FAILED);
+        Instant cutoff = Instant.now().plus(1, ChronoUnit.SECONDS);
+
+        assertThat(transactionReportService.rollUp(cutoff)).isEqualTo(2);
+        assertThat(transactionReportService.rollUp(cutoff)).isZero();
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        DailyTransactionReportResponse report = transactionReportService.dailyReport(today.minusDays(1), today);
+
+        assertThat(report.getRolledUpTo()).isEqualTo(cutoff.truncatedTo(ChronoUnit.MICROS));
+        assertThat(report.getVolumes())
+            .filteredOn(volume -> volume.getStatus() == TransactionsStatusType.COMPLETED)
+            .singleElement()
+            .satisfies(volume -> {
+                assertThat(volume.getDay()).isEqualTo(today);
+                assertThat(volume.getType()).isEqualTo(TransactionsType.TRANSFER);
+                assertThat(volume.getCount()).isEqualTo(2);
+                assertThat(volume.getAmount()).isEqualTo(125.50);
+            });
+        assertThat(report.getVolumes()).extracting(DailyVolume::getCount).containsExactlyInAnyOrder(2L, 1L);
+    }
+
+    @Test
+    void rollUp_WithUnsettledTransaction_ShouldStopBeforeIt() {
+        saveTransaction(40.00, TransactionsStatusType.COMPLETED);
+        saveTransaction(15.00, TransactionsStatusType.PENDING);
+        saveTransaction(60.00, TransactionsStatusType.COMPLETED);
+        Instant cutoff = Instant.now().plus(1, ChronoUnit.SECONDS);
+
+        assertThat(transactionReportService.rollUp(cutoff)).isEqualTo(1);
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        DailyTransactionReportResponse report = transactionReportService.dailyReport(today.minusDays(1), today);
+
+        assertThat(report.getRolledUpTo()).isBefore(cutoff.truncatedTo(ChronoUnit.MICROS));
+        assertThat(report.getVolumes())
+            .singleElement()
+            .satisfies(volume -> {
+                assertThat(volume.getStatus()).isEqualTo(TransactionsStatusType.COMPLETED);
+                assertThat(volume.getAmount()).isEqualTo(40.00);
+            });
+    }
+
+    @Test
+    void dailyReport_WithRangeLongerThanLimit_ShouldThrow() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        assertThatThrownBy(() -> transactionReportService.dailyReport(from,
+                from.plusDays(TransactionReportService.MAX_REPORT_DAYS)))
+            .isInstanceOf(ReportRangeTooLongException.class);
+    }
+
+    private void saveTransaction(Double amount, TransactionsStatusType status) {
+        TransactionTypeEntity type = transactionTypeRepository.findByTransactionsType(TransactionsType.TRANSFER)
+            .orElseGet(() -> transactionTypeRepository.save(TransactionTypeEntity.builder()
+                .transactionsType(TransactionsType.TRANSFER)
+                .build()));
+        TransactionsStatusEntity statusEntity = transactionsStatusRepository.findByTransactionsStatus(status)
+            .orElseGet(() -> transactionsStatusRepository.save(TransactionsStatusEntity.builder()
+                .transactionsStatus(status)
+                .build()));
+        paymentTransactionsRepository.save(PaymentTransactionsEntity.builder()
+            .senderCardAccountId(sender)
+            .recipientAccountId(UUID.randomUUID())
+            .amount(amount)
+            .transactionType(type)
+            .transactionsStatus(statusEntity)
+            .build());
+    }
+
+}
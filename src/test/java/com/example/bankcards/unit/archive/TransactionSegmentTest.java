@@ -0,0 +1,125 @@
+package com.example.bankcards.unit.archive;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.bankcards.archive.ArchivedTransaction;
+import com.example.bankcards.archive.TransactionSegmentReader;
+import com.example.bankcards.archive.TransactionSegmentWriter;
+
+class TransactionSegmentTest {
+
+    private static final Instant BASE = Instant.parse("2024-03-01T00:00:00Z");
+
+    private static final Comparator<UUID> POSTGRES_ORDER = Comparator
+        .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    @TempDir
+    Path directory;
+
+    private static List<UUID> accounts(int count) {
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accounts.add(UUID.randomUUID());
+        }
+        accounts.sort(POSTGRES_ORDER);
+        return accounts;
+    }
+
+    private static ArchivedTransaction transaction(UUID account, int hour) {
+        return new ArchivedTransaction(UUID.randomUUID(), account, UUID.randomUUID(),
+            hour % 3 == 0 ? null : "comment " + hour, 1_000L + hour, "TRANSFER",
+            hour % 2 == 0 ? "COMPLETED" : "FAILED", BASE.plusSeconds(hour * 3_600L).plusNanos(250_000));
+    }
+
+    private Path write(List<UUID> accounts, int rowsPerAccount, int blockRows) throws IOException {
+        Path file = directory.resolve("segment.seg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file, blockRows)) {
+            for (UUID account : accounts) {
+                for (int hour = 0; hour < rowsPerAccount; hour++) {
+                    writer.append(transaction(account, hour));
+                }
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void findSent_WithAccountSpanningBlocks_ShouldReturnAllItsRows() throws IOException {
+        List<UUID> accounts = accounts(50);
+        Path file = write(accounts, 30, 64);
+
+        try (TransactionSegmentReader reader = TransactionSegmentReader.open(file)) {
+            assertEquals(1_500, reader.rowCount());
+            for (UUID account : accounts) {
+                List<ArchivedTransaction> rows = reader.findSent(account, BASE, BASE.plusSeconds(86_400 * 2));
+                assertEquals(30, rows.size());
+                assertTrue(rows.stream().allMatch(row -> row.senderAccountId().equals(account)));
+            }
+        }
+    }
+
+    @Test
+    void findSent_ShouldRestoreAllColumns() throws IOException {
+        UUID account = UUID.randomUUID();
+        ArchivedTransaction expected = transaction(account, 5);
+        Path file = directory.resolve("single.seg");
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(file, 16)) {
+            writer.append(expected);
+        }
+
+        try (TransactionSegmentReader reader = TransactionSegmentReader.open(file)) {
+            assertEquals(List.of(expected), reader.findSent(account, BASE, BASE.plusSeconds(86_400)));
+        }
+    }
+
+    @Test
+    void findSent_WithTimeRange_ShouldFilterRows() throws IOException {
+        List<UUID> accounts = accounts(3);
+        Path file = write(accounts, 24, 16);
+
+        try (TransactionSegmentReader reader = TransactionSegmentReader.open(file)) {
+            List<ArchivedTransaction> rows = reader.findSent(accounts.get(1),
+                BASE.plusSeconds(5 * 3_600L), BASE.plusSeconds(10 * 3_600L));
+            assertEquals(5, rows.size());
+            assertTrue(reader.findSent(accounts.get(1), BASE.minusSeconds(3_600), BASE).isEmpty());
+        }
+    }
+
+    @Test
+    void findSent_WithUnknownAccount_ShouldReturnEmpty() throws IOException {
+        Path file = write(accounts(10), 5, 8);
+
+        try (TransactionSegmentReader reader = TransactionSegmentReader.open(file)) {
+            assertTrue(reader.findSent(UUID.randomUUID(), BASE, BASE.plusSeconds(86_400)).isEmpty());
+        }
+    }
+
+    @Test
+    void append_WithUnorderedAccounts_ShouldThrow() throws IOException {
+        List<UUID> accounts = accounts(2);
+        try (TransactionSegmentWriter writer = new TransactionSegmentWriter(directory.resolve("bad.seg"), 8)) {
+            writer.append(transaction(accounts.get(1), 0));
+
+            assertThrows(IllegalStateException.class, () -> writer.append(transaction(accounts.get(0), 1)));
+        }
+    }
+
+    @Test
+    void open_WithForeignFile_ShouldThrow() throws IOException {
+        Path file = directory.resolve("foreign.seg");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> TransactionSegmentReader.open(file));
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.example.bankcards.unit.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.bankcards.audit.AuditJournalReader;
+import com.example.bankcards.audit.AuditJournalWriter;
+import com.example.bankcards.audit.AuditRecord;
+
+class AuditJournalTest {
+
+    private static final Instant BASE = Instant.parse("2024-03-01T00:00:00.123456789Z");
+
+    private static final int HEADER_BYTES = 48;
+
+    private static final int RECORD_BYTES = 112;
+
+    private static final int AMOUNT_OFFSET = 56;
+
+    @TempDir
+    Path directory;
+
+    private static AuditRecord append(AuditJournalWriter writer, int index) throws IOException {
+        return writer.append(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1_000L + index,
+            BASE.plusSeconds(index), BASE.plusSeconds(index + 1));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private static void corruptAmount(Path segment, int record) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(HEADER_BYTES + (long) record * RECORD_BYTES + AMOUNT_OFFSET);
+            file.writeLong(-1);
+        }
+    }
+
+    @Test
+    void verify_AfterAppends_ShouldReturnAllRecordsInOrder() throws IOException {
+        List<AuditRecord> appended = new ArrayList<>();
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 64, 8)) {
+            for (int i = 0; i < 20; i++) {
+                appended.add(append(writer, i));
+            }
+            assertEquals(20, writer.lastSequence());
+        }
+
+        List<AuditRecord> read = new ArrayList<>();
+        AuditJournalReader.Verification verification = AuditJournalReader.verify(directory, read::add);
+
+        assertTrue(verification.valid(), verification.failure());
+        assertEquals(20, verification.records());
+        assertEquals(appended, read);
+        assertEquals(1, read.get(0).sequence());
+        assertEquals(BASE.plusSeconds(3).minusNanos(789), read.get(3).createdAt());
+    }
+
+    @Test
+    void append_WhenSegmentIsFull_ShouldContinueChainInNextSegment() throws IOException {
+        byte[] lastHash;
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            for (int i = 0; i < 35; i++) {
+                append(writer, i);
+            }
+            assertEquals(3, writer.rotations());
+            lastHash = writer.lastHash();
+        }
+
+        AuditJournalReader.Verification verification = AuditJournalReader.verify(directory, record -> { });
+
+        assertTrue(verification.valid(), verification.failure());
+        assertEquals(4, verification.segments());
+        assertEquals(35, verification.records());
+        assertEquals(35, verification.lastSequence());
+        assertArrayEquals(lastHash, verification.lastHash());
+    }
+
+    @Test
+    void append_AfterReopen_ShouldContinueSequenceAndChain() throws IOException {
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            for (int i = 0; i < 15; i++) {
+                append(writer, i);
+            }
+        }
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            assertEquals(15, writer.lastSequence());
+            assertEquals(16, append(writer, 15).sequence());
+        }
+
+        AuditJournalReader.Verification verification = AuditJournalReader.verify(directory, record -> { });
+
+        assertTrue(verification.valid(), verification.failure());
+        assertEquals(16, verification.records());
+    }
+
+    @Test
+    void verify_WithModifiedRecord_ShouldReportBrokenChain() throws IOException {
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            for (int i = 0; i < 25; i++) {
+                append(writer, i);
+            }
+        }
+        corruptAmount(segments().get(1), 2);
+
+        List<AuditRecord> read = new ArrayList<>();
+        AuditJournalReader.Verification verification = AuditJournalReader.verify(directory, read::add);
+
+        assertFalse(verification.valid());
+        assertEquals(12, read.size());
+        assertTrue(verification.failure().contains("sequence 13"));
+    }
+
+    @Test
+    void verify_WithRemovedMiddleSegment_ShouldReportBrokenChain() throws IOException {
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            for (int i = 0; i < 25; i++) {
+                append(writer, i);
+            }
+        }
+        Files.delete(segments().get(1));
+
+        AuditJournalReader.Verification verification = AuditJournalReader.verify(directory, record -> { });
+
+        assertFalse(verification.valid());
+        assertEquals(10, verification.records());
+    }
+
+    @Test
+    void open_WithTornLastRecord_ShouldDropItAndContinue() throws IOException {
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            for (int i = 0; i < 7; i++) {
+                append(writer, i);
+            }
+        }
+        corruptAmount(segments().get(0), 6);
+
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            assertEquals(6, writer.lastSequence());
+            assertEquals(7, append(writer, 7).sequence());
+        }
+
+        AuditJournalReader.Verification verification = AuditJournalReader.verify(directory, record -> { });
+        assertTrue(verification.valid(), verification.failure());
+        assertEquals(7, verification.records());
+    }
+
+    @Test
+    void open_WithCorruptedRecordBeforeLast_ShouldFail() throws IOException {
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            for (int i = 0; i < 7; i++) {
+                append(writer, i);
+            }
+        }
+        corruptAmount(segments().get(0), 3);
+
+        assertThrows(IllegalStateException.class, () -> new AuditJournalWriter(directory, 10, 4));
+    }
+
+    @Test
+    void open_WhileAnotherWriterHoldsDirectory_ShouldFail() throws IOException {
+        try (AuditJournalWriter writer = new AuditJournalWriter(directory, 10, 4)) {
+            assertThrows(IOException.class, () -> new AuditJournalWriter(directory, 10, 4));
+        }
+    }
+
+}
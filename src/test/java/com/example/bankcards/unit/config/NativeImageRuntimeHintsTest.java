@@ -0,0 +1,53 @@
+package com.example.bankcards.unit.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import com.example.bankcards.config.NativeImageConfiguration;
+import com.example.bankcards.dto.request.TransferRequest;
+import com.example.bankcards.dto.response.CardStatusResponse;
+import com.example.bankcards.model.entity.UsersEntity;
+import com.example.bankcards.model.enums.RoleType;
+
+class NativeImageRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeImageConfiguration.BankcardsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_ShouldCoverEntitiesEnumsAndNestedDtos() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UsersEntity.class)
+            .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RoleType.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TransferRequest.class)
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CardStatusResponse.PaymentTransaction.class).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldCoverJjwtImplementations() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonDeserializer")).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldIncludeLiquibaseChangelogs() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/db.changelog-master.yaml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+            .forResource("db/changelog/create-table/partition-payment-transactions.yaml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+            .forResource("db/changelog/fill-table/fill-role-table.yaml").test(hints));
+    }
+
+}
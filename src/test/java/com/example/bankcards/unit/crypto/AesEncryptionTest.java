@@ -0,0 +1,86 @@
+package com.example.bankcards.unit.crypto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.bankcards.crypto.AesEncryption;
+import com.example.bankcards.exception.encryprionExceprion.EncryptionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AesEncryptionTest {
+
+    private static final String OLD_KEY = "dGhpc2lzYTI1NmJpdHNlY3JldGtleWZvcmFlc3Rlc3Q=";
+
+    private static final String NEW_KEY = "r1ZCk3k8K2eYJm4QeGz0PqZ9YFhYVxY3dZK6k8n8xR0=";
+
+    private static final String CARD_NUMBER = "4999990000000018";
+
+    @Test
+    void encrypt_WithCurrentKey_ShouldPrefixKeyId() {
+        AesEncryption aesEncryption = aesEncryption("v2", NEW_KEY, "");
+
+        String encrypted = aesEncryption.encrypt(CARD_NUMBER);
+
+        assertThat(encrypted).startsWith("v2:");
+        assertThat(aesEncryption.isCurrent(encrypted)).isTrue();
+        assertThat(aesEncryption.decrypt(encrypted)).isEqualTo(CARD_NUMBER);
+    }
+
+    @Test
+    void decrypt_WithPreviousKey_ShouldReturnCardNumber() {
+        String oldCiphertext = aesEncryption("v1", OLD_KEY, "").encrypt(CARD_NUMBER);
+        AesEncryption rotated = aesEncryption("v2", NEW_KEY, "v1:" + OLD_KEY);
+
+        assertThat(rotated.isCurrent(oldCiphertext)).isFalse();
+        assertThat(rotated.decrypt(oldCiphertext)).isEqualTo(CARD_NUMBER);
+        assertThat(rotated.reencrypt(oldCiphertext)).isEqualTo(rotated.encrypt(CARD_NUMBER));
+    }
+
+    @Test
+    void decrypt_WithUnversionedCiphertext_ShouldTryEveryKey() {
+        String versioned = aesEncryption("v1", OLD_KEY, "").encrypt(CARD_NUMBER);
+        String unversioned = versioned.substring("v1:".length());
+        AesEncryption rotated = aesEncryption("v2", NEW_KEY, "v1:" + OLD_KEY);
+
+        assertThat(rotated.decrypt(unversioned)).isEqualTo(CARD_NUMBER);
+    }
+
+    @Test
+    void decrypt_WithUnknownKeyId_ShouldThrowEncryptionException() {
+        String oldCiphertext = aesEncryption("v1", OLD_KEY, "").encrypt(CARD_NUMBER);
+        AesEncryption withoutOldKey = aesEncryption("v2", NEW_KEY, "");
+
+        assertThatThrownBy(() -> withoutOldKey.decrypt(oldCiphertext))
+            .isInstanceOf(EncryptionException.class);
+    }
+
+    @Test
+    void lookupCandidates_WithPreviousKey_ShouldContainEveryStoredForm() {
+        String oldCiphertext = aesEncryption("v1", OLD_KEY, "").encrypt(CARD_NUMBER);
+        AesEncryption rotated = aesEncryption("v2", NEW_KEY, "v1:" + OLD_KEY);
+
+        assertThat(rotated.lookupCandidates(CARD_NUMBER))
+            .startsWith(rotated.encrypt(CARD_NUMBER))
+            .contains(oldCiphertext, oldCiphertext.substring("v1:".length()))
+            .hasSize(4);
+    }
+
+    @Test
+    void init_WithDuplicateKeyId_ShouldFail() {
+        assertThatThrownBy(() -> aesEncryption("v1", NEW_KEY, "v1:" + OLD_KEY))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static AesEncryption aesEncryption(String keyId, String secretKey, String previousKeys) {
+        AesEncryption aesEncryption = new AesEncryption();
+        ReflectionTestUtils.setField(aesEncryption, "currentKeyId", keyId);
+        ReflectionTestUtils.setField(aesEncryption, "encryptionKey", secretKey);
+        ReflectionTestUtils.setField(aesEncryption, "previousKeys", previousKeys);
+        ReflectionTestUtils.setField(aesEncryption, "IV_LENGTH", 12);
+        ReflectionTestUtils.invokeMethod(aesEncryption, "generateKey");
+        return aesEncryption;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.unit.crypto;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import com.example.bankcards.crypto.MaskedCardNumber;
+
+class MaskedCardNumberTest {
+
+    @Test
+    void toString_WithFullCardNumber_ShouldShowOnlyLastFourDigits() {
+        assertEquals("****5678", MaskedCardNumber.of("1234567812345678").toString());
+    }
+
+    @Test
+    void toString_WithShortNumber_ShouldKeepWholeNumberBehindMask() {
+        assertEquals("****12", MaskedCardNumber.of("12").toString());
+    }
+
+    @Test
+    void toString_WithNull_ShouldReturnNullLiteral() {
+        assertEquals("null", MaskedCardNumber.of(null).toString());
+    }
+
+}
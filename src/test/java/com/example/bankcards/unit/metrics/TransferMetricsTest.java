@@ -0,0 +1,65 @@
+package com.example.bankcards.unit.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.example.bankcards.exception.bankCardException.BankCardNotEnoughFundsException;
+import com.example.bankcards.metrics.TransferMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TransferMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferMetrics transferMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transferMetrics = new TransferMetrics(meterRegistry);
+    }
+
+    @Test
+    void stopStage_ShouldRecordTimerTaggedWithStage() {
+        Timer.Sample sample = transferMetrics.startStage();
+
+        transferMetrics.stopStage(sample, TransferMetrics.STAGE_VALIDATION);
+
+        Timer timer = meterRegistry.find(TransferMetrics.STAGE_TIMER)
+            .tag("stage", TransferMetrics.STAGE_VALIDATION)
+            .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void recordOutcome_WithoutException_ShouldCountSuccess() {
+        transferMetrics.recordOutcome(null);
+        transferMetrics.recordOutcome(null);
+
+        double count = meterRegistry.get(TransferMetrics.OUTCOME_COUNTER)
+            .tag("result", "success")
+            .counter()
+            .count();
+        assertEquals(2.0, count);
+    }
+
+    @Test
+    void recordOutcome_WithException_ShouldCountFailureByExceptionName() {
+        transferMetrics.recordOutcome(new BankCardNotEnoughFundsException());
+
+        double count = meterRegistry.get(TransferMetrics.OUTCOME_COUNTER)
+            .tag("result", "failure")
+            .tag("exception", "BankCardNotEnoughFundsException")
+            .counter()
+            .count();
+        assertEquals(1.0, count);
+    }
+
+    @Test
+    void recordCommitStage_WithoutTransaction_ShouldNotFail() {
+        assertDoesNotThrow(() -> transferMetrics.recordCommitStage());
+    }
+
+}
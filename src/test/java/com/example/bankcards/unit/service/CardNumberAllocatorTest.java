@@ -0,0 +1,66 @@
+package com.example.bankcards.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.example.bankcards.repository.CardPanRangeRepository;
+import com.example.bankcards.service.CardNumberAllocator;
+
+@ExtendWith(MockitoExtension.class)
+class CardNumberAllocatorTest {
+
+    @Mock
+    private CardPanRangeRepository cardPanRangeRepository;
+
+    private CardNumberAllocator cardNumberAllocator;
+
+    @BeforeEach
+    void setUp() {
+        cardNumberAllocator = new CardNumberAllocator(cardPanRangeRepository, "499999");
+    }
+
+    @Test
+    void allocate_WithReservedRange_ShouldReturnUniqueLuhnValidNumbersOfBin() {
+        when(cardPanRangeRepository.reserve("499999", 1000)).thenReturn(41L);
+
+        List<String> numbers = cardNumberAllocator.allocate(1000);
+
+        assertEquals(1000, numbers.size());
+        assertEquals(1000, new HashSet<>(numbers).size());
+        assertEquals("4999990000000411", numbers.get(0));
+        numbers.forEach(number -> {
+            assertEquals(16, number.length());
+            assertTrue(number.startsWith("499999"));
+            assertTrue(CardNumberAllocator.isLuhnValid(number), number);
+        });
+    }
+
+    @Test
+    void allocate_BeyondRange_ShouldThrowIllegalStateException() {
+        when(cardPanRangeRepository.reserve("499999", 10)).thenReturn(999_999_995L);
+
+        assertThrows(IllegalStateException.class, () -> cardNumberAllocator.allocate(10));
+    }
+
+    @Test
+    void isLuhnValid_WithKnownNumbers_ShouldMatchChecksum() {
+        assertTrue(CardNumberAllocator.isLuhnValid("4111111111111111"));
+        assertTrue(CardNumberAllocator.isLuhnValid("79927398713"));
+        assertFalse(CardNumberAllocator.isLuhnValid("4111111111111112"));
+        assertFalse(CardNumberAllocator.isLuhnValid("4111-1111"));
+        assertFalse(CardNumberAllocator.isLuhnValid(null));
+    }
+
+    @Test
+    void constructor_WithInvalidBin_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new CardNumberAllocator(cardPanRangeRepository, "49999"));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.example.bankcards.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import com.example.bankcards.service.CardStatusTable;
+
+class CardStatusTableTest {
+
+    private static final Instant EXPIRES_AT = Instant.parse("2031-05-17T10:15:30.123456Z");
+
+    @Test
+    void get_AfterPut_ShouldReturnStoredStatus() {
+        CardStatusTable table = new CardStatusTable(16);
+        UUID cardId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+
+        assertTrue(table.put(11, 12, cardId, accountId, ownerId, true, EXPIRES_AT));
+
+        CardStatusTable.Entry entry = table.get(11, 12);
+        assertEquals(cardId, entry.getId());
+        assertEquals(accountId, entry.getCardAccountId());
+        assertEquals(ownerId, entry.getOwnerId());
+        assertTrue(entry.getActive());
+        assertEquals(EXPIRES_AT, entry.getExpiresAt());
+        assertNull(table.get(11, 13));
+    }
+
+    @Test
+    void put_WithStoredKey_ShouldReplaceStatus() {
+        CardStatusTable table = new CardStatusTable(16);
+        UUID cardId = UUID.randomUUID();
+        table.put(1, 2, cardId, null, null, true, EXPIRES_AT);
+
+        assertFalse(table.put(1, 2, cardId, null, null, false, EXPIRES_AT));
+
+        assertFalse(table.get(1, 2).getActive());
+        assertNull(table.get(1, 2).getCardAccountId());
+        assertNull(table.get(1, 2).getOwnerId());
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void putIfAbsent_WithStoredKey_ShouldKeepStatus() {
+        CardStatusTable table = new CardStatusTable(16);
+        UUID cardId = UUID.randomUUID();
+        table.put(1, 2, cardId, null, null, false, EXPIRES_AT);
+
+        assertFalse(table.putIfAbsent(1, 2, cardId, null, null, true, EXPIRES_AT));
+
+        assertFalse(table.get(1, 2).getActive());
+    }
+
+    @Test
+    void put_BeyondCapacity_ShouldGrowAndKeepEveryEntry() {
+        CardStatusTable table = new CardStatusTable(16);
+        int initialCapacity = table.capacity();
+        long[][] keys = new long[10_000][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new long[] {ThreadLocalRandom.current().nextLong(), i + 1};
+            table.put(keys[i][0], keys[i][1], new UUID(0, i), null, null, i % 2 == 0,
+                EXPIRES_AT.plus(i, ChronoUnit.MINUTES));
+        }
+
+        assertEquals(keys.length, table.size());
+        assertTrue(table.capacity() > initialCapacity);
+        for (int i = 0; i < keys.length; i++) {
+            CardStatusTable.Entry entry = table.get(keys[i][0], keys[i][1]);
+            assertEquals(new UUID(0, i), entry.getId());
+            assertEquals(i % 2 == 0, entry.getActive());
+            assertEquals(EXPIRES_AT.plus(i, ChronoUnit.MINUTES), entry.getExpiresAt());
+        }
+    }
+
+    @Test
+    void put_WithZeroDigest_ShouldThrow() {
+        CardStatusTable table = new CardStatusTable(16);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> table.put(0, 0, UUID.randomUUID(), null, null, true, EXPIRES_AT));
+    }
+
+}
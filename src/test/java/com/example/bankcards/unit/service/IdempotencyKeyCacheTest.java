@@ -0,0 +1,74 @@
+package com.example.bankcards.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import com.example.bankcards.dto.response.CreateTransactionResponse;
+import com.example.bankcards.service.IdempotencyKeyCache;
+
+class IdempotencyKeyCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static IdempotencyKeyCache.Entry entry(Instant expiresAt) {
+        CreateTransactionResponse response = CreateTransactionResponse.builder()
+                .fromCardAccountId(UUID.randomUUID())
+                .toCardAccountId(UUID.randomUUID())
+                .transactionType("TRANSFER")
+                .amount(10.0)
+                .build();
+        return new IdempotencyKeyCache.Entry("hash", response, expiresAt);
+    }
+
+    @Test
+    void get_WithStoredKey_ShouldReturnEntry() {
+        IdempotencyKeyCache cache = new IdempotencyKeyCache(10);
+        IdempotencyKeyCache.Entry entry = entry(NOW.plusSeconds(60));
+        cache.put("user", "key-1", entry);
+
+        assertSame(entry, cache.get("user", "key-1", NOW));
+    }
+
+    @Test
+    void get_WithSameKeyOfOtherUser_ShouldReturnNull() {
+        IdempotencyKeyCache cache = new IdempotencyKeyCache(10);
+        cache.put("user", "key-1", entry(NOW.plusSeconds(60)));
+
+        assertNull(cache.get("other", "key-1", NOW));
+    }
+
+    @Test
+    void get_WithExpiredEntry_ShouldReturnNullAndEvict() {
+        IdempotencyKeyCache cache = new IdempotencyKeyCache(10);
+        cache.put("user", "key-1", entry(NOW.minusSeconds(1)));
+
+        assertNull(cache.get("user", "key-1", NOW));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        IdempotencyKeyCache cache = new IdempotencyKeyCache(2);
+        cache.put("user", "key-1", entry(NOW.plusSeconds(60)));
+        cache.put("user", "key-2", entry(NOW.plusSeconds(60)));
+        cache.get("user", "key-1", NOW);
+        cache.put("user", "key-3", entry(NOW.plusSeconds(60)));
+
+        assertNotNull(cache.get("user", "key-1", NOW));
+        assertNull(cache.get("user", "key-2", NOW));
+        assertNotNull(cache.get("user", "key-3", NOW));
+    }
+
+    @Test
+    void evictExpired_ShouldKeepOnlyLiveEntries() {
+        IdempotencyKeyCache cache = new IdempotencyKeyCache(10);
+        cache.put("user", "key-1", entry(NOW.minusSeconds(1)));
+        cache.put("user", "key-2", entry(NOW.plusSeconds(60)));
+
+        cache.evictExpired(NOW);
+
+        assertEquals(1, cache.size());
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.example.bankcards.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import com.example.bankcards.service.SlidingWindowCounter;
+
+class SlidingWindowCounterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static final SlidingWindowCounter.Window MINUTE =
+        new SlidingWindowCounter.Window("minute", 1_000L, 60, 3, 10_000);
+
+    private static final SlidingWindowCounter.Window DAY =
+        new SlidingWindowCounter.Window("day", 600_000L, 144, 5, 0);
+
+    private static SlidingWindowCounter counter() {
+        return new SlidingWindowCounter(List.of(MINUTE, DAY), 4, 100);
+    }
+
+    @Test
+    void tryAcquire_WithinLimits_ShouldRecordEvent() {
+        SlidingWindowCounter counter = counter();
+        UUID key = UUID.randomUUID();
+
+        assertNull(counter.tryAcquire(key, 1_000, NOW));
+        assertNull(counter.tryAcquire(key, 1_000, NOW + 10));
+
+        assertEquals(2, counter.count(key, MINUTE, NOW + 20));
+        assertEquals(2, counter.count(key, DAY, NOW + 20));
+    }
+
+    @Test
+    void tryAcquire_OverCountLimit_ShouldReturnWindowAndNotRecord() {
+        SlidingWindowCounter counter = counter();
+        UUID key = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            assertNull(counter.tryAcquire(key, 100, NOW + i));
+        }
+
+        assertEquals(MINUTE, counter.tryAcquire(key, 100, NOW + 5));
+        assertEquals(3, counter.count(key, MINUTE, NOW + 5));
+    }
+
+    @Test
+    void tryAcquire_OverAmountLimit_ShouldReturnWindow() {
+        SlidingWindowCounter counter = counter();
+        UUID key = UUID.randomUUID();
+        assertNull(counter.tryAcquire(key, 9_000, NOW));
+
+        assertEquals(MINUTE, counter.tryAcquire(key, 1_001, NOW + 1));
+        assertNull(counter.tryAcquire(key, 1_000, NOW + 2));
+    }
+
+    @Test
+    void tryAcquire_AfterMinuteSlides_ShouldCountOnlyDayWindow() {
+        SlidingWindowCounter counter = counter();
+        UUID key = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            assertNull(counter.tryAcquire(key, 100, NOW + i * 1_000L));
+        }
+
+        assertEquals(MINUTE, counter.tryAcquire(key, 100, NOW + 59_000));
+        assertNull(counter.tryAcquire(key, 100, NOW + 60_000));
+        assertEquals(3, counter.count(key, MINUTE, NOW + 60_000));
+        assertEquals(4, counter.count(key, DAY, NOW + 60_000));
+    }
+
+    @Test
+    void tryAcquire_OverDayLimit_ShouldReturnDayWindow() {
+        SlidingWindowCounter counter = counter();
+        UUID key = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            assertNull(counter.tryAcquire(key, 100, NOW + i * 120_000L));
+        }
+
+        assertEquals(DAY, counter.tryAcquire(key, 100, NOW + 600_000));
+    }
+
+    @Test
+    void release_ShouldFreeCapacity() {
+        SlidingWindowCounter counter = counter();
+        UUID key = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            assertNull(counter.tryAcquire(key, 100, NOW));
+        }
+
+        counter.release(key, 100, NOW, NOW + 1_500);
+
+        assertEquals(2, counter.count(key, MINUTE, NOW + 1_500));
+        assertNull(counter.tryAcquire(key, 100, NOW + 1_500));
+    }
+
+    @Test
+    void release_AfterMinuteSlides_ShouldReleaseOnlyDayWindow() {
+        SlidingWindowCounter counter = counter();
+        UUID key = UUID.randomUUID();
+        assertNull(counter.tryAcquire(key, 100, NOW));
+
+        counter.release(key, 100, NOW, NOW + 61_000);
+
+        assertEquals(0, counter.count(key, MINUTE, NOW + 61_000));
+        assertEquals(0, counter.count(key, DAY, NOW + 61_000));
+    }
+
+    @Test
+    void tryAcquire_WithManyKeys_ShouldKeepSizeBounded() {
+        SlidingWindowCounter counter = counter();
+        for (int i = 0; i < 1_000; i++) {
+            counter.tryAcquire("user-" + i, 100, NOW);
+        }
+
+        assertTrue(counter.size() <= 400);
+    }
+
+}
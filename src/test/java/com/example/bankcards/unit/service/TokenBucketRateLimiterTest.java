@@ -0,0 +1,64 @@
+package com.example.bankcards.unit.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import com.example.bankcards.service.TokenBucketRateLimiter;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static final long NOW = 5_000 * SECOND;
+
+    @Test
+    void tryAcquire_WithinBurst_ShouldAllow() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 3, 10);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("user", NOW));
+        }
+    }
+
+    @Test
+    void tryAcquire_OverBurst_ShouldReturnWaitUntilNextToken() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 2, 10);
+        limiter.tryAcquire("user", NOW);
+        limiter.tryAcquire("user", NOW);
+
+        assertEquals(SECOND / 2, limiter.tryAcquire("user", NOW));
+        assertEquals(SECOND / 4, limiter.tryAcquire("user", NOW + SECOND / 4));
+    }
+
+    @Test
+    void tryAcquire_AfterRefill_ShouldAllowAgain() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 10);
+        assertEquals(0, limiter.tryAcquire("user", NOW));
+        assertTrue(limiter.tryAcquire("user", NOW) > 0);
+
+        assertEquals(0, limiter.tryAcquire("user", NOW + SECOND));
+    }
+
+    @Test
+    void tryAcquire_WithOtherKey_ShouldUseSeparateBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 10);
+        limiter.tryAcquire("user", NOW);
+
+        assertEquals(0, limiter.tryAcquire("other", NOW));
+    }
+
+    @Test
+    void tryAcquire_WithManyKeys_ShouldKeepSizeBounded() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("user-" + i, NOW + i * SECOND);
+        }
+
+        assertTrue(limiter.size() <= 100);
+    }
+
+    @Test
+    void constructor_WithZeroRate_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 10));
+    }
+
+}